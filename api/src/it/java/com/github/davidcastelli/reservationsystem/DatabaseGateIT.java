@@ -0,0 +1,198 @@
+package com.github.davidcastelli.reservationsystem;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+
+import com.github.davidcastelli.reservationsystem.common.dao.GatedDataSource;
+import com.github.davidcastelli.reservationsystem.group.GroupRequest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+// Tests do not export metrics unless observability is configured.
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.datasource.hikari.maximum-pool-size=4",
+      "database.gate.max-waiting=20",
+      "database.gate.queue-timeout=PT0.2S",
+      // A fixed concurrency limit above the burst, so that only the gate sheds the reads.
+      "concurrency-limit.read.initial-limit=1000",
+      "concurrency-limit.read.min-limit=1000",
+      "concurrency-limit.read.max-limit=1000"
+    })
+class DatabaseGateIT {
+
+  private static final Duration QUEUE_TIMEOUT = Duration.ofMillis(200);
+
+  @LocalServerPort private Integer port;
+
+  @LocalManagementPort private Integer managementPort;
+
+  @Autowired private DataSource dataSource;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.basePath = "";
+  }
+
+  private String occupancyPath() {
+    LocalDate today = LocalDate.now(ZoneId.systemDefault());
+    return "/api/admin/occupancy?from=" + today.minusDays(30) + "&to=" + today.plusDays(30);
+  }
+
+  // Takes every connection of the gate, so that no request can get one until they are closed.
+  private List<Connection> takeAllConnections() throws SQLException {
+    var connections = new ArrayList<Connection>();
+    for (int i = 0; i < 4; i++) {
+      connections.add(dataSource.getConnection());
+    }
+    return connections;
+  }
+
+  private static void closeAll(List<Connection> connections) throws SQLException {
+    for (var connection : connections) {
+      connection.close();
+    }
+  }
+
+  @Test
+  void givenAllConnectionsInUse_whenGet_thenReturnServiceUnavailableAfterQueueTimeout()
+      throws SQLException {
+    given().port(port).when().get(occupancyPath()).then().statusCode(HttpStatus.OK.value());
+    var connections = takeAllConnections();
+    try {
+      given()
+          .port(port)
+          .when()
+          .get(occupancyPath())
+          .then()
+          .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body("detail", equalTo("The database is busy, please try again."))
+          .time(
+              both(greaterThanOrEqualTo(QUEUE_TIMEOUT.toMillis())).and(lessThan(2000L)),
+              TimeUnit.MILLISECONDS);
+    } finally {
+      closeAll(connections);
+    }
+
+    given().port(port).when().get(occupancyPath()).then().statusCode(HttpStatus.OK.value());
+  }
+
+  @Test
+  void givenAllConnectionsInUse_whenBeginTransaction_thenReturnServiceUnavailable()
+      throws SQLException {
+    var connections = takeAllConnections();
+    try {
+      given()
+          .port(port)
+          .contentType(ContentType.JSON)
+          .body(List.of(new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4)))
+          .when()
+          .post("/api/groups:batch")
+          .then()
+          .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body("detail", equalTo("The database is busy, please try again."));
+    } finally {
+      closeAll(connections);
+    }
+  }
+
+  @Test
+  void givenBurstOfRequests_whenGet_thenServeOrShedEveryRequestWithinBoundedLatency()
+      throws Exception {
+    var gate = dataSource.unwrap(GatedDataSource.class);
+    long rejectionsBefore = gate.rejections();
+    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + occupancyPath()));
+
+    var statuses = new ArrayList<Integer>();
+    Duration slowest = Duration.ZERO;
+    try (var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var responses = new ArrayList<Future<Timed>>();
+      for (int i = 0; i < 500; i++) {
+        responses.add(
+            executor.submit(
+                () -> {
+                  long start = System.nanoTime();
+                  int status =
+                      client
+                          .send(request.build(), HttpResponse.BodyHandlers.discarding())
+                          .statusCode();
+                  return new Timed(status, Duration.ofNanos(System.nanoTime() - start));
+                }));
+      }
+      for (var response : responses) {
+        var timed = response.get();
+        statuses.add(timed.status());
+        slowest = timed.elapsed().compareTo(slowest) > 0 ? timed.elapsed() : slowest;
+      }
+    }
+
+    assertThat(statuses)
+        .containsOnly(HttpStatus.OK.value(), HttpStatus.SERVICE_UNAVAILABLE.value())
+        .contains(HttpStatus.OK.value());
+    long shed = statuses.stream().filter(s -> s == HttpStatus.SERVICE_UNAVAILABLE.value()).count();
+    // The scheduled jobs go through the gate too, so they may have been turned away as well.
+    assertThat(gate.rejections() - rejectionsBefore).isGreaterThanOrEqualTo(shed);
+    // A request waits at most the queue timeout for a connection, so no request is stuck behind
+    // the burst. The bound leaves room for the startup of the client and a slow machine.
+    assertThat(slowest).isLessThan(Duration.ofSeconds(10));
+    assertThat(gate.waiting()).isZero();
+
+    given()
+        .port(managementPort)
+        .when()
+        .get("/actuator/prometheus")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body(
+            containsString("db_gate_waiting{"),
+            containsString("db_gate_active{"),
+            containsString("db_gate_rejections_total{"),
+            containsString("jvm_threads_virtual_pinned_seconds_count{"));
+  }
+
+  private record Timed(int status, Duration elapsed) {}
+}
@@ -0,0 +1,81 @@
+package com.github.davidcastelli.reservationsystem;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+import io.restassured.RestAssured;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+// Tests do not export metrics unless observability is configured.
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsIT {
+
+  @LocalServerPort private Integer port;
+
+  @LocalManagementPort private Integer managementPort;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.basePath = "";
+  }
+
+  @Test
+  void givenRequests_whenScrapePrometheus_thenExposeMetricsOnManagementPort() {
+    given().port(port).when().get("/api/groups").then().statusCode(HttpStatus.OK.value());
+    given()
+        .port(port)
+        .when()
+        .get("/api/groups/{id}", 999_999)
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+
+    given()
+        .port(managementPort)
+        .when()
+        .get("/actuator/prometheus")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body(
+            containsString("http_server_requests_seconds_bucket{"),
+            containsString("uri=\"/api/groups/{id}\""),
+            containsString("service_calls_seconds_bucket{"),
+            containsString(
+                "class=\"com.github.davidcastelli.reservationsystem.group.GroupService\""),
+            containsString("dao_calls_seconds_bucket{"),
+            containsString(
+                "http_client_errors_total{application=\"reservation-system\",exception=\"GroupNotFoundException\",status=\"404\"} 1.0"),
+            containsString("hikaricp_connections_active{"),
+            containsString("bookings_total{"),
+            containsString("lookups_total{"));
+  }
+
+  @Test
+  void whenScrapePrometheusOnServerPort_thenReturnNotFound() {
+    given()
+        .port(port)
+        .when()
+        .get("/actuator/prometheus")
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+  }
+}
@@ -0,0 +1,150 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AvailabilityDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private AvailabilityDao availabilityDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  private final LocalDate tomorrow = LocalDate.now(ZoneId.systemDefault()).plusDays(1);
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Autowired private JdbcClient jdbcClient;
+
+    @Bean
+    public AvailabilityDao availabilityDao() {
+      return new AvailabilityDao(jdbcClient);
+    }
+  }
+
+  @BeforeEach
+  void init() {
+    insertReservation(tomorrow.atTime(8, 0), tomorrow.atTime(8, 4));
+    insertReservation(tomorrow.atTime(9, 0), tomorrow.atTime(9, 4));
+    insertReservation(tomorrow.atTime(10, 0), tomorrow.atTime(10, 4));
+  }
+
+  private void insertReservation(LocalDateTime startTime, LocalDateTime endTime) {
+    jdbcClient
+        .sql(
+            "INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status) VALUES ('Test', :startTime, :endTime, 3, 1, 5, :confirmationCode, 'paid')")
+        .param("startTime", startTime)
+        .param("endTime", endTime)
+        .param("confirmationCode", UUID.randomUUID())
+        .update();
+  }
+
+  @Test
+  void givenReservations_whenFindReserved_thenReturnReservationsOverlappingRangeInclusive() {
+    List<ReservedRange> reserved =
+        availabilityDao.findReserved(tomorrow.atTime(8, 4), tomorrow.atTime(9, 0));
+
+    assertThat(reserved)
+        .containsExactlyInAnyOrder(
+            new ReservedRange(tomorrow.atTime(8, 0), tomorrow.atTime(8, 4)),
+            new ReservedRange(tomorrow.atTime(9, 0), tomorrow.atTime(9, 4)));
+  }
+
+  @Test
+  void givenReservations_whenFindReservedOutsideReservations_thenReturnEmptyList() {
+    List<ReservedRange> reserved =
+        availabilityDao.findReserved(tomorrow.atTime(11, 0), tomorrow.atTime(12, 0));
+
+    assertThat(reserved).isEmpty();
+  }
+
+  @Test
+  void givenReservations_whenFindFreeWindows_thenReturnGapsWithinOpeningHours() {
+    List<FreeWindow> windows =
+        availabilityDao.findFreeWindows(
+            tomorrow.atTime(7, 0),
+            tomorrow.plusDays(1).atTime(9, 0),
+            LocalTime.of(8, 0),
+            LocalTime.of(20, 0),
+            4);
+
+    assertThat(windows)
+        .containsExactly(
+            new FreeWindow(tomorrow.atTime(8, 4), false, tomorrow.atTime(9, 0), false),
+            new FreeWindow(tomorrow.atTime(9, 4), false, tomorrow.atTime(10, 0), false),
+            new FreeWindow(tomorrow.atTime(10, 4), false, tomorrow.atTime(20, 0), true),
+            new FreeWindow(
+                tomorrow.plusDays(1).atTime(8, 0), true, tomorrow.plusDays(1).atTime(9, 0), true));
+  }
+
+  @Test
+  void givenGapShorterThanReservation_whenFindFreeWindows_thenExcludeGap() {
+    insertReservation(tomorrow.atTime(8, 8), tomorrow.atTime(8, 30));
+
+    List<FreeWindow> windows =
+        availabilityDao.findFreeWindows(
+            tomorrow.atTime(8, 0),
+            tomorrow.atTime(8, 40),
+            LocalTime.of(8, 0),
+            LocalTime.of(20, 0),
+            4);
+
+    // The gap from 08:04 to 08:08 is exactly four minutes but excludes both of its bounds.
+    assertThat(windows)
+        .containsExactly(
+            new FreeWindow(tomorrow.atTime(8, 30), false, tomorrow.atTime(8, 40), true));
+  }
+
+  @Test
+  void givenFreeWindowsQuery_whenExplain_thenReservationsAreFoundThroughIndex() {
+    // The table is too small for the planner to prefer an index, so sequential scans are disabled.
+    // The bounds on the start time only exist to prune partitions, but on so few rows the planner
+    // would answer them with the start time index instead, so it is dropped within the transaction.
+    jdbcClient.sql("SET LOCAL enable_seqscan = off").update();
+    jdbcClient.sql("DROP INDEX reservation_start_time_idx").update();
+
+    String plan =
+        jdbcClient
+            .sql("EXPLAIN " + AvailabilityDao.FREE_WINDOWS_SQL)
+            .param("from", tomorrow.atTime(8, 0))
+            .param("to", tomorrow.atTime(20, 0))
+            .param("openingTime", LocalTime.of(8, 0))
+            .param("closingTime", LocalTime.of(20, 0))
+            .param("minutes", 4)
+            .query(String.class)
+            .list()
+            .stream()
+            .collect(Collectors.joining("\n"));
+
+    assertThat(plan).contains("_overlapping_reservation").doesNotContain("Seq Scan on reservation");
+  }
+}
@@ -0,0 +1,93 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "availability.stream.coalesce-window=PT1H",
+      "availability.stream.stall-timeout=PT1S"
+    })
+class AvailabilityStreamIT {
+
+  @LocalServerPort private Integer port;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private AvailabilityStream availabilityStream;
+
+  private void awaitSubscribers(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (availabilityStream.subscribers() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(availabilityStream.subscribers()).isEqualTo(expected);
+  }
+
+  @Test
+  void givenClientWhichNeverReads_whenFlush_thenNeverBlockAndAbortStream() throws Exception {
+    try (var socket = new Socket()) {
+      socket.setReceiveBufferSize(1024);
+      socket.connect(new InetSocketAddress("localhost", port));
+      socket
+          .getOutputStream()
+          .write(
+              "GET /api/availability/stream HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                  .getBytes(StandardCharsets.US_ASCII));
+      awaitSubscribers(1);
+
+      // Every flush queues a large frame, until the socket buffers are full and the write blocks.
+      LocalDateTime tomorrowAtEight =
+          LocalDate.now(ZoneId.systemDefault()).plusDays(1).atTime(8, 0);
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+      while (availabilityStream.subscribers() > 0 && System.nanoTime() < deadline) {
+        for (int i = 0; i < 1000; i++) {
+          LocalDateTime startTime = tomorrowAtEight.plusSeconds(i);
+          availabilityStream.onReservationBooked(
+              new ReservationBookedEvent(startTime, startTime.plusMinutes(4), UUID.randomUUID()));
+        }
+        long flushStart = System.nanoTime();
+        availabilityStream.flush();
+        assertThat(Duration.ofNanos(System.nanoTime() - flushStart))
+            .isLessThan(Duration.ofMillis(500));
+        Thread.sleep(100);
+      }
+      assertThat(availabilityStream.subscribers()).isZero();
+
+      // The blocked write fails after the connection timeout, which follows the stall timeout, and
+      // aborts the response. A write which only returned once the client reads would end the
+      // response with its last chunk instead.
+      Thread.sleep(3000);
+      socket.setSoTimeout(10_000);
+      InputStream in = socket.getInputStream();
+      String response = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+      assertThat(response).startsWith("HTTP/1.1 200").doesNotEndWith("0\r\n\r\n");
+    }
+  }
+}
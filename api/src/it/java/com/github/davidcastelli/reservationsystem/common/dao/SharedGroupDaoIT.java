@@ -2,10 +2,12 @@ package com.github.davidcastelli.reservationsystem.common.dao;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
 import com.github.davidcastelli.reservationsystem.common.model.Group;
 import java.math.BigDecimal;
 import java.util.Optional;
 import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -24,6 +26,8 @@ import org.testcontainers.utility.DockerImageName;
 @Testcontainers
 @JdbcTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Identity values are not rolled back with the test transaction, so restart them before every test.
+@Sql(statements = "ALTER TABLE package ALTER COLUMN package_id RESTART")
 @Sql("/db/testdata/init_groups.sql")
 class SharedGroupDaoIT {
 
@@ -33,6 +37,8 @@ class SharedGroupDaoIT {
 
   @Autowired private SharedGroupDao sharedGroupDao;
 
+  @Autowired private JdbcClient jdbcClient;
+
   @TestConfiguration
   static class TestConfig {
 
@@ -44,6 +50,12 @@ class SharedGroupDaoIT {
     }
   }
 
+  @BeforeEach
+  void init() {
+    // The test data is inserted after the index was loaded at startup.
+    sharedGroupDao.reload();
+  }
+
   @Test
   void givenGroups_whenFindByPeople_thenReturnCorrectGroupWherePeopleIsBetweenMinAndMax() {
     int people = 2;
@@ -65,4 +77,23 @@ class SharedGroupDaoIT {
 
     assertThat(group).isNotNull().isEmpty();
   }
+
+  @Test
+  void givenNewGroupAndGroupsChangedEvent_whenFindByPeople_thenReturnNewGroup() {
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (16, 20, 9.99, 16)")
+        .update();
+
+    sharedGroupDao.onGroupsChanged(new GroupsChangedEvent());
+    Optional<Group> group = sharedGroupDao.findByPeople(18);
+
+    assertThat(group)
+        .isNotNull()
+        .isNotEmpty()
+        .get()
+        .usingRecursiveComparison()
+        .ignoringFields("groupId")
+        .isEqualTo(new Group(0L, 16, 20, new BigDecimal("9.99"), 16));
+  }
 }
@@ -0,0 +1,112 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest(
+    properties = {
+      "groups.notifications.poll-timeout=PT1S",
+      "groups.notifications.initial-backoff=PT0.1S",
+      "groups.notifications.max-backoff=PT1S"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Notifications are only delivered once the notifying transaction commits.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({GroupNotificationListener.class, GroupNotificationListenerIT.Events.class})
+class GroupNotificationListenerIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private Events events;
+
+  @TestConfiguration
+  static class Events {
+
+    private final BlockingQueue<GroupsChangedEvent> received = new LinkedBlockingQueue<>();
+
+    @EventListener
+    void onGroupsChanged(GroupsChangedEvent event) {
+      received.add(event);
+    }
+  }
+
+  @BeforeEach
+  void init() throws Exception {
+    // Waits for the resync of the listener once it is listening.
+    if (events.received.poll(5, TimeUnit.SECONDS) == null && !isListening()) {
+      fail("The group notification listener did not start listening");
+    }
+    events.received.clear();
+  }
+
+  private boolean isListening() {
+    return jdbcClient
+        .sql("SELECT EXISTS (SELECT 1 FROM pg_stat_activity WHERE application_name = :name)")
+        .param("name", GroupNotificationListener.APPLICATION_NAME)
+        .query(Boolean.class)
+        .single();
+  }
+
+  @Test
+  void whenGroupCreated_thenPublishGroupsChangedEvent() throws Exception {
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (100, 105, 13.99, 4)")
+        .update();
+
+    assertThat(events.received.poll(5, TimeUnit.SECONDS)).isNotNull();
+  }
+
+  @Test
+  void whenGroupsTruncated_thenPublishGroupsChangedEvent() throws Exception {
+    jdbcClient.sql("TRUNCATE TABLE package").update();
+
+    assertThat(events.received.poll(5, TimeUnit.SECONDS)).isNotNull();
+  }
+
+  @Test
+  void givenTerminatedConnection_whenReconnected_thenResyncAndPublishGroupsChangedEvents()
+      throws Exception {
+    jdbcClient
+        .sql(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = :name")
+        .param("name", GroupNotificationListener.APPLICATION_NAME)
+        .query()
+        .listOfRows();
+
+    assertThat(events.received.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (200, 205, 13.99, 4)")
+        .update();
+
+    assertThat(events.received.poll(5, TimeUnit.SECONDS)).isNotNull();
+  }
+}
@@ -0,0 +1,167 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest(
+    properties = {
+      "reservations.notifications.poll-timeout=PT1S",
+      "reservations.notifications.initial-backoff=PT0.1S",
+      "reservations.notifications.max-backoff=PT1S"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Notifications are only delivered once the notifying transaction commits.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReservationNotificationListener.class, ReservationNotificationListenerIT.Events.class})
+class ReservationNotificationListenerIT {
+
+  private static final String NODE_NAME = "this-node";
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private JdbcConnectionDetails connectionDetails;
+
+  @Autowired private Events events;
+
+  private final LocalDate tomorrow = LocalDate.now(ZoneId.systemDefault()).plusDays(1);
+
+  @TestConfiguration
+  static class Events {
+
+    private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+    @Bean
+    NodeName nodeName() {
+      return new NodeName(NODE_NAME);
+    }
+
+    @EventListener
+    void onReservationBooked(ReservationBookedEvent event) {
+      received.add(event);
+    }
+
+    @EventListener
+    void onReservationsChanged(ReservationsChangedEvent event) {
+      received.add(event);
+    }
+  }
+
+  @BeforeEach
+  void init() throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!isListening()) {
+      if (System.nanoTime() > deadline) {
+        fail("The reservation notification listener did not start listening");
+      }
+      Thread.sleep(50);
+    }
+    events.received.clear();
+  }
+
+  private boolean isListening() {
+    return jdbcClient
+        .sql("SELECT EXISTS (SELECT 1 FROM pg_stat_activity WHERE application_name = :name)")
+        .param("name", ReservationNotificationListener.APPLICATION_NAME)
+        .query(Boolean.class)
+        .single();
+  }
+
+  // Books through a connection of its own, which carries the application name of a node.
+  private void insertReservation(
+      String nodeName, LocalDateTime startTime, LocalDateTime endTime, UUID confirmationCode)
+      throws SQLException {
+    var properties = new Properties();
+    properties.setProperty("user", connectionDetails.getUsername());
+    properties.setProperty("password", connectionDetails.getPassword());
+    PGProperty.APPLICATION_NAME.set(properties, nodeName);
+    try (Connection connection =
+            DriverManager.getConnection(connectionDetails.getJdbcUrl(), properties);
+        var statement =
+            connection.prepareStatement(
+                "INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status) VALUES ('Test', ?, ?, 3, 1, 5, ?, 'paid')")) {
+      statement.setTimestamp(1, Timestamp.valueOf(startTime));
+      statement.setTimestamp(2, Timestamp.valueOf(endTime));
+      statement.setObject(3, confirmationCode);
+      statement.executeUpdate();
+    }
+  }
+
+  @Test
+  void whenReservationBookedOnOtherNode_thenPublishReservationBookedEvent() throws Exception {
+    UUID confirmationCode = UUID.randomUUID();
+
+    insertReservation(
+        "other-node", tomorrow.atTime(10, 0), tomorrow.atTime(10, 4, 30), confirmationCode);
+
+    assertThat(events.received.poll(5, TimeUnit.SECONDS))
+        .isEqualTo(
+            new ReservationBookedEvent(
+                tomorrow.atTime(10, 0), tomorrow.atTime(10, 4, 30), confirmationCode));
+  }
+
+  @Test
+  void whenReservationBookedOnThisNode_thenPublishNothing() throws Exception {
+    UUID otherCode = UUID.randomUUID();
+
+    insertReservation(NODE_NAME, tomorrow.atTime(11, 0), tomorrow.atTime(11, 4), UUID.randomUUID());
+    insertReservation("other-node", tomorrow.atTime(12, 0), tomorrow.atTime(12, 4), otherCode);
+
+    // Notifications arrive in commit order, so the first event is the one of the other node.
+    assertThat(events.received.poll(5, TimeUnit.SECONDS))
+        .isEqualTo(
+            new ReservationBookedEvent(tomorrow.atTime(12, 0), tomorrow.atTime(12, 4), otherCode));
+    assertThat(events.received).isEmpty();
+  }
+
+  @Test
+  void givenTerminatedConnection_whenReconnected_thenPublishReservationsChangedEvent()
+      throws Exception {
+    jdbcClient
+        .sql(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = :name")
+        .param("name", ReservationNotificationListener.APPLICATION_NAME)
+        .query()
+        .listOfRows();
+
+    assertThat(events.received.poll(10, TimeUnit.SECONDS))
+        .isEqualTo(new ReservationsChangedEvent());
+  }
+}
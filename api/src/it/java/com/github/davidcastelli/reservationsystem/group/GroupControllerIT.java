@@ -4,6 +4,7 @@ import static io.restassured.RestAssured.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.hamcrest.Matchers.*;
 
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
 import com.github.davidcastelli.reservationsystem.common.model.Group;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -38,6 +40,8 @@ class GroupControllerIT {
 
   @Autowired private JdbcClient jdbcClient;
 
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
   @BeforeEach
   void init() {
     RestAssured.baseURI = "http://localhost";
@@ -45,6 +49,14 @@ class GroupControllerIT {
     RestAssured.basePath = "/api";
 
     jdbcClient.sql("TRUNCATE TABLE package").update();
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  // Groups created directly through the DAO bypass the service, so the change is announced here.
+  private long createGroup(Group group) {
+    long groupId = groupDao.create(group);
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+    return groupId;
   }
 
   @Test
@@ -55,7 +67,7 @@ class GroupControllerIT {
             new Group(0L, 6, 10, new BigDecimal("13.99"), 8),
             new Group(0L, 11, 15, new BigDecimal("11.99"), 12));
     for (Group group : initGroups) {
-      groupDao.create(group);
+      createGroup(group);
     }
 
     List<Group> groups =
@@ -99,10 +111,56 @@ class GroupControllerIT {
     assertThat(groups).isNotNull().isEmpty();
   }
 
+  @Test
+  void givenMoreGroupsThanLimit_whenFindAll_thenFollowLinkToNextPage() {
+    createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    createGroup(new Group(0L, 6, 10, new BigDecimal("13.99"), 8));
+    createGroup(new Group(0L, 11, 15, new BigDecimal("11.99"), 12));
+
+    String link =
+        given()
+            .accept(ContentType.JSON)
+            .queryParam("limit", 2)
+            .when()
+            .get("/groups")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("minPeople", contains(1, 6))
+            .header("Link", endsWith("; rel=\"next\""))
+            .extract()
+            .header("Link");
+    String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+
+    given()
+        .accept(ContentType.JSON)
+        .when()
+        .get(next)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header("Link", nullValue())
+        .body("minPeople", contains(11));
+  }
+
+  @Test
+  void givenFilter_whenFindAll_thenReturnMatchingGroups() {
+    createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    createGroup(new Group(0L, 6, 10, new BigDecimal("13.99"), 8));
+    createGroup(new Group(0L, 11, 15, new BigDecimal("11.99"), 12));
+
+    given()
+        .accept(ContentType.JSON)
+        .queryParam("maxPrice", "12.00")
+        .when()
+        .get("/groups")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("minPeople", contains(11));
+  }
+
   @Test
   void givenGroupWithExistingId_whenFindById_thenReturnCorrectStatusCodeContentTypeBody() {
     Group initGroup = new Group(0L, 1, 5, new BigDecimal("13.99"), 4);
-    long groupId = groupDao.create(initGroup);
+    long groupId = createGroup(initGroup);
 
     Group group =
         given()
@@ -119,6 +177,54 @@ class GroupControllerIT {
     assertThat(group).isNotNull().isEqualTo(new Group(groupId, 1, 5, new BigDecimal("13.99"), 4));
   }
 
+  @Test
+  void givenETagOfCurrentRevision_whenFindAll_thenReturnNotModified() {
+    createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    String eTag =
+        given()
+            .accept(ContentType.JSON)
+            .when()
+            .get("/groups")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .extract()
+            .header("ETag");
+
+    given()
+        .accept(ContentType.JSON)
+        .header("If-None-Match", eTag)
+        .when()
+        .get("/groups")
+        .then()
+        .statusCode(HttpStatus.NOT_MODIFIED.value());
+  }
+
+  @Test
+  void givenETagOfOutdatedRevision_whenFindAll_thenReturnCorrectStatusCodeNewETag() {
+    createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    String eTag =
+        given()
+            .accept(ContentType.JSON)
+            .when()
+            .get("/groups")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .extract()
+            .header("ETag");
+    GroupRequest groupRequest = new GroupRequest(0L, 6, 10, new BigDecimal("13.99"), 8);
+    given().contentType(ContentType.JSON).body(groupRequest).when().post("/groups");
+
+    given()
+        .accept(ContentType.JSON)
+        .header("If-None-Match", eTag)
+        .when()
+        .get("/groups")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header("ETag", not(equalTo(eTag)))
+        .body("size()", equalTo(2));
+  }
+
   @Test
   void givenGroupWithNonExistingId_whenFindById_thenReturnCorrectStatusCodeContentTypeFailure() {
     given()
@@ -165,6 +271,88 @@ class GroupControllerIT {
     assertThat(response).isEmpty();
   }
 
+  @Test
+  void givenValidBatch_whenCreateAll_thenReturnCorrectStatusCodeResultsAndCreateGroups() {
+    List<GroupRequest> groupRequests =
+        List.of(
+            new GroupRequest(0L, 6, 10, new BigDecimal("13.99"), 8),
+            new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4));
+
+    List<GroupBatchResultDto> results =
+        given()
+            .contentType(ContentType.JSON)
+            .body(groupRequests)
+            .when()
+            .post("/groups:batch")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .contentType(ContentType.JSON)
+            .extract()
+            .body()
+            .jsonPath()
+            .getList(".", GroupBatchResultDto.class);
+
+    assertThat(results).extracting(GroupBatchResultDto::index).containsExactly(0, 1);
+    assertThat(groupDao.findById(results.get(0).groupId()))
+        .get()
+        .isEqualTo(new Group(results.get(0).groupId(), 6, 10, new BigDecimal("13.99"), 8));
+    assertThat(groupDao.findById(results.get(1).groupId()))
+        .get()
+        .isEqualTo(new Group(results.get(1).groupId(), 1, 5, new BigDecimal("13.99"), 4));
+  }
+
+  @Test
+  void givenBatchOverlappingExistingGroup_whenCreateAll_thenReturnConflictAndCreateNoGroups() {
+    long groupId = createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    List<GroupRequest> groupRequests =
+        List.of(
+            new GroupRequest(0L, 6, 10, new BigDecimal("13.99"), 8),
+            new GroupRequest(0L, 4, 5, new BigDecimal("13.99"), 4),
+            new GroupRequest(0L, 9, 12, new BigDecimal("11.99"), 12));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(groupRequests)
+        .when()
+        .post("/groups:batch")
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value())
+        .contentType(ContentType.JSON)
+        .body(
+            "errors.'Groups[1].OverlappingPeople'[0]",
+            equalTo(
+                "The people range overlaps the people range of the group with id: "
+                    + groupId
+                    + "."))
+        .body(
+            "errors.'Groups[2].OverlappingPeople'[0]",
+            equalTo(
+                "The people range overlaps the people range of the group at index 0 of the batch."));
+
+    assertThat(groupDao.findAll()).hasSize(1);
+  }
+
+  @Test
+  void givenBatchWithInvalidGroup_whenCreateAll_thenReturnCorrectStatusCodeAndErrors() {
+    List<GroupRequest> groupRequests =
+        List.of(
+            new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4),
+            new GroupRequest(0L, 6, 10, new BigDecimal("13.99"), -8));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(groupRequests)
+        .when()
+        .post("/groups:batch")
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .contentType(ContentType.JSON)
+        .body(
+            "errors.'Groups[1].Invalid'[0]", equalTo("The start interval must be greater than 0"));
+
+    assertThat(groupDao.findAll()).isEmpty();
+  }
+
   @Test
   void givenDifferentRouteAndRequestId_whenUpdate_thenReturnCorrectStatusCodeContentTypeFailure() {
     GroupRequest groupRequest = new GroupRequest(2L, 1, 5, new BigDecimal("13.99"), 4);
@@ -211,7 +399,7 @@ class GroupControllerIT {
   @Test
   void givenValidGroupRequest_whenUpdate_thenReturnCorrectStatusCodeEmptyBody() {
     Group group = new Group(0L, 1, 5, new BigDecimal("13.99"), 4);
-    long groupId = groupDao.create(group);
+    long groupId = createGroup(group);
     GroupRequest groupRequest = new GroupRequest(groupId, 1, 5, new BigDecimal("13.99"), 4);
 
     byte[] response =
@@ -229,6 +417,73 @@ class GroupControllerIT {
     assertThat(response).isEmpty();
   }
 
+  @Test
+  void givenETagOfFoundGroup_whenUpdateWithIfMatch_thenReturnNewETag() {
+    long groupId = createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    String eTag =
+        given()
+            .accept(ContentType.JSON)
+            .when()
+            .get("/groups/{id}", groupId)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .extract()
+            .header("ETag");
+    GroupRequest groupRequest = new GroupRequest(groupId, 1, 5, new BigDecimal("11.99"), 4);
+
+    given()
+        .contentType(ContentType.JSON)
+        .header("If-Match", eTag)
+        .body(groupRequest)
+        .when()
+        .put("/groups/{id}", groupId)
+        .then()
+        .statusCode(HttpStatus.NO_CONTENT.value())
+        .header("ETag", not(equalTo(eTag)));
+
+    given()
+        .accept(ContentType.JSON)
+        .when()
+        .get("/groups/{id}", groupId)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("admissionPrice", equalTo(11.99f));
+  }
+
+  @Test
+  void givenOutdatedETag_whenUpdateWithIfMatch_thenReturnPreconditionFailedAndKeepGroup() {
+    long groupId = createGroup(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    String eTag =
+        given()
+            .accept(ContentType.JSON)
+            .when()
+            .get("/groups/{id}", groupId)
+            .then()
+            .extract()
+            .header("ETag");
+    given()
+        .contentType(ContentType.JSON)
+        .body(new GroupRequest(groupId, 1, 5, new BigDecimal("12.99"), 4))
+        .when()
+        .put("/groups/{id}", groupId)
+        .then()
+        .statusCode(HttpStatus.NO_CONTENT.value());
+
+    given()
+        .contentType(ContentType.JSON)
+        .header("If-Match", eTag)
+        .body(new GroupRequest(groupId, 1, 5, new BigDecimal("11.99"), 4))
+        .when()
+        .put("/groups/{id}", groupId)
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+        .contentType(ContentType.JSON);
+
+    assertThat(groupDao.findById(groupId))
+        .get()
+        .returns(new BigDecimal("12.99"), Group::admissionPrice);
+  }
+
   @Test
   void givenNonExistingGroupId_whenDelete_thenReturnCorrectStatusCodeContentTypeFailure() {
     when()
@@ -241,7 +496,7 @@ class GroupControllerIT {
   @Test
   void givenExistingGroupId_whenDelete_thenReturnCorrectStatusCodeEmptyBody() {
     Group group = new Group(0L, 1, 5, new BigDecimal("13.99"), 4);
-    long groupId = groupDao.create(group);
+    long groupId = createGroup(group);
 
     byte[] response =
         when()
@@ -80,13 +80,55 @@ class GroupDaoIT {
     long groupId = groupDao.create(group);
     Group updatedGroup = new Group(groupId, 1, 5, new BigDecimal("11.99"), 4);
 
-    groupDao.update(groupId, updatedGroup);
+    GroupUpdateResult result = groupDao.update(groupId, updatedGroup, null);
 
+    assertThat(result).isEqualTo(new GroupUpdateResult(GroupUpdateResult.Status.UPDATED, 1L));
     assertThat(groupDao.findById(groupId))
         .isNotNull()
         .isNotEmpty()
         .get()
-        .isEqualTo(new Group(groupId, 1, 5, new BigDecimal("11.99"), 4));
+        .isEqualTo(new Group(groupId, 1, 5, new BigDecimal("11.99"), 4, 1L));
+  }
+
+  @Test
+  void givenGroupWithExpectedVersion_whenUpdate_thenIncrementVersion() {
+    long groupId = groupDao.create(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    groupDao.update(groupId, new Group(groupId, 1, 5, new BigDecimal("12.99"), 4), null);
+
+    GroupUpdateResult result =
+        groupDao.update(groupId, new Group(groupId, 1, 5, new BigDecimal("11.99"), 4), 1L);
+
+    assertThat(result).isEqualTo(new GroupUpdateResult(GroupUpdateResult.Status.UPDATED, 2L));
+  }
+
+  @Test
+  void givenGroupWithDifferentVersion_whenUpdate_thenReturnVersionMismatchAndKeepGroup() {
+    long groupId = groupDao.create(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    groupDao.update(groupId, new Group(groupId, 1, 5, new BigDecimal("12.99"), 4), null);
+
+    GroupUpdateResult result =
+        groupDao.update(groupId, new Group(groupId, 1, 5, new BigDecimal("11.99"), 4), 0L);
+
+    assertThat(result)
+        .isEqualTo(new GroupUpdateResult(GroupUpdateResult.Status.VERSION_MISMATCH, 1L));
+    assertThat(groupDao.findById(groupId))
+        .get()
+        .isEqualTo(new Group(groupId, 1, 5, new BigDecimal("12.99"), 4, 1L));
+  }
+
+  @Test
+  void givenNonExistingGroup_whenUpdate_thenReturnNotFound() {
+    GroupUpdateResult result =
+        groupDao.update(42L, new Group(42L, 1, 5, new BigDecimal("11.99"), 4), 0L);
+
+    assertThat(result.status()).isEqualTo(GroupUpdateResult.Status.NOT_FOUND);
+  }
+
+  @Test
+  void givenNonExistingGroup_whenDelete_thenReturnFalse() {
+    boolean deleted = groupDao.delete(42L);
+
+    assertThat(deleted).isFalse();
   }
 
   @Test
@@ -101,8 +143,9 @@ class GroupDaoIT {
     }
     long groupId = groupDao.create(new Group(0L, 16, 20, new BigDecimal("11.99"), 16));
 
-    groupDao.delete(groupId);
+    boolean deleted = groupDao.delete(groupId);
 
+    assertThat(deleted).isTrue();
     assertThat(groupDao.findAll())
         .isNotNull()
         .hasSize(3)
@@ -165,4 +208,93 @@ class GroupDaoIT {
 
     assertThat(thrown).isNotNull().isInstanceOf(DataAccessException.class);
   }
+
+  @Test
+  void givenGroups_whenCreateAll_thenReturnGroupIdsInBatchOrder() {
+    List<Group> groups =
+        List.of(
+            new Group(0L, 11, 15, new BigDecimal("11.99"), 12),
+            new Group(0L, 1, 5, new BigDecimal("13.99"), 4),
+            new Group(0L, 6, 10, new BigDecimal("13.50"), 8));
+
+    long[] groupIds = groupDao.createAll(groups);
+
+    assertThat(groupIds).hasSize(3).doesNotHaveDuplicates();
+    assertThat(groupDao.findById(groupIds[0]))
+        .get()
+        .isEqualTo(new Group(groupIds[0], 11, 15, new BigDecimal("11.99"), 12));
+    assertThat(groupDao.findById(groupIds[1]))
+        .get()
+        .isEqualTo(new Group(groupIds[1], 1, 5, new BigDecimal("13.99"), 4));
+    assertThat(groupDao.findById(groupIds[2]))
+        .get()
+        .isEqualTo(new Group(groupIds[2], 6, 10, new BigDecimal("13.50"), 8));
+  }
+
+  @Test
+  void givenGroupOverlappingExistingGroup_whenCreateAll_thenThrowDataAccessException() {
+    groupDao.create(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    List<Group> groups =
+        List.of(
+            new Group(0L, 6, 10, new BigDecimal("13.99"), 8),
+            new Group(0L, 3, 7, new BigDecimal("13.99"), 4));
+
+    Throwable thrown = catchThrowable(() -> groupDao.createAll(groups));
+
+    assertThat(thrown).isNotNull().isInstanceOf(DataAccessException.class);
+  }
+
+  @Test
+  void givenGroupsOverlappingExistingGroups_whenFindOverlapping_thenReturnOverlapsInBatchOrder() {
+    long groupId1 = groupDao.create(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    long groupId2 = groupDao.create(new Group(0L, 6, 10, new BigDecimal("13.99"), 8));
+    List<Group> groups =
+        List.of(
+            new Group(0L, 16, 20, new BigDecimal("9.99"), 16),
+            new Group(0L, 5, 6, new BigDecimal("13.99"), 4),
+            new Group(0L, 10, 15, new BigDecimal("11.99"), 12));
+
+    List<GroupOverlap> overlaps = groupDao.findOverlapping(groups);
+
+    assertThat(overlaps)
+        .containsExactly(
+            new GroupOverlap(1, groupId1),
+            new GroupOverlap(1, groupId2),
+            new GroupOverlap(2, groupId2));
+  }
+
+  @Test
+  void givenGroups_whenFindPageWithoutFilter_thenReturnPagesOrderedById() {
+    long groupId1 = groupDao.create(new Group(0L, 11, 15, new BigDecimal("11.99"), 12));
+    long groupId2 = groupDao.create(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    long groupId3 = groupDao.create(new Group(0L, 6, 10, new BigDecimal("13.99"), 8));
+
+    GroupPage first = groupDao.findPage(GroupFilter.NONE, 0L, 2);
+    GroupPage second = groupDao.findPage(GroupFilter.NONE, first.nextAfter(), 2);
+
+    assertThat(first.groups()).extracting(Group::groupId).containsExactly(groupId1, groupId2);
+    assertThat(first.nextAfter()).isEqualTo(groupId2);
+    assertThat(second.groups()).extracting(Group::groupId).containsExactly(groupId3);
+    assertThat(second.nextAfter()).isNull();
+  }
+
+  @Test
+  void givenGroups_whenFindPageWithFilters_thenReturnMatchingGroups() {
+    groupDao.create(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    long groupId2 = groupDao.create(new Group(0L, 6, 10, new BigDecimal("12.99"), 8));
+    long groupId3 = groupDao.create(new Group(0L, 11, 15, new BigDecimal("11.99"), 8));
+    groupDao.create(new Group(0L, 16, 20, new BigDecimal("9.99"), 16));
+
+    GroupPage byPeople = groupDao.findPage(new GroupFilter(8, 12, null, null, null), 0L, 10);
+    GroupPage byPrice =
+        groupDao.findPage(
+            new GroupFilter(null, null, new BigDecimal("10.00"), new BigDecimal("12.99"), null),
+            0L,
+            10);
+    GroupPage byStartInterval = groupDao.findPage(new GroupFilter(null, 7, null, null, 8), 0L, 10);
+
+    assertThat(byPeople.groups()).extracting(Group::groupId).containsExactly(groupId2, groupId3);
+    assertThat(byPrice.groups()).extracting(Group::groupId).containsExactly(groupId2, groupId3);
+    assertThat(byStartInterval.groups()).extracting(Group::groupId).containsExactly(groupId2);
+  }
 }
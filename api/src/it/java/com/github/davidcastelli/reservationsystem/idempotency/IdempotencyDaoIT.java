@@ -0,0 +1,125 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdempotencyDao.class)
+class IdempotencyDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private IdempotencyDao idempotencyDao;
+
+  private final LocalDateTime now = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  private final IdempotentResponse response =
+      new IdempotentResponse(201, "/api/reservations/1", "application/json", new byte[] {1, 2});
+
+  private Optional<LocalDateTime> claim(String fingerprint, LocalDateTime now) {
+    return idempotencyDao.claim("key", fingerprint, now, now.plusHours(24), now.minusSeconds(30));
+  }
+
+  @Test
+  void givenUnusedKey_whenClaim_thenClaimKeyOnce() {
+    assertThat(claim("fingerprint", now)).contains(now);
+    assertThat(claim("fingerprint", now)).isEmpty();
+    assertThat(idempotencyDao.findByKey("key"))
+        .hasValueSatisfying(
+            stored -> {
+              assertThat(stored.fingerprint()).isEqualTo("fingerprint");
+              assertThat(stored.response()).isNull();
+            });
+  }
+
+  @Test
+  void givenClaimedKey_whenComplete_thenStoreResponse() {
+    claim("fingerprint", now);
+
+    assertThat(idempotencyDao.complete("key", now, response, now.plusHours(24))).isTrue();
+
+    assertThat(idempotencyDao.findByKey("key"))
+        .hasValueSatisfying(
+            stored -> {
+              assertThat(stored.response()).isEqualTo(response);
+              assertThat(stored.expiresAt()).isEqualTo(now.plusHours(24));
+            });
+  }
+
+  @Test
+  void givenAbandonedClaim_whenClaim_thenTakeOverKey() {
+    claim("fingerprint", now);
+
+    assertThat(claim("fingerprint", now.plusSeconds(29))).isEmpty();
+    assertThat(claim("other", now.plusSeconds(31))).contains(now.plusSeconds(31));
+    assertThat(idempotencyDao.findByKey("key"))
+        .hasValueSatisfying(stored -> assertThat(stored.fingerprint()).isEqualTo("other"));
+  }
+
+  @Test
+  void givenCompletedKey_whenClaimBeforeAndAfterExpiry_thenOnlyClaimAfterExpiry() {
+    claim("fingerprint", now);
+    idempotencyDao.complete("key", now, response, now.plusHours(24));
+
+    assertThat(claim("fingerprint", now.plusHours(23))).isEmpty();
+    assertThat(claim("fingerprint", now.plusHours(25))).isPresent();
+    assertThat(idempotencyDao.findByKey("key"))
+        .hasValueSatisfying(stored -> assertThat(stored.response()).isNull());
+  }
+
+  @Test
+  void givenClaimedAndCompletedKeys_whenRelease_thenOnlyDeleteClaimWithoutResponse() {
+    claim("fingerprint", now);
+    idempotencyDao.release("key", now);
+    assertThat(idempotencyDao.findByKey("key")).isEmpty();
+
+    claim("fingerprint", now);
+    idempotencyDao.complete("key", now, response, now.plusHours(24));
+    idempotencyDao.release("key", now);
+    assertThat(idempotencyDao.findByKey("key")).isPresent();
+  }
+
+  @Test
+  void givenClaimTakenOver_whenCompleteOrReleaseOldClaim_thenKeepNewClaim() {
+    claim("fingerprint", now);
+    claim("other", now.plusSeconds(31));
+
+    assertThat(idempotencyDao.complete("key", now, response, now.plusHours(24))).isFalse();
+    idempotencyDao.release("key", now);
+
+    assertThat(idempotencyDao.findByKey("key"))
+        .hasValueSatisfying(
+            stored -> {
+              assertThat(stored.fingerprint()).isEqualTo("other");
+              assertThat(stored.response()).isNull();
+            });
+  }
+
+  @Test
+  void givenExpiredKey_whenDeleteExpired_thenDeleteKey() {
+    claim("fingerprint", now);
+    idempotencyDao.complete("key", now, response, now.plusHours(24));
+
+    assertThat(idempotencyDao.deleteExpired(now.plusHours(23))).isZero();
+    assertThat(idempotencyDao.deleteExpired(now.plusHours(25))).isEqualTo(1);
+    assertThat(idempotencyDao.findByKey("key")).isEmpty();
+  }
+}
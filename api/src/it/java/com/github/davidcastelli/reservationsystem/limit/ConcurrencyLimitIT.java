@@ -0,0 +1,128 @@
+package com.github.davidcastelli.reservationsystem.limit;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+
+import io.restassured.RestAssured;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+// Tests do not export metrics unless observability is configured.
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.datasource.hikari.maximum-pool-size=2",
+      "database.gate.queue-timeout=PT10S",
+      "concurrency-limit.read.initial-limit=1",
+      "concurrency-limit.read.min-limit=1",
+      "concurrency-limit.read.max-limit=1"
+    })
+class ConcurrencyLimitIT {
+
+  @LocalServerPort private Integer port;
+
+  @LocalManagementPort private Integer managementPort;
+
+  @Autowired private DataSource dataSource;
+
+  @Autowired
+  @Qualifier("readLimiter")
+  private AimdLimiter readLimiter;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.basePath = "";
+  }
+
+  private String occupancyPath() {
+    LocalDate today = LocalDate.now(ZoneId.systemDefault());
+    return "/api/admin/occupancy?from=" + today + "&to=" + today;
+  }
+
+  private void awaitInFlight(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (readLimiter.inFlight() != expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(readLimiter.inFlight()).isEqualTo(expected);
+  }
+
+  @Test
+  void givenReadInFlightAtLimit_whenGet_thenReturnServiceUnavailableImmediately() throws Exception {
+    given().port(port).when().get(occupancyPath()).then().statusCode(HttpStatus.OK.value());
+
+    // With every connection taken, the read waits at the database gate and keeps its permit.
+    var connections = new ArrayList<Connection>();
+    connections.add(dataSource.getConnection());
+    connections.add(dataSource.getConnection());
+    CompletableFuture<Integer> inFlight =
+        CompletableFuture.supplyAsync(
+            () -> given().port(port).when().get(occupancyPath()).then().extract().statusCode());
+    try {
+      awaitInFlight(1);
+
+      given()
+          .port(port)
+          .when()
+          .get("/api/groups")
+          .then()
+          .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body("detail", equalTo("The server is overloaded, please try again."))
+          .time(lessThan(1000L), TimeUnit.MILLISECONDS);
+    } finally {
+      for (var connection : connections) {
+        connection.close();
+      }
+    }
+
+    assertThat(inFlight.get(10, TimeUnit.SECONDS)).isEqualTo(HttpStatus.OK.value());
+    // The response reaches the client before the filter releases the permit.
+    awaitInFlight(0);
+
+    given()
+        .port(managementPort)
+        .when()
+        .get("/actuator/prometheus")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body(
+            containsString(
+                "http_concurrency_limit{application=\"reservation-system\",budget=\"read\"} 1.0"),
+            containsString(
+                "http_concurrency_limit{application=\"reservation-system\",budget=\"write\"}"),
+            containsString(
+                "http_concurrency_rejections_total{application=\"reservation-system\",budget=\"read\"} 1.0"),
+            containsString("http_concurrency_in_flight{"));
+  }
+}
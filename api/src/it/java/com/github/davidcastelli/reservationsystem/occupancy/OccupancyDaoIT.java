@@ -0,0 +1,138 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OccupancyDao.class)
+class OccupancyDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private OccupancyDao occupancyDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  private final LocalDate tomorrow = LocalDate.now(ZoneId.systemDefault()).plusDays(1);
+
+  @BeforeEach
+  void init() {
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (1, 5, 13.99, 4)")
+        .update();
+  }
+
+  private long createReservation(LocalDateTime startTime, int people) {
+    return jdbcClient
+        .sql(
+            """
+            INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status)
+            VALUES ('Test', :startTime, :endTime, :people, 1, 5, :confirmationCode, CAST('paid' AS status))
+            RETURNING reservation_id
+            """)
+        .param("startTime", startTime)
+        .param("endTime", startTime.plusMinutes(4))
+        .param("people", people)
+        .param("confirmationCode", UUID.randomUUID())
+        .query(Long.class)
+        .single();
+  }
+
+  @Test
+  void givenReservations_whenFindBetween_thenReturnOccupancyPerHour() {
+    createReservation(tomorrow.atTime(8, 0), 3);
+    createReservation(tomorrow.atTime(8, 8), 4);
+    createReservation(tomorrow.atTime(9, 0), 3);
+
+    assertThat(occupancyDao.findBetween(tomorrow, tomorrow))
+        .containsExactly(
+            new HourlyOccupancy(tomorrow, 8, 2, 7, new BigDecimal("97.93")),
+            new HourlyOccupancy(tomorrow, 9, 1, 3, new BigDecimal("41.97")));
+  }
+
+  @Test
+  void givenUpdatedAndDeletedReservations_whenFindBetween_thenReturnOccupancyOfRemainingOnes() {
+    long moved = createReservation(tomorrow.atTime(8, 0), 3);
+    long deleted = createReservation(tomorrow.atTime(8, 8), 4);
+
+    jdbcClient
+        .sql(
+            "UPDATE reservation SET start_time = start_time + interval '2 hours', end_time = end_time + interval '2 hours', people = 2 WHERE reservation_id = :reservationId")
+        .param("reservationId", moved)
+        .update();
+    jdbcClient
+        .sql("DELETE FROM reservation WHERE reservation_id = :reservationId")
+        .param("reservationId", deleted)
+        .update();
+
+    assertThat(occupancyDao.findBetween(tomorrow, tomorrow))
+        .containsExactly(new HourlyOccupancy(tomorrow, 10, 1, 2, new BigDecimal("27.98")));
+  }
+
+  @Test
+  void givenArchivedReservation_whenFindBetween_thenKeepOccupancy() {
+    long archived = createReservation(tomorrow.atTime(8, 0), 3);
+
+    jdbcClient
+        .sql(
+            """
+            WITH moved AS (DELETE FROM reservation WHERE reservation_id = :reservationId RETURNING *)
+            INSERT INTO reservation_archive (reservation_id, name, start_time, end_time, people, min_people, max_people, confirmation_code, status)
+            SELECT reservation_id, name, start_time, end_time, people, min_people, max_people, confirmation_code, status FROM moved
+            """)
+        .param("reservationId", archived)
+        .update();
+
+    assertThat(occupancyDao.findBetween(tomorrow, tomorrow))
+        .containsExactly(new HourlyOccupancy(tomorrow, 8, 1, 3, new BigDecimal("41.97")));
+  }
+
+  @Test
+  void givenDriftedRollup_whenReconcile_thenReturnAndCorrectDrift() {
+    createReservation(tomorrow.atTime(8, 0), 3);
+    createReservation(tomorrow.atTime(9, 0), 3);
+    jdbcClient
+        .sql(
+            "UPDATE daily_occupancy SET reservations = 2, people = 6, revenue = 83.94 WHERE day = :day AND hour = 8")
+        .param("day", tomorrow)
+        .update();
+    jdbcClient
+        .sql("DELETE FROM daily_occupancy WHERE day = :day AND hour = 9")
+        .param("day", tomorrow)
+        .update();
+
+    assertThat(occupancyDao.reconcile(tomorrow, tomorrow))
+        .containsExactly(
+            new HourlyOccupancy(tomorrow, 8, -1, -3, new BigDecimal("-41.97")),
+            new HourlyOccupancy(tomorrow, 9, 1, 3, new BigDecimal("41.97")));
+    assertThat(occupancyDao.reconcile(tomorrow, tomorrow)).isEmpty();
+    assertThat(occupancyDao.findBetween(tomorrow, tomorrow))
+        .containsExactly(
+            new HourlyOccupancy(tomorrow, 8, 1, 3, new BigDecimal("41.97")),
+            new HourlyOccupancy(tomorrow, 9, 1, 3, new BigDecimal("41.97")));
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class QuoteControllerIT {
+
+  @LocalServerPort private Integer port;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.port = port;
+    RestAssured.basePath = "/api";
+
+    jdbcClient.sql("TRUNCATE TABLE package").update();
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (1, 5, 13.99, 4), (6, 10, 12.50, 8)")
+        .update();
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  @Test
+  void givenValidBatch_whenQuote_thenReturnCorrectStatusCodeContentTypeQuotes() {
+    String date = LocalDate.now(ZoneId.systemDefault()).plusDays(1).toString();
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(
+            List.of(
+                new QuoteRequest(4, LocalDate.parse(date)),
+                new QuoteRequest(10, LocalDate.parse(date)),
+                new QuoteRequest(40, LocalDate.parse(date))))
+        .when()
+        .post("/quotes")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .contentType(ContentType.JSON)
+        .body("people", contains(4, 10, 40))
+        .body("date", everyItem(equalTo(date)))
+        .body("admissionPrice", contains(13.99f, 12.50f, null))
+        .body("total", contains(55.96f, 125.0f, null))
+        .body("[2].groupId", nullValue());
+  }
+
+  @Test
+  void givenEmptyBatch_whenQuote_thenReturnCorrectStatusCodeContentTypeErrors() {
+    given()
+        .contentType(ContentType.JSON)
+        .body("[]")
+        .when()
+        .post("/quotes")
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .contentType(ContentType.JSON)
+        .body(
+            "errors.'Request.EmptyBatch'", contains("The batch must contain at least one quote."));
+  }
+}
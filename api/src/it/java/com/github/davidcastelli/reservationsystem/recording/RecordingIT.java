@@ -0,0 +1,186 @@
+package com.github.davidcastelli.reservationsystem.recording;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RecordingIT {
+
+  @LocalServerPort private Integer port;
+
+  @LocalManagementPort private Integer managementPort;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private RecordingService recordingService;
+
+  private final LocalDateTime tomorrowAtTen =
+      LocalDate.now(ZoneId.systemDefault()).plusDays(1).atTime(10, 0);
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.port = port;
+    RestAssured.basePath = "/api";
+
+    jdbcClient.sql("TRUNCATE TABLE reservation").update();
+    jdbcClient.sql("TRUNCATE TABLE package").update();
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (1, 5, 13.99, 4)")
+        .update();
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  @Test
+  void givenBookingDuringRecording_whenRecord_thenReturnRecordingWithEventsOfBookingPath()
+      throws Exception {
+    // Warms the booking path up, so that the booking which is recorded ends within the recording.
+    book(tomorrowAtTen.plusHours(1));
+    var request =
+        HttpRequest.newBuilder(
+                URI.create("http://localhost:" + managementPort + "/actuator/recording"))
+            .header(HttpHeaders.CONTENT_TYPE, ContentType.JSON.toString())
+            .POST(HttpRequest.BodyPublishers.ofString("{\"duration\": \"PT3S\"}"))
+            .build();
+    Path file = Files.createTempFile("recording-it", ".jfr");
+    try (var client = HttpClient.newHttpClient()) {
+      var response = client.sendAsync(request, HttpResponse.BodyHandlers.ofFile(file));
+      awaitRunning();
+
+      book(tomorrowAtTen);
+
+      var recorded = response.get(30, TimeUnit.SECONDS);
+      assertThat(recorded.statusCode()).isEqualTo(HttpStatus.OK.value());
+      assertThat(recorded.headers().firstValue(HttpHeaders.CONTENT_TYPE))
+          .hasValue("application/octet-stream");
+
+      List<RecordedEvent> events =
+          RecordingFile.readAllEvents(file).stream()
+              .filter(e -> e.getEventType().getName().startsWith("reservationsystem."))
+              .toList();
+      assertThat(events)
+          .extracting(
+              e -> e.getEventType().getName(),
+              e -> e.getInt("people"),
+              e -> e.getString("slotStart"),
+              e -> e.getString("outcome"))
+          .containsExactly(
+              tuple("reservationsystem.GroupResolution", 4, tomorrowAtTen.toString(), "FOUND"),
+              tuple("reservationsystem.AvailabilityCheck", 4, tomorrowAtTen.toString(), "FREE"),
+              tuple("reservationsystem.BookingAttempt", 4, tomorrowAtTen.toString(), "COMPLETED"));
+    } finally {
+      Files.delete(file);
+    }
+    assertThat(recordingService.isRunning()).isFalse();
+  }
+
+  @Test
+  void givenRecordingInProgress_whenRecord_thenReturnConflict() throws Exception {
+    var request =
+        HttpRequest.newBuilder(
+                URI.create("http://localhost:" + managementPort + "/actuator/recording"))
+            .header(HttpHeaders.CONTENT_TYPE, ContentType.JSON.toString())
+            .POST(HttpRequest.BodyPublishers.ofString("{\"duration\": \"PT1S\"}"))
+            .build();
+    try (var client = HttpClient.newHttpClient()) {
+      var response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+      awaitRunning();
+
+      given()
+          .port(managementPort)
+          .basePath("")
+          .contentType(ContentType.JSON)
+          .body("{\"duration\": \"PT1S\"}")
+          .when()
+          .post("/actuator/recording")
+          .then()
+          .statusCode(HttpStatus.CONFLICT.value());
+
+      assertThat(response.get(30, TimeUnit.SECONDS).statusCode()).isEqualTo(HttpStatus.OK.value());
+    }
+  }
+
+  private static void book(LocalDateTime startTime) {
+    given()
+        .contentType(ContentType.JSON)
+        .body(
+            String.format(
+                """
+                  {
+                    "name": "Castelli",
+                    "startTime": "%s",
+                    "people": 4
+                  }
+                """,
+                startTime))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.CREATED.value());
+  }
+
+  // The recording starts once the server handles the request, which the client cannot observe.
+  private void awaitRunning() throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!recordingService.isRunning() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(recordingService.isRunning()).isTrue();
+  }
+
+  @Test
+  void whenRecordOnServerPort_thenReturnNotFound() {
+    given()
+        .basePath("")
+        .contentType(ContentType.JSON)
+        .body("{\"duration\": \"PT1S\"}")
+        .when()
+        .post("/actuator/recording")
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+    assertThat(recordingService.isRunning()).isFalse();
+  }
+}
@@ -0,0 +1,127 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReminderDao.class)
+class ReminderDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private ReminderDao reminderDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  private final LocalDateTime now = LocalDate.now(ZoneId.systemDefault()).plusDays(1).atTime(9, 0);
+
+  private void createReservation(LocalDateTime startTime, String status, String reminder) {
+    jdbcClient
+        .sql(
+            """
+            INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status, reminder)
+            VALUES ('Test', :startTime, :endTime, 3, 1, 5, :confirmationCode, CAST(:status AS status), :reminder)
+            """)
+        .param("startTime", startTime)
+        .param("endTime", startTime.plusMinutes(4))
+        .param("confirmationCode", UUID.randomUUID())
+        .param("status", status)
+        .param("reminder", reminder)
+        .update();
+  }
+
+  @Test
+  void givenReservations_whenEnqueue_thenQueueRemindersOfPaidReservationsWithinRangeOnce() {
+    createReservation(now.plusHours(1), "paid", "Bring clubs");
+    createReservation(now.plusHours(2), "paid", null);
+    createReservation(now.plusHours(3), "teed off", "Bring clubs");
+    createReservation(now.plusHours(30), "paid", "Bring clubs");
+
+    assertThat(reminderDao.enqueue(now, now.plusHours(24))).isEqualTo(1);
+    assertThat(reminderDao.enqueue(now, now.plusHours(24))).isZero();
+  }
+
+  @Test
+  void givenQueuedReminders_whenClaim_thenClaimDueRemindersUntilLeaseEnds() {
+    createReservation(now.plusHours(1), "paid", "Bring clubs");
+    createReservation(now.plusHours(2), "paid", "Bring balls");
+    reminderDao.enqueue(now.minusHours(1), now.plusHours(24));
+    LocalDateTime claimedAt = LocalDateTime.now(ZoneId.systemDefault());
+
+    List<Reminder> claimed = reminderDao.claim(claimedAt, claimedAt.plusMinutes(1), 3, 10);
+
+    assertThat(claimed)
+        .hasSize(2)
+        .allSatisfy(reminder -> assertThat(reminder.attempts()).isEqualTo(1))
+        .extracting(Reminder::message)
+        .containsExactlyInAnyOrder("Bring clubs", "Bring balls");
+    assertThat(reminderDao.claim(claimedAt, claimedAt.plusMinutes(1), 3, 10)).isEmpty();
+    assertThat(reminderDao.claim(claimedAt.plusMinutes(1), claimedAt.plusMinutes(2), 3, 10))
+        .hasSize(2);
+  }
+
+  @Test
+  void givenSentReminder_whenClaim_thenNotClaimed() {
+    createReservation(now.plusHours(1), "paid", "Bring clubs");
+    reminderDao.enqueue(now.minusHours(1), now.plusHours(24));
+    LocalDateTime claimedAt = LocalDateTime.now(ZoneId.systemDefault());
+    Reminder reminder = reminderDao.claim(claimedAt, claimedAt, 3, 10).getFirst();
+
+    reminderDao.markSent(reminder.reminderId(), claimedAt);
+
+    assertThat(reminderDao.claim(claimedAt.plusMinutes(1), claimedAt.plusMinutes(2), 3, 10))
+        .isEmpty();
+  }
+
+  @Test
+  void givenFailedReminder_whenClaim_thenClaimedOnlyOnceNextAttemptIsDue() {
+    createReservation(now.plusHours(1), "paid", "Bring clubs");
+    reminderDao.enqueue(now.minusHours(1), now.plusHours(24));
+    LocalDateTime claimedAt = LocalDateTime.now(ZoneId.systemDefault());
+    Reminder reminder = reminderDao.claim(claimedAt, claimedAt, 3, 10).getFirst();
+
+    reminderDao.markFailed(reminder.reminderId(), "Unreachable", LocalDateTime.MAX);
+
+    assertThat(reminderDao.claim(claimedAt.plusYears(1), claimedAt.plusYears(1), 3, 10)).isEmpty();
+    assertThat(
+            jdbcClient
+                .sql("SELECT last_error FROM reminder_outbox WHERE reminder_id = :reminderId")
+                .param("reminderId", reminder.reminderId())
+                .query(String.class)
+                .single())
+        .isEqualTo("Unreachable");
+  }
+
+  @Test
+  void givenReminderWithoutAttemptsLeft_whenClaim_thenNotClaimed() {
+    createReservation(now.plusHours(1), "paid", "Bring clubs");
+    reminderDao.enqueue(now.minusHours(1), now.plusHours(24));
+    LocalDateTime claimedAt = LocalDateTime.now(ZoneId.systemDefault());
+    reminderDao.claim(claimedAt, claimedAt, 1, 10);
+
+    assertThat(reminderDao.claim(claimedAt.plusMinutes(1), claimedAt.plusMinutes(2), 1, 10))
+        .isEmpty();
+  }
+}
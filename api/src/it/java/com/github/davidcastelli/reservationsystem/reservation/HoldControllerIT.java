@@ -0,0 +1,180 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HoldControllerIT {
+
+  @LocalServerPort private Integer port;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private ReservationDao reservationDao;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private final LocalDateTime tomorrowAtTen =
+      LocalDate.now(ZoneId.systemDefault()).plusDays(1).atTime(10, 0);
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.port = port;
+    RestAssured.basePath = "/api";
+
+    jdbcClient.sql("TRUNCATE TABLE reservation, reservation_hold").update();
+    jdbcClient.sql("TRUNCATE TABLE package").update();
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (1, 5, 13.99, 4)")
+        .update();
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  @Test
+  void givenHold_whenBookAndConfirm_thenRejectOtherCustomersAndBookHolder() {
+    String holdId =
+        given()
+            .contentType(ContentType.JSON)
+            .body(String.format("{\"startTime\": \"%s\", \"people\": 4}", tomorrowAtTen))
+            .when()
+            .post("/holds")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .contentType(ContentType.JSON)
+            .body("endTime", equalTo(tomorrowAtTen.plusMinutes(4).toString() + ":00"))
+            .body("expiresAt", notNullValue())
+            .extract()
+            .path("holdId");
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(
+            String.format(
+                "{\"name\": \"Rossi\", \"startTime\": \"%s\", \"people\": 3}",
+                tomorrowAtTen.plusMinutes(2)))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value())
+        .body(
+            "errors.'Reservation.Held'",
+            contains("The reservation overlaps a hold of another customer."));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"Castelli\"}")
+        .when()
+        .post("/holds/{id}:confirm", holdId)
+        .then()
+        .statusCode(HttpStatus.CREATED.value())
+        .contentType(ContentType.JSON)
+        .body("startTime", equalTo(tomorrowAtTen.toString() + ":00"))
+        .body("status", equalTo("PAID"));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body("{\"name\": \"Castelli\"}")
+        .when()
+        .post("/holds/{id}:confirm", holdId)
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+  }
+
+  @Test
+  void givenBookingInFlight_whenHold_thenWaitForBookingAndRejectHold() throws Exception {
+    var booked = new CountDownLatch(1);
+    var commit = new CountDownLatch(1);
+    var booking =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      reservationDao.lockDay(tomorrowAtTen.toLocalDate());
+                      reservationDao.create(
+                          new Reservation(
+                              0L,
+                              "Rossi",
+                              tomorrowAtTen.plusMinutes(2),
+                              tomorrowAtTen.plusMinutes(6),
+                              3,
+                              1,
+                              5,
+                              UUID.randomUUID(),
+                              ReservationStatus.PAID,
+                              null,
+                              null),
+                          LocalDateTime.now(ZoneId.systemDefault()));
+                      booked.countDown();
+                      try {
+                        assertThat(commit.await(10, TimeUnit.SECONDS)).isTrue();
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                      }
+                    }));
+    assertThat(booked.await(10, TimeUnit.SECONDS)).isTrue();
+
+    var hold =
+        CompletableFuture.supplyAsync(
+            () ->
+                given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("{\"startTime\": \"%s\", \"people\": 4}", tomorrowAtTen))
+                    .when()
+                    .post("/holds")
+                    .then()
+                    .extract()
+                    .statusCode());
+
+    // The hold cannot see the uncommitted reservation, so it has to wait for the lock on the day.
+    assertThatThrownBy(() -> hold.get(500, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+    commit.countDown();
+    booking.get(10, TimeUnit.SECONDS);
+
+    assertThat(hold.get(10, TimeUnit.SECONDS)).isEqualTo(HttpStatus.CONFLICT.value());
+    assertThat(jdbcClient.sql("SELECT count(*) FROM reservation_hold").query(Long.class).single())
+        .isZero();
+  }
+}
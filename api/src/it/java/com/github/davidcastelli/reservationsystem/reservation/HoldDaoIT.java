@@ -0,0 +1,159 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HoldDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private HoldDao holdDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  // The database keeps microseconds, so the expiry of a hold reads back as it was written.
+  private final LocalDateTime now =
+      LocalDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.MICROS);
+
+  private final LocalDateTime tomorrowAtTen = now.toLocalDate().plusDays(1).atTime(10, 0);
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Autowired private JdbcClient jdbcClient;
+
+    @Bean
+    public HoldDao holdDao() {
+      return new HoldDao(jdbcClient);
+    }
+  }
+
+  private Optional<Hold> create(LocalDateTime startTime, Duration ttl) {
+    return holdDao.create(
+        UUID.randomUUID(), startTime, startTime.plusMinutes(4), 4, 1, 5, now.plus(ttl));
+  }
+
+  private void expire(UUID holdId) {
+    jdbcClient
+        .sql("UPDATE reservation_hold SET expires_at = :expiresAt WHERE hold_id = :holdId")
+        .param("expiresAt", now.minusSeconds(1))
+        .param("holdId", holdId)
+        .update();
+  }
+
+  @Test
+  void givenFreeTimeRange_whenCreate_thenReturnHoldExpiringAtGivenTime() {
+    Optional<Hold> hold = create(tomorrowAtTen, Duration.ofMinutes(2));
+
+    assertThat(hold).isPresent();
+    assertThat(hold.get().expiresAt()).isEqualTo(now.plusMinutes(2));
+    assertThat(holdDao.findActive(now)).containsExactly(hold.get());
+  }
+
+  @Test
+  void givenOverlappingReservation_whenCreate_thenReturnEmptyOptional() {
+    jdbcClient
+        .sql(
+            "INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status) VALUES ('Test', :startTime, :endTime, 3, 1, 5, :confirmationCode, 'paid')")
+        .param("startTime", tomorrowAtTen.plusMinutes(4))
+        .param("endTime", tomorrowAtTen.plusMinutes(8))
+        .param("confirmationCode", UUID.randomUUID())
+        .update();
+
+    assertThat(create(tomorrowAtTen, Duration.ofMinutes(2))).isEmpty();
+  }
+
+  @Test
+  void givenOverlappingActiveHold_whenCreate_thenThrowExclusionViolation() {
+    create(tomorrowAtTen, Duration.ofMinutes(2));
+
+    Throwable thrown =
+        catchThrowable(() -> create(tomorrowAtTen.plusMinutes(2), Duration.ofMinutes(2)));
+
+    assertThat(BookingExecutor.classify(thrown)).isEqualTo(BookingExecutor.Failure.CONFLICT);
+  }
+
+  @Test
+  void givenOverlappingExpiredHold_whenDeleteExpiredOverlappingAndCreate_thenReturnHold() {
+    Hold expired = create(tomorrowAtTen, Duration.ofMinutes(2)).orElseThrow();
+    expire(expired.holdId());
+
+    int deleted =
+        holdDao.deleteExpiredOverlapping(
+            tomorrowAtTen.plusMinutes(2), tomorrowAtTen.plusMinutes(6), now);
+
+    assertThat(deleted).isEqualTo(1);
+    assertThat(create(tomorrowAtTen.plusMinutes(2), Duration.ofMinutes(2))).isPresent();
+  }
+
+  @Test
+  void givenActiveHold_whenConfirm_thenReturnReservationAndDeleteHold() {
+    Hold hold = create(tomorrowAtTen, Duration.ofMinutes(2)).orElseThrow();
+    UUID confirmationCode = UUID.randomUUID();
+
+    Optional<Reservation> reservation =
+        holdDao.confirm(hold.holdId(), "Castelli", confirmationCode, "Birthday", now);
+
+    assertThat(reservation).isPresent();
+    assertThat(reservation.get())
+        .returns(tomorrowAtTen, from(Reservation::startTime))
+        .returns(tomorrowAtTen.plusMinutes(4), from(Reservation::endTime))
+        .returns(4, from(Reservation::people))
+        .returns(confirmationCode, from(Reservation::confirmationCode));
+    assertThat(holdDao.findActive(now)).isEmpty();
+    assertThat(holdDao.confirm(hold.holdId(), "Castelli", UUID.randomUUID(), null, now)).isEmpty();
+  }
+
+  @Test
+  void givenExpiredHold_whenConfirm_thenReturnEmptyOptional() {
+    Hold hold = create(tomorrowAtTen, Duration.ofMinutes(2)).orElseThrow();
+    expire(hold.holdId());
+
+    Optional<Reservation> reservation =
+        holdDao.confirm(hold.holdId(), "Castelli", UUID.randomUUID(), null, now);
+
+    assertThat(reservation).isEmpty();
+  }
+
+  @Test
+  void givenExpiredAndActiveHolds_whenDeleteExpired_thenDeleteOnlyExpiredHolds() {
+    Hold first = create(tomorrowAtTen, Duration.ofMinutes(2)).orElseThrow();
+    Hold second = create(tomorrowAtTen.plusMinutes(8), Duration.ofMinutes(2)).orElseThrow();
+    Hold active = create(tomorrowAtTen.plusMinutes(16), Duration.ofMinutes(2)).orElseThrow();
+    expire(first.holdId());
+    expire(second.holdId());
+
+    int deleted = holdDao.deleteExpired(now);
+
+    assertThat(deleted).isEqualTo(2);
+    List<Hold> remaining = holdDao.findActive(now);
+    assertThat(remaining).containsExactly(active);
+  }
+}
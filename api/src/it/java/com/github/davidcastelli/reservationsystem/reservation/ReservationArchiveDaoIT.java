@@ -0,0 +1,120 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReservationDao.class, ReservationArchiveDao.class})
+class ReservationArchiveDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private ReservationDao reservationDao;
+
+  @Autowired private ReservationArchiveDao reservationArchiveDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  private final LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+
+  private final LocalDate tomorrow = LocalDate.now(ZoneId.systemDefault()).plusDays(1);
+
+  // The cutoff is the end of tomorrow instead of six months ago, since the reservation table does
+  // not accept reservations which start earlier.
+  private final LocalDateTime cutoff = tomorrow.atTime(23, 59);
+
+  private ReservationKey create(LocalDateTime startTime) {
+    Reservation reservation =
+        new Reservation(
+            0L,
+            "Test",
+            startTime,
+            startTime.plusMinutes(4),
+            3,
+            1,
+            5,
+            UUID.randomUUID(),
+            ReservationStatus.PAID,
+            "Birthday",
+            null);
+    return new ReservationKey(startTime, reservationDao.create(reservation, now).orElseThrow());
+  }
+
+  private long count(String table) {
+    return jdbcClient.sql("SELECT count(*) FROM " + table).query(Long.class).single();
+  }
+
+  @Test
+  void givenReservations_whenArchive_thenMoveBatchInKeyOrder() {
+    ReservationKey third = create(tomorrow.atTime(12, 0));
+    ReservationKey first = create(tomorrow.atTime(10, 0));
+    ReservationKey second = create(tomorrow.atTime(10, 8));
+
+    List<ReservationKey> archived = reservationArchiveDao.archive(ReservationKey.FIRST, cutoff, 2);
+
+    assertThat(archived).containsExactly(first, second);
+    assertThat(reservationArchiveDao.archive(second, cutoff, 2)).containsExactly(third);
+    assertThat(count("reservation")).isZero();
+    assertThat(count("reservation_archive")).isEqualTo(3);
+  }
+
+  @Test
+  void givenReservationAfterCutoff_whenArchive_thenKeepReservation() {
+    ReservationKey expired = create(tomorrow.atTime(10, 0));
+    create(tomorrow.plusDays(1).atTime(10, 0));
+
+    assertThat(reservationArchiveDao.archive(ReservationKey.FIRST, cutoff, 10))
+        .containsExactly(expired);
+    assertThat(count("reservation")).isEqualTo(1);
+  }
+
+  @Test
+  void givenArchivedReservation_whenArchive_thenKeepColumnsOfReservation() {
+    ReservationKey key = create(tomorrow.atTime(10, 0));
+
+    reservationArchiveDao.archive(ReservationKey.FIRST, cutoff, 10);
+
+    assertThat(
+            jdbcClient
+                .sql(
+                    "SELECT name, note, CAST(status AS text) FROM reservation_archive WHERE reservation_id = :reservationId")
+                .param("reservationId", key.reservationId())
+                .query((rs, rowNum) -> List.of(rs.getString(1), rs.getString(2), rs.getString(3)))
+                .single())
+        .containsExactly("Test", "Birthday", "paid");
+  }
+
+  @Test
+  void givenArchivedReservations_whenFindLastArchived_thenReturnGreatestKey() {
+    assertThat(reservationArchiveDao.findLastArchived()).isEmpty();
+    create(tomorrow.atTime(10, 0));
+    ReservationKey last = create(tomorrow.atTime(10, 8));
+    reservationArchiveDao.archive(ReservationKey.FIRST, cutoff, 10);
+
+    assertThat(reservationArchiveDao.findLastArchived()).contains(last);
+  }
+}
@@ -0,0 +1,252 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static io.restassured.RestAssured.*;
+import static org.hamcrest.Matchers.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReservationControllerIT {
+
+  @LocalServerPort private Integer port;
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private ConfirmationLookupService confirmationLookupService;
+
+  private final LocalDateTime tomorrowAtTen =
+      LocalDate.now(ZoneId.systemDefault()).plusDays(1).atTime(10, 0);
+
+  @BeforeEach
+  void init() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.port = port;
+    RestAssured.basePath = "/api";
+
+    jdbcClient.sql("TRUNCATE TABLE reservation").update();
+    jdbcClient.sql("TRUNCATE TABLE package").update();
+    jdbcClient
+        .sql(
+            "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (1, 5, 13.99, 4)")
+        .update();
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  private static String request(String name, LocalDateTime startTime, int people) {
+    return String.format(
+        """
+          {
+            "name": "%s",
+            "startTime": "%s",
+            "people": %d
+          }
+        """,
+        name, startTime, people);
+  }
+
+  @Test
+  void givenFreeStartTime_whenBook_thenReturnCorrectStatusCodeContentTypeReservation() {
+    given()
+        .contentType(ContentType.JSON)
+        .body(request("Castelli", tomorrowAtTen, 4))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.CREATED.value())
+        .contentType(ContentType.JSON)
+        .body("reservationId", notNullValue())
+        .body("startTime", equalTo(tomorrowAtTen.toString() + ":00"))
+        .body("endTime", equalTo(tomorrowAtTen.plusMinutes(4).toString() + ":00"))
+        .body("confirmationCode", notNullValue())
+        .body("status", equalTo("PAID"));
+  }
+
+  @Test
+  void givenOverlappingReservation_whenBook_thenReturnConflictWithAlternativeStartTime() {
+    given()
+        .contentType(ContentType.JSON)
+        .body(request("Castelli", tomorrowAtTen, 4))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.CREATED.value());
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(request("Rossi", tomorrowAtTen.plusMinutes(2), 3))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value())
+        .contentType(ContentType.JSON)
+        .body("alternativeStartTime", equalTo(tomorrowAtTen.plusMinutes(8).toString() + ":00"))
+        .body(
+            "errors.'Reservation.Overlapping'",
+            contains("The reservation overlaps another reservation."));
+  }
+
+  @Test
+  void givenIdempotencyKey_whenBookTwice_thenBookOnceAndReplayResponse() {
+    String confirmationCode =
+        given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "castelli-1")
+            .body(request("Castelli", tomorrowAtTen, 4))
+            .when()
+            .post("/reservations")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("confirmationCode");
+
+    given()
+        .contentType(ContentType.JSON)
+        .header("Idempotency-Key", "castelli-1")
+        .body(request("Castelli", tomorrowAtTen, 4))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.CREATED.value())
+        .contentType(ContentType.JSON)
+        .header("Idempotent-Replayed", "true")
+        .body("confirmationCode", equalTo(confirmationCode));
+
+    given()
+        .contentType(ContentType.JSON)
+        .header("Idempotency-Key", "castelli-1")
+        .body(request("Rossi", tomorrowAtTen, 4))
+        .when()
+        .post("/reservations")
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .body(
+            "errors.'Request.IdempotencyKey'",
+            contains("The idempotency key was already used for a different request."));
+  }
+
+  @Test
+  void givenBookedReservation_whenFindByConfirmationCode_thenReturnReservation() {
+    String confirmationCode =
+        given()
+            .contentType(ContentType.JSON)
+            .body(request("Castelli", tomorrowAtTen, 4))
+            .when()
+            .post("/reservations")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("confirmationCode");
+
+    given()
+        .when()
+        .get("/reservations/{confirmationCode}", confirmationCode)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .contentType(ContentType.JSON)
+        .body("name", equalTo("Castelli"))
+        .body("confirmationCode", equalTo(confirmationCode));
+  }
+
+  @Test
+  void
+      givenReservationBookedOnOtherNode_whenRefreshAndFindByConfirmationCode_thenReturnReservation() {
+    UUID confirmationCode = UUID.randomUUID();
+    jdbcClient
+        .sql(
+            "INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status) VALUES ('Rossi', :startTime, :endTime, 3, 1, 5, :confirmationCode, 'paid')")
+        .param("startTime", tomorrowAtTen)
+        .param("endTime", tomorrowAtTen.plusMinutes(4))
+        .param("confirmationCode", confirmationCode)
+        .update();
+
+    confirmationLookupService.refresh();
+
+    given()
+        .when()
+        .get("/reservations/{confirmationCode}", confirmationCode)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("name", equalTo("Rossi"));
+  }
+
+  @Test
+  void givenBookedReservation_whenFindByShortCodeAsTyped_thenReturnReservation() {
+    String shortCode =
+        given()
+            .contentType(ContentType.JSON)
+            .body(request("Castelli", tomorrowAtTen, 4))
+            .when()
+            .post("/reservations")
+            .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("shortCode");
+
+    given()
+        .when()
+        .get("/reservations/{code}", shortCode.toLowerCase(Locale.ROOT))
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("name", equalTo("Castelli"))
+        .body("shortCode", equalTo(shortCode));
+  }
+
+  @Test
+  void givenMalformedCode_whenFindByCode_thenReturnBadRequest() {
+    given()
+        .when()
+        .get("/reservations/{code}", "not-a-code")
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .body(
+            "errors.'Reservation.ConfirmationCode'",
+            contains("The code must be a confirmation code or a short code of ten characters."));
+  }
+
+  @Test
+  void givenUnknownConfirmationCode_whenFindByConfirmationCode_thenReturnNotFound() {
+    UUID confirmationCode = UUID.randomUUID();
+
+    given()
+        .when()
+        .get("/reservations/{confirmationCode}", confirmationCode)
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value())
+        .contentType(ContentType.JSON)
+        .body(
+            "detail",
+            equalTo(
+                "Reservation with confirmation code: "
+                    + confirmationCode
+                    + " could not be found."));
+  }
+}
@@ -0,0 +1,265 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReservationDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private ReservationDao reservationDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  private final LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+
+  private final LocalDate tomorrow = LocalDate.now(ZoneId.systemDefault()).plusDays(1);
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Autowired private JdbcClient jdbcClient;
+
+    @Bean
+    public ReservationDao reservationDao() {
+      return new ReservationDao(jdbcClient);
+    }
+  }
+
+  @BeforeEach
+  void init() {
+    reservationDao.create(reservation(tomorrow.atTime(10, 0), tomorrow.atTime(10, 4)), now);
+    reservationDao.create(reservation(tomorrow.atTime(10, 8), tomorrow.atTime(10, 12)), now);
+  }
+
+  private static Reservation reservation(LocalDateTime startTime, LocalDateTime endTime) {
+    return new Reservation(
+        0L,
+        "Test",
+        startTime,
+        endTime,
+        3,
+        1,
+        5,
+        UUID.randomUUID(),
+        ReservationStatus.PAID,
+        "Birthday",
+        null);
+  }
+
+  @Test
+  void givenReservation_whenCreate_thenPersistReservationWithStatus() {
+    Reservation reservation = reservation(tomorrow.atTime(12, 0), tomorrow.atTime(12, 4));
+
+    long reservationId = reservationDao.create(reservation, now).orElseThrow();
+
+    assertThat(
+            jdbcClient
+                .sql(
+                    "SELECT CAST(status AS text) FROM reservation WHERE reservation_id = :reservationId")
+                .param("reservationId", reservationId)
+                .query(String.class)
+                .single())
+        .isEqualTo("paid");
+  }
+
+  @Test
+  void givenOverlappingReservation_whenCreate_thenThrowExclusionViolation() {
+    Throwable thrown =
+        catchThrowable(
+            () ->
+                reservationDao.create(
+                    reservation(tomorrow.atTime(10, 4), tomorrow.atTime(10, 8)), now));
+
+    assertThat(thrown).isNotNull();
+    assertThat(BookingExecutor.classify(thrown)).isEqualTo(BookingExecutor.Failure.CONFLICT);
+  }
+
+  @Test
+  void givenReservations_whenFindNearestFreeStart_thenReturnNearestStartWhichFits() {
+    Optional<LocalDateTime> nearest =
+        reservationDao.findNearestFreeStart(
+            tomorrow.atTime(8, 0), tomorrow.atTime(19, 56), 4, tomorrow.atTime(10, 6), now);
+
+    // Every start from 9:56 to 10:12 touches a reservation, and 10:16 is nearer than 9:52.
+    assertThat(nearest).contains(tomorrow.atTime(10, 16));
+  }
+
+  @Test
+  void givenEqualDistances_whenFindNearestFreeStart_thenReturnEarlierStart() {
+    Optional<LocalDateTime> nearest =
+        reservationDao.findNearestFreeStart(
+            tomorrow.atTime(9, 0), tomorrow.atTime(11, 0), 6, tomorrow.atTime(10, 3), now);
+
+    // 9:48 and 10:18 are the nearest free starts, both 15 minutes apart from 10:03.
+    assertThat(nearest).contains(tomorrow.atTime(9, 48));
+  }
+
+  @Test
+  void givenNoFreeStart_whenFindNearestFreeStart_thenReturnEmptyOptional() {
+    Optional<LocalDateTime> nearest =
+        reservationDao.findNearestFreeStart(
+            tomorrow.atTime(10, 0), tomorrow.atTime(10, 8), 4, tomorrow.atTime(10, 0), now);
+
+    assertThat(nearest).isEmpty();
+  }
+
+  @Test
+  void givenActiveHold_whenCreate_thenReturnEmptyOptional() {
+    insertHold(
+        tomorrow.atTime(12, 0), tomorrow.atTime(12, 4), "localtimestamp + interval '1 minute'");
+
+    OptionalLong reservationId =
+        reservationDao.create(reservation(tomorrow.atTime(12, 2), tomorrow.atTime(12, 6)), now);
+
+    assertThat(reservationId).isEmpty();
+  }
+
+  @Test
+  void givenExpiredHold_whenCreate_thenCreateReservation() {
+    insertHold(
+        tomorrow.atTime(12, 0), tomorrow.atTime(12, 4), "localtimestamp - interval '1 minute'");
+
+    OptionalLong reservationId =
+        reservationDao.create(reservation(tomorrow.atTime(12, 2), tomorrow.atTime(12, 6)), now);
+
+    assertThat(reservationId).isPresent();
+  }
+
+  @Test
+  void givenActiveHold_whenFindNearestFreeStart_thenSkipHeldStart() {
+    insertHold(
+        tomorrow.atTime(10, 16), tomorrow.atTime(10, 20), "localtimestamp + interval '1 minute'");
+
+    Optional<LocalDateTime> nearest =
+        reservationDao.findNearestFreeStart(
+            tomorrow.atTime(8, 0), tomorrow.atTime(19, 56), 4, tomorrow.atTime(10, 6), now);
+
+    assertThat(nearest).contains(tomorrow.atTime(9, 52));
+  }
+
+  @Test
+  void givenReservation_whenFindByConfirmationCode_thenReturnReservation() {
+    Reservation reservation = reservation(tomorrow.atTime(12, 0), tomorrow.atTime(12, 4));
+    long reservationId = reservationDao.create(reservation, now).orElseThrow();
+
+    Optional<Reservation> found =
+        reservationDao.findByConfirmationCode(reservation.confirmationCode());
+
+    assertThat(found)
+        .contains(
+            new Reservation(
+                reservationId,
+                reservation.name(),
+                reservation.startTime(),
+                reservation.endTime(),
+                reservation.people(),
+                reservation.minPeople(),
+                reservation.maxPeople(),
+                reservation.confirmationCode(),
+                reservation.status(),
+                reservation.note(),
+                reservation.reminder()));
+    assertThat(reservationDao.findByConfirmationCode(UUID.randomUUID())).isEmpty();
+  }
+
+  @Test
+  void givenTimeOrderedConfirmationCode_whenFindByConfirmationCode_thenReturnReservation() {
+    UUID confirmationCode = new TimeOrderedUuidGenerator().next();
+    Reservation reservation =
+        new Reservation(
+            0L,
+            "Test",
+            tomorrow.atTime(12, 0),
+            tomorrow.atTime(12, 4),
+            3,
+            1,
+            5,
+            confirmationCode,
+            ReservationStatus.PAID,
+            null,
+            null);
+    reservationDao.create(reservation, now).orElseThrow();
+
+    assertThat(reservationDao.findByConfirmationCode(confirmationCode))
+        .map(Reservation::name)
+        .contains("Test");
+  }
+
+  @Test
+  void givenReservations_whenFindConfirmationCodesAfter_thenPassCodesAfterIdAndReturnGreatestId() {
+    Reservation first = reservation(tomorrow.atTime(12, 0), tomorrow.atTime(12, 4));
+    Reservation second = reservation(tomorrow.atTime(12, 8), tomorrow.atTime(12, 12));
+    long firstId = reservationDao.create(first, now).orElseThrow();
+    long secondId = reservationDao.create(second, now).orElseThrow();
+    List<UUID> codes = new ArrayList<>();
+
+    long greatest = reservationDao.findConfirmationCodesAfter(firstId - 1, codes::add);
+
+    assertThat(greatest).isEqualTo(secondId);
+    assertThat(codes)
+        .containsExactlyInAnyOrder(first.confirmationCode(), second.confirmationCode());
+    assertThat(reservationDao.findConfirmationCodesAfter(secondId, codes::add)).isEqualTo(secondId);
+    assertThat(reservationDao.count()).isEqualTo(4);
+  }
+
+  @Test
+  void givenReservation_whenFindByShortCode_thenReturnReservationWithMatchingShortCode() {
+    Reservation reservation = reservation(tomorrow.atTime(12, 0), tomorrow.atTime(12, 4));
+    reservationDao.create(reservation, now).orElseThrow();
+    String shortCode = ShortCode.of(reservation.confirmationCode());
+
+    Optional<Reservation> found = reservationDao.findByShortCode(shortCode);
+
+    assertThat(found).map(Reservation::confirmationCode).contains(reservation.confirmationCode());
+    assertThat(
+            jdbcClient
+                .sql("SELECT short_code(confirmation_code) FROM reservation")
+                .query(String.class)
+                .list())
+        .contains(shortCode);
+    assertThat(reservationDao.findByShortCode(ShortCode.of(UUID.randomUUID()))).isEmpty();
+  }
+
+  private void insertHold(LocalDateTime startTime, LocalDateTime endTime, String expiresAt) {
+    jdbcClient
+        .sql(
+            "INSERT INTO reservation_hold (hold_id, start_time, end_time, people, min_people, max_people, expires_at) VALUES (:holdId, :startTime, :endTime, 3, 1, 5, "
+                + expiresAt
+                + ")")
+        .param("holdId", UUID.randomUUID())
+        .param("startTime", startTime)
+        .param("endTime", endTime)
+        .update();
+  }
+}
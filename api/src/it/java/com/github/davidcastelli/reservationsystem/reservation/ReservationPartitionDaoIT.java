@@ -0,0 +1,246 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// A partition cannot be detached concurrently inside a transaction.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReservationDao.class, ReservationPartitionDao.class})
+class ReservationPartitionDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private ReservationDao reservationDao;
+
+  @Autowired private ReservationPartitionDao reservationPartitionDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  private final LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+
+  private final LocalDate tomorrow = LocalDate.now(ZoneId.systemDefault()).plusDays(1);
+
+  @AfterEach
+  void tearDown() {
+    jdbcClient.sql("TRUNCATE TABLE reservation").update();
+  }
+
+  private static Reservation reservation(LocalDateTime startTime, LocalDateTime endTime) {
+    return reservation(startTime, endTime, UUID.randomUUID());
+  }
+
+  private static Reservation reservation(
+      LocalDateTime startTime, LocalDateTime endTime, UUID confirmationCode) {
+    return new Reservation(
+        0L,
+        "Test",
+        startTime,
+        endTime,
+        3,
+        1,
+        5,
+        confirmationCode,
+        ReservationStatus.PAID,
+        null,
+        null);
+  }
+
+  private static String partitionName(YearMonth month) {
+    return "reservation_y%dm%02d".formatted(month.getYear(), month.getMonthValue());
+  }
+
+  private String partitionOf(long reservationId) {
+    return jdbcClient
+        .sql(
+            "SELECT CAST(CAST(tableoid AS regclass) AS text) FROM reservation WHERE reservation_id = :reservationId")
+        .param("reservationId", reservationId)
+        .query(String.class)
+        .single();
+  }
+
+  @Test
+  void givenMonthWithoutPartition_whenCreate_thenCreatePartitionOnce() {
+    YearMonth month = YearMonth.of(2100, 1);
+
+    assertThat(reservationPartitionDao.create(month)).isTrue();
+    assertThat(reservationPartitionDao.create(month)).isFalse();
+    assertThat(reservationPartitionDao.findAll())
+        .contains(new ReservationPartition("reservation_y2100m01", month, false));
+  }
+
+  @Test
+  void whenFindAll_thenReturnPartitionsOfBookingHorizonOrderedByMonth() {
+    YearMonth current = YearMonth.now(ZoneId.systemDefault());
+
+    List<YearMonth> months =
+        reservationPartitionDao.findAll().stream().map(ReservationPartition::month).toList();
+
+    assertThat(months).isSorted();
+    for (int i = -ReservationService.BOOKING_HORIZON_MONTHS;
+        i <= ReservationService.BOOKING_HORIZON_MONTHS;
+        i++) {
+      assertThat(months).contains(current.plusMonths(i));
+    }
+  }
+
+  @Test
+  void givenPartition_whenDetach_thenKeepPartitionAsTable() {
+    YearMonth month = YearMonth.of(2100, 2);
+    reservationPartitionDao.create(month);
+    ReservationPartition partition = new ReservationPartition("reservation_y2100m02", month, false);
+
+    reservationPartitionDao.detach(partition);
+
+    assertThat(reservationPartitionDao.findAll()).doesNotContain(partition);
+    assertThat(
+            jdbcClient
+                .sql("SELECT to_regclass('reservation_y2100m02') IS NOT NULL")
+                .query(Boolean.class)
+                .single())
+        .isTrue();
+  }
+
+  @Test
+  void givenReservation_whenCreateOverlappingReservation_thenThrowExclusionViolationOfPartition() {
+    reservationDao.create(reservation(tomorrow.atTime(10, 0), tomorrow.atTime(10, 4)), now);
+
+    Throwable thrown =
+        catchThrowable(
+            () ->
+                reservationDao.create(
+                    reservation(tomorrow.atTime(10, 4), tomorrow.atTime(10, 8)), now));
+
+    assertThat(BookingExecutor.classify(thrown)).isEqualTo(BookingExecutor.Failure.CONFLICT);
+    assertThat(thrown).hasMessageContaining("_overlapping_reservation");
+  }
+
+  @Test
+  void givenReservationEndingInNextMonth_whenCreate_thenThrowCheckViolation() {
+    LocalDateTime nextMonth =
+        YearMonth.now(ZoneId.systemDefault()).plusMonths(1).atDay(1).atStartOfDay();
+
+    assertThatExceptionOfType(DataIntegrityViolationException.class)
+        .isThrownBy(
+            () -> reservationDao.create(reservation(nextMonth.minusMinutes(2), nextMonth), now))
+        .withMessageContaining("reservation_within_month");
+  }
+
+  @Test
+  void givenReservationsOnBothSidesOfMonthEnd_whenCreate_thenStoreInPartitionOfTheirMonth() {
+    YearMonth month = YearMonth.now(ZoneId.systemDefault()).plusMonths(1);
+    LocalDateTime nextMonth = month.plusMonths(1).atDay(1).atStartOfDay();
+
+    long before =
+        reservationDao
+            .create(reservation(nextMonth.minusMinutes(4), nextMonth.minusNanos(1000)), now)
+            .orElseThrow();
+    long after =
+        reservationDao.create(reservation(nextMonth, nextMonth.plusMinutes(4)), now).orElseThrow();
+
+    assertThat(partitionOf(before)).isEqualTo(partitionName(month));
+    assertThat(partitionOf(after)).isEqualTo(partitionName(month.plusMonths(1)));
+  }
+
+  @Test
+  void givenConfirmationCodeInSamePartition_whenCreate_thenThrowUniqueViolation() {
+    UUID confirmationCode = UUID.randomUUID();
+    reservationDao.create(
+        reservation(tomorrow.atTime(10, 0), tomorrow.atTime(10, 4), confirmationCode), now);
+
+    assertThatExceptionOfType(DuplicateKeyException.class)
+        .isThrownBy(
+            () ->
+                reservationDao.create(
+                    reservation(tomorrow.atTime(11, 0), tomorrow.atTime(11, 4), confirmationCode),
+                    now))
+        .withMessageContaining("reservation_code_pkey");
+  }
+
+  @Test
+  void givenConfirmationCodeInOtherPartition_whenCreate_thenThrowUniqueViolation() {
+    UUID confirmationCode = UUID.randomUUID();
+    reservationDao.create(
+        reservation(tomorrow.atTime(10, 0), tomorrow.atTime(10, 4), confirmationCode), now);
+    LocalDateTime nextMonth = tomorrow.plusMonths(1).atTime(10, 0);
+
+    assertThatExceptionOfType(DuplicateKeyException.class)
+        .isThrownBy(
+            () ->
+                reservationDao.create(
+                    reservation(nextMonth, nextMonth.plusMinutes(4), confirmationCode), now))
+        .withMessageContaining("reservation_code_pkey");
+  }
+
+  @Test
+  void givenShortCodeInOtherPartition_whenCreate_thenThrowUniqueViolation() {
+    UUID confirmationCode = UUID.randomUUID();
+    reservationDao.create(
+        reservation(tomorrow.atTime(10, 0), tomorrow.atTime(10, 4), confirmationCode), now);
+    // Differs in the leading bits only, which the short code leaves out.
+    UUID sameShortCode =
+        new UUID(
+            ~confirmationCode.getMostSignificantBits(), confirmationCode.getLeastSignificantBits());
+    LocalDateTime nextMonth = tomorrow.plusMonths(1).atTime(10, 0);
+
+    assertThatExceptionOfType(DuplicateKeyException.class)
+        .isThrownBy(
+            () ->
+                reservationDao.create(
+                    reservation(nextMonth, nextMonth.plusMinutes(4), sameShortCode), now))
+        .withMessageContaining("reservation_code_short_code_idx");
+    assertThat(reservationDao.findByShortCode(ShortCode.of(confirmationCode)))
+        .map(Reservation::confirmationCode)
+        .contains(confirmationCode);
+  }
+
+  @Test
+  void givenTimeRangeOfOneDay_whenExplainNearestFreeStart_thenReadOnlyPartitionOfItsMonth() {
+    List<String> plan =
+        jdbcClient
+            .sql("EXPLAIN " + ReservationDao.NEAREST_FREE_START_SQL)
+            .param("firstStart", tomorrow.atTime(8, 0))
+            .param("lastStart", tomorrow.atTime(19, 56))
+            .param("minutes", 4)
+            .param("requested", tomorrow.atTime(10, 0))
+            .param("now", now)
+            .query(String.class)
+            .list();
+
+    YearMonth month = YearMonth.from(tomorrow);
+    assertThat(String.join("\n", plan))
+        .contains(partitionName(month))
+        .doesNotContain(partitionName(month.minusMonths(1)))
+        .doesNotContain(partitionName(month.plusMonths(1)));
+  }
+}
@@ -0,0 +1,147 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@NullUnmarked
+@Testcontainers
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// A row locked by another connection is only seen as locked outside of the test transaction.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReservationDao.class, StatusTransitionDao.class})
+class StatusTransitionDaoIT {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer<?> postgreSQLContainer =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+  @Autowired private ReservationDao reservationDao;
+
+  @Autowired private StatusTransitionDao statusTransitionDao;
+
+  @Autowired private JdbcClient jdbcClient;
+
+  @Autowired private DataSource dataSource;
+
+  private final LocalDate yesterday = LocalDate.now(ZoneId.systemDefault()).minusDays(1);
+
+  private final LocalDateTime endedBefore = LocalDate.now(ZoneId.systemDefault()).atStartOfDay();
+
+  @AfterEach
+  void tearDown() {
+    jdbcClient.sql("TRUNCATE TABLE reservation").update();
+  }
+
+  private long create(LocalDateTime startTime, ReservationStatus status) {
+    return reservationDao
+        .create(
+            new Reservation(
+                0L,
+                "Test",
+                startTime,
+                startTime.plusMinutes(4),
+                3,
+                1,
+                5,
+                UUID.randomUUID(),
+                status,
+                null,
+                null),
+            LocalDateTime.now(ZoneId.systemDefault()))
+        .orElseThrow();
+  }
+
+  private String status(long reservationId) {
+    return jdbcClient
+        .sql("SELECT CAST(status AS text) FROM reservation WHERE reservation_id = :reservationId")
+        .param("reservationId", reservationId)
+        .query(String.class)
+        .single();
+  }
+
+  @Test
+  void givenReservations_whenTransition_thenTransitionOnlyEndedReservationsOfStatus() {
+    long ended = create(yesterday.atTime(10, 0), ReservationStatus.PAID);
+    long teedOff = create(yesterday.atTime(10, 8), ReservationStatus.TEED_OFF);
+    long upcoming =
+        create(
+            LocalDate.now(ZoneId.systemDefault()).plusDays(1).atTime(10, 0),
+            ReservationStatus.PAID);
+
+    int transitioned =
+        statusTransitionDao.transition(
+            ReservationStatus.PAID, ReservationStatus.NO_SHOW, endedBefore, 10);
+
+    assertThat(transitioned).isEqualTo(1);
+    assertThat(status(ended)).isEqualTo("no show");
+    assertThat(status(teedOff)).isEqualTo("teed off");
+    assertThat(status(upcoming)).isEqualTo("paid");
+  }
+
+  @Test
+  void givenMoreReservationsThanLimit_whenTransition_thenTransitionBatchOfLimit() {
+    create(yesterday.atTime(10, 0), ReservationStatus.PAID);
+    create(yesterday.atTime(10, 8), ReservationStatus.PAID);
+    create(yesterday.atTime(10, 16), ReservationStatus.PAID);
+
+    assertThat(
+            statusTransitionDao.transition(
+                ReservationStatus.PAID, ReservationStatus.NO_SHOW, endedBefore, 2))
+        .isEqualTo(2);
+    assertThat(
+            statusTransitionDao.transition(
+                ReservationStatus.PAID, ReservationStatus.NO_SHOW, endedBefore, 2))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenReservationLockedByOtherTransaction_whenTransition_thenSkipLockedReservation()
+      throws Exception {
+    long locked = create(yesterday.atTime(10, 0), ReservationStatus.PAID);
+    long free = create(yesterday.atTime(10, 8), ReservationStatus.PAID);
+
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement statement =
+          connection.prepareStatement(
+              "SELECT 1 FROM reservation WHERE reservation_id = ? FOR UPDATE")) {
+        statement.setLong(1, locked);
+        statement.executeQuery();
+      }
+
+      int transitioned =
+          statusTransitionDao.transition(
+              ReservationStatus.PAID, ReservationStatus.NO_SHOW, endedBefore, 10);
+
+      assertThat(transitioned).isEqualTo(1);
+      assertThat(status(free)).isEqualTo("no show");
+      assertThat(status(locked)).isEqualTo("paid");
+      connection.rollback();
+    }
+  }
+}
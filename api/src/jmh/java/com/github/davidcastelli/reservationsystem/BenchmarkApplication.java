@@ -0,0 +1,68 @@
+package com.github.davidcastelli.reservationsystem;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Starts the application without a web server against a Testcontainers PostgreSQL database so that
+ * benchmarks can measure the real persistence layer. The schema is created by Liquibase in the same
+ * way as it is in production.
+ */
+@NullUnmarked
+public final class BenchmarkApplication implements AutoCloseable {
+
+  private final PostgreSQLContainer<?> postgreSQLContainer;
+  private final ConfigurableApplicationContext context;
+
+  private BenchmarkApplication(
+      PostgreSQLContainer<?> postgreSQLContainer, ConfigurableApplicationContext context) {
+    this.postgreSQLContainer = postgreSQLContainer;
+    this.context = context;
+  }
+
+  /**
+   * Starts a database container and the application context.
+   *
+   * @return A running {@link BenchmarkApplication BenchmarkApplication}.
+   */
+  public static BenchmarkApplication start() {
+    PostgreSQLContainer<?> postgreSQLContainer =
+        new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+    postgreSQLContainer.start();
+
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(ReservationSystemApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgreSQLContainer.getJdbcUrl(),
+                "spring.datasource.username=" + postgreSQLContainer.getUsername(),
+                "spring.datasource.password=" + postgreSQLContainer.getPassword(),
+                "spring.docker.compose.enabled=false",
+                "spring.devtools.restart.enabled=false",
+                "logging.level.root=WARN")
+            .run();
+
+    return new BenchmarkApplication(postgreSQLContainer, context);
+  }
+
+  /**
+   * Gets a bean from the application context.
+   *
+   * @param type The type of the bean.
+   * @return The bean.
+   * @param <T> The type of the bean.
+   */
+  public <T> T getBean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  @Override
+  public void close() {
+    context.close();
+    postgreSQLContainer.stop();
+  }
+}
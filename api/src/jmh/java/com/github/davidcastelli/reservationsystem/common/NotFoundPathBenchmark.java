@@ -0,0 +1,110 @@
+package com.github.davidcastelli.reservationsystem.common;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Compares the throughput of the 404 path of an unknown group, as under a scan of {@code
+ * /api/groups/{id}}, before and after client errors became stackless and were logged through the
+ * {@link ClientErrorLog ClientErrorLog}. Before, the exception filled in its stack trace and every
+ * error was logged at error level with the stack trace. The exception is thrown below a number of
+ * frames, as it is below the frames of the servlet container and Spring MVC, and the log lines are
+ * formatted by logback into a discarding stream, so the benchmark measures building the lines but
+ * not writing them.
+ */
+@NullUnmarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+  /** How the 404 path handles the exception. */
+  public enum Path {
+    STACK_TRACE_ERROR_LOG,
+    STACKLESS_CLIENT_ERROR_LOG
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NotFoundPathBenchmark.class);
+
+  @Param({"STACK_TRACE_ERROR_LOG", "STACKLESS_CLIENT_ERROR_LOG"})
+  private Path path;
+
+  @Param({"100"})
+  private int depth;
+
+  private GlobalExceptionHandler globalExceptionHandler;
+  private WebRequest request;
+  private long id;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    var encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%d %5p [%t] %logger : %m%n");
+    encoder.start();
+    var appender = new OutputStreamAppender<ILoggingEvent>();
+    appender.setContext(context);
+    appender.setEncoder(encoder);
+    appender.setOutputStream(OutputStream.nullOutputStream());
+    appender.start();
+    var root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.detachAndStopAllAppenders();
+    root.addAppender(appender);
+    root.setLevel(ch.qos.logback.classic.Level.INFO);
+
+    globalExceptionHandler = new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/groups/1"));
+  }
+
+  @Benchmark
+  public ProblemDetail handleUnknownGroup() {
+    try {
+      return find(++id, depth);
+    } catch (LegacyGroupNotFoundException e) {
+      LOGGER.error(
+          "Not found exception with status 404 has occurred: {}, Request Details: {}",
+          e.getMessage(),
+          request.getDescription(false),
+          e);
+      return ProblemDetail.forStatusAndDetail(
+          HttpStatus.NOT_FOUND, e.getMessage());
+    } catch (GroupNotFoundException e) {
+      return globalExceptionHandler.handleNotFoundException(e, request);
+    }
+  }
+
+  private ProblemDetail find(long id, int depth) {
+    if (depth > 0) {
+      return find(id, depth - 1);
+    }
+    throw path == Path.STACK_TRACE_ERROR_LOG
+        ? new LegacyGroupNotFoundException(id)
+        : new GroupNotFoundException(id);
+  }
+
+  // The exception as it was before, which filled in its stack trace.
+  private static final class LegacyGroupNotFoundException extends RuntimeException {
+    private LegacyGroupNotFoundException(long id) {
+      super(String.format("Group with id: %d could not be found.", id));
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.github.davidcastelli.reservationsystem.common.dao;
+
+import com.github.davidcastelli.reservationsystem.BenchmarkApplication;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Compares the latency of resolving a number of people to a group with a database query, which is
+ * how {@link SharedGroupDao#findByPeople(long)} used to work, against the in-memory {@link
+ * GroupRangeIndex GroupRangeIndex}. Sample time mode reports the p99 latency of both. Requires a
+ * running Docker daemon.
+ */
+@NullUnmarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SharedGroupDaoBenchmark {
+
+  private static final int GROUPS = 20;
+  private static final int GROUP_SIZE = 5;
+
+  private BenchmarkApplication application;
+  private JdbcClient jdbcClient;
+  private SharedGroupDao sharedGroupDao;
+
+  /** Per thread sequence of party sizes cycling through every group. */
+  @State(Scope.Thread)
+  public static class People {
+    private int people;
+
+    int next() {
+      people = people % (GROUPS * GROUP_SIZE) + 1;
+      return people;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    application = BenchmarkApplication.start();
+    jdbcClient = application.getBean(JdbcClient.class);
+    for (int i = 0; i < GROUPS; i++) {
+      jdbcClient
+          .sql(
+              "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (?, ?, 13.99, 4)")
+          .params(i * GROUP_SIZE + 1, (i + 1) * GROUP_SIZE)
+          .update();
+    }
+    sharedGroupDao = new SharedGroupDao(jdbcClient);
+    sharedGroupDao.reload();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+  }
+
+  @Benchmark
+  public Optional<Group> findByPeopleWithQuery(People people) {
+    return jdbcClient
+        .sql(
+            "SELECT package_id, min_people, max_people, admission_price, start_interval, version FROM package_v WHERE min_people <= :people AND max_people >= :people")
+        .param("people", people.next())
+        .query(sharedGroupDao.rowMapper)
+        .optional();
+  }
+
+  @Benchmark
+  public Optional<Group> findByPeopleWithIndex(People people) {
+    return sharedGroupDao.findByPeople(people.next());
+  }
+}
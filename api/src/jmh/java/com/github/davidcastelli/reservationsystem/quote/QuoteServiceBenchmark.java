@@ -0,0 +1,80 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import com.github.davidcastelli.reservationsystem.BenchmarkApplication;
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Compares the throughput of pricing a batch of parties one at a time with {@link
+ * SharedGroupDao#findByPeople(long)} and {@link BigDecimal BigDecimal} arithmetic, against pricing
+ * the whole batch in cents with {@link QuoteService#quote(int[])}. Run with {@code -prof gc} to
+ * compare the allocation rate of both. Requires a running Docker daemon.
+ */
+@NullUnmarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QuoteServiceBenchmark {
+
+  private static final int GROUPS = 20;
+  private static final int GROUP_SIZE = 5;
+
+  @Param({"50"})
+  private int batchSize;
+
+  private BenchmarkApplication application;
+  private SharedGroupDao sharedGroupDao;
+  private QuoteService quoteService;
+  private int[] people;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    application = BenchmarkApplication.start();
+    var jdbcClient = application.getBean(JdbcClient.class);
+    for (int i = 0; i < GROUPS; i++) {
+      jdbcClient
+          .sql(
+              "INSERT INTO package (min_people, max_people, admission_price, start_interval) VALUES (?, ?, 13.99, 4)")
+          .params(i * GROUP_SIZE + 1, (i + 1) * GROUP_SIZE)
+          .update();
+    }
+    sharedGroupDao = application.getBean(SharedGroupDao.class);
+    sharedGroupDao.reload();
+    quoteService = new QuoteService(sharedGroupDao);
+
+    // Includes party sizes beyond the largest group, which are quoted without a group.
+    people = new int[batchSize];
+    for (int i = 0; i < batchSize; i++) {
+      people[i] = i % (GROUPS * GROUP_SIZE + 10) + 1;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+  }
+
+  @Benchmark
+  public void quoteOneAtATime(Blackhole blackhole) {
+    for (int party : people) {
+      var group = sharedGroupDao.findByPeople(party);
+      if (group.isPresent()) {
+        var admissionPrice = group.get().admissionPrice();
+        blackhole.consume(admissionPrice.multiply(BigDecimal.valueOf(party)));
+      }
+    }
+  }
+
+  @Benchmark
+  public QuoteBatch quoteBatch() {
+    return quoteService.quote(people);
+  }
+}
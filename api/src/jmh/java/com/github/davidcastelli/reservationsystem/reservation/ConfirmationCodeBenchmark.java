@@ -0,0 +1,98 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.BenchmarkApplication;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Compares the insert throughput of random confirmation codes, which is how codes used to be
+ * generated, against time ordered codes from the {@link TimeOrderedUuidGenerator
+ * TimeOrderedUuidGenerator}. The codes are inserted into a table with only a unique index on the
+ * code, so the benchmark measures the cost of maintaining the index. The rows inserted and the bytes
+ * the index grew by during the measurement are reported as the secondary results insert:rows and
+ * insert:indexBytes, since random codes split leaf pages all over the index and leave them half
+ * full. Requires a running Docker daemon.
+ */
+@NullUnmarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConfirmationCodeBenchmark {
+
+  /** How the confirmation codes are generated. */
+  public enum Generator {
+    RANDOM,
+    TIME_ORDERED
+  }
+
+  @Param({"RANDOM", "TIME_ORDERED"})
+  private Generator generator;
+
+  private BenchmarkApplication application;
+  private JdbcClient jdbcClient;
+  private TimeOrderedUuidGenerator uuidGenerator;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    application = BenchmarkApplication.start();
+    jdbcClient = application.getBean(JdbcClient.class);
+    uuidGenerator = new TimeOrderedUuidGenerator();
+    jdbcClient
+        .sql("CREATE TABLE confirmation_code_benchmark (confirmation_code uuid NOT NULL UNIQUE)")
+        .update();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+  }
+
+  /**
+   * Counts the rows inserted and the bytes the index grew by in an iteration. JMH resets the
+   * counters before each iteration and sums them over the measurement iterations.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class IndexGrowth {
+
+    public long rows;
+    public long indexBytes;
+
+    private long indexBytesAtStart;
+
+    @Setup(Level.Iteration)
+    public void setUp(ConfirmationCodeBenchmark benchmark) {
+      indexBytesAtStart = benchmark.indexBytes();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown(ConfirmationCodeBenchmark benchmark) {
+      indexBytes = benchmark.indexBytes() - indexBytesAtStart;
+    }
+  }
+
+  @Benchmark
+  public int insert(IndexGrowth indexGrowth) {
+    UUID confirmationCode =
+        generator == Generator.RANDOM ? UUID.randomUUID() : uuidGenerator.next();
+    indexGrowth.rows++;
+    return jdbcClient
+        .sql("INSERT INTO confirmation_code_benchmark (confirmation_code) VALUES (:confirmationCode)")
+        .param("confirmationCode", confirmationCode)
+        .update();
+  }
+
+  private long indexBytes() {
+    return jdbcClient
+        .sql(
+            "SELECT pg_relation_size(indexrelid) FROM pg_index WHERE indrelid = CAST('confirmation_code_benchmark' AS regclass)")
+        .query(Long.class)
+        .single();
+  }
+}
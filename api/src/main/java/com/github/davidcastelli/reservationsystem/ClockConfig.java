@@ -0,0 +1,20 @@
+package com.github.davidcastelli.reservationsystem;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link Clock Clock} which every current date and time of the application is read
+ * from. The dates and times of reservations carry no zone, so the clock is in the zone of the
+ * server, and tests can replace it with a fixed one.
+ */
+@Configuration
+class ClockConfig {
+
+  @Bean
+  Clock clock() {
+    return Clock.system(ZoneId.systemDefault());
+  }
+}
@@ -0,0 +1,34 @@
+package com.github.davidcastelli.reservationsystem;
+
+import com.github.davidcastelli.reservationsystem.common.dao.GatedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts a {@link GatedDataSource GatedDataSource} in front of the connection pool. The data source
+ * itself is wrapped, rather than only the one of the JdbcClient, so that transactions and the
+ * JdbcClient share its connections.
+ */
+@Configuration
+class DatabaseGateConfig {
+
+  // Static, since a post processor is created before the other beans of its configuration.
+  @Bean
+  static BeanPostProcessor databaseGate(
+      @Value("${database.gate.max-concurrency}") int maxConcurrency,
+      @Value("${database.gate.max-waiting}") int maxWaiting,
+      @Value("${database.gate.queue-timeout}") Duration queueTimeout) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof HikariDataSource dataSource
+            ? new GatedDataSource(dataSource, maxConcurrency, maxWaiting, queueTimeout)
+            : bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,63 @@
+package com.github.davidcastelli.reservationsystem;
+
+import com.github.davidcastelli.reservationsystem.common.GlobalExceptionHandler;
+import com.github.davidcastelli.reservationsystem.common.dao.GatedDataSource;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the custom metrics of the application with the {@link MeterRegistry MeterRegistry}: the
+ * timings of the methods annotated with {@link io.micrometer.core.annotation.Timed Timed}, the
+ * client errors returned by the API and the state of the gate in front of the connection pool. The
+ * names of the metrics are kept in {@link MetricNames MetricNames}.
+ */
+@Configuration
+class MetricsConfig {
+
+  // Times the methods of the beans annotated with @Timed.
+  @Bean
+  TimedAspect timedAspect(MeterRegistry meterRegistry) {
+    return new TimedAspect(meterRegistry);
+  }
+
+  // Counts the client errors per exception type, registering a counter for every type once its
+  // first error occurs.
+  @Bean
+  MeterBinder clientErrorMetrics(GlobalExceptionHandler globalExceptionHandler) {
+    var clientErrors = globalExceptionHandler.clientErrors();
+    return meterRegistry ->
+        clientErrors.onNewType(
+            (exceptionType, status) ->
+                FunctionCounter.builder(
+                        MetricNames.CLIENT_ERRORS, clientErrors, log -> log.count(exceptionType))
+                    .description("The client errors returned by the API")
+                    .tag("exception", exceptionType.getSimpleName())
+                    .tag("status", Integer.toString(status.value()))
+                    .register(meterRegistry));
+  }
+
+  // Exposes the state of the gate in front of the connection pool, next to the metrics of the pool.
+  @Bean
+  MeterBinder databaseGateMetrics(DataSource dataSource) throws SQLException {
+    var gate = dataSource.unwrap(GatedDataSource.class);
+    return meterRegistry -> {
+      Gauge.builder(MetricNames.DB_GATE_WAITING, gate, GatedDataSource::waiting)
+          .description("The requests waiting for a database connection")
+          .register(meterRegistry);
+      Gauge.builder(MetricNames.DB_GATE_ACTIVE, gate, GatedDataSource::active)
+          .description("The database connections in use")
+          .register(meterRegistry);
+      FunctionCounter.builder(MetricNames.DB_GATE_REJECTIONS, gate, GatedDataSource::rejections)
+          .description("The requests turned away while waiting for a database connection")
+          .register(meterRegistry);
+    };
+  }
+}
@@ -0,0 +1,43 @@
+package com.github.davidcastelli.reservationsystem;
+
+import com.github.davidcastelli.reservationsystem.common.event.NodeName;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.UUID;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives this node a {@link NodeName NodeName} of its own and names the connections of the pool
+ * after it, so that the nodes can be told apart in pg_stat_activity and in the notifications of the
+ * database.
+ */
+@Configuration
+class NodeConfig {
+
+  // The database truncates longer application names.
+  private static final int MAX_NAME_LENGTH = 63;
+
+  @Bean
+  NodeName nodeName(@Value("${spring.application.name}") String applicationName) {
+    var name = applicationName + "-" + UUID.randomUUID();
+    return new NodeName(name.substring(Math.max(0, name.length() - MAX_NAME_LENGTH)));
+  }
+
+  // Static, since a post processor is created before the other beans of its configuration. The
+  // name is only looked up once the data source is created, after every post processor.
+  @Bean
+  static BeanPostProcessor nodeApplicationName(ObjectProvider<NodeName> nodeName) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+          dataSource.addDataSourceProperty("ApplicationName", nodeName.getObject().value());
+        }
+        return bean;
+      }
+    };
+  }
+}
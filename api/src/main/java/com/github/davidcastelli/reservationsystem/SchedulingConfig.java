@@ -0,0 +1,8 @@
+package com.github.davidcastelli.reservationsystem;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+class SchedulingConfig {}
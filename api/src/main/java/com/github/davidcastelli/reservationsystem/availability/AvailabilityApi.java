@@ -0,0 +1,200 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Availability controller for handling requests for free reservation times. */
+@Tag(name = "Availability", description = "Endpoints for finding free reservation times.")
+interface AvailabilityApi {
+
+  /**
+   * Endpoint for finding the free windows of a time range for a party. The party is assigned to the
+   * group whose people range contains the number of people, and only windows within the opening
+   * hours which fit the start interval of that group are returned. The windows are computed by the
+   * database and always reflect the latest reservations.
+   *
+   * @param from The start of the time range.
+   * @param to The end of the time range, inclusive.
+   * @param people The number of people in the party.
+   * @return A {@link FreeWindowsDto FreeWindowsDto}.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = FreeWindowsDto.class),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "groupId": 1,
+                                    "startInterval": 4,
+                                    "windows": [
+                                        {
+                                            "startTime": "2025-06-14T08:00:00",
+                                            "startInclusive": true,
+                                            "endTime": "2025-06-14T09:00:00",
+                                            "endInclusive": false
+                                        },
+                                        {
+                                            "startTime": "2025-06-14T09:04:00",
+                                            "startInclusive": false,
+                                            "endTime": "2025-06-14T20:00:00",
+                                            "endInclusive": true
+                                        }
+                                    ]
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/availability",
+                                    "errors": {
+                                        "Query.to": [
+                                            "The range must not be longer than 31 days"
+                                        ]
+                                    }
+                                }
+                              """))
+            })
+      })
+  FreeWindowsDto findWindows(
+      @Parameter(description = "The start of the time range") LocalDateTime from,
+      @Parameter(description = "The end of the time range, at most 31 days after the start")
+          LocalDateTime to,
+      @Parameter(description = "The number of people in the party") int people);
+
+  /**
+   * Endpoint for finding the free start times of a day for a party. The party is assigned to the
+   * group whose people range contains the number of people, and every start time leaves the start
+   * interval of that group free within the opening hours.
+   *
+   * @param date The day.
+   * @param people The number of people in the party.
+   * @return An {@link AvailableSlotsDto AvailableSlotsDto}.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(
+                          type = "object",
+                          additionalPropertiesSchema = AvailableSlotsDto.class),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "date": "2025-06-14",
+                                    "groupId": 1,
+                                    "startInterval": 4,
+                                    "startTimes": [
+                                        "08:00:00",
+                                        "08:04:00",
+                                        "08:16:00"
+                                    ]
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/availability/slots",
+                                    "errors": {
+                                        "Query.people": [
+                                            "No group accepts 40 people"
+                                        ]
+                                    }
+                                }
+                              """))
+            })
+      })
+  AvailableSlotsDto findSlots(
+      @Parameter(description = "The day, at most 6 months ahead") LocalDate date,
+      @Parameter(description = "The number of people in the party") int people);
+
+  /**
+   * Endpoint for streaming the changes of the availability as server-sent events, which replaces
+   * polling for free start times. Every slots event holds the time ranges taken during a short
+   * window by reservations booked on any node or by holds, and those released by holds which
+   * expired. A resync event tells a client which fell behind, or whose node may have missed
+   * bookings, that changes were dropped and the free start times have to be read again.
+   *
+   * @param date The day whose changes are sent, or every day if not given.
+   * @return An {@link SseEmitter SseEmitter} sending the changes.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema = @Schema(implementation = SlotChangesDto.class),
+                  mediaType = "text/event-stream",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                event:slots
+                                data:{"changes":[{"type":"TAKEN","startTime":"2025-06-14T10:00:00","endTime":"2025-06-14T10:04:00"}]}
+
+                                event:resync
+                                data:
+                              """))
+            })
+      })
+  SseEmitter streamChanges(
+      @Parameter(description = "The day whose changes are sent, or every day if not given")
+          @Nullable LocalDate date);
+}
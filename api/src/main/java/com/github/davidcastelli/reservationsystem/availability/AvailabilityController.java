@@ -0,0 +1,129 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidQueryParameterException;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import org.jspecify.annotations.Nullable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping(value = "/api")
+class AvailabilityController implements AvailabilityApi {
+
+  // The longest time range which can be searched for free windows by a single request.
+  static final Duration MAX_SEARCH_RANGE = Duration.ofDays(31);
+
+  private final AvailabilityService availabilityService;
+  private final AvailabilityStream availabilityStream;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link AvailabilityController AvailabilityController}.
+   *
+   * @param availabilityService The availability service.
+   * @param availabilityStream The stream of the changes of the availability.
+   * @param clock The clock today is read from.
+   */
+  AvailabilityController(
+      AvailabilityService availabilityService, AvailabilityStream availabilityStream, Clock clock) {
+    this.availabilityService = availabilityService;
+    this.availabilityStream = availabilityStream;
+    this.clock = clock;
+  }
+
+  @GetMapping(value = "/availability")
+  @Override
+  public FreeWindowsDto findWindows(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam int people) {
+    validate(from, to, people);
+
+    var windows =
+        availabilityService.findFreeWindows(from, to, people).orElseThrow(() -> noGroupFor(people));
+
+    return new FreeWindowsDto(
+        windows.group().groupId(), windows.group().startInterval(), windows.windows());
+  }
+
+  @GetMapping(value = "/availability/slots")
+  @Override
+  public AvailableSlotsDto findSlots(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+      @RequestParam int people) {
+    validate(date, people);
+
+    var slots =
+        availabilityService.findFreeStartTimes(date, people).orElseThrow(() -> noGroupFor(people));
+
+    return new AvailableSlotsDto(
+        slots.date(), slots.group().groupId(), slots.group().startInterval(), slots.startTimes());
+  }
+
+  @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Override
+  public SseEmitter streamChanges(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          @Nullable LocalDate date) {
+    return availabilityStream.subscribe(date);
+  }
+
+  private static InvalidQueryParameterException noGroupFor(int people) {
+    return new InvalidQueryParameterException(
+        new ErrorDetail[] {
+          RequestErrors.InvalidQueryParameter(
+              "people", String.format("No group accepts %d people", people))
+        });
+  }
+
+  private static void validate(LocalDateTime from, LocalDateTime to, int people) {
+    var errors = new ArrayList<ErrorDetail>();
+    if (!from.isBefore(to)) {
+      errors.add(RequestErrors.InvalidQueryParameter("to", "The end must be after the start"));
+    } else if (Duration.between(from, to).compareTo(MAX_SEARCH_RANGE) > 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "to",
+              String.format(
+                  "The range must not be longer than %d days", MAX_SEARCH_RANGE.toDays())));
+    }
+    if (people < 1) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "people", "The number of people must be greater than 0"));
+    }
+    if (!errors.isEmpty()) {
+      throw new InvalidQueryParameterException(errors.toArray(ErrorDetail[]::new));
+    }
+  }
+
+  private void validate(LocalDate date, int people) {
+    var errors = new ArrayList<ErrorDetail>();
+    var today = LocalDate.now(clock);
+    if (date.isBefore(today)
+        || date.isAfter(today.plusMonths(AvailabilityService.BOOKING_HORIZON_MONTHS))) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "date",
+              String.format(
+                  "The date must be between today and %d months ahead",
+                  AvailabilityService.BOOKING_HORIZON_MONTHS)));
+    }
+    if (people < 1) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "people", "The number of people must be greater than 0"));
+    }
+    if (!errors.isEmpty()) {
+      throw new InvalidQueryParameterException(errors.toArray(ErrorDetail[]::new));
+    }
+  }
+}
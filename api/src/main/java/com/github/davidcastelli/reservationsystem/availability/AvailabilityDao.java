@@ -0,0 +1,114 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/** DAO used to read the time ranges of reservations. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class AvailabilityDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link AvailabilityDao AvailabilityDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  AvailabilityDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  // The opening hours of every day of the range are aggregated into one multirange, from which the
+  // aggregated reservations are subtracted. Both sides use the same closed ranges as the
+  // overlapping_reservation exclusion constraint, so the reservations are found through its index.
+  // A window fits a reservation if it is longer than the start interval, or exactly as long if it
+  // includes both of its bounds. The bounds on the start time are implied by the overlap, since a
+  // reservation ends in the month it starts in, and prune the partitions of other months.
+  static final String FREE_WINDOWS_SQL =
+      """
+      WITH opening_hours AS (
+          SELECT range_agg(tsrange(CAST(day AS date) + CAST(:openingTime AS time), CAST(day AS date) + CAST(:closingTime AS time), '[]'))
+              * tsmultirange(tsrange(CAST(:from AS timestamp), CAST(:to AS timestamp), '[]')) AS hours
+          FROM generate_series(date_trunc('day', CAST(:from AS timestamp)), CAST(:to AS timestamp), interval '1 day') AS day
+      ), reserved AS (
+          SELECT coalesce(range_agg(tsrange(start_time, end_time, '[]')), '{}') AS ranges
+          FROM reservation
+          WHERE tsrange(start_time, end_time, '[]') && tsrange(CAST(:from AS timestamp), CAST(:to AS timestamp), '[]')
+              AND start_time >= date_trunc('month', CAST(:from AS timestamp))
+              AND start_time <= CAST(:to AS timestamp)
+      )
+      SELECT lower(free) AS start_time, lower_inc(free) AS start_inclusive, upper(free) AS end_time, upper_inc(free) AS end_inclusive
+      FROM opening_hours, reserved, unnest(opening_hours.hours - reserved.ranges) AS free
+      WHERE upper(free) - lower(free) > make_interval(mins => :minutes)
+          OR (lower_inc(free) AND upper_inc(free) AND upper(free) - lower(free) = make_interval(mins => :minutes))
+      ORDER BY lower(free)
+      """;
+
+  RowMapper<ReservedRange> rowMapper =
+      (rs, rowNum) ->
+          new ReservedRange(
+              rs.getObject("start_time", LocalDateTime.class),
+              rs.getObject("end_time", LocalDateTime.class));
+
+  /**
+   * Performs the operation to retrieve the time ranges of all reservations overlapping a time
+   * range. The overlap is tested with the same expression as the overlapping_reservation exclusion
+   * constraint, so the query is served by the index of the constraint, and only the partitions of
+   * the months the time range overlaps are read.
+   *
+   * @param from The start of the time range.
+   * @param to The end of the time range, inclusive.
+   * @return A list of {@link ReservedRange ReservedRanges}.
+   */
+  List<ReservedRange> findReserved(LocalDateTime from, LocalDateTime to) {
+    return jdbcClient
+        .sql(
+            "SELECT start_time, end_time FROM reservation WHERE tsrange(start_time, end_time, '[]') && tsrange(CAST(:from AS timestamp), CAST(:to AS timestamp), '[]') AND start_time >= date_trunc('month', CAST(:from AS timestamp)) AND start_time <= CAST(:to AS timestamp)")
+        .param("from", from)
+        .param("to", to)
+        .query(rowMapper)
+        .list();
+  }
+
+  /**
+   * Performs the operation to find the windows of a time range within the opening hours in which no
+   * reservation takes place and which fit a reservation of a length. The gaps between the
+   * reservations are computed by the database with multirange operators.
+   *
+   * @param from The start of the time range.
+   * @param to The end of the time range, inclusive.
+   * @param openingTime The time of day at which the first reservation may start.
+   * @param closingTime The time of day at which the last reservation has to end.
+   * @param minutes The length of a reservation in minutes.
+   * @return A list of {@link FreeWindow FreeWindows} ordered by start time.
+   */
+  List<FreeWindow> findFreeWindows(
+      LocalDateTime from,
+      LocalDateTime to,
+      LocalTime openingTime,
+      LocalTime closingTime,
+      int minutes) {
+    return jdbcClient
+        .sql(FREE_WINDOWS_SQL)
+        .param("from", from)
+        .param("to", to)
+        .param("openingTime", openingTime)
+        .param("closingTime", closingTime)
+        .param("minutes", minutes)
+        .query(
+            (rs, rowNum) ->
+                new FreeWindow(
+                    rs.getObject("start_time", LocalDateTime.class),
+                    rs.getBoolean("start_inclusive"),
+                    rs.getObject("end_time", LocalDateTime.class),
+                    rs.getBoolean("end_inclusive")))
+        .list();
+  }
+}
@@ -0,0 +1,201 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationsChangedEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+
+/**
+ * Service which answers which start times are free on a day. The reserved times from today until
+ * the end of the booking horizon are projected into an in-memory {@link SlotCalendar SlotCalendar},
+ * which is loaded at startup, updated whenever a reservation is booked on any node, and reloaded
+ * once the horizon has moved on by a day or bookings of other nodes may have been missed. The
+ * database stays the source of truth.
+ */
+@Service
+class AvailabilityService {
+
+  // Reservations can only end within six months from today.
+  static final int BOOKING_HORIZON_MONTHS = 6;
+
+  private final AvailabilityDao availabilityDao;
+  private final SharedGroupDao sharedGroupDao;
+  private final Duration slotWidth;
+  private final LocalTime openingTime;
+  private final LocalTime closingTime;
+  private final Clock clock;
+
+  // Serializes reloads and updates so that an update is never lost to a reload that missed it.
+  private final ReentrantLock updateLock = new ReentrantLock();
+
+  private volatile @Nullable SlotCalendar calendar;
+
+  /**
+   * Creates a {@link AvailabilityService AvailabilityService}.
+   *
+   * @param availabilityDao The availability DAO.
+   * @param sharedGroupDao The shared group DAO used to find the group of a party.
+   * @param slotWidth The width of a slot.
+   * @param openingTime The time of day at which the first reservation may start.
+   * @param closingTime The time of day at which the last reservation has to end.
+   * @param clock The clock today and the current time are read from.
+   */
+  AvailabilityService(
+      AvailabilityDao availabilityDao,
+      SharedGroupDao sharedGroupDao,
+      @Value("${availability.slot-width}") Duration slotWidth,
+      @Value("${availability.opening-time}") LocalTime openingTime,
+      @Value("${availability.closing-time}") LocalTime closingTime,
+      Clock clock) {
+    Assert.isTrue(openingTime.isBefore(closingTime), "The opening time must be before closing");
+    this.availabilityDao = availabilityDao;
+    this.sharedGroupDao = sharedGroupDao;
+    this.slotWidth = slotWidth;
+    this.openingTime = openingTime;
+    this.closingTime = closingTime;
+    this.clock = clock;
+  }
+
+  /**
+   * Finds the free start times of a day for a party. Every start time lies within the opening
+   * hours, is a multiple of the start interval of the group of the party after the opening time and
+   * leaves the start interval free. On the current day only start times after now are returned. A
+   * day outside the booking horizon has no free start times, which is also the case for a day which
+   * was checked to be today by the caller just before the day rolled over.
+   *
+   * @param date The day.
+   * @param people The number of people in the party.
+   * @return An optional {@link AvailableSlots AvailableSlots} or empty if no group accepts the
+   *     number of people.
+   */
+  Optional<AvailableSlots> findFreeStartTimes(LocalDate date, int people) {
+    var found = sharedGroupDao.findByPeople(people);
+    if (found.isEmpty()) {
+      return Optional.empty();
+    }
+    var group = found.get();
+
+    var current = calendar();
+    if (!current.contains(date)) {
+      return Optional.of(new AvailableSlots(date, group, List.of()));
+    }
+
+    int step = Math.max(1, current.slotsOf(Duration.ofMinutes(group.startInterval())));
+    int firstSlot = current.slotOf(openingTime);
+    if (date.equals(current.firstDay())) {
+      var now = LocalTime.now(clock);
+      if (now.isAfter(openingTime)) {
+        int elapsed = current.slotOf(now) - firstSlot;
+        firstSlot += (elapsed / step + 1) * step;
+      }
+    }
+    // A reservation also takes the slot in which it ends.
+    int[] starts = current.freeStarts(date, firstSlot, current.slotOf(closingTime), step, step + 1);
+
+    var startTimes = new ArrayList<LocalTime>(starts.length);
+    for (int start : starts) {
+      startTimes.add(current.timeOf(start));
+    }
+    return Optional.of(new AvailableSlots(date, group, startTimes));
+  }
+
+  /**
+   * Finds the free windows of a time range for a party with a single query to the database. Unlike
+   * {@link #findFreeStartTimes findFreeStartTimes} this does not use the in-memory calendar, so it
+   * is not limited to the booking horizon and always sees the latest reservations.
+   *
+   * @param from The start of the time range.
+   * @param to The end of the time range, inclusive.
+   * @param people The number of people in the party.
+   * @return An optional {@link FreeWindows FreeWindows} or empty if no group accepts the number of
+   *     people.
+   */
+  Optional<FreeWindows> findFreeWindows(LocalDateTime from, LocalDateTime to, int people) {
+    return sharedGroupDao
+        .findByPeople(people)
+        .map(
+            group ->
+                new FreeWindows(
+                    group,
+                    availabilityDao.findFreeWindows(
+                        from, to, openingTime, closingTime, group.startInterval())));
+  }
+
+  /**
+   * Reloads the reserved times from the database, at startup and whenever bookings of other nodes
+   * may have been missed.
+   */
+  @EventListener({ApplicationReadyEvent.class, ReservationsChangedEvent.class})
+  public void reload() {
+    updateLock.lock();
+    try {
+      load();
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Reserves the time range of a booked reservation once the transaction which booked it has
+   * committed, or immediately if it was booked outside of a transaction.
+   *
+   * @param event The reservation booked event.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onReservationBooked(ReservationBookedEvent event) {
+    updateLock.lock();
+    try {
+      calendar().reserve(event.startTime(), event.endTime());
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  // Gets the calendar of the current booking horizon, loading it if the horizon has moved on.
+  private SlotCalendar calendar() {
+    var current = calendar;
+    if (current != null && current.firstDay().equals(LocalDate.now(clock))) {
+      return current;
+    }
+
+    updateLock.lock();
+    try {
+      current = calendar;
+      if (current != null && current.firstDay().equals(LocalDate.now(clock))) {
+        return current;
+      }
+      return load();
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  private SlotCalendar load() {
+    var today = LocalDate.now(clock);
+    var lastDay = today.plusMonths(BOOKING_HORIZON_MONTHS);
+    var loaded =
+        new SlotCalendar(today, (int) ChronoUnit.DAYS.between(today, lastDay) + 1, slotWidth);
+    for (var range :
+        availabilityDao.findReserved(today.atStartOfDay(), lastDay.plusDays(1).atStartOfDay())) {
+      loaded.reserve(range.startTime(), range.endTime());
+    }
+    calendar = loaded;
+    return loaded;
+  }
+}
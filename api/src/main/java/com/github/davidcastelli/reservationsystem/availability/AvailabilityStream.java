@@ -0,0 +1,200 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import com.github.davidcastelli.reservationsystem.common.event.HoldCreatedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.HoldReleasedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationsChangedEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream of the changes of the availability, which is sent to its clients as server-sent events.
+ * Reservations booked on any node and holds created or released on this node are collected and sent
+ * once per coalescing window, so a burst of bookings becomes a single frame.
+ *
+ * <p>Every client gets a virtual thread of its own which sends its frames, so a client which reads
+ * slowly only blocks its own thread. Only that thread writes to the emitter of the client, since a
+ * write holds the lock of the emitter for as long as it blocks. A client which falls behind by more
+ * than the maximum pending frames is sent a resync event instead of the changes it missed, and a
+ * client which has not read a frame within the stall timeout is closed, which its thread completes
+ * once its write returned. A write which blocks fails after the connection timeout of the server.
+ * Every client is sent a resync event when this node may have missed bookings of other nodes.
+ */
+@Component
+class AvailabilityStream {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityStream.class);
+
+  private final int maxPendingFrames;
+  private final Duration stallTimeout;
+  private final Duration timeout;
+
+  private final ConcurrentLinkedQueue<SlotChange> pending = new ConcurrentLinkedQueue<>();
+  private final Map<StreamSubscriber, SseEmitter> subscribers = new ConcurrentHashMap<>();
+
+  // Set when bookings may have been missed, the next flush resyncs every client.
+  private final AtomicBoolean resyncPending = new AtomicBoolean();
+
+  /**
+   * Creates an {@link AvailabilityStream AvailabilityStream}.
+   *
+   * @param maxPendingFrames The maximum number of frames which are not yet sent to a client.
+   * @param stallTimeout How long a client may take to read a frame before it is disconnected.
+   * @param timeout How long a client stays connected before it has to reconnect.
+   * @throws IllegalArgumentException if the maximum pending frames are less than two.
+   */
+  AvailabilityStream(
+      @Value("${availability.stream.max-pending-frames}") int maxPendingFrames,
+      @Value("${availability.stream.stall-timeout}") Duration stallTimeout,
+      @Value("${availability.stream.timeout}") Duration timeout) {
+    Assert.isTrue(maxPendingFrames > 1, "The maximum pending frames must be greater than 1");
+    this.maxPendingFrames = maxPendingFrames;
+    this.stallTimeout = stallTimeout;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Connects a client to the stream.
+   *
+   * @param date The day whose changes the client wants, or null for every day.
+   * @return The {@link SseEmitter SseEmitter} of the client.
+   */
+  SseEmitter subscribe(@Nullable LocalDate date) {
+    var emitter = new SseEmitter(timeout.toMillis());
+    var subscriber = new StreamSubscriber(date, maxPendingFrames);
+    var thread = Thread.ofVirtual().name("availability-stream").unstarted(() -> send(subscriber));
+    Runnable unsubscribe =
+        () -> {
+          subscribers.remove(subscriber);
+          thread.interrupt();
+        };
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(e -> unsubscribe.run());
+    subscribers.put(subscriber, emitter);
+    thread.start();
+    return emitter;
+  }
+
+  private void send(StreamSubscriber subscriber) {
+    var emitter = subscribers.get(subscriber);
+    try {
+      while (emitter != null && !subscriber.isClosed() && subscribers.containsKey(subscriber)) {
+        var frame = subscriber.take();
+        switch (frame) {
+          case StreamSubscriber.Changes changes ->
+              emitter.send(
+                  SseEmitter.event()
+                      .name("slots")
+                      .data(changes.changes(), MediaType.APPLICATION_JSON));
+          case StreamSubscriber.Resync resync ->
+              emitter.send(SseEmitter.event().name("resync").data(""));
+          case StreamSubscriber.Closed closed -> {}
+        }
+      }
+      if (emitter != null && subscriber.isClosed()) {
+        emitter.complete();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | IllegalStateException e) {
+      LOGGER.debug("Failed to send to an availability stream client", e);
+      subscribers.remove(subscriber);
+    }
+  }
+
+  /** Sends the changes collected during the last coalescing window to every client. */
+  @Scheduled(fixedDelayString = "${availability.stream.coalesce-window}")
+  public void flush() {
+    var changes = new ArrayList<SlotChange>();
+    for (var change = pending.poll(); change != null; change = pending.poll()) {
+      changes.add(change);
+    }
+    boolean resync = resyncPending.getAndSet(false);
+    long stallTimeoutNanos = stallTimeout.toNanos();
+    // The emitters are left to the threads of the clients, which may be blocked writing to them.
+    subscribers
+        .keySet()
+        .forEach(
+            subscriber -> {
+              if (subscriber.isStalled(stallTimeoutNanos)) {
+                LOGGER.debug("Disconnecting a stalled availability stream client");
+                subscriber.close();
+                subscribers.remove(subscriber);
+              } else if (resync) {
+                subscriber.resync();
+              } else if (!changes.isEmpty()) {
+                subscriber.offer(changes);
+              }
+            });
+  }
+
+  /**
+   * Gets the number of connected clients.
+   *
+   * @return The number of clients.
+   */
+  int subscribers() {
+    return subscribers.size();
+  }
+
+  /**
+   * Collects the time range of a booked reservation once the transaction which booked it has
+   * committed, or immediately if it was booked outside of a transaction.
+   *
+   * @param event The reservation booked event.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onReservationBooked(ReservationBookedEvent event) {
+    pending.add(new SlotChange(SlotChange.Type.TAKEN, event.startTime(), event.endTime()));
+  }
+
+  /**
+   * Collects the time range of a hold created on this node once the transaction which created it
+   * has committed, or immediately if it was created outside of a transaction.
+   *
+   * @param event The hold created event.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onHoldCreated(HoldCreatedEvent event) {
+    pending.add(new SlotChange(SlotChange.Type.TAKEN, event.startTime(), event.endTime()));
+  }
+
+  /**
+   * Collects the time range of a hold of this node which expired without being confirmed.
+   *
+   * @param event The hold released event.
+   */
+  @EventListener
+  void onHoldReleased(HoldReleasedEvent event) {
+    pending.add(new SlotChange(SlotChange.Type.RELEASED, event.startTime(), event.endTime()));
+  }
+
+  /**
+   * Sends every client a resync event with the next flush, since the bookings which changed the
+   * reservations are not known.
+   *
+   * @param event The reservations changed event.
+   */
+  @EventListener
+  void onReservationsChanged(ReservationsChangedEvent event) {
+    resyncPending.set(true);
+  }
+}
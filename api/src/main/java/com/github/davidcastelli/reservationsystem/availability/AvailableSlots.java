@@ -0,0 +1,15 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * The free start times of a day for a party.
+ *
+ * @param date The day.
+ * @param group The group the party belongs to, which determines the length of a reservation.
+ * @param startTimes The free start times in ascending order.
+ */
+record AvailableSlots(LocalDate date, Group group, List<LocalTime> startTimes) {}
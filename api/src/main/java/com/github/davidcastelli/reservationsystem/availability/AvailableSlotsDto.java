@@ -0,0 +1,17 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * An available slots DTO to return to the client with the free start times of a day.
+ *
+ * @param date The day.
+ * @param groupId The id of the group the party belongs to.
+ * @param startInterval The start interval of the group in minutes, which is reserved from every
+ *     start time.
+ * @param startTimes The free start times in ascending order.
+ */
+record AvailableSlotsDto(
+    LocalDate date, long groupId, int startInterval, List<LocalTime> startTimes) {}
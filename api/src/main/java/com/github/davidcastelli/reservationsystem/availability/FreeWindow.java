@@ -0,0 +1,15 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * A window of time within the opening hours in which no reservation takes place. The bounds of a
+ * window touching a reservation are exclusive, since the reservation takes its own bounds.
+ *
+ * @param startTime The start time of the window.
+ * @param startInclusive If the window includes its start time.
+ * @param endTime The end time of the window.
+ * @param endInclusive If the window includes its end time.
+ */
+record FreeWindow(
+    LocalDateTime startTime, boolean startInclusive, LocalDateTime endTime, boolean endInclusive) {}
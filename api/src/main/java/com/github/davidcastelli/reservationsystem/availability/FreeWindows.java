@@ -0,0 +1,12 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.util.List;
+
+/**
+ * The free windows of a time range for a party.
+ *
+ * @param group The group the party belongs to, which determines the length of a reservation.
+ * @param windows The free windows which fit a reservation of the group, ordered by start time.
+ */
+record FreeWindows(Group group, List<FreeWindow> windows) {}
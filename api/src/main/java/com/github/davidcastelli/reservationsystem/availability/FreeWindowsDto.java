@@ -0,0 +1,12 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.util.List;
+
+/**
+ * A free windows DTO to return to the client with the free windows of a time range.
+ *
+ * @param groupId The id of the group the party belongs to.
+ * @param startInterval The start interval of the group in minutes, which every window fits.
+ * @param windows The free windows ordered by start time.
+ */
+record FreeWindowsDto(long groupId, int startInterval, List<FreeWindow> windows) {}
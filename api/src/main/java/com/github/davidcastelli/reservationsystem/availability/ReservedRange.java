@@ -0,0 +1,11 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * The time range of a reservation.
+ *
+ * @param startTime The start time of the reservation.
+ * @param endTime The end time of the reservation, inclusive.
+ */
+record ReservedRange(LocalDateTime startTime, LocalDateTime endTime) {}
@@ -0,0 +1,203 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.util.Assert;
+
+/**
+ * Bitmap of the reserved slots of a range of consecutive days. Every day is divided into slots of a
+ * fixed width and every slot is one bit, which is set while a reservation overlaps the slot. The
+ * bits of all days are laid out one after another in a single array of longs, so that a range
+ * crossing midnight is marked like any other range. Bits are updated atomically, which lets
+ * reservations be marked while the bitmap is read.
+ *
+ * <p>The exclusion constraint of the reservation table compares closed ranges, so a reservation
+ * ending exactly where another one starts conflicts with it. The bitmap mirrors this by also
+ * marking the slot in which a reservation ends.
+ */
+final class SlotCalendar {
+
+  /**
+   * The slot returned by {@link #nextReserved nextReserved} if no slot in the range is reserved.
+   */
+  static final int NOT_FOUND = -1;
+
+  private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+  private final LocalDate firstDay;
+  private final int days;
+  private final int slotSeconds;
+  private final int slotsPerDay;
+  private final long slots;
+  private final AtomicLongArray words;
+
+  /**
+   * Creates a {@link SlotCalendar SlotCalendar} in which no slot is reserved.
+   *
+   * @param firstDay The first day of the calendar.
+   * @param days The number of days of the calendar.
+   * @param slotWidth The width of a slot, which has to divide a day into whole seconds.
+   * @throws IllegalArgumentException if the number of days or the slot width is invalid.
+   */
+  SlotCalendar(LocalDate firstDay, int days, Duration slotWidth) {
+    Assert.isTrue(days > 0, "The calendar must contain at least one day");
+    Assert.isTrue(
+        !slotWidth.isNegative()
+            && !slotWidth.isZero()
+            && slotWidth.toNanosPart() == 0
+            && SECONDS_PER_DAY % slotWidth.toSeconds() == 0,
+        "The slot width must divide a day into whole seconds");
+    this.firstDay = firstDay;
+    this.days = days;
+    this.slotSeconds = (int) slotWidth.toSeconds();
+    this.slotsPerDay = SECONDS_PER_DAY / slotSeconds;
+    this.slots = (long) days * slotsPerDay;
+    this.words = new AtomicLongArray((int) ((slots + 63) >>> 6));
+  }
+
+  /**
+   * Gets the first day of the calendar.
+   *
+   * @return The first day.
+   */
+  LocalDate firstDay() {
+    return firstDay;
+  }
+
+  /**
+   * Gets the last day of the calendar.
+   *
+   * @return The last day.
+   */
+  LocalDate lastDay() {
+    return firstDay.plusDays(days - 1L);
+  }
+
+  /**
+   * Checks if a day is within the calendar.
+   *
+   * @param day The day.
+   * @return True if the day is within the calendar or false otherwise.
+   */
+  boolean contains(LocalDate day) {
+    return !day.isBefore(firstDay) && !day.isAfter(lastDay());
+  }
+
+  /**
+   * Gets the slot of a day which contains a time.
+   *
+   * @param time The time.
+   * @return The slot.
+   */
+  int slotOf(LocalTime time) {
+    return time.toSecondOfDay() / slotSeconds;
+  }
+
+  /**
+   * Gets the number of slots needed to cover a duration, rounded up to whole slots.
+   *
+   * @param duration The duration.
+   * @return The number of slots.
+   */
+  int slotsOf(Duration duration) {
+    return (int) ((duration.toSeconds() + slotSeconds - 1) / slotSeconds);
+  }
+
+  /**
+   * Gets the time at which a slot of a day starts.
+   *
+   * @param slot The slot.
+   * @return The start time of the slot.
+   */
+  LocalTime timeOf(int slot) {
+    return LocalTime.ofSecondOfDay((long) slot * slotSeconds);
+  }
+
+  /**
+   * Marks every slot overlapped by a reservation as reserved. The part of the reservation outside
+   * of the calendar is ignored.
+   *
+   * @param startTime The start time of the reservation.
+   * @param endTime The end time of the reservation, inclusive.
+   */
+  void reserve(LocalDateTime startTime, LocalDateTime endTime) {
+    long from = Math.max(0, bitOf(startTime));
+    long to = Math.min(slots - 1, bitOf(endTime));
+    for (long bit = from; bit <= to; bit = (bit | 63) + 1) {
+      int word = (int) (bit >>> 6);
+      words.getAndAccumulate(word, mask(bit, to), (bits, mask) -> bits | mask);
+    }
+  }
+
+  /**
+   * Finds the first reserved slot within a range of slots of a day.
+   *
+   * @param day The day, which has to be within the calendar.
+   * @param fromSlot The first slot of the range.
+   * @param toSlot The last slot of the range, inclusive.
+   * @return The first reserved slot or {@link #NOT_FOUND NOT_FOUND} if every slot is free.
+   */
+  int nextReserved(LocalDate day, int fromSlot, int toSlot) {
+    long dayBit = (day.toEpochDay() - firstDay.toEpochDay()) * slotsPerDay;
+    long to = dayBit + toSlot;
+    for (long bit = dayBit + fromSlot; bit <= to; bit = (bit | 63) + 1) {
+      long reserved = words.get((int) (bit >>> 6)) & mask(bit, to);
+      if (reserved != 0) {
+        return (int) ((bit & ~63L) + Long.numberOfTrailingZeros(reserved) - dayBit);
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Finds the start slots of a day at which a reservation spanning a number of slots would not
+   * overlap any reserved slot. Candidates start at the first slot and are a step of slots apart.
+   *
+   * @param day The day, which has to be within the calendar.
+   * @param firstSlot The first candidate start slot.
+   * @param lastSlot The last slot a reservation may reach, inclusive.
+   * @param step The number of slots between two candidates.
+   * @param span The number of slots a reservation spans.
+   * @return The free start slots in ascending order.
+   */
+  int[] freeStarts(LocalDate day, int firstSlot, int lastSlot, int step, int span) {
+    Assert.isTrue(step > 0 && span > 0, "The step and span must be greater than 0");
+    int lastStart = lastSlot - span + 1;
+    if (lastStart < firstSlot) {
+      return new int[0];
+    }
+
+    var starts = new int[(lastStart - firstSlot) / step + 1];
+    int count = 0;
+    int start = firstSlot;
+    while (start <= lastStart) {
+      int reserved = nextReserved(day, start, start + span - 1);
+      if (reserved == NOT_FOUND) {
+        starts[count++] = start;
+        start += step;
+      } else {
+        // Every candidate up to the reserved slot overlaps it.
+        start += ((reserved - start) / step + 1) * step;
+      }
+    }
+    return Arrays.copyOf(starts, count);
+  }
+
+  private long bitOf(LocalDateTime time) {
+    long day = time.toLocalDate().toEpochDay() - firstDay.toEpochDay();
+    return day * slotsPerDay + slotOf(time.toLocalTime());
+  }
+
+  // The bits of the word containing the from bit which lie between the from bit and the to bit.
+  private static long mask(long from, long to) {
+    long mask = -1L << (from & 63);
+    if ((from >>> 6) == (to >>> 6)) {
+      mask &= -1L >>> (63 - (to & 63));
+    }
+    return mask;
+  }
+}
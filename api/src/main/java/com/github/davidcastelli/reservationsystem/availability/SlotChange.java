@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change of the availability of a time range, which was taken by a reservation or hold, or
+ * released by a hold which expired.
+ *
+ * @param type The type of the change.
+ * @param startTime The start time of the time range.
+ * @param endTime The end time of the time range, inclusive.
+ */
+record SlotChange(Type type, LocalDateTime startTime, LocalDateTime endTime) {
+
+  /** The types of changes of the availability of a time range. */
+  enum Type {
+    TAKEN,
+    // The time range is free again, unless a reservation or another hold still overlaps it.
+    RELEASED
+  }
+}
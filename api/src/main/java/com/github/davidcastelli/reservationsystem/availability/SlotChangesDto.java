@@ -0,0 +1,10 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.util.List;
+
+/**
+ * A slot changes DTO to send to the client in a frame of the availability stream.
+ *
+ * @param changes The changes of the availability in the order they happened.
+ */
+record SlotChangesDto(List<SlotChange> changes) {}
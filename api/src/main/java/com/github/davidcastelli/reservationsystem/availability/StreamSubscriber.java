@@ -0,0 +1,141 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A client of the availability stream and the frames which were not yet sent to it. The frames are
+ * held in a bounded queue, so a client which reads slower than changes happen never holds more than
+ * a fixed number of frames. Once the queue is full the client is downgraded: its frames are dropped
+ * for a single resync frame, which tells the client to read the availability again, and changes are
+ * not queued until the client has taken the resync frame.
+ */
+final class StreamSubscriber {
+
+  /** A frame of the availability stream. */
+  sealed interface Frame {}
+
+  /**
+   * A frame with the changes of the availability since the last frame.
+   *
+   * @param changes The changes.
+   */
+  record Changes(SlotChangesDto changes) implements Frame {}
+
+  /** A frame which tells the client that changes were dropped. */
+  record Resync() implements Frame {}
+
+  /** A frame which wakes the sending thread of a closed client, it is not sent. */
+  record Closed() implements Frame {}
+
+  private final @Nullable LocalDate date;
+  private final BlockingQueue<Frame> frames;
+
+  private volatile boolean downgraded;
+  private volatile boolean closed;
+  // Since when the head of the queue has been waiting for the client.
+  private volatile long waitingSince = System.nanoTime();
+
+  /**
+   * Creates a {@link StreamSubscriber StreamSubscriber}.
+   *
+   * @param date The day whose changes the client wants, or null for every day.
+   * @param maxPendingFrames The maximum number of frames which are not yet sent.
+   */
+  StreamSubscriber(@Nullable LocalDate date, int maxPendingFrames) {
+    this.date = date;
+    this.frames = new ArrayBlockingQueue<>(maxPendingFrames);
+  }
+
+  /**
+   * Queues a frame with the changes the client wants, if there are any. A client whose queue is
+   * full is downgraded instead.
+   *
+   * @param changes The changes of the availability.
+   */
+  void offer(List<SlotChange> changes) {
+    var wanted =
+        date == null
+            ? changes
+            : changes.stream()
+                .filter(
+                    change ->
+                        !change.startTime().toLocalDate().isAfter(date)
+                            && !change.endTime().toLocalDate().isBefore(date))
+                .toList();
+    if (wanted.isEmpty() || downgraded) {
+      return;
+    }
+    if (frames.isEmpty()) {
+      waitingSince = System.nanoTime();
+    }
+    if (!frames.offer(new Changes(new SlotChangesDto(wanted)))) {
+      resync();
+    }
+  }
+
+  /**
+   * Downgrades the client, dropping its frames for a single resync frame. A client which is already
+   * downgraded is left as it is, since its resync frame covers every change until it is taken.
+   */
+  void resync() {
+    if (downgraded) {
+      return;
+    }
+    if (frames.isEmpty()) {
+      waitingSince = System.nanoTime();
+    }
+    downgraded = true;
+    frames.clear();
+    frames.add(new Resync());
+  }
+
+  /**
+   * Takes the next frame to send, waiting until there is one.
+   *
+   * @return The {@link Frame Frame}.
+   * @throws InterruptedException if the thread was interrupted while waiting.
+   */
+  Frame take() throws InterruptedException {
+    var frame = frames.take();
+    waitingSince = System.nanoTime();
+    if (frame instanceof Resync) {
+      // Changes after the resync are not covered by it, so they are queued again.
+      downgraded = false;
+    }
+    return frame;
+  }
+
+  /**
+   * Closes the client, dropping its frames. Its sending thread completes the stream once its
+   * current write returned, or is woken up to do so if it waits for a frame.
+   */
+  void close() {
+    closed = true;
+    frames.clear();
+    frames.add(new Closed());
+  }
+
+  /**
+   * Checks if the client was closed.
+   *
+   * @return True if the client is closed.
+   */
+  boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Checks if frames have been waiting for the client for longer than a timeout, which happens when
+   * sending a frame blocks because the client does not read it.
+   *
+   * @param timeoutNanos The timeout in nanoseconds.
+   * @return True if the client is stalled.
+   */
+  boolean isStalled(long timeoutNanos) {
+    return !frames.isEmpty() && System.nanoTime() - waitingSince > timeoutNanos;
+  }
+}
@@ -0,0 +1,193 @@
+package com.github.davidcastelli.reservationsystem.common;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * Log of the client errors handled by the {@link GlobalExceptionHandler GlobalExceptionHandler}.
+ * Client errors are expected, and a client which keeps sending bad requests, such as a scan of
+ * unknown ids, must not turn into a flood of log lines. Every error is counted per exception type,
+ * but only a sample of them is logged, and each type logs at most a fixed number of lines per
+ * interval. The next line logged for a type tells how many were left out since the last one.
+ */
+public final class ClientErrorLog {
+
+  private final Logger logger;
+  private final long intervalNanos;
+  private final int maxPerInterval;
+  private final double sampleRate;
+  private final LongSupplier nanoTime;
+  private final ConcurrentHashMap<Class<? extends RuntimeException>, TypeLog> types =
+      new ConcurrentHashMap<>();
+  private final List<BiConsumer<Class<? extends RuntimeException>, HttpStatus>> listeners =
+      new CopyOnWriteArrayList<>();
+
+  /**
+   * Creates a {@link ClientErrorLog ClientErrorLog}.
+   *
+   * @param logger The logger the client errors are logged to.
+   * @param interval The interval over which the lines of an exception type are limited.
+   * @param maxPerInterval The maximum number of lines of an exception type per interval.
+   * @param sampleRate The fraction of client errors which are considered for logging.
+   */
+  ClientErrorLog(Logger logger, Duration interval, int maxPerInterval, double sampleRate) {
+    this(logger, interval, maxPerInterval, sampleRate, System::nanoTime);
+  }
+
+  /**
+   * Creates a {@link ClientErrorLog ClientErrorLog} with a custom clock.
+   *
+   * @param logger The logger the client errors are logged to.
+   * @param interval The interval over which the lines of an exception type are limited.
+   * @param maxPerInterval The maximum number of lines of an exception type per interval.
+   * @param sampleRate The fraction of client errors which are considered for logging.
+   * @param nanoTime The clock used to start the intervals, in nanoseconds.
+   */
+  ClientErrorLog(
+      Logger logger,
+      Duration interval,
+      int maxPerInterval,
+      double sampleRate,
+      LongSupplier nanoTime) {
+    Assert.isTrue(interval.isPositive(), "The interval must be positive");
+    Assert.isTrue(maxPerInterval >= 0, "The maximum per interval must not be negative");
+    Assert.isTrue(sampleRate >= 0 && sampleRate <= 1, "The sample rate must be between 0 and 1");
+    this.logger = logger;
+    this.intervalNanos = interval.toNanos();
+    this.maxPerInterval = maxPerInterval;
+    this.sampleRate = sampleRate;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Counts a client error and logs it at info level, unless it is left out by the sampling or the
+   * limit of its exception type.
+   *
+   * @param status The status of the response.
+   * @param exception The exception.
+   * @param requestDetails The description of the request.
+   * @param errors The error descriptions of the exception grouped by code, empty if it has none.
+   * @return True if the error was logged, false if it was only counted.
+   */
+  boolean record(
+      HttpStatus status,
+      RuntimeException exception,
+      String requestDetails,
+      Map<String, String[]> errors) {
+    var type = types.get(exception.getClass());
+    if (type == null) {
+      var created = new TypeLog(status);
+      type = types.putIfAbsent(exception.getClass(), created);
+      if (type == null) {
+        type = created;
+        for (var listener : listeners) {
+          listener.accept(exception.getClass(), status);
+        }
+      }
+    }
+    type.count.increment();
+
+    if (!logger.isInfoEnabled()
+        || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+        || !type.tryAcquire(nanoTime.getAsLong())) {
+      type.suppressed.increment();
+      return false;
+    }
+
+    var descriptions = errors.values().stream().flatMap(Arrays::stream).toList();
+    logger.info(
+        "{} with status {} has occurred: {}, Request Details: {}, Errors: {}, Suppressed: {}",
+        exception.getClass().getSimpleName(),
+        status.value(),
+        exception.getMessage(),
+        requestDetails,
+        descriptions,
+        type.suppressed.sumThenReset());
+    return true;
+  }
+
+  /**
+   * Gets the number of client errors of an exception type, including the ones which were not
+   * logged.
+   *
+   * @param exceptionType The exception type.
+   * @return The number of client errors.
+   */
+  public long count(Class<? extends RuntimeException> exceptionType) {
+    var type = types.get(exceptionType);
+    return type == null ? 0 : type.count.sum();
+  }
+
+  /**
+   * Adds a listener which is called with every exception type once its first client error occurred.
+   * The listener is called right away with the exception types which already occurred.
+   *
+   * @param listener The listener taking the exception type and the status of its responses.
+   */
+  public void onNewType(BiConsumer<Class<? extends RuntimeException>, HttpStatus> listener) {
+    listeners.add(listener);
+    types.forEach((exceptionType, type) -> listener.accept(exceptionType, type.status));
+  }
+
+  /**
+   * Gets the number of client errors of every exception type which occurred so far.
+   *
+   * @return A map of the exception types and their client error counts, ordered by name.
+   */
+  public Map<ClientError, Long> counts() {
+    var counts = new TreeMap<ClientError, Long>(Comparator.comparing(ClientError::exception));
+    types.forEach(
+        (exceptionType, type) ->
+            counts.put(
+                new ClientError(exceptionType.getSimpleName(), type.status), type.count.sum()));
+    return counts;
+  }
+
+  /**
+   * A record to hold an exception type of client errors.
+   *
+   * @param exception The simple name of the exception type.
+   * @param status The status of the responses.
+   */
+  public record ClientError(String exception, HttpStatus status) {}
+
+  // The counters and the log limit of an exception type. The limit starts a new interval with the
+  // first error after the last one ended. Errors racing with the start of an interval may be
+  // counted against either interval, which only makes the limit approximate.
+  private final class TypeLog {
+
+    private final HttpStatus status;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final AtomicLong intervalStart;
+    private final AtomicInteger logged = new AtomicInteger();
+
+    private TypeLog(HttpStatus status) {
+      this.status = status;
+      this.intervalStart = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    private boolean tryAcquire(long now) {
+      long start = intervalStart.get();
+      if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+        logged.set(0);
+      }
+      return logged.get() < maxPerInterval && logged.incrementAndGet() <= maxPerInterval;
+    }
+  }
+}
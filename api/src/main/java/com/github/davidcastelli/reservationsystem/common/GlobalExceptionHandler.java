@@ -1,25 +1,69 @@
 package com.github.davidcastelli.reservationsystem.common;
 
 import com.github.davidcastelli.reservationsystem.common.exception.BadRequestException;
+import com.github.davidcastelli.reservationsystem.common.exception.ConcurrencyLimitExceededException;
+import com.github.davidcastelli.reservationsystem.common.exception.ConflictException;
+import com.github.davidcastelli.reservationsystem.common.exception.DatabaseBusyException;
 import com.github.davidcastelli.reservationsystem.common.exception.NotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.PayloadTooLargeException;
+import com.github.davidcastelli.reservationsystem.common.exception.PreconditionFailedException;
+import com.github.davidcastelli.reservationsystem.common.exception.ServiceUnavailableException;
 import java.net.URI;
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-/** A global exception handler used to handle controller exceptions in a centralized location. */
+/**
+ * A global exception handler used to handle controller exceptions in a centralized location. Client
+ * errors are logged through a {@link ClientErrorLog ClientErrorLog}, which counts all of them but
+ * only logs a sample, while server errors are always logged. Requests shed under overload are
+ * expected as well, so they are logged through a {@link ClientErrorLog ClientErrorLog} of their
+ * own, which keeps them out of the client error counts.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+  private final ClientErrorLog clientErrorLog;
+  private final ClientErrorLog overloadLog;
+
+  /**
+   * Creates a {@link GlobalExceptionHandler GlobalExceptionHandler}.
+   *
+   * @param interval The interval over which the lines of an error type are limited.
+   * @param maxPerInterval The maximum number of lines of an error type per interval.
+   * @param sampleRate The fraction of client errors and shed requests which are considered for
+   *     logging.
+   */
+  public GlobalExceptionHandler(
+      @Value("${client-errors.log.interval}") Duration interval,
+      @Value("${client-errors.log.max-per-interval}") int maxPerInterval,
+      @Value("${client-errors.log.sample-rate}") double sampleRate) {
+    this.clientErrorLog = new ClientErrorLog(LOGGER, interval, maxPerInterval, sampleRate);
+    this.overloadLog = new ClientErrorLog(LOGGER, interval, maxPerInterval, sampleRate);
+  }
+
+  /**
+   * Gets the log of the client errors, which counts the client errors of every exception type.
+   *
+   * @return The {@link ClientErrorLog ClientErrorLog}.
+   */
+  public ClientErrorLog clientErrors() {
+    return clientErrorLog;
+  }
+
   /**
    * Handles bad request exceptions by returning a problem detail to the client.
    *
@@ -29,13 +73,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
    */
   @ExceptionHandler(BadRequestException.class)
   public ProblemDetail handleBadRequestException(BadRequestException bre, WebRequest request) {
-    var errors = bre.getErrors().values().stream().flatMap(Arrays::stream).toList();
-    LOGGER.error(
-        "Bad request exception with status 400 has occurred: {}, Request Details: {}, Errors: {}",
-        bre.getMessage(),
-        request.getDescription(false),
-        errors,
-        bre);
+    clientErrorLog.record(
+        HttpStatus.BAD_REQUEST, bre, request.getDescription(false), bre.getErrors());
 
     var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, bre.getMessage());
     URI type = URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.1");
@@ -53,15 +92,105 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
    */
   @ExceptionHandler(NotFoundException.class)
   public ProblemDetail handleNotFoundException(NotFoundException nfe, WebRequest request) {
-    LOGGER.error(
-        "Not found exception with status 404 has occurred: {}, Request Details: {}",
-        nfe.getMessage(),
-        request.getDescription(false),
-        nfe);
+    clientErrorLog.record(HttpStatus.NOT_FOUND, nfe, request.getDescription(false), Map.of());
 
     var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, nfe.getMessage());
     URI type = URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.5");
     problemDetail.setType(type);
     return problemDetail;
   }
+
+  /**
+   * Handles precondition failed exceptions by returning a problem detail to the client.
+   *
+   * @param pfe The precondition failed exception.
+   * @param request The web request.
+   * @return A {@link ProblemDetail ProblemDetail} with status code 412.
+   */
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ProblemDetail handlePreconditionFailedException(
+      PreconditionFailedException pfe, WebRequest request) {
+    clientErrorLog.record(
+        HttpStatus.PRECONDITION_FAILED, pfe, request.getDescription(false), Map.of());
+
+    var problemDetail =
+        ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, pfe.getMessage());
+    URI type = URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.13");
+    problemDetail.setType(type);
+    return problemDetail;
+  }
+
+  /**
+   * Handles payload too large exceptions by returning a problem detail to the client.
+   *
+   * @param ptle The payload too large exception.
+   * @param request The web request.
+   * @return A {@link ProblemDetail ProblemDetail} with status code 413.
+   */
+  @ExceptionHandler(PayloadTooLargeException.class)
+  public ProblemDetail handlePayloadTooLargeException(
+      PayloadTooLargeException ptle, WebRequest request) {
+    clientErrorLog.record(
+        HttpStatus.PAYLOAD_TOO_LARGE, ptle, request.getDescription(false), Map.of());
+
+    var problemDetail =
+        ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, ptle.getMessage());
+    URI type = URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.14");
+    problemDetail.setType(type);
+    return problemDetail;
+  }
+
+  /**
+   * Handles conflict exceptions by returning a problem detail to the client.
+   *
+   * @param ce The conflict exception.
+   * @param request The web request.
+   * @return A {@link ProblemDetail ProblemDetail} with status code 409.
+   */
+  @ExceptionHandler(ConflictException.class)
+  public ProblemDetail handleConflictException(ConflictException ce, WebRequest request) {
+    clientErrorLog.record(HttpStatus.CONFLICT, ce, request.getDescription(false), ce.getErrors());
+
+    var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ce.getMessage());
+    URI type = URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.10");
+    problemDetail.setType(type);
+    var properties = new HashMap<String, Object>(ce.getProperties());
+    properties.put("errors", ce.getErrors());
+    problemDetail.setProperties(properties);
+    return problemDetail;
+  }
+
+  /**
+   * Handles service unavailable exceptions by returning a problem detail to the client, with a
+   * Retry-After header telling the client when to retry. Requests shed under overload are logged
+   * through the rate-limited log, while other service unavailable exceptions are always logged.
+   *
+   * @param sue The service unavailable exception.
+   * @param request The web request.
+   * @return A response entity with a {@link ProblemDetail ProblemDetail} with status code 503.
+   */
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ProblemDetail> handleServiceUnavailableException(
+      ServiceUnavailableException sue, WebRequest request) {
+    if (sue instanceof DatabaseBusyException || sue instanceof ConcurrencyLimitExceededException) {
+      overloadLog.record(
+          HttpStatus.SERVICE_UNAVAILABLE, sue, request.getDescription(false), Map.of());
+    } else {
+      LOGGER.error(
+          "Service unavailable exception with status 503 has occurred: {}, Request Details: {}",
+          sue.getMessage(),
+          request.getDescription(false),
+          sue);
+    }
+
+    var problemDetail =
+        ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, sue.getMessage());
+    URI type = URI.create("https://tools.ietf.org/html/rfc9110#section-15.6.4");
+    problemDetail.setType(type);
+    // Retry-After is given in whole seconds, so a shorter wait is rounded up.
+    long retryAfter = Math.max(1, (sue.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter))
+        .body(problemDetail);
+  }
 }
@@ -0,0 +1,114 @@
+package com.github.davidcastelli.reservationsystem.common;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monitor which surfaces the virtual threads pinned to their carrier thread. A virtual thread which
+ * blocks while holding a monitor, such as inside a synchronized block of a driver, cannot unmount
+ * and keeps its carrier busy, and with every carrier pinned no other request can run. The JVM
+ * records a jdk.VirtualThreadPinned event for every such block longer than a threshold, which the
+ * monitor streams from Java Flight Recorder without writing a recording to disk.
+ *
+ * <p>Every event is timed as {@link MetricNames#VIRTUAL_THREADS_PINNED
+ * MetricNames.VIRTUAL_THREADS_PINNED}, and the stack trace of the first event at every site is
+ * logged once, which points at the code to fix.
+ */
+@Component
+class PinnedThreadMonitor implements SmartLifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+  static final String EVENT = "jdk.VirtualThreadPinned";
+
+  // Bounds the memory of the sites already logged, in case a pinning site is reached through
+  // countless different stacks.
+  private static final int MAX_LOGGED_SITES = 100;
+
+  private final Duration threshold;
+  private final Timer pinned;
+  private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+  private volatile @Nullable RecordingStream recordingStream;
+
+  /**
+   * Creates a {@link PinnedThreadMonitor PinnedThreadMonitor}.
+   *
+   * @param threshold The minimum time a virtual thread is pinned for the pinning to be recorded.
+   * @param meterRegistry The meter registry of the timer of the pinned threads.
+   */
+  PinnedThreadMonitor(
+      @Value("${virtual-threads.pinned.threshold}") Duration threshold,
+      MeterRegistry meterRegistry) {
+    this.threshold = threshold;
+    this.pinned =
+        Timer.builder(MetricNames.VIRTUAL_THREADS_PINNED)
+            .description("The time virtual threads were pinned to their carrier thread")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void start() {
+    var stream = new RecordingStream();
+    stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(EVENT, this::onPinned);
+    stream.startAsync();
+    recordingStream = stream;
+  }
+
+  @Override
+  public void stop() {
+    var stream = recordingStream;
+    if (stream != null) {
+      stream.close();
+      recordingStream = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return recordingStream != null;
+  }
+
+  void onPinned(RecordedEvent event) {
+    pinned.record(event.getDuration());
+
+    var site = site(event.getStackTrace());
+    if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+      LOGGER.warn(
+          "A virtual thread was pinned to its carrier thread for {} ms at:{}",
+          event.getDuration().toMillis(),
+          site);
+    }
+  }
+
+  private static String site(@Nullable RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return " an unknown site";
+    }
+    return stackTrace.getFrames().stream()
+        .map(PinnedThreadMonitor::frame)
+        .collect(Collectors.joining(""));
+  }
+
+  private static String frame(RecordedFrame frame) {
+    var method = frame.getMethod();
+    return "%n\tat %s.%s(line %d)"
+        .formatted(method.getType().getName(), method.getName(), frame.getLineNumber());
+  }
+}
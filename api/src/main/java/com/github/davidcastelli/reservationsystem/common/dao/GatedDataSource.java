@@ -0,0 +1,195 @@
+package com.github.davidcastelli.reservationsystem.common.dao;
+
+import com.github.davidcastelli.reservationsystem.common.exception.DatabaseBusyException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link DataSource DataSource} which limits the number of connections in use with a fair {@link
+ * Semaphore Semaphore} in front of the connection pool. Every request runs on a virtual thread, so
+ * under overload thousands of requests can wait for a connection, each adding to the latency of the
+ * ones behind it. The gate bounds both the number of waiting requests and how long they wait, and
+ * fails the rest fast with a {@link DatabaseBusyException DatabaseBusyException}, which is mapped
+ * to a 503.
+ *
+ * <p>A permit is taken when a connection is taken and given back when it is closed, so a
+ * transaction holds a single permit from its begin until its end. Waiting on the semaphore parks a
+ * virtual thread without pinning its carrier. With as many permits as the pool has connections, a
+ * request never waits inside the pool.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final int maxConcurrency;
+  private final int maxWaiting;
+  private final Duration queueTimeout;
+
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final LongAdder rejections = new LongAdder();
+
+  /**
+   * Creates a {@link GatedDataSource GatedDataSource}.
+   *
+   * @param targetDataSource The data source whose connections are gated.
+   * @param maxConcurrency The maximum number of connections in use at once.
+   * @param maxWaiting The maximum number of requests waiting for a connection.
+   * @param queueTimeout The maximum time a request waits for a connection.
+   * @throws IllegalArgumentException if the maximum concurrency or the queue timeout is not
+   *     positive, or the maximum number of waiting requests is negative.
+   */
+  public GatedDataSource(
+      DataSource targetDataSource, int maxConcurrency, int maxWaiting, Duration queueTimeout) {
+    super(targetDataSource);
+    Assert.isTrue(maxConcurrency > 0, "The maximum concurrency must be positive");
+    Assert.isTrue(maxWaiting >= 0, "The maximum number of waiting requests must not be negative");
+    Assert.isTrue(queueTimeout.isPositive(), "The queue timeout must be positive");
+    this.permits = new Semaphore(maxConcurrency, true);
+    this.maxConcurrency = maxConcurrency;
+    this.maxWaiting = maxWaiting;
+    this.queueTimeout = queueTimeout;
+  }
+
+  /**
+   * Gets a connection once a permit is free.
+   *
+   * @return The connection, which gives back its permit when closed.
+   * @throws DatabaseBusyException if too many requests are waiting or no permit became free within
+   *     the queue timeout.
+   * @throws SQLException if the connection could not be opened or the wait was interrupted.
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return gated(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets a connection for a user once a permit is free.
+   *
+   * @param username The user.
+   * @param password The password of the user.
+   * @return The connection, which gives back its permit when closed.
+   * @throws DatabaseBusyException if too many requests are waiting or no permit became free within
+   *     the queue timeout.
+   * @throws SQLException if the connection could not be opened or the wait was interrupted.
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return gated(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the number of requests waiting for a connection.
+   *
+   * @return The number of waiting requests.
+   */
+  public int waiting() {
+    return waiting.get();
+  }
+
+  /**
+   * Gets the number of connections in use.
+   *
+   * @return The number of connections in use.
+   */
+  public int active() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  /**
+   * Gets the number of requests which were turned away since the data source was created.
+   *
+   * @return The number of rejections.
+   */
+  public long rejections() {
+    return rejections.sum();
+  }
+
+  private void acquire() throws SQLException {
+    // A timed tryAcquire respects the fairness of the semaphore, unlike the untimed one, so a free
+    // permit is only taken right away when no other request is waiting for one.
+    try {
+      if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+        return;
+      }
+      if (waiting.incrementAndGet() > maxWaiting) {
+        waiting.decrementAndGet();
+        throw reject();
+      }
+      try {
+        if (!permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+          throw reject();
+        }
+      } finally {
+        waiting.decrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+    }
+  }
+
+  private DatabaseBusyException reject() {
+    rejections.increment();
+    return new DatabaseBusyException(queueTimeout);
+  }
+
+  // Wraps the connection so that closing it gives back its permit, once no matter how often it is
+  // closed.
+  private Connection gated(Connection connection) {
+    var closed = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] {ConnectionProxy.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                  return connection;
+                case "close":
+                  if (closed.compareAndSet(false, true)) {
+                    try {
+                      connection.close();
+                    } finally {
+                      permits.release();
+                    }
+                  }
+                  return null;
+                default:
+                  try {
+                    return method.invoke(connection, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                  }
+              }
+            });
+  }
+}
@@ -0,0 +1,137 @@
+package com.github.davidcastelli.reservationsystem.common.dao;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * An immutable index of {@link Group Groups} sorted by their people range. The people ranges of
+ * groups never overlap, which is enforced by the overlapping_people exclusion constraint, so
+ * finding the group for a number of people is a binary search over the sorted minimum people
+ * followed by a check against the matching maximum people. The bounds, ids and admission prices in
+ * cents are kept in primitive arrays with a parallel array of groups so that a lookup does not
+ * allocate, which lets callers resolve whole batches of party sizes without creating objects.
+ */
+public final class GroupRangeIndex {
+
+  /** The position returned by {@link #indexOf(long) indexOf} if no group contains the people. */
+  public static final int NOT_FOUND = -1;
+
+  private final int[] minPeople;
+  private final int[] maxPeople;
+  private final long[] groupIds;
+  private final long[] admissionPriceCents;
+  private final Group[] groups;
+
+  private GroupRangeIndex(
+      int[] minPeople,
+      int[] maxPeople,
+      long[] groupIds,
+      long[] admissionPriceCents,
+      Group[] groups) {
+    this.minPeople = minPeople;
+    this.maxPeople = maxPeople;
+    this.groupIds = groupIds;
+    this.admissionPriceCents = admissionPriceCents;
+    this.groups = groups;
+  }
+
+  /**
+   * Creates a {@link GroupRangeIndex GroupRangeIndex} from a list of groups.
+   *
+   * @param groups The groups to index in any order.
+   * @return A {@link GroupRangeIndex GroupRangeIndex} containing the groups.
+   * @throws IllegalArgumentException if the people ranges of two groups overlap.
+   * @throws ArithmeticException if an admission price has more than two decimal places.
+   */
+  public static GroupRangeIndex of(List<Group> groups) {
+    var sorted = groups.toArray(Group[]::new);
+    Arrays.sort(sorted, Comparator.comparingInt(Group::minPeople));
+
+    var minPeople = new int[sorted.length];
+    var maxPeople = new int[sorted.length];
+    var groupIds = new long[sorted.length];
+    var admissionPriceCents = new long[sorted.length];
+    for (int i = 0; i < sorted.length; i++) {
+      minPeople[i] = sorted[i].minPeople();
+      maxPeople[i] = sorted[i].maxPeople();
+      groupIds[i] = sorted[i].groupId();
+      admissionPriceCents[i] = sorted[i].admissionPrice().movePointRight(2).longValueExact();
+      Assert.isTrue(
+          i == 0 || minPeople[i] > maxPeople[i - 1],
+          "Groups with overlapping people ranges can not be indexed");
+    }
+
+    return new GroupRangeIndex(minPeople, maxPeople, groupIds, admissionPriceCents, sorted);
+  }
+
+  /**
+   * Finds the group whose people range contains the given number of people. Both the minimum and
+   * the maximum number of people are inclusive.
+   *
+   * @param people The number of people.
+   * @return The {@link Group Group} containing the number of people or null if there is none.
+   */
+  @Nullable Group find(long people) {
+    int position = indexOf(people);
+    return position != NOT_FOUND ? groups[position] : null;
+  }
+
+  /**
+   * Finds the position of the group whose people range contains the given number of people. Both
+   * the minimum and the maximum number of people are inclusive.
+   *
+   * @param people The number of people.
+   * @return The position of the group or {@link #NOT_FOUND NOT_FOUND} if there is none.
+   */
+  public int indexOf(long people) {
+    int low = 0;
+    int high = minPeople.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (minPeople[mid] <= people) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    // high is now the last group with a minimum number of people less than or equal to people.
+    if (high >= 0 && maxPeople[high] >= people) {
+      return high;
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Gets the id of the group at a position.
+   *
+   * @param position The position of the group as returned by {@link #indexOf(long) indexOf}.
+   * @return The group id.
+   */
+  public long groupId(int position) {
+    return groupIds[position];
+  }
+
+  /**
+   * Gets the admission price in cents of the group at a position.
+   *
+   * @param position The position of the group as returned by {@link #indexOf(long) indexOf}.
+   * @return The admission price in cents.
+   */
+  public long admissionPriceCents(int position) {
+    return admissionPriceCents[position];
+  }
+
+  /**
+   * Gets the number of groups in the index.
+   *
+   * @return The number of groups.
+   */
+  public int size() {
+    return groups.length;
+  }
+}
@@ -1,17 +1,36 @@
 package com.github.davidcastelli.reservationsystem.common.dao;
 
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
 import com.github.davidcastelli.reservationsystem.common.model.Group;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-/** DAO used to perform common persistence operations on a {@link Group Group}. */
+/**
+ * DAO used to perform common persistence operations on a {@link Group Group}. Groups are rarely
+ * changed but looked up for every reservation, so lookups are answered from an in-memory {@link
+ * GroupRangeIndex GroupRangeIndex}. The index is loaded at startup and rebuilt whenever a {@link
+ * GroupsChangedEvent GroupsChangedEvent} is published.
+ */
 @Repository()
+@Timed(MetricNames.DAO_CALLS)
 public class SharedGroupDao {
 
   private final JdbcClient jdbcClient;
 
+  // Serializes reloads so that an older snapshot can never replace a newer one.
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  private volatile @Nullable GroupRangeIndex index;
+
   /**
    * Creates a {@link SharedGroupDao SharedGroupDao}.
    *
@@ -31,7 +50,8 @@ public class SharedGroupDao {
               rs.getInt("min_people"),
               rs.getInt("max_people"),
               rs.getBigDecimal("admission_price"),
-              rs.getInt("start_interval"));
+              rs.getInt("start_interval"),
+              rs.getLong("version"));
 
   /**
    * Performs the operation to retrieve a group based on the number of people.
@@ -41,11 +61,51 @@ public class SharedGroupDao {
    *     the groups min and max or empty otherwise.
    */
   public Optional<Group> findByPeople(long people) {
-    return jdbcClient
-        .sql(
-            "SELECT package_id, min_people, max_people, admission_price, start_interval FROM package_v WHERE min_people <= :people AND max_people >= :people")
-        .param("people", people)
-        .query(rowMapper)
-        .optional();
+    return Optional.ofNullable(index().find(people));
+  }
+
+  /** Reloads the group index from the database. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void reload() {
+    load();
+  }
+
+  /**
+   * Reloads the group index once the transaction which changed the groups has committed, or
+   * immediately if the change was made outside of a transaction.
+   *
+   * @param event The groups changed event.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onGroupsChanged(GroupsChangedEvent event) {
+    load();
+  }
+
+  /**
+   * Gets the current group index. The index is immutable, so a caller resolving a batch of party
+   * sizes against it sees one consistent set of groups even if the groups change meanwhile.
+   *
+   * @return The {@link GroupRangeIndex GroupRangeIndex}.
+   */
+  public GroupRangeIndex index() {
+    var current = index;
+    return current != null ? current : load();
+  }
+
+  private GroupRangeIndex load() {
+    reloadLock.lock();
+    try {
+      var groups =
+          jdbcClient
+              .sql(
+                  "SELECT package_id, min_people, max_people, admission_price, start_interval, version FROM package_v")
+              .query(rowMapper)
+              .list();
+      var loaded = GroupRangeIndex.of(groups);
+      index = loaded;
+      return loaded;
+    } finally {
+      reloadLock.unlock();
+    }
   }
 }
@@ -0,0 +1,57 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import java.time.Duration;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener which keeps the local copies of the groups of every node in sync. A trigger on the
+ * package table notifies the package_changed channel whenever a group is created, updated or
+ * deleted, on any node. The listener publishes a {@link GroupsChangedEvent GroupsChangedEvent} for
+ * every batch of notifications it receives, and every time it starts listening to resync the local
+ * copies with the database.
+ */
+@Component
+public class GroupNotificationListener extends NotificationListener {
+
+  /** The channel on which the package table announces changes. */
+  public static final String CHANNEL = "package_changed";
+
+  /** The application name of the listener connection, which identifies it in pg_stat_activity. */
+  public static final String APPLICATION_NAME = "group-notification-listener";
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Creates a {@link GroupNotificationListener GroupNotificationListener}.
+   *
+   * @param connectionDetails The details used to open the listener connection.
+   * @param eventPublisher The event publisher used to announce changes to groups.
+   * @param pollTimeout How long to wait for notifications before checking the connection.
+   * @param initialBackoff How long to wait before the first attempt to reconnect.
+   * @param maxBackoff The maximum time to wait between attempts to reconnect.
+   */
+  GroupNotificationListener(
+      JdbcConnectionDetails connectionDetails,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${groups.notifications.poll-timeout}") Duration pollTimeout,
+      @Value("${groups.notifications.initial-backoff}") Duration initialBackoff,
+      @Value("${groups.notifications.max-backoff}") Duration maxBackoff) {
+    super(connectionDetails, CHANNEL, APPLICATION_NAME, pollTimeout, initialBackoff, maxBackoff);
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  void listening() {
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  // All notifications received at once are announced by a single event.
+  @Override
+  void received(PGNotification[] notifications) {
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+}
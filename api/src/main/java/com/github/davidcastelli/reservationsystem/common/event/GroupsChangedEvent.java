@@ -0,0 +1,8 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+/**
+ * Event which is published after a {@link
+ * com.github.davidcastelli.reservationsystem.common.model.Group Group} has been created, updated or
+ * deleted. Listeners holding a local copy of the groups use this event to rebuild it.
+ */
+public record GroupsChangedEvent() {}
@@ -0,0 +1,13 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event which is published after a hold has been created on this node. Listeners holding a
+ * projection of the availability use this event to mark the time range of the hold as taken until
+ * it is confirmed or released.
+ *
+ * @param startTime The start time of the hold.
+ * @param endTime The end time of the hold, inclusive.
+ */
+public record HoldCreatedEvent(LocalDateTime startTime, LocalDateTime endTime) {}
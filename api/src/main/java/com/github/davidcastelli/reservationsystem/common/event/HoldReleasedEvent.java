@@ -0,0 +1,13 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event which is published after a hold known to this node expired without being confirmed.
+ * Listeners holding a projection of the availability use this event to mark the time range of the
+ * hold as free again, unless a reservation or another hold still takes it.
+ *
+ * @param startTime The start time of the hold.
+ * @param endTime The end time of the hold, inclusive.
+ */
+public record HoldReleasedEvent(LocalDateTime startTime, LocalDateTime endTime) {}
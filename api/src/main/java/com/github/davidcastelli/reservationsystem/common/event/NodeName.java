@@ -0,0 +1,11 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+/**
+ * The name of this node, which the connections of its pool carry as their application name. A
+ * notification sent from a transaction of this node carries the name as well, which tells the node
+ * apart from the others.
+ *
+ * @param value The name, at most 63 characters long, the longest application name the database
+ *     keeps.
+ */
+public record NodeName(String value) {}
@@ -0,0 +1,167 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Properties;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Base of the listeners which receive the notifications of a channel of the database. The listener
+ * holds a dedicated connection outside of the connection pool which listens on the channel, and
+ * hands every batch of notifications it receives to {@link #received(PGNotification[]) received}.
+ *
+ * <p>Notifications sent while the connection is down are lost, so the listener reconnects with an
+ * exponential backoff and calls {@link #listening() listening} every time it starts listening,
+ * which lets subclasses resync whatever the lost notifications would have changed.
+ */
+abstract class NotificationListener implements SmartLifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NotificationListener.class);
+
+  private final JdbcConnectionDetails connectionDetails;
+  private final String channel;
+  private final String applicationName;
+  private final Duration pollTimeout;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+
+  private volatile boolean running;
+  private volatile @Nullable Thread thread;
+  private volatile @Nullable Connection connection;
+
+  /**
+   * Creates a {@link NotificationListener NotificationListener}.
+   *
+   * @param connectionDetails The details used to open the listener connection.
+   * @param channel The channel to listen on.
+   * @param applicationName The application name of the listener connection.
+   * @param pollTimeout How long to wait for notifications before checking the connection.
+   * @param initialBackoff How long to wait before the first attempt to reconnect.
+   * @param maxBackoff The maximum time to wait between attempts to reconnect.
+   */
+  NotificationListener(
+      JdbcConnectionDetails connectionDetails,
+      String channel,
+      String applicationName,
+      Duration pollTimeout,
+      Duration initialBackoff,
+      Duration maxBackoff) {
+    this.connectionDetails = connectionDetails;
+    this.channel = channel;
+    this.applicationName = applicationName;
+    this.pollTimeout = pollTimeout;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /** Called every time the listener has started listening, including after a reconnect. */
+  abstract void listening();
+
+  /**
+   * Called with the notifications received at once.
+   *
+   * @param notifications The notifications, at least one.
+   */
+  abstract void received(PGNotification[] notifications);
+
+  @Override
+  public void start() {
+    running = true;
+    // The driver blocks in a synchronized read while waiting for notifications, which would pin
+    // the carrier of a virtual thread, so the listener gets a platform thread of its own.
+    thread = Thread.ofPlatform().name(applicationName).daemon().start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    var current = connection;
+    if (current != null) {
+      try {
+        // Aborting closes the socket, which wakes up the listener waiting for notifications.
+        current.abort(Runnable::run);
+      } catch (SQLException e) {
+        LOGGER.debug("Failed to abort the {} connection", applicationName, e);
+      }
+    }
+    var listener = thread;
+    if (listener != null) {
+      listener.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    var backoff = initialBackoff;
+    while (running) {
+      try (var listening = connect()) {
+        connection = listening;
+        try (var statement = listening.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        backoff = initialBackoff;
+        listening();
+        receive(listening);
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          break;
+        }
+        LOGGER.warn("The {} connection failed, reconnecting in {}", applicationName, backoff, e);
+      } finally {
+        connection = null;
+      }
+
+      try {
+        Thread.sleep(backoff);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      var doubled = backoff.multipliedBy(2);
+      backoff = doubled.compareTo(maxBackoff) < 0 ? doubled : maxBackoff;
+    }
+  }
+
+  // Waits for notifications until the listener is stopped or the connection fails.
+  private void receive(Connection listening) throws SQLException {
+    var pgConnection = listening.unwrap(PGConnection.class);
+    int validationTimeout = (int) Math.max(1, pollTimeout.toSeconds());
+    while (running) {
+      var notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+      if (notifications != null && notifications.length > 0) {
+        LOGGER.debug("Received {} notifications on {}", notifications.length, channel);
+        received(notifications);
+      } else if (!listening.isValid(validationTimeout)) {
+        // A dropped connection does not always fail the wait, so idle connections are checked.
+        throw new SQLException("The " + applicationName + " connection is no longer valid");
+      }
+    }
+  }
+
+  private Connection connect() throws SQLException {
+    var properties = new Properties();
+    var username = connectionDetails.getUsername();
+    if (username != null) {
+      properties.setProperty("user", username);
+    }
+    var password = connectionDetails.getPassword();
+    if (password != null) {
+      properties.setProperty("password", password);
+    }
+    PGProperty.APPLICATION_NAME.set(properties, applicationName);
+    return DriverManager.getConnection(connectionDetails.getJdbcUrl(), properties);
+  }
+}
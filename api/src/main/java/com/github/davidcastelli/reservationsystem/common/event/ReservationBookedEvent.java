@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event which is published after a reservation has been booked, either by the service which booked
+ * it on this node or by the {@link ReservationNotificationListener ReservationNotificationListener}
+ * for a reservation booked on another node. Listeners holding a projection of the reserved times
+ * use this event to mark the time range of the reservation as taken, listeners holding a projection
+ * of the confirmation codes to add the new code.
+ *
+ * @param startTime The start time of the reservation.
+ * @param endTime The end time of the reservation, inclusive.
+ * @param confirmationCode The confirmation code of the reservation.
+ */
+public record ReservationBookedEvent(
+    LocalDateTime startTime, LocalDateTime endTime, UUID confirmationCode) {}
@@ -0,0 +1,95 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener which announces the reservations booked on other nodes. A trigger on the reservation
+ * table notifies the reservation_booked channel of every reservation inserted, along with the
+ * {@link NodeName NodeName} of the node which inserted it. The listener publishes a {@link
+ * ReservationBookedEvent ReservationBookedEvent} for every reservation of another node, the ones of
+ * this node are announced by the service which booked them.
+ *
+ * <p>A {@link ReservationsChangedEvent ReservationsChangedEvent} is published every time the
+ * listener starts listening again after its connection failed, since the notifications sent in the
+ * meantime are lost.
+ */
+@Component
+public class ReservationNotificationListener extends NotificationListener {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(ReservationNotificationListener.class);
+
+  /** The channel on which the reservation table announces bookings. */
+  public static final String CHANNEL = "reservation_booked";
+
+  /** The application name of the listener connection, which identifies it in pg_stat_activity. */
+  public static final String APPLICATION_NAME = "reservation-notification-listener";
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final NodeName nodeName;
+
+  // Only accessed by the thread of the listener.
+  private boolean listenedBefore;
+
+  /**
+   * Creates a {@link ReservationNotificationListener ReservationNotificationListener}.
+   *
+   * @param connectionDetails The details used to open the listener connection.
+   * @param eventPublisher The event publisher used to announce bookings.
+   * @param nodeName The name of this node, whose bookings are not announced again.
+   * @param pollTimeout How long to wait for notifications before checking the connection.
+   * @param initialBackoff How long to wait before the first attempt to reconnect.
+   * @param maxBackoff The maximum time to wait between attempts to reconnect.
+   */
+  ReservationNotificationListener(
+      JdbcConnectionDetails connectionDetails,
+      ApplicationEventPublisher eventPublisher,
+      NodeName nodeName,
+      @Value("${reservations.notifications.poll-timeout}") Duration pollTimeout,
+      @Value("${reservations.notifications.initial-backoff}") Duration initialBackoff,
+      @Value("${reservations.notifications.max-backoff}") Duration maxBackoff) {
+    super(connectionDetails, CHANNEL, APPLICATION_NAME, pollTimeout, initialBackoff, maxBackoff);
+    this.eventPublisher = eventPublisher;
+    this.nodeName = nodeName;
+  }
+
+  // The projections load the reservations at startup, once the listener is already listening, so
+  // only a reconnect can have lost notifications.
+  @Override
+  void listening() {
+    if (listenedBefore) {
+      eventPublisher.publishEvent(new ReservationsChangedEvent());
+    }
+    listenedBefore = true;
+  }
+
+  // The payload is the confirmation code, start time and end time of the reservation followed by
+  // the application name of the connection which inserted it, separated by spaces.
+  @Override
+  void received(PGNotification[] notifications) {
+    for (var notification : notifications) {
+      var fields = notification.getParameter().split(" ", 4);
+      if (fields.length < 4) {
+        LOGGER.warn(
+            "Ignoring a malformed reservation notification: {}", notification.getParameter());
+        continue;
+      }
+      if (!fields[3].equals(nodeName.value())) {
+        eventPublisher.publishEvent(
+            new ReservationBookedEvent(
+                LocalDateTime.parse(fields[1]),
+                LocalDateTime.parse(fields[2]),
+                UUID.fromString(fields[0])));
+      }
+    }
+  }
+}
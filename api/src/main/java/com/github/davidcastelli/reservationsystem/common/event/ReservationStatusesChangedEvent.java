@@ -0,0 +1,7 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+/**
+ * Event which is published after the statuses of reservations have been changed in bulk, without an
+ * event for each of them. Listeners caching reservations use this event to drop them.
+ */
+public record ReservationStatusesChangedEvent() {}
@@ -0,0 +1,8 @@
+package com.github.davidcastelli.reservationsystem.common.event;
+
+/**
+ * Event which is published when reservations may have been booked on another node without a {@link
+ * ReservationBookedEvent ReservationBookedEvent} for each of them, because their notifications were
+ * lost. Listeners holding a projection of the reservations use this event to rebuild it.
+ */
+public record ReservationsChangedEvent() {}
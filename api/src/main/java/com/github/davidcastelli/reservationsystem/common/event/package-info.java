@@ -0,0 +1,4 @@
+@NullMarked
+package com.github.davidcastelli.reservationsystem.common.event;
+
+import org.jspecify.annotations.NullMarked;
@@ -1,8 +1,6 @@
 package com.github.davidcastelli.reservationsystem.common.exception;
 
 import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -12,10 +10,13 @@ import java.util.Map;
  * GlobalExceptionHandler}. Bad request exceptions deriving from this class extend problem details
  * with an error field. The error field contains a map of error details providing information on
  * what went wrong with the request.
+ *
+ * <p>A bad request is caused by the client and expected, so the exception does not capture a stack
+ * trace, which would cost more to fill in than handling the request.
  */
 public abstract class BadRequestException extends RuntimeException {
-  /** An array of errors describing what went wrong with the request. */
-  private final ErrorDetail[] errors;
+  /** The errors describing what went wrong with the request, grouped by their code. */
+  private final Map<String, String[]> errors;
 
   /**
    * Creates a {@link BadRequestException BadRequestException}.
@@ -23,8 +24,8 @@ public abstract class BadRequestException extends RuntimeException {
    * @param message The error message.
    */
   protected BadRequestException(String message) {
-    super(message);
-    this.errors = new ErrorDetail[] {};
+    super(message, null, false, false);
+    this.errors = Map.of();
   }
 
   /**
@@ -35,30 +36,19 @@ public abstract class BadRequestException extends RuntimeException {
    *     request.
    */
   protected BadRequestException(String message, ErrorDetail[] errors) {
-    super(message);
-    this.errors = errors;
+    super(message, null, false, false);
+    this.errors = ErrorDetails.group(errors);
   }
 
   /**
    * Gets the array of {@link ErrorDetail ErrorDetails} as a map with the error code as the key and
    * the values as an array of all error descriptions belonging to the error code.
    *
-   * @return A map of error codes and their corresponding error descriptions.
+   * @return An unmodifiable copy of the map of error codes and their corresponding error
+   *     descriptions, whose arrays are copied as well, so changing them does not change the errors
+   *     of the exception.
    */
   public Map<String, String[]> getErrors() {
-    var hashMap = new HashMap<String, String[]>();
-
-    for (var error : errors) {
-      if (hashMap.containsKey(error.code())) {
-        var oldErrors = hashMap.get(error.code());
-        var newErrors = Arrays.copyOf(oldErrors, oldErrors.length + 1);
-        newErrors[oldErrors.length] = error.description();
-        hashMap.put(error.code(), newErrors);
-      } else {
-        hashMap.put(error.code(), new String[] {error.description()});
-      }
-    }
-
-    return hashMap;
+    return ErrorDetails.copy(errors);
   }
 }
@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception which is thrown when a reservation could not be booked because every attempt failed
+ * with a transient error, such as a serialization failure or a deadlock, within the retry budget.
+ */
+public class BookingContentionException extends ServiceUnavailableException {
+  /**
+   * Creates a {@link BookingContentionException BookingContentionException}.
+   *
+   * @param retryAfter How long the client should wait before retrying the booking.
+   */
+  public BookingContentionException(Duration retryAfter) {
+    super("The reservation could not be booked due to contention, please try again.", retryAfter);
+  }
+}
@@ -0,0 +1,19 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception which is thrown when a request is rejected because the requests of its kind already in
+ * flight reached their concurrency limit. It is thrown on every request shed under overload, so it
+ * has no stack trace.
+ */
+public class ConcurrencyLimitExceededException extends ServiceUnavailableException {
+  /**
+   * Creates a {@link ConcurrencyLimitExceededException ConcurrencyLimitExceededException}.
+   *
+   * @param retryAfter How long the client should wait before retrying the request.
+   */
+  public ConcurrencyLimitExceededException(Duration retryAfter) {
+    super("The server is overloaded, please try again.", retryAfter, false);
+  }
+}
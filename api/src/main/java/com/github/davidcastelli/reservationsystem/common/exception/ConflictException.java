@@ -0,0 +1,54 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.util.Map;
+
+/**
+ * Base class for conflict exceptions. Exceptions deriving from this class are mapped to a {@link
+ * org.springframework.http.ProblemDetail ProblemDetail} with status code 409 and are handled by
+ * {@link com.github.davidcastelli.reservationsystem.common.GlobalExceptionHandler
+ * GlobalExceptionHandler}. Conflict exceptions deriving from this class extend problem details with
+ * an error field. The error field contains a map of error details providing information on which
+ * parts of the request conflict with the current state of the resource. Exceptions may add further
+ * properties to the problem detail by overriding {@link #getProperties() getProperties}.
+ *
+ * <p>A conflict is expected while clients compete for the same resources, so the exception does not
+ * capture a stack trace.
+ */
+public abstract class ConflictException extends RuntimeException {
+  /** The errors describing which parts of the request conflict, grouped by their code. */
+  private final Map<String, String[]> errors;
+
+  /**
+   * Creates a {@link ConflictException ConflictException}.
+   *
+   * @param message The error message.
+   * @param errors An array of {@link ErrorDetail ErrorDetails} describing which parts of the
+   *     request conflict.
+   */
+  protected ConflictException(String message, ErrorDetail[] errors) {
+    super(message, null, false, false);
+    this.errors = ErrorDetails.group(errors);
+  }
+
+  /**
+   * Gets the array of {@link ErrorDetail ErrorDetails} as a map with the error code as the key and
+   * the values as an array of all error descriptions belonging to the error code.
+   *
+   * @return An unmodifiable copy of the map of error codes and their corresponding error
+   *     descriptions, whose arrays are copied as well, so changing them does not change the errors
+   *     of the exception.
+   */
+  public Map<String, String[]> getErrors() {
+    return ErrorDetails.copy(errors);
+  }
+
+  /**
+   * Gets the additional properties to add to the problem detail besides the errors.
+   *
+   * @return A map of property names and values, empty by default.
+   */
+  public Map<String, Object> getProperties() {
+    return Map.of();
+  }
+}
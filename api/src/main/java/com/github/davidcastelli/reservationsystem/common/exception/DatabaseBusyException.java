@@ -0,0 +1,20 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception which is thrown when a request could not get a database connection because the
+ * connections were all in use and too many requests were already waiting for one, or none became
+ * free within the queue timeout. It is thrown on every request shed under overload, so it has no
+ * stack trace.
+ */
+public class DatabaseBusyException extends ServiceUnavailableException {
+  /**
+   * Creates a {@link DatabaseBusyException DatabaseBusyException}.
+   *
+   * @param retryAfter How long the client should wait before retrying the request.
+   */
+  public DatabaseBusyException(Duration retryAfter) {
+    super("The database is busy, please try again.", retryAfter, false);
+  }
+}
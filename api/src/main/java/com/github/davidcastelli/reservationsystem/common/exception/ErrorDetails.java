@@ -0,0 +1,44 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Utility class used to group the {@link ErrorDetail ErrorDetails} of an exception by code. */
+final class ErrorDetails {
+
+  private ErrorDetails() {}
+
+  /**
+   * Groups error details by their code, keeping the order in which the codes first appear.
+   *
+   * @param errors An array of {@link ErrorDetail ErrorDetails}.
+   * @return An unmodifiable map of error codes and their corresponding error descriptions.
+   */
+  static Map<String, String[]> group(ErrorDetail[] errors) {
+    var grouped = new LinkedHashMap<String, List<String>>();
+    for (var error : errors) {
+      grouped.computeIfAbsent(error.code(), code -> new ArrayList<>(1)).add(error.description());
+    }
+
+    var map = new LinkedHashMap<String, String[]>(grouped.size() * 2);
+    grouped.forEach((code, descriptions) -> map.put(code, descriptions.toArray(String[]::new)));
+    return Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * Copies grouped error details, so neither the map nor the arrays of the copy are shared with the
+   * grouped error details.
+   *
+   * @param errors A map of error codes and their corresponding error descriptions.
+   * @return An unmodifiable map of error codes and copies of their error descriptions.
+   */
+  static Map<String, String[]> copy(Map<String, String[]> errors) {
+    var map = new LinkedHashMap<String, String[]>(errors.size() * 2);
+    errors.forEach((code, descriptions) -> map.put(code, descriptions.clone()));
+    return Collections.unmodifiableMap(map);
+  }
+}
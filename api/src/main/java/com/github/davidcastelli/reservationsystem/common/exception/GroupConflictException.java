@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/**
+ * Exception which is thrown when groups could not be created because their people ranges overlap
+ * each other or the people ranges of existing groups.
+ */
+public class GroupConflictException extends ConflictException {
+  /**
+   * Creates a {@link GroupConflictException GroupConflictException}.
+   *
+   * @param errors An array of errors details describing which groups conflict.
+   */
+  public GroupConflictException(ErrorDetail[] errors) {
+    super("Groups with overlapping people ranges can not be created.", errors);
+  }
+}
@@ -0,0 +1,16 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+/**
+ * Exception which is thrown when a group could not be updated because it was modified after the
+ * version the client expected.
+ */
+public class GroupVersionMismatchException extends PreconditionFailedException {
+  /**
+   * Creates a {@link GroupVersionMismatchException GroupVersionMismatchException}.
+   *
+   * @param id The id of the group which was modified.
+   */
+  public GroupVersionMismatchException(long id) {
+    super(String.format("Group with id: %d has been modified.", id));
+  }
+}
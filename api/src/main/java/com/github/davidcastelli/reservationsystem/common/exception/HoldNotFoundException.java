@@ -0,0 +1,15 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import java.util.UUID;
+
+/** Exception which is thrown when a hold could not be found or has already expired. */
+public class HoldNotFoundException extends NotFoundException {
+  /**
+   * Creates a {@link HoldNotFoundException HoldNotFoundException}.
+   *
+   * @param holdId The id of the hold which could not be found.
+   */
+  public HoldNotFoundException(UUID holdId) {
+    super(String.format("Hold with id: %s could not be found or has expired.", holdId));
+  }
+}
@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/**
+ * Exception which is thrown when a request with an idempotency key was not processed because the
+ * first request with the same key is still being processed and did not finish in time.
+ */
+public class IdempotencyKeyConflictException extends ConflictException {
+  /**
+   * Creates an {@link IdempotencyKeyConflictException IdempotencyKeyConflictException}.
+   *
+   * @param errors An array of errors details describing why the request conflicts.
+   */
+  public IdempotencyKeyConflictException(ErrorDetail[] errors) {
+    super("A request with the same idempotency key is in flight.", errors);
+  }
+}
@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/**
+ * Exception which is thrown when a batch of groups is invalid. A batch is invalid when it is empty,
+ * too large or when any of its groups fails validation.
+ */
+public class InvalidGroupBatchException extends BadRequestException {
+  /**
+   * Creates a {@link InvalidGroupBatchException InvalidGroupBatchException}.
+   *
+   * @param errors An array of errors details describing what went wrong with the request.
+   */
+  public InvalidGroupBatchException(ErrorDetail[] errors) {
+    super("Request validation failed.", errors);
+  }
+}
@@ -0,0 +1,19 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/**
+ * Exception which is thrown when the idempotency key of a request is invalid. An idempotency key is
+ * invalid when it is empty or too long, or when it was already used for a request with a different
+ * method, path or body.
+ */
+public class InvalidIdempotencyKeyException extends BadRequestException {
+  /**
+   * Creates an {@link InvalidIdempotencyKeyException InvalidIdempotencyKeyException}.
+   *
+   * @param errors An array of errors details describing what went wrong with the request.
+   */
+  public InvalidIdempotencyKeyException(ErrorDetail[] errors) {
+    super("Request validation failed.", errors);
+  }
+}
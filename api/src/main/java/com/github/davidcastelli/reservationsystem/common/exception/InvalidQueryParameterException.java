@@ -0,0 +1,15 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/** Exception which is thrown when one or more query parameters of a request are invalid. */
+public class InvalidQueryParameterException extends BadRequestException {
+  /**
+   * Creates a {@link InvalidQueryParameterException InvalidQueryParameterException}.
+   *
+   * @param errors An array of errors details describing what went wrong with the request.
+   */
+  public InvalidQueryParameterException(ErrorDetail[] errors) {
+    super("Request validation failed.", errors);
+  }
+}
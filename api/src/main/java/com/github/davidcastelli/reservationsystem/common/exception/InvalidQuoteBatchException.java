@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/**
+ * Exception which is thrown when a batch of quotes is invalid. A batch is invalid when it is empty,
+ * too large or when any of its quotes fails validation.
+ */
+public class InvalidQuoteBatchException extends BadRequestException {
+  /**
+   * Creates a {@link InvalidQuoteBatchException InvalidQuoteBatchException}.
+   *
+   * @param errors An array of errors details describing what went wrong with the request.
+   */
+  public InvalidQuoteBatchException(ErrorDetail[] errors) {
+    super("Request validation failed.", errors);
+  }
+}
@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+
+/**
+ * Exception which is thrown when a reservation can not be booked as requested, for example because
+ * no group accepts the party or the requested time is outside of the opening hours.
+ */
+public class InvalidReservationException extends BadRequestException {
+  /**
+   * Creates a {@link InvalidReservationException InvalidReservationException}.
+   *
+   * @param errors An array of errors details describing what went wrong with the request.
+   */
+  public InvalidReservationException(ErrorDetail[] errors) {
+    super("Request validation failed.", errors);
+  }
+}
@@ -5,6 +5,10 @@ package com.github.davidcastelli.reservationsystem.common.exception;
  * org.springframework.http.ProblemDetail ProblemDetail} with status code 404 and are handled by
  * {@link com.github.davidcastelli.reservationsystem.common.GlobalExceptionHandler
  * GlobalExceptionHandler}.
+ *
+ * <p>A resource which does not exist is an expected outcome of a lookup, so the exception does not
+ * capture a stack trace. Otherwise a scan of unknown ids would spend most of its time filling in
+ * stack traces.
  */
 public abstract class NotFoundException extends RuntimeException {
   /**
@@ -13,6 +17,6 @@ public abstract class NotFoundException extends RuntimeException {
    * @param message The error message.
    */
   protected NotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
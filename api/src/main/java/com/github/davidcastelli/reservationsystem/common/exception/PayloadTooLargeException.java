@@ -0,0 +1,19 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+/**
+ * Base class for payload too large exceptions. Exceptions deriving from this class are mapped to a
+ * {@link org.springframework.http.ProblemDetail ProblemDetail} with status code 413 and are handled
+ * by {@link com.github.davidcastelli.reservationsystem.common.GlobalExceptionHandler
+ * GlobalExceptionHandler}. The exception does not capture a stack trace, since an oversized request
+ * is caused by the client.
+ */
+public abstract class PayloadTooLargeException extends RuntimeException {
+  /**
+   * Creates a {@link PayloadTooLargeException PayloadTooLargeException}.
+   *
+   * @param message The error message.
+   */
+  protected PayloadTooLargeException(String message) {
+    super(message, null, false, false);
+  }
+}
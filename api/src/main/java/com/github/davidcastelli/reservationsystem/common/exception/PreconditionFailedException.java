@@ -0,0 +1,19 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+/**
+ * Base class for precondition failed exceptions. Exceptions deriving from this class are mapped to
+ * a {@link org.springframework.http.ProblemDetail ProblemDetail} with status code 412 and are
+ * handled by {@link com.github.davidcastelli.reservationsystem.common.GlobalExceptionHandler
+ * GlobalExceptionHandler}. The exception does not capture a stack trace, since a stale precondition
+ * is caused by the client.
+ */
+public abstract class PreconditionFailedException extends RuntimeException {
+  /**
+   * Creates a {@link PreconditionFailedException PreconditionFailedException}.
+   *
+   * @param message The error message.
+   */
+  protected PreconditionFailedException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,15 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+/**
+ * Exception which is thrown when the body of a request is larger than the server reads into memory.
+ */
+public class RequestBodyTooLargeException extends PayloadTooLargeException {
+  /**
+   * Creates a {@link RequestBodyTooLargeException RequestBodyTooLargeException}.
+   *
+   * @param maxBytes The maximum number of bytes of a request body.
+   */
+  public RequestBodyTooLargeException(long maxBytes) {
+    super(String.format("The request body must not be larger than %d bytes.", maxBytes));
+  }
+}
@@ -0,0 +1,44 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Exception which is thrown when a reservation could not be booked because it overlaps another
+ * reservation. The exception carries the nearest free start time on the same day, if there is one,
+ * so that the client can offer it without another request.
+ */
+public class ReservationConflictException extends ConflictException {
+  /** The nearest free start time or null if there is none on the same day. */
+  private final @Nullable LocalDateTime alternativeStartTime;
+
+  /**
+   * Creates a {@link ReservationConflictException ReservationConflictException}.
+   *
+   * @param errors An array of errors details describing why the reservation conflicts.
+   * @param alternativeStartTime The nearest free start time or null if there is none.
+   */
+  public ReservationConflictException(
+      ErrorDetail[] errors, @Nullable LocalDateTime alternativeStartTime) {
+    super("The reservation overlaps another reservation.", errors);
+    this.alternativeStartTime = alternativeStartTime;
+  }
+
+  /**
+   * Gets the nearest free start time on the same day.
+   *
+   * @return The start time or null if there is none.
+   */
+  public @Nullable LocalDateTime getAlternativeStartTime() {
+    return alternativeStartTime;
+  }
+
+  @Override
+  public Map<String, Object> getProperties() {
+    return alternativeStartTime != null
+        ? Map.of("alternativeStartTime", alternativeStartTime)
+        : Map.of();
+  }
+}
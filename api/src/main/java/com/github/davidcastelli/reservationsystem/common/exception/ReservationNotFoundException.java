@@ -0,0 +1,26 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import java.util.UUID;
+
+/** Exception which is thrown when a reservation could not be found. */
+public class ReservationNotFoundException extends NotFoundException {
+  /**
+   * Creates a {@link ReservationNotFoundException ReservationNotFoundException}.
+   *
+   * @param confirmationCode The confirmation code of the reservation which could not be found.
+   */
+  public ReservationNotFoundException(UUID confirmationCode) {
+    super(
+        String.format(
+            "Reservation with confirmation code: %s could not be found.", confirmationCode));
+  }
+
+  /**
+   * Creates a {@link ReservationNotFoundException ReservationNotFoundException}.
+   *
+   * @param shortCode The short code of the reservation which could not be found.
+   */
+  public ReservationNotFoundException(String shortCode) {
+    super(String.format("Reservation with short code: %s could not be found.", shortCode));
+  }
+}
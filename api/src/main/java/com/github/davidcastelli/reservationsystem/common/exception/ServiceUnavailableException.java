@@ -0,0 +1,50 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import java.time.Duration;
+
+/**
+ * Base class for service unavailable exceptions. Exceptions deriving from this class are mapped to
+ * a {@link org.springframework.http.ProblemDetail ProblemDetail} with status code 503 and are
+ * handled by {@link com.github.davidcastelli.reservationsystem.common.GlobalExceptionHandler
+ * GlobalExceptionHandler}. They are thrown when a request could not be served because of a
+ * temporary condition, and tell the client how long to wait before retrying.
+ */
+public abstract class ServiceUnavailableException extends RuntimeException {
+  /** How long the client should wait before retrying the request. */
+  private final Duration retryAfter;
+
+  /**
+   * Creates a {@link ServiceUnavailableException ServiceUnavailableException}.
+   *
+   * @param message The error message.
+   * @param retryAfter How long the client should wait before retrying the request.
+   */
+  protected ServiceUnavailableException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Creates a {@link ServiceUnavailableException ServiceUnavailableException} without a stack
+   * trace, for conditions which are expected under load and say nothing about the code which ran
+   * into them.
+   *
+   * @param message The error message.
+   * @param retryAfter How long the client should wait before retrying the request.
+   * @param writableStackTrace Whether the stack trace is filled in.
+   */
+  protected ServiceUnavailableException(
+      String message, Duration retryAfter, boolean writableStackTrace) {
+    super(message, null, false, writableStackTrace);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Gets how long the client should wait before retrying the request.
+   *
+   * @return The duration to wait.
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
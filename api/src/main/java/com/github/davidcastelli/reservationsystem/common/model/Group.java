@@ -16,6 +16,28 @@ import java.math.BigDecimal;
  * @param maxPeople The maximum number of people.
  * @param admissionPrice The admission price.
  * @param startInterval The start interval.
+ * @param version The version of the group, incremented on every update and used to detect lost
+ *     updates.
  */
 public record Group(
-    long groupId, int minPeople, int maxPeople, BigDecimal admissionPrice, int startInterval) {}
+    long groupId,
+    int minPeople,
+    int maxPeople,
+    BigDecimal admissionPrice,
+    int startInterval,
+    long version) {
+
+  /**
+   * Creates a {@link Group Group} with the initial version.
+   *
+   * @param groupId The group id.
+   * @param minPeople The minimum number of people.
+   * @param maxPeople The maximum number of people.
+   * @param admissionPrice The admission price.
+   * @param startInterval The start interval.
+   */
+  public Group(
+      long groupId, int minPeople, int maxPeople, BigDecimal admissionPrice, int startInterval) {
+    this(groupId, minPeople, maxPeople, admissionPrice, startInterval, 0L);
+  }
+}
@@ -0,0 +1,36 @@
+package com.github.davidcastelli.reservationsystem.common.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A record to hold a reservation of a party. The party is assigned to the {@link Group Group} whose
+ * people range contains the number of people, and the bounds of that range are stored with the
+ * reservation. A reservation takes the time from its start time until its end time, both inclusive,
+ * and no two reservations may overlap.
+ *
+ * @param reservationId The reservation id.
+ * @param name The name the reservation was made under.
+ * @param startTime The start time.
+ * @param endTime The end time, inclusive.
+ * @param people The number of people in the party.
+ * @param minPeople The minimum number of people of the group of the party.
+ * @param maxPeople The maximum number of people of the group of the party.
+ * @param confirmationCode The code given to the party to look up the reservation.
+ * @param status The status.
+ * @param note An optional note of the party.
+ * @param reminder An optional reminder to send to the party.
+ */
+public record Reservation(
+    long reservationId,
+    String name,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    int people,
+    int minPeople,
+    int maxPeople,
+    UUID confirmationCode,
+    ReservationStatus status,
+    @Nullable String note,
+    @Nullable String reminder) {}
@@ -0,0 +1,44 @@
+package com.github.davidcastelli.reservationsystem.common.model;
+
+import java.util.Arrays;
+
+/** The status of a {@link Reservation Reservation}, stored as the status enum of the database. */
+public enum ReservationStatus {
+  /** The reservation has been paid for and the party is expected. */
+  PAID("paid"),
+  /** The party has teed off. */
+  TEED_OFF("teed off"),
+  /** The party did not show up. */
+  NO_SHOW("no show"),
+  /** Any other status. */
+  OTHER("other");
+
+  private final String dbValue;
+
+  ReservationStatus(String dbValue) {
+    this.dbValue = dbValue;
+  }
+
+  /**
+   * Gets the label of the status in the status enum of the database.
+   *
+   * @return The label.
+   */
+  public String dbValue() {
+    return dbValue;
+  }
+
+  /**
+   * Gets the status with a label of the status enum of the database.
+   *
+   * @param dbValue The label.
+   * @return The {@link ReservationStatus ReservationStatus}.
+   * @throws IllegalArgumentException if no status has the label.
+   */
+  public static ReservationStatus fromDbValue(String dbValue) {
+    return Arrays.stream(values())
+        .filter(status -> status.dbValue.equals(dbValue))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown reservation status: " + dbValue));
+  }
+}
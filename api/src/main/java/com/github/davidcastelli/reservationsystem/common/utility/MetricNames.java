@@ -0,0 +1,85 @@
+package com.github.davidcastelli.reservationsystem.common.utility;
+
+/**
+ * Utility class holding the names of the metrics of the application, which are scraped in the
+ * Prometheus format from /actuator/prometheus on the management port. The names and tags are
+ * stable, since alerts are built on them. In the Prometheus format, dots become underscores, timers
+ * get a _seconds suffix and counters a _total suffix. Every metric is tagged with the application
+ * name.
+ *
+ * <p>Besides the metrics named here, the application exposes the metrics of Spring Boot, among
+ * them:
+ *
+ * <ul>
+ *   <li>http.server.requests, a timer of every request, tagged with method, uri, status, outcome
+ *       and exception, with a histogram.
+ *   <li>hikaricp.connections.active, .idle, .pending and .max, gauges of the connection pool,
+ *       tagged with pool, and hikaricp.connections.acquire, a timer of waiting for a connection.
+ *   <li>jvm.* and process.*, the metrics of the JVM and the process.
+ * </ul>
+ */
+public final class MetricNames {
+
+  private MetricNames() {}
+
+  /**
+   * A timer of the calls of a service method, tagged with class, the fully qualified name of the
+   * service, method and exception, the simple name of the exception thrown or none. Has a
+   * histogram.
+   */
+  public static final String SERVICE_CALLS = "service.calls";
+
+  /**
+   * A timer of the calls of a DAO method, tagged with class, the fully qualified name of the DAO,
+   * method and exception, the simple name of the exception thrown or none. Has a histogram.
+   */
+  public static final String DAO_CALLS = "dao.calls";
+
+  /**
+   * A counter of the client errors returned by the API, tagged with exception, the simple name of
+   * the exception, and status, the status code.
+   */
+  public static final String CLIENT_ERRORS = "http.client.errors";
+
+  /**
+   * A counter of the bookings, tagged with event: attempt, conflict, retry or exhausted. An attempt
+   * is counted for every insert of a reservation, including retries.
+   */
+  public static final String BOOKINGS = "bookings";
+
+  /**
+   * A counter of the lookups of confirmation codes, tagged with result: hit, miss, negative_hit,
+   * rejection or false_positive.
+   */
+  public static final String LOOKUPS = "lookups";
+
+  /**
+   * A timer of the virtual threads pinned to their carrier thread for longer than a threshold, as
+   * recorded by Java Flight Recorder.
+   */
+  public static final String VIRTUAL_THREADS_PINNED = "jvm.threads.virtual.pinned";
+
+  /** A gauge of the requests waiting at the gate in front of the connection pool. */
+  public static final String DB_GATE_WAITING = "db.gate.waiting";
+
+  /** A gauge of the connections taken through the gate in front of the connection pool. */
+  public static final String DB_GATE_ACTIVE = "db.gate.active";
+
+  /**
+   * A counter of the requests turned away by the gate in front of the connection pool, because too
+   * many requests were waiting or none of the connections became free within the queue timeout.
+   */
+  public static final String DB_GATE_REJECTIONS = "db.gate.rejections";
+
+  /**
+   * A gauge of the adaptive concurrency limit of the API, tagged with budget: read or write. The
+   * limit falls when responses get slow and grows back while they are fast.
+   */
+  public static final String CONCURRENCY_LIMIT = "http.concurrency.limit";
+
+  /** A gauge of the requests in flight within a concurrency limit, tagged with budget. */
+  public static final String CONCURRENCY_IN_FLIGHT = "http.concurrency.in_flight";
+
+  /** A counter of the requests rejected because of a concurrency limit, tagged with budget. */
+  public static final String CONCURRENCY_REJECTIONS = "http.concurrency.rejections";
+}
@@ -1,6 +1,7 @@
 package com.github.davidcastelli.reservationsystem.common.utility;
 
 import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.time.LocalTime;
 
 /** Utility class used to create error details for invalid requests. */
 public final class RequestErrors {
@@ -15,4 +16,224 @@ public final class RequestErrors {
   public static ErrorDetail InvalidRequestId() {
     return new ErrorDetail("Request.InvalidRequestId", "The request id must match the route id.");
   }
+
+  /**
+   * Creates an error detail for when a batch of groups is empty.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail EmptyGroupBatch() {
+    return new ErrorDetail("Request.EmptyBatch", "The batch must contain at least one group.");
+  }
+
+  /**
+   * Creates an error detail for when a batch of groups contains too many groups.
+   *
+   * @param maxSize The maximum number of groups in a batch.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail GroupBatchTooLarge(int maxSize) {
+    return new ErrorDetail(
+        "Request.BatchTooLarge",
+        String.format("The batch must not contain more than %d groups.", maxSize));
+  }
+
+  /**
+   * Creates an error detail for when a group in a batch fails validation.
+   *
+   * @param index The index of the group in the batch.
+   * @param description The description of the validation failure.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail InvalidGroupInBatch(int index, String description) {
+    return new ErrorDetail(String.format("Groups[%d].Invalid", index), description);
+  }
+
+  /**
+   * Creates an error detail for when the people range of a group in a batch overlaps the people
+   * range of another group in the same batch.
+   *
+   * @param index The index of the group in the batch.
+   * @param otherIndex The index of the other group in the batch.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail OverlappingGroupInBatch(int index, int otherIndex) {
+    return new ErrorDetail(
+        String.format("Groups[%d].OverlappingPeople", index),
+        String.format(
+            "The people range overlaps the people range of the group at index %d of the batch.",
+            otherIndex));
+  }
+
+  /**
+   * Creates an error detail for when the people range of a group in a batch overlaps the people
+   * range of an existing group.
+   *
+   * @param index The index of the group in the batch.
+   * @param groupId The id of the existing group.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail OverlappingExistingGroup(int index, long groupId) {
+    return new ErrorDetail(
+        String.format("Groups[%d].OverlappingPeople", index),
+        String.format(
+            "The people range overlaps the people range of the group with id: %d.", groupId));
+  }
+
+  /**
+   * Creates an error detail for when a group which overlaps a group in the batch was created
+   * concurrently with the batch.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail ConcurrentlyOverlappingGroup() {
+    return new ErrorDetail(
+        "Groups.OverlappingPeople",
+        "A group which overlaps the people range of a group in the batch was created concurrently.");
+  }
+
+  /**
+   * Creates an error detail for when a query parameter is invalid.
+   *
+   * @param parameter The name of the query parameter.
+   * @param description The description of what is wrong with the query parameter.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail InvalidQueryParameter(String parameter, String description) {
+    return new ErrorDetail("Query." + parameter, description);
+  }
+
+  /**
+   * Creates an error detail for when a batch of quotes is empty.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail EmptyQuoteBatch() {
+    return new ErrorDetail("Request.EmptyBatch", "The batch must contain at least one quote.");
+  }
+
+  /**
+   * Creates an error detail for when a batch of quotes contains too many quotes.
+   *
+   * @param maxSize The maximum number of quotes in a batch.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail QuoteBatchTooLarge(int maxSize) {
+    return new ErrorDetail(
+        "Request.BatchTooLarge",
+        String.format("The batch must not contain more than %d quotes.", maxSize));
+  }
+
+  /**
+   * Creates an error detail for when a quote in a batch fails validation.
+   *
+   * @param index The index of the quote in the batch.
+   * @param description The description of the validation failure.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail InvalidQuoteInBatch(int index, String description) {
+    return new ErrorDetail(String.format("Quotes[%d].Invalid", index), description);
+  }
+
+  /**
+   * Creates an error detail for when no group accepts the number of people of a reservation.
+   *
+   * @param people The number of people of the reservation.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail NoGroupForReservation(int people) {
+    return new ErrorDetail(
+        "Reservation.People", String.format("No group accepts %d people.", people));
+  }
+
+  /**
+   * Creates an error detail for when a reservation does not lie within the opening hours.
+   *
+   * @param openingTime The time of day at which the first reservation may start.
+   * @param closingTime The time of day at which the last reservation has to end.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail ReservationOutsideOpeningHours(
+      LocalTime openingTime, LocalTime closingTime) {
+    return new ErrorDetail(
+        "Reservation.StartTime",
+        String.format(
+            "The reservation must start and end between %s and %s.", openingTime, closingTime));
+  }
+
+  /**
+   * Creates an error detail for when a reservation does not lie within the booking horizon.
+   *
+   * @param months The number of months ahead in which reservations can be booked.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail ReservationOutsideBookingHorizon(int months) {
+    return new ErrorDetail(
+        "Reservation.StartTime",
+        String.format("The reservation must start after now and end within %d months.", months));
+  }
+
+  /**
+   * Creates an error detail for when a reservation overlaps another reservation.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail OverlappingReservation() {
+    return new ErrorDetail(
+        "Reservation.Overlapping", "The reservation overlaps another reservation.");
+  }
+
+  /**
+   * Creates an error detail for when a reservation overlaps a hold of another customer.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail HeldReservation() {
+    return new ErrorDetail(
+        "Reservation.Held", "The reservation overlaps a hold of another customer.");
+  }
+
+  /**
+   * Creates an error detail for when a code is neither a confirmation code nor a short code.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail InvalidConfirmationCode() {
+    return new ErrorDetail(
+        "Reservation.ConfirmationCode",
+        "The code must be a confirmation code or a short code of ten characters.");
+  }
+
+  /**
+   * Creates an error detail for when an idempotency key is empty or too long.
+   *
+   * @param maxLength The maximum length of an idempotency key.
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail InvalidIdempotencyKey(int maxLength) {
+    return new ErrorDetail(
+        "Request.IdempotencyKey",
+        String.format("The idempotency key must be between 1 and %d characters.", maxLength));
+  }
+
+  /**
+   * Creates an error detail for when an idempotency key is reused for a different request.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail ReusedIdempotencyKey() {
+    return new ErrorDetail(
+        "Request.IdempotencyKey", "The idempotency key was already used for a different request.");
+  }
+
+  /**
+   * Creates an error detail for when the request of an idempotency key is still being processed.
+   *
+   * @return An {@link ErrorDetail ErrorDetail}.
+   */
+  public static ErrorDetail IdempotencyKeyInFlight() {
+    return new ErrorDetail(
+        "Request.IdempotencyKey",
+        "A request with the idempotency key is still being processed, retry later.");
+  }
 }
@@ -1,6 +1,8 @@
 package com.github.davidcastelli.reservationsystem.group;
 
 import com.github.davidcastelli.reservationsystem.common.model.Group;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,24 +12,50 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.math.BigDecimal;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 /** Group controller for handling requests for {@link Group Groups}. */
 @Tag(name = "Groups", description = "Endpoints for performing operations related to groups.")
 interface GroupApi {
 
   /**
-   * Endpoint for finding all groups.
+   * Endpoint for finding groups. Groups are ordered by id and paginated with a keyset cursor, the
+   * link to the next page is sent in the Link header. Responses carry an entity tag of the revision
+   * of the groups, and a request with a matching If-None-Match header is answered with status 304
+   * without loading the groups.
    *
-   * @return A list of {@link GroupDto GroupDtos}.
+   * @param after Only include groups with an id greater than this cursor.
+   * @param limit The maximum number of groups in the page.
+   * @param minPeople Only include groups whose people range reaches at least this number of people.
+   * @param maxPeople Only include groups whose people range starts at or below this number of
+   *     people.
+   * @param minPrice The minimum admission price, inclusive.
+   * @param maxPrice The maximum admission price, inclusive.
+   * @param startInterval The exact start interval.
+   * @param request The web request.
+   * @return A response entity with a list of {@link GroupDto GroupDtos}.
    */
   @ApiResponses(
       value = {
         @ApiResponse(
             responseCode = "200",
             description = "Successful operation",
+            headers = {
+              @Header(
+                  name = "ETag",
+                  description = "Strong entity tag of the revision of the groups",
+                  schema = @Schema(type = "string")),
+              @Header(
+                  name = "Link",
+                  description =
+                      "Link to the next page with relation type next, absent on the last page",
+                  schema = @Schema(type = "string"))
+            },
             content = {
               @Content(
                   array = @ArraySchema(schema = @Schema(implementation = GroupDto.class)),
@@ -60,21 +88,70 @@ interface GroupApi {
                                     }
                                   ]
                               """))
+            }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Groups not modified since the revision in If-None-Match"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/groups",
+                                    "errors": {
+                                        "Query.limit": [
+                                            "The limit must be between 1 and 500"
+                                        ]
+                                    }
+                                }
+                              """))
             })
       })
-  List<GroupDto> findAll();
+  ResponseEntity<List<GroupDto>> findAll(
+      @Parameter(description = "Only include groups with an id greater than this cursor")
+          long after,
+      @Parameter(description = "The maximum number of groups in the page, at most 500") int limit,
+      @Parameter(description = "Minimum number of people the people range must reach")
+          @Nullable Integer minPeople,
+      @Parameter(description = "Maximum number of people the people range must start at")
+          @Nullable Integer maxPeople,
+      @Parameter(description = "Minimum admission price, inclusive") @Nullable BigDecimal minPrice,
+      @Parameter(description = "Maximum admission price, inclusive") @Nullable BigDecimal maxPrice,
+      @Parameter(description = "Exact start interval") @Nullable Integer startInterval,
+      @Parameter(hidden = true) WebRequest request);
 
   /**
-   * Endpoint for finding a group by id.
+   * Endpoint for finding a group by id. Responses carry an entity tag of the version of the group,
+   * which can be sent back in the If-Match header of an update. A request with a matching
+   * If-None-Match header is answered with status 304.
    *
    * @param id The id of the group to find.
-   * @return A {@link GroupDto GroupDto}.
+   * @param request The web request.
+   * @return A response entity with a {@link GroupDto GroupDto}.
    */
   @ApiResponses(
       value = {
         @ApiResponse(
             responseCode = "200",
             description = "Successful operation",
+            headers = {
+              @Header(
+                  name = "ETag",
+                  description = "Strong entity tag of the version of the group",
+                  schema = @Schema(type = "string"))
+            },
             content = {
               @Content(
                   schema = @Schema(type = "object", additionalPropertiesSchema = GroupDto.class),
@@ -92,6 +169,9 @@ interface GroupApi {
                                 }
                                 """))
             }),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Group not modified since the version in If-None-Match"),
         @ApiResponse(
             responseCode = "404",
             description = "Group not found",
@@ -114,7 +194,7 @@ interface GroupApi {
                               """))
             })
       })
-  GroupDto findById(long id);
+  ResponseEntity<GroupDto> findById(long id, @Parameter(hidden = true) WebRequest request);
 
   /**
    * Endpoint for updating a group.
@@ -180,14 +260,143 @@ interface GroupApi {
           GroupRequest request);
 
   /**
-   * Endpoint for updating a group.
+   * Endpoint for creating a batch of groups in a single transaction. Every group of the batch is
+   * validated before anything is created, and either all groups are created or none are.
+   *
+   * @param requests The requests to create the groups.
+   * @return A list of {@link GroupBatchResultDto GroupBatchResultDtos} with the id of every created
+   *     group in the order of the batch.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Groups created",
+            content = {
+              @Content(
+                  array =
+                      @ArraySchema(schema = @Schema(implementation = GroupBatchResultDto.class)),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                  [
+                                    {
+                                        "index": 0,
+                                        "groupId": 4
+                                    },
+                                    {
+                                        "index": 1,
+                                        "groupId": 5
+                                    }
+                                  ]
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/groups:batch",
+                                    "errors": {
+                                        "Groups[1].Invalid": [
+                                            "The start interval must be greater than 0"
+                                        ]
+                                    }
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Overlapping groups",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.10",
+                                    "title": "Conflict",
+                                    "status": 409,
+                                    "detail": "Groups with overlapping people ranges can not be created.",
+                                    "instance": "/api/groups:batch",
+                                    "errors": {
+                                        "Groups[0].OverlappingPeople": [
+                                            "The people range overlaps the people range of the group with id: 1."
+                                        ]
+                                    }
+                                }
+                              """))
+            })
+      })
+  List<GroupBatchResultDto> createAll(
+      @RequestBody(
+              description = "Groups to create",
+              required = true,
+              content =
+                  @Content(
+                      mediaType = "application/json",
+                      array = @ArraySchema(schema = @Schema(implementation = GroupRequest.class)),
+                      examples =
+                          @ExampleObject(
+                              value =
+                                  """
+                                      [
+                                        {
+                                          "groupId": 0,
+                                          "minPeople": 16,
+                                          "maxPeople": 20,
+                                          "admissionPrice": 10.99,
+                                          "startInterval": 16
+                                        },
+                                        {
+                                          "groupId": 0,
+                                          "minPeople": 21,
+                                          "maxPeople": 25,
+                                          "admissionPrice": 9.99,
+                                          "startInterval": 20
+                                        }
+                                      ]
+                                  """)))
+          List<GroupRequest> requests);
+
+  /**
+   * Endpoint for updating a group. If the If-Match header carries the entity tag of a version of
+   * the group, the group is only updated if it still has that version.
    *
    * @param id The id of the group to update.
+   * @param ifMatch The entity tag of the version the group is expected to have.
    * @param request The request to update the group.
+   * @return A response entity.
    */
   @ApiResponses(
       value = {
-        @ApiResponse(responseCode = "204", description = "Group updated"),
+        @ApiResponse(
+            responseCode = "204",
+            description = "Group updated",
+            headers = {
+              @Header(
+                  name = "ETag",
+                  description = "Strong entity tag of the updated version of the group",
+                  schema = @Schema(type = "string"))
+            }),
         @ApiResponse(
             responseCode = "400",
             description = "Bad request",
@@ -229,10 +438,37 @@ interface GroupApi {
                                         "instance": "/api/groups/42"
                                     }
                                 """))
+            }),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Group modified since the version in If-Match",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                    {
+                                        "type": "https://tools.ietf.org/html/rfc9110#section-15.5.13",
+                                        "title": "Precondition Failed",
+                                        "status": 412,
+                                        "detail": "Group with id: 1 has been modified.",
+                                        "instance": "/api/groups/1"
+                                    }
+                                """))
             })
       })
-  void update(
+  ResponseEntity<Void> update(
       long id,
+      @Parameter(
+              in = ParameterIn.HEADER,
+              name = "If-Match",
+              description = "Entity tag of the version the group is expected to have",
+              example = "\"3\"")
+          @Nullable String ifMatch,
       @RequestBody(
               description = "Group to update",
               required = true,
@@ -0,0 +1,9 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+/**
+ * A group batch result DTO to return to the client for every group created by a batch.
+ *
+ * @param index The index of the group in the batch.
+ * @param groupId The id of the created group.
+ */
+record GroupBatchResultDto(int index, long groupId) {}
@@ -0,0 +1,138 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read cache holding a {@link GroupSnapshot GroupSnapshot} of all {@link Group Groups}. The cache
+ * keeps a monotonically increasing revision which is bumped whenever a {@link GroupsChangedEvent
+ * GroupsChangedEvent} is published. The snapshot is reloaded lazily on the first read after the
+ * revision changed. If the database can not be reached while reloading, the previous snapshot keeps
+ * being served for up to the configured stale window, measured from the first failed reload.
+ */
+@Component
+class GroupCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GroupCache.class);
+
+  private static final long NOT_FAILING = -1L;
+
+  private final GroupDao groupDao;
+  private final Duration staleWindow;
+
+  // The revision counter is local to this instance, the epoch keeps entity tags from colliding
+  // across restarts and nodes.
+  private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+  private final AtomicLong revision = new AtomicLong();
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  // When reloading started failing, only written while holding the reload lock.
+  private volatile long failingSince = NOT_FAILING;
+
+  private volatile @Nullable GroupSnapshot snapshot;
+
+  /**
+   * Creates a {@link GroupCache GroupCache}.
+   *
+   * @param groupDao The group DAO.
+   * @param staleWindow How long a stale snapshot may be served while the database is unreachable.
+   */
+  GroupCache(GroupDao groupDao, @Value("${groups.cache.stale-window}") Duration staleWindow) {
+    this.groupDao = groupDao;
+    this.staleWindow = staleWindow;
+  }
+
+  /**
+   * Gets the snapshot for the current revision, reloading it from the database if it is outdated.
+   *
+   * @return A {@link GroupSnapshot GroupSnapshot}.
+   * @throws DataAccessException if the snapshot could not be reloaded and there is no snapshot
+   *     within the stale window to fall back to.
+   */
+  GroupSnapshot get() {
+    var current = snapshot;
+    if (current != null && current.revision() == revision.get()) {
+      return current;
+    }
+
+    // While the database is unreachable readers do not queue up behind a reload which is waiting
+    // on it as long as there is a stale snapshot they are allowed to use.
+    if (!reloadLock.tryLock()) {
+      if (current != null && failingSince != NOT_FAILING && isWithinStaleWindow()) {
+        return current;
+      }
+      reloadLock.lock();
+    }
+    try {
+      current = snapshot;
+      long wanted = revision.get();
+      if (current != null && current.revision() == wanted) {
+        return current;
+      }
+      try {
+        var loaded = GroupSnapshot.of(wanted, eTag(wanted), groupDao.findAll());
+        snapshot = loaded;
+        failingSince = NOT_FAILING;
+        return loaded;
+      } catch (DataAccessException dae) {
+        if (failingSince == NOT_FAILING) {
+          failingSince = now();
+        }
+        if (current != null && isWithinStaleWindow()) {
+          LOGGER.warn(
+              "Failed to reload groups, serving stale groups of revision {} instead",
+              current.revision(),
+              dae);
+          return current;
+        }
+        throw dae;
+      }
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the entity tag of the current revision.
+   *
+   * @return The entity tag.
+   */
+  String eTag() {
+    return eTag(revision.get());
+  }
+
+  /**
+   * Bumps the revision once the transaction which changed the groups has committed, or immediately
+   * if the change was made outside of a transaction.
+   *
+   * @param event The groups changed event.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onGroupsChanged(GroupsChangedEvent event) {
+    revision.incrementAndGet();
+  }
+
+  private String eTag(long revision) {
+    return epoch + "-" + revision;
+  }
+
+  private boolean isWithinStaleWindow() {
+    long since = failingSince;
+    return since == NOT_FAILING || now() - since <= staleWindow.toNanos();
+  }
+
+  private static long now() {
+    return System.nanoTime();
+  }
+}
@@ -1,48 +1,101 @@
 package com.github.davidcastelli.reservationsystem.group;
 
 import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupVersionMismatchException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidGroupBatchException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidQueryParameterException;
 import com.github.davidcastelli.reservationsystem.common.exception.InvalidRequestIdException;
 import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
-@RequestMapping(value = "/api/groups")
+@RequestMapping(value = "/api")
 class GroupController implements GroupApi {
 
+  // The maximum number of groups which can be created by a single batch.
+  static final int MAX_BATCH_SIZE = 1000;
+
+  // The number of groups in a page of the listing if no limit is requested, and the maximum limit.
+  static final String DEFAULT_PAGE_SIZE = "100";
+  static final int MAX_PAGE_SIZE = 500;
+
   private final GroupService groupService;
   private final GroupMapper groupMapper;
+  private final Validator validator;
 
   /**
    * Creates a {@link GroupController GroupController}.
    *
    * @param groupService The group service.
    * @param groupMapper The group mapper.
+   * @param validator The validator used to validate every group of a batch.
    */
-  GroupController(GroupService groupService, GroupMapper groupMapper) {
+  GroupController(GroupService groupService, GroupMapper groupMapper, Validator validator) {
     this.groupService = groupService;
     this.groupMapper = groupMapper;
+    this.validator = validator;
   }
 
-  @GetMapping(value = "")
+  @GetMapping(value = "/groups")
   @Override
-  public List<GroupDto> findAll() {
-    return groupService.findAll().stream().map(groupMapper::toDto).toList();
+  public ResponseEntity<List<GroupDto>> findAll(
+      @RequestParam(defaultValue = "0") long after,
+      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+      @RequestParam(required = false) @Nullable Integer minPeople,
+      @RequestParam(required = false) @Nullable Integer maxPeople,
+      @RequestParam(required = false) @Nullable BigDecimal minPrice,
+      @RequestParam(required = false) @Nullable BigDecimal maxPrice,
+      @RequestParam(required = false) @Nullable Integer startInterval,
+      WebRequest request) {
+    var filter = new GroupFilter(minPeople, maxPeople, minPrice, maxPrice, startInterval);
+    validate(after, limit, filter);
+
+    // Any change to the groups bumps the revision, so its entity tag also covers filtered pages.
+    var eTag = groupService.eTag();
+    if (request.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+    var page = groupService.findPage(filter, after, limit);
+    var groups = page.groups().stream().map(groupMapper::toDto).toList();
+
+    var response = ResponseEntity.ok().eTag(eTag);
+    if (page.nextAfter() != null) {
+      var next =
+          ServletUriComponentsBuilder.fromCurrentRequest()
+              .replaceQueryParam("after", page.nextAfter())
+              .replaceQueryParam("limit", limit)
+              .toUriString();
+      response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+    return response.body(groups);
   }
 
-  @GetMapping(value = "/{id}")
+  @GetMapping(value = "/groups/{id}")
   @Override
-  public GroupDto findById(@PathVariable long id) {
-    var group = groupService.findById(id);
-    return groupMapper.toDto(group);
+  public ResponseEntity<GroupDto> findById(@PathVariable long id, WebRequest request) {
+    var group = groupService.snapshot().getById(id);
+    var eTag = Long.toString(group.version());
+    if (request.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    return ResponseEntity.ok().eTag(eTag).body(groupMapper.toDto(group));
   }
 
-  @PostMapping(value = "")
+  @PostMapping(value = "/groups")
   @Override
   public ResponseEntity<Void> create(@RequestBody @Valid GroupRequest request) {
     var group = groupMapper.toGroup(request);
@@ -53,22 +106,133 @@ class GroupController implements GroupApi {
     return ResponseEntity.created(location).build();
   }
 
-  @PutMapping(value = "/{id}")
-  @ResponseStatus(HttpStatus.NO_CONTENT)
+  @PostMapping(value = "/groups:batch")
+  @ResponseStatus(HttpStatus.CREATED)
   @Override
-  public void update(@PathVariable long id, @RequestBody @Valid GroupRequest request) {
+  public List<GroupBatchResultDto> createAll(@RequestBody List<GroupRequest> requests) {
+    validate(requests);
+
+    var groups = requests.stream().map(groupMapper::toGroup).toList();
+    long[] groupIds = groupService.createAll(groups);
+
+    return IntStream.range(0, groupIds.length)
+        .mapToObj(i -> new GroupBatchResultDto(i, groupIds[i]))
+        .toList();
+  }
+
+  @PutMapping(value = "/groups/{id}")
+  @Override
+  public ResponseEntity<Void> update(
+      @PathVariable long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch,
+      @RequestBody @Valid GroupRequest request) {
     if (id != request.groupId()) {
       throw new InvalidRequestIdException(new ErrorDetail[] {RequestErrors.InvalidRequestId()});
     }
 
     var group = groupMapper.toGroup(request);
-    groupService.update(id, group);
+    long version = groupService.update(id, group, expectedVersion(id, ifMatch));
+
+    return ResponseEntity.noContent().eTag(Long.toString(version)).build();
   }
 
-  @DeleteMapping("/{id}")
+  @DeleteMapping("/groups/{id}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   @Override
   public void delete(@PathVariable long id) {
     groupService.delete(id);
   }
+
+  // Validates every group of the batch up front so that all invalid groups are reported at once.
+  private void validate(List<GroupRequest> requests) {
+    if (requests.isEmpty()) {
+      throw new InvalidGroupBatchException(new ErrorDetail[] {RequestErrors.EmptyGroupBatch()});
+    }
+    if (requests.size() > MAX_BATCH_SIZE) {
+      throw new InvalidGroupBatchException(
+          new ErrorDetail[] {RequestErrors.GroupBatchTooLarge(MAX_BATCH_SIZE)});
+    }
+
+    var errors = new ArrayList<ErrorDetail>();
+    for (int i = 0; i < requests.size(); i++) {
+      var request = requests.get(i);
+      if (request == null) {
+        errors.add(RequestErrors.InvalidGroupInBatch(i, "The group must not be null"));
+        continue;
+      }
+      for (var violation : validator.validate(request)) {
+        errors.add(RequestErrors.InvalidGroupInBatch(i, violation.getMessage()));
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new InvalidGroupBatchException(errors.toArray(ErrorDetail[]::new));
+    }
+  }
+
+  // The entity tag of a single group is its version. If-Match requires a strong comparison, so a
+  // weak or malformed entity tag can never match and fails the precondition.
+  private static @Nullable Long expectedVersion(long id, @Nullable String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+
+    var eTag = ifMatch.trim();
+    if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+      try {
+        return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+      } catch (NumberFormatException e) {
+        // Not an entity tag issued by this controller.
+      }
+    }
+    throw new GroupVersionMismatchException(id);
+  }
+
+  private static void validate(long after, int limit, GroupFilter filter) {
+    var errors = new ArrayList<ErrorDetail>();
+    if (after < 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter("after", "The cursor must be zero or greater"));
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "limit", String.format("The limit must be between 1 and %d", MAX_PAGE_SIZE)));
+    }
+    if (filter.minPeople() != null && filter.minPeople() <= 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "minPeople", "The minimum number of people must be greater than 0"));
+    }
+    if (filter.maxPeople() != null && filter.maxPeople() <= 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "maxPeople", "The maximum number of people must be greater than 0"));
+    }
+    if (filter.minPeople() != null
+        && filter.maxPeople() != null
+        && filter.minPeople() > filter.maxPeople()) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "maxPeople",
+              "The maximum number of people must not be less than the minimum number of people"));
+    }
+    if (filter.minPrice() != null && filter.minPrice().signum() < 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "minPrice", "The minimum admission price must be zero or greater"));
+    }
+    if (filter.maxPrice() != null && filter.maxPrice().signum() < 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "maxPrice", "The maximum admission price must be zero or greater"));
+    }
+    if (filter.startInterval() != null && filter.startInterval() <= 0) {
+      errors.add(
+          RequestErrors.InvalidQueryParameter(
+              "startInterval", "The start interval must be greater than 0"));
+    }
+    if (!errors.isEmpty()) {
+      throw new InvalidQueryParameterException(errors.toArray(ErrorDetail[]::new));
+    }
+  }
 }
@@ -1,8 +1,13 @@
 package com.github.davidcastelli.reservationsystem.group;
 
 import com.github.davidcastelli.reservationsystem.common.model.Group;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.sql.Types;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -11,6 +16,7 @@ import org.springframework.util.Assert;
 
 /** DAO used to perform persistence operations on a {@link Group Group}. */
 @Repository
+@Timed(MetricNames.DAO_CALLS)
 class GroupDao {
 
   private final JdbcClient jdbcClient;
@@ -34,21 +40,64 @@ class GroupDao {
               rs.getInt("min_people"),
               rs.getInt("max_people"),
               rs.getBigDecimal("admission_price"),
-              rs.getInt("start_interval"));
+              rs.getInt("start_interval"),
+              rs.getLong("version"));
 
   /**
    * Performs the operation to retrieve all groups in the database.
    *
-   * @return A list of {@link Group groups}.
+   * @return A list of {@link Group groups} ordered by id.
    */
   List<Group> findAll() {
     return jdbcClient
         .sql(
-            "SELECT package_id, min_people, max_people, admission_price, start_interval FROM package_v")
+            "SELECT package_id, min_people, max_people, admission_price, start_interval, version FROM package_v ORDER BY package_id")
         .query(rowMapper)
         .list();
   }
 
+  /**
+   * Performs the operation to retrieve a page of the groups matching a filter, ordered by id. Only
+   * the predicates of the filters which are set are added to the query, so that every query can use
+   * the index supporting its filter: the exclusion constraint index for the people range, and the
+   * price and start interval indexes which end in the id to serve the keyset order.
+   *
+   * @param filter The filter.
+   * @param after Only include groups with an id greater than this cursor.
+   * @param limit The maximum number of groups in the page.
+   * @return A {@link GroupPage GroupPage}.
+   */
+  GroupPage findPage(GroupFilter filter, long after, int limit) {
+    var sql =
+        new StringBuilder(
+            "SELECT package_id, min_people, max_people, admission_price, start_interval, version FROM package_v WHERE package_id > :after");
+    var params = new HashMap<String, @Nullable Object>();
+    params.put("after", after);
+    params.put("limit", limit + 1);
+    if (filter.minPeople() != null || filter.maxPeople() != null) {
+      sql.append(
+          " AND int4range(min_people, max_people, '[]') && int4range(CAST(:minPeople AS int), CAST(:maxPeople AS int), '[]')");
+      params.put("minPeople", filter.minPeople());
+      params.put("maxPeople", filter.maxPeople());
+    }
+    if (filter.minPrice() != null) {
+      sql.append(" AND admission_price >= :minPrice");
+      params.put("minPrice", filter.minPrice());
+    }
+    if (filter.maxPrice() != null) {
+      sql.append(" AND admission_price <= :maxPrice");
+      params.put("maxPrice", filter.maxPrice());
+    }
+    if (filter.startInterval() != null) {
+      sql.append(" AND start_interval = :startInterval");
+      params.put("startInterval", filter.startInterval());
+    }
+    sql.append(" ORDER BY package_id LIMIT :limit");
+
+    var groups = jdbcClient.sql(sql.toString()).params(params).query(rowMapper).list();
+    return GroupPage.of(groups, limit);
+  }
+
   /**
    * Performs the operation to retrieve a group by id from the database.
    *
@@ -59,7 +108,7 @@ class GroupDao {
   Optional<Group> findById(long id) {
     return jdbcClient
         .sql(
-            "SELECT package_id, min_people, max_people, admission_price, start_interval FROM package_v WHERE package_id = :id")
+            "SELECT package_id, min_people, max_people, admission_price, start_interval, version FROM package_v WHERE package_id = :id")
         .param("id", id)
         .query(rowMapper)
         .optional();
@@ -92,38 +141,146 @@ class GroupDao {
   }
 
   /**
-   * Performs the operation to update a group in the database.
+   * Performs the operation to find the existing groups whose people ranges overlap the people
+   * ranges of a batch of groups. The batch is sent as arrays in a single query which is answered
+   * from the index of the overlapping_people exclusion constraint.
    *
-   * @param id The id of the group to update.
-   * @param group The new group used to replace the old group.
-   * @throws IllegalStateException if not exactly one group was updated.
+   * @param groups The batch of groups.
+   * @return A list of {@link GroupOverlap GroupOverlaps} ordered by the index of the group in the
+   *     batch.
    */
-  void update(long id, Group group) {
-    int updated =
+  List<GroupOverlap> findOverlapping(List<Group> groups) {
+    return jdbcClient
+        .sql(
+            """
+            SELECT b.ordinality - 1 AS index, p.package_id
+            FROM unnest(CAST(:minPeople AS int[]), CAST(:maxPeople AS int[]))
+                WITH ORDINALITY AS b(min_people, max_people, ordinality)
+            JOIN package p
+                ON int4range(p.min_people, p.max_people, '[]')
+                    && int4range(b.min_people, b.max_people, '[]')
+            ORDER BY b.ordinality, p.package_id
+            """)
+        .param("minPeople", groups.stream().mapToInt(Group::minPeople).toArray())
+        .param("maxPeople", groups.stream().mapToInt(Group::maxPeople).toArray())
+        .query((rs, rowNum) -> new GroupOverlap(rs.getInt("index"), rs.getLong("package_id")))
+        .list();
+  }
+
+  /**
+   * Performs the operation to create a batch of groups in the database with a single multi-row
+   * insert. The people ranges of the groups must not overlap each other, which allows the generated
+   * keys to be matched to the groups by their minimum number of people.
+   *
+   * @param groups The batch of groups to create.
+   * @return The ids of the groups which were persisted in the order of the batch.
+   * @throws IllegalStateException if not every group was created.
+   */
+  long[] createAll(List<Group> groups) {
+    var keys =
         jdbcClient
             .sql(
-                "UPDATE package SET min_people = ?, max_people = ?, admission_price = ?, start_interval = ? WHERE package_id = ?")
-            .params(
-                group.minPeople(),
-                group.maxPeople(),
-                group.admissionPrice(),
-                group.startInterval(),
-                id)
-            .update();
-
-    Assert.state(updated == 1, "Failed to update group with id: " + id);
+                """
+                INSERT INTO package (min_people, max_people, admission_price, start_interval)
+                SELECT * FROM unnest(
+                    CAST(:minPeople AS int[]),
+                    CAST(:maxPeople AS int[]),
+                    CAST(:admissionPrices AS numeric[]),
+                    CAST(:startIntervals AS int[]))
+                RETURNING min_people, package_id
+                """)
+            .param("minPeople", groups.stream().mapToInt(Group::minPeople).toArray())
+            .param("maxPeople", groups.stream().mapToInt(Group::maxPeople).toArray())
+            .param(
+                "admissionPrices",
+                groups.stream()
+                    .map(group -> group.admissionPrice().toPlainString())
+                    .toArray(String[]::new))
+            .param("startIntervals", groups.stream().mapToInt(Group::startInterval).toArray())
+            .query(
+                rs -> {
+                  var generatedKeys = new HashMap<Integer, Long>();
+                  while (rs.next()) {
+                    generatedKeys.put(rs.getInt("min_people"), rs.getLong("package_id"));
+                  }
+                  return generatedKeys;
+                });
+
+    var ids = new long[groups.size()];
+    for (int i = 0; i < ids.length; i++) {
+      var key = keys.get(groups.get(i).minPeople());
+      if (key == null) {
+        throw new IllegalStateException("Failed to create group at index: " + i);
+      }
+      ids[i] = key;
+    }
+
+    return ids;
+  }
+
+  /**
+   * Performs the operation to update a group in the database in a single statement. The update is
+   * conditional on the version of the group if an expected version is given, and the version is
+   * incremented on every successful update. No lock is held beyond the statement itself, a
+   * concurrent update simply causes the version check to fail.
+   *
+   * @param id The id of the group to update.
+   * @param group The new group used to replace the old group.
+   * @param expectedVersion The version the group is expected to have or null to update any version.
+   * @return A {@link GroupUpdateResult GroupUpdateResult} describing the outcome of the update.
+   */
+  GroupUpdateResult update(long id, Group group, @Nullable Long expectedVersion) {
+    // Both subqueries see the snapshot taken before the update, so the current version tells a
+    // missing group apart from one with a different version.
+    return jdbcClient
+        .sql(
+            """
+            WITH updated AS (
+                UPDATE package
+                SET min_people = :minPeople,
+                    max_people = :maxPeople,
+                    admission_price = :admissionPrice,
+                    start_interval = :startInterval,
+                    version = version + 1
+                WHERE package_id = :id
+                    AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion)
+                RETURNING version)
+            SELECT
+                (SELECT version FROM updated) AS updated_version,
+                (SELECT version FROM package WHERE package_id = :id) AS current_version
+            """)
+        .param("minPeople", group.minPeople())
+        .param("maxPeople", group.maxPeople())
+        .param("admissionPrice", group.admissionPrice())
+        .param("startInterval", group.startInterval())
+        .param("id", id)
+        .param("expectedVersion", expectedVersion, Types.BIGINT)
+        .query(
+            (rs, rowNum) -> {
+              long updatedVersion = rs.getLong("updated_version");
+              if (!rs.wasNull()) {
+                return new GroupUpdateResult(GroupUpdateResult.Status.UPDATED, updatedVersion);
+              }
+              long currentVersion = rs.getLong("current_version");
+              if (rs.wasNull()) {
+                return new GroupUpdateResult(GroupUpdateResult.Status.NOT_FOUND, 0L);
+              }
+              return new GroupUpdateResult(
+                  GroupUpdateResult.Status.VERSION_MISMATCH, currentVersion);
+            })
+        .single();
   }
 
   /**
    * Performs the operation to delete a group in the database.
    *
    * @param id The id of the group to delete.
-   * @throws IllegalStateException if not exactly one group was deleted.
+   * @return True if the group was deleted, false if no group with the given id exists.
    */
-  void delete(long id) {
-    int updated =
+  boolean delete(long id) {
+    int deleted =
         jdbcClient.sql("DELETE FROM package WHERE package_id = :id").param("id", id).update();
 
-    Assert.state(updated == 1, "Failed to delete group with id: " + id);
+    return deleted == 1;
   }
 }
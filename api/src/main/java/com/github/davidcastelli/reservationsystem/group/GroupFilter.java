@@ -0,0 +1,37 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import java.math.BigDecimal;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A record holding the optional filters of a group listing. Every filter which is null is ignored.
+ *
+ * @param minPeople Only include groups whose people range reaches at least this number of people.
+ * @param maxPeople Only include groups whose people range starts at or below this number of people.
+ * @param minPrice The minimum admission price, inclusive.
+ * @param maxPrice The maximum admission price, inclusive.
+ * @param startInterval The exact start interval.
+ */
+record GroupFilter(
+    @Nullable Integer minPeople,
+    @Nullable Integer maxPeople,
+    @Nullable BigDecimal minPrice,
+    @Nullable BigDecimal maxPrice,
+    @Nullable Integer startInterval) {
+
+  /** A filter which includes every group. */
+  static final GroupFilter NONE = new GroupFilter(null, null, null, null, null);
+
+  /**
+   * Checks if the filter includes every group.
+   *
+   * @return True if no filter is set, false otherwise.
+   */
+  boolean isEmpty() {
+    return minPeople == null
+        && maxPeople == null
+        && minPrice == null
+        && maxPrice == null
+        && startInterval == null;
+  }
+}
@@ -0,0 +1,10 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+/**
+ * A record describing a group in a batch whose people range overlaps the people range of an
+ * existing group.
+ *
+ * @param index The index of the group in the batch.
+ * @param groupId The id of the existing group.
+ */
+record GroupOverlap(int index, long groupId) {}
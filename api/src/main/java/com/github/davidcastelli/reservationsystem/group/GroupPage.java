@@ -0,0 +1,31 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A record holding one page of a keyset paginated group listing. Groups are ordered by their id, so
+ * the id of the last group of a page is the cursor of the next page.
+ *
+ * @param groups The {@link Group Groups} of the page.
+ * @param nextAfter The cursor of the next page or null if this is the last page.
+ */
+record GroupPage(List<Group> groups, @Nullable Long nextAfter) {
+
+  /**
+   * Creates a {@link GroupPage GroupPage} from up to one group more than the limit. The extra group
+   * only signals that there is a next page and is not part of the page.
+   *
+   * @param groups The groups ordered by id, at most limit + 1.
+   * @param limit The maximum number of groups in the page.
+   * @return A {@link GroupPage GroupPage}.
+   */
+  static GroupPage of(List<Group> groups, int limit) {
+    if (groups.size() <= limit) {
+      return new GroupPage(groups, null);
+    }
+    var page = groups.subList(0, limit);
+    return new GroupPage(List.copyOf(page), page.getLast().groupId());
+  }
+}
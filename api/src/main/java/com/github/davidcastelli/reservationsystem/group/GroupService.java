@@ -1,43 +1,79 @@
 package com.github.davidcastelli.reservationsystem.group;
 
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupConflictException;
 import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupVersionMismatchException;
 import com.github.davidcastelli.reservationsystem.common.model.Group;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Service which provides methods for working with a {@link Group Group}. */
 @Service
+@Timed(MetricNames.SERVICE_CALLS)
 class GroupService {
 
   private final GroupDao groupDao;
+  private final GroupCache groupCache;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates a {@link GroupService GroupService}.
    *
    * @param groupDao The group DAO.
+   * @param groupCache The group cache.
+   * @param eventPublisher The event publisher used to announce changes to groups.
    */
-  GroupService(GroupDao groupDao) {
+  GroupService(GroupDao groupDao, GroupCache groupCache, ApplicationEventPublisher eventPublisher) {
     this.groupDao = groupDao;
+    this.groupCache = groupCache;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
-   * Retrieves a list of all groups.
+   * Retrieves a snapshot of all groups. The snapshot is served from the {@link GroupCache
+   * GroupCache} and only reloaded from the database after groups have changed.
    *
-   * @return The list of {@link Group Groups}.
+   * @return A {@link GroupSnapshot GroupSnapshot}.
    */
-  List<Group> findAll() {
-    return groupDao.findAll();
+  GroupSnapshot snapshot() {
+    return groupCache.get();
   }
 
   /**
-   * Retrieves a group by id if it could be found.
+   * Retrieves a page of the groups matching a filter, ordered by id. Unfiltered pages are cut out
+   * of the cached snapshot, filtered pages are queried from the database.
    *
-   * @param id The id of the group to retrieve.
-   * @return A {@link Group Group}.
-   * @throws GroupNotFoundException if no group could be found.
+   * @param filter The filter.
+   * @param after Only include groups with an id greater than this cursor.
+   * @param limit The maximum number of groups in the page.
+   * @return A {@link GroupPage GroupPage}.
    */
-  Group findById(long id) {
-    return groupDao.findById(id).orElseThrow(() -> new GroupNotFoundException(id));
+  GroupPage findPage(GroupFilter filter, long after, int limit) {
+    if (filter.isEmpty()) {
+      return groupCache.get().page(after, limit);
+    }
+    return groupDao.findPage(filter, after, limit);
+  }
+
+  /**
+   * Retrieves the entity tag of the current revision of the groups without touching the database.
+   *
+   * @return The entity tag.
+   */
+  String eTag() {
+    return groupCache.eTag();
   }
 
   /**
@@ -47,35 +83,98 @@ class GroupService {
    * @return The id of the group which was created.
    */
   long create(Group group) {
-    return groupDao.create(group);
+    long groupId = groupDao.create(group);
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+    return groupId;
+  }
+
+  /**
+   * Creates a batch of {@link Group Groups} in a single transaction. Either all groups are created
+   * or none are. Before anything is inserted the people ranges of the groups are checked against
+   * each other and against the existing groups, so every conflicting group of the batch can be
+   * reported instead of only the first one to violate the overlapping_people exclusion constraint.
+   *
+   * @param groups The groups to create.
+   * @return The ids of the groups which were created in the order of the batch.
+   * @throws GroupConflictException if the people range of any group overlaps the people range of
+   *     another group in the batch or of an existing group.
+   */
+  @Transactional
+  long[] createAll(List<Group> groups) {
+    var errors = new ArrayList<ErrorDetail>();
+    findOverlappingInBatch(groups, errors);
+    for (var overlap : groupDao.findOverlapping(groups)) {
+      errors.add(RequestErrors.OverlappingExistingGroup(overlap.index(), overlap.groupId()));
+    }
+    if (!errors.isEmpty()) {
+      throw new GroupConflictException(errors.toArray(ErrorDetail[]::new));
+    }
+
+    long[] groupIds;
+    try {
+      groupIds = groupDao.createAll(groups);
+    } catch (DataIntegrityViolationException e) {
+      // A group overlapping the batch was created after the overlaps were checked.
+      throw new GroupConflictException(
+          new ErrorDetail[] {RequestErrors.ConcurrentlyOverlappingGroup()});
+    }
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+    return groupIds;
   }
 
   /**
-   * Updates a {@link Group Group}.
+   * Updates a {@link Group Group} in a single round trip to the database. If an expected version is
+   * given the group is only updated if it still has that version, which rejects lost updates
+   * without taking a lock.
    *
    * @param id The id of the group to update.
    * @param group The new group used to replace the old group.
+   * @param expectedVersion The version the group is expected to have or null to update any version.
+   * @return The version of the group after the update.
    * @throws GroupNotFoundException if the group to update could not be found.
+   * @throws GroupVersionMismatchException if the group does not have the expected version.
    */
-  void update(long id, Group group) {
-    var oldGroup = groupDao.findById(id);
-    if (oldGroup.isEmpty()) {
-      throw new GroupNotFoundException(id);
+  long update(long id, Group group, @Nullable Long expectedVersion) {
+    var result = groupDao.update(id, group, expectedVersion);
+    switch (result.status()) {
+      case NOT_FOUND -> throw new GroupNotFoundException(id);
+      case VERSION_MISMATCH -> throw new GroupVersionMismatchException(id);
+      case UPDATED -> eventPublisher.publishEvent(new GroupsChangedEvent());
     }
-    groupDao.update(id, group);
+    return result.version();
   }
 
   /**
-   * Deletes a {@link Group Group}.
+   * Deletes a {@link Group Group} in a single round trip to the database.
    *
    * @param id The id of the group to delete.
    * @throws GroupNotFoundException if the group to delete could not be found.
    */
   void delete(long id) {
-    var group = groupDao.findById(id);
-    if (group.isEmpty()) {
+    if (!groupDao.delete(id)) {
       throw new GroupNotFoundException(id);
     }
-    groupDao.delete(id);
+    eventPublisher.publishEvent(new GroupsChangedEvent());
+  }
+
+  private static void findOverlappingInBatch(List<Group> groups, List<ErrorDetail> errors) {
+    var indices =
+        IntStream.range(0, groups.size())
+            .boxed()
+            .sorted(Comparator.comparingInt(i -> groups.get(i).minPeople()))
+            .toList();
+
+    // Walking the groups by their minimum number of people, a group overlaps an earlier group
+    // exactly when it starts before the largest maximum number of people seen so far.
+    int widest = -1;
+    for (int index : indices) {
+      var group = groups.get(index);
+      if (widest >= 0 && group.minPeople() <= groups.get(widest).maxPeople()) {
+        errors.add(RequestErrors.OverlappingGroupInBatch(index, widest));
+      }
+      if (widest < 0 || group.maxPeople() > groups.get(widest).maxPeople()) {
+        widest = index;
+      }
+    }
   }
 }
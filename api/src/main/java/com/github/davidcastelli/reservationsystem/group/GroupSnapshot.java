@@ -0,0 +1,76 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of all groups taken at a revision of the {@link GroupCache GroupCache}. The
+ * entity tag identifies the revision and is used to answer conditional requests. The groups are
+ * ordered by their id so that pages of the listing can be cut out without querying the database.
+ *
+ * @param revision The revision the groups were loaded at.
+ * @param eTag The entity tag of the revision.
+ * @param groups The list of {@link Group Groups} ordered by id.
+ * @param groupsById The {@link Group Groups} keyed by group id.
+ */
+record GroupSnapshot(long revision, String eTag, List<Group> groups, Map<Long, Group> groupsById) {
+
+  /**
+   * Creates a {@link GroupSnapshot GroupSnapshot} from a list of groups.
+   *
+   * @param revision The revision the groups were loaded at.
+   * @param eTag The entity tag of the revision.
+   * @param groups The groups.
+   * @return A {@link GroupSnapshot GroupSnapshot}.
+   */
+  static GroupSnapshot of(long revision, String eTag, List<Group> groups) {
+    var sorted = groups.stream().sorted(Comparator.comparingLong(Group::groupId)).toList();
+    var groupsById = new HashMap<Long, Group>();
+    for (var group : sorted) {
+      groupsById.put(group.groupId(), group);
+    }
+    return new GroupSnapshot(revision, eTag, sorted, Map.copyOf(groupsById));
+  }
+
+  /**
+   * Gets a page of the groups ordered by id.
+   *
+   * @param after Only include groups with an id greater than this cursor.
+   * @param limit The maximum number of groups in the page.
+   * @return A {@link GroupPage GroupPage}.
+   */
+  GroupPage page(long after, int limit) {
+    int low = 0;
+    int high = groups.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (groups.get(mid).groupId() <= after) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    // low is now the first group with an id greater than the cursor.
+    return GroupPage.of(groups.subList(low, Math.min(groups.size(), low + limit + 1)), limit);
+  }
+
+  /**
+   * Gets a group by id.
+   *
+   * @param id The id of the group.
+   * @return A {@link Group Group}.
+   * @throws GroupNotFoundException if no group could be found.
+   */
+  Group getById(long id) {
+    var group = groupsById.get(id);
+    if (group == null) {
+      throw new GroupNotFoundException(id);
+    }
+    return group;
+  }
+}
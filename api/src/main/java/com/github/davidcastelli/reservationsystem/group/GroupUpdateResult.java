@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+/**
+ * A record describing the outcome of a conditional update of a group.
+ *
+ * @param status The status of the update.
+ * @param version The version of the group after the update, or the current version if the update
+ *     was rejected because of a version mismatch.
+ */
+record GroupUpdateResult(Status status, long version) {
+
+  /** The status of a conditional update. */
+  enum Status {
+    /** The group was updated. */
+    UPDATED,
+    /** The group does not exist. */
+    NOT_FOUND,
+    /** The group exists but its version does not match the expected version. */
+    VERSION_MISMATCH
+  }
+}
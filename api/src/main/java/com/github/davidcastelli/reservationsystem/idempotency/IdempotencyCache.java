@@ -0,0 +1,69 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Cache of the idempotency keys whose response is known, so repeats of a request which was handled
+ * by this node are replayed without a round trip to the database. The cache holds at most a fixed
+ * number of keys and evicts the least recently used one once it is full. Keys are served until they
+ * expire, after which they are left to the database.
+ */
+final class IdempotencyCache {
+
+  private final LinkedHashMap<String, IdempotencyKey> entries;
+
+  /**
+   * Creates an {@link IdempotencyCache IdempotencyCache}.
+   *
+   * @param capacity The maximum number of keys.
+   */
+  IdempotencyCache(int capacity) {
+    Assert.isTrue(capacity > 0, "The capacity must be positive");
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, IdempotencyKey> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * Gets an idempotency key if it is cached and has not expired.
+   *
+   * @param key The idempotency key.
+   * @param now The current time.
+   * @return The {@link IdempotencyKey IdempotencyKey} or null if the key is not cached.
+   */
+  synchronized @Nullable IdempotencyKey get(String key, LocalDateTime now) {
+    var entry = entries.get(key);
+    if (entry == null || entry.expiresAt().isBefore(now)) {
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Caches an idempotency key with a response, evicting the least recently used key if the cache is
+   * full.
+   *
+   * @param entry The {@link IdempotencyKey IdempotencyKey}.
+   */
+  synchronized void put(IdempotencyKey entry) {
+    Assert.notNull(entry.response(), "Only a key with a response can be cached");
+    entries.put(entry.key(), entry);
+  }
+
+  /**
+   * Gets the number of cached keys, including expired ones which have not been evicted yet.
+   *
+   * @return The number of keys.
+   */
+  synchronized int size() {
+    return entries.size();
+  }
+}
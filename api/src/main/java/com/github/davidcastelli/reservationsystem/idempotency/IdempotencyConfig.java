@@ -0,0 +1,27 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/** Registers the {@link IdempotencyFilter IdempotencyFilter} for the requests of the API. */
+@Configuration
+class IdempotencyConfig {
+
+  @Bean
+  FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+      IdempotencyService idempotencyService,
+      @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+      @Value("${idempotency.max-body-size}") DataSize maxBodySize) {
+    var registration =
+        new FilterRegistrationBean<>(
+            new IdempotencyFilter(
+                idempotencyService, handlerExceptionResolver, maxBodySize.toBytes()));
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+}
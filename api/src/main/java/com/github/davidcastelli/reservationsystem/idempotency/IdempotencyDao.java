@@ -0,0 +1,158 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/** DAO used to claim idempotency keys in the idempotency_key table and store their responses. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class IdempotencyDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates an {@link IdempotencyDao IdempotencyDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  IdempotencyDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  // A key is claimed by inserting it, or by taking over a key which expired or whose claim was
+  // abandoned by a node which never stored a response. The conflict waits for a concurrent claim of
+  // the same key to commit, so only one request claims a key. The time of the claim as stored
+  // identifies it, so a request whose claim was taken over can no longer store or release the key.
+  static final String CLAIM_SQL =
+      """
+      INSERT INTO idempotency_key (idempotency_key, fingerprint, claimed_at, expires_at)
+      VALUES (:key, :fingerprint, :now, :expiresAt)
+      ON CONFLICT (idempotency_key) DO UPDATE
+      SET fingerprint = EXCLUDED.fingerprint,
+          status = NULL,
+          location = NULL,
+          content_type = NULL,
+          body = NULL,
+          claimed_at = EXCLUDED.claimed_at,
+          expires_at = EXCLUDED.expires_at
+      WHERE idempotency_key.expires_at < :now
+          OR (idempotency_key.status IS NULL AND idempotency_key.claimed_at < :abandonedBefore)
+      RETURNING claimed_at
+      """;
+
+  /**
+   * Performs the operation to claim an idempotency key for a request.
+   *
+   * @param key The idempotency key.
+   * @param fingerprint The fingerprint of the request.
+   * @param now The current time.
+   * @param expiresAt The time after which the key may be used for another request.
+   * @param abandonedBefore The time before which a claim without a response is abandoned.
+   * @return An optional time the key was claimed at, which identifies the claim, or empty if the
+   *     key is used by another request.
+   */
+  Optional<LocalDateTime> claim(
+      String key,
+      String fingerprint,
+      LocalDateTime now,
+      LocalDateTime expiresAt,
+      LocalDateTime abandonedBefore) {
+    return jdbcClient
+        .sql(CLAIM_SQL)
+        .param("key", key)
+        .param("fingerprint", fingerprint)
+        .param("now", now)
+        .param("expiresAt", expiresAt)
+        .param("abandonedBefore", abandonedBefore)
+        .query(LocalDateTime.class)
+        .optional();
+  }
+
+  /**
+   * Performs the operation to retrieve an idempotency key.
+   *
+   * @param key The idempotency key.
+   * @return An optional {@link IdempotencyKey IdempotencyKey} or empty if the key is not used.
+   */
+  Optional<IdempotencyKey> findByKey(String key) {
+    return jdbcClient
+        .sql(
+            "SELECT idempotency_key, fingerprint, status, location, content_type, body, expires_at FROM idempotency_key WHERE idempotency_key = :key")
+        .param("key", key)
+        .query(
+            (rs, rowNum) -> {
+              var status = rs.getObject("status", Integer.class);
+              return new IdempotencyKey(
+                  rs.getString("idempotency_key"),
+                  rs.getString("fingerprint"),
+                  status == null
+                      ? null
+                      : new IdempotentResponse(
+                          status,
+                          rs.getString("location"),
+                          rs.getString("content_type"),
+                          rs.getBytes("body")),
+                  rs.getObject("expires_at", LocalDateTime.class));
+            })
+        .optional();
+  }
+
+  /**
+   * Performs the operation to store the response of a claimed idempotency key, unless the claim was
+   * taken over by another request.
+   *
+   * @param key The idempotency key.
+   * @param claimedAt The time the key was claimed at.
+   * @param response The response.
+   * @param expiresAt The time after which the key may be used for another request.
+   * @return True if the response was stored, false if the key is no longer held by the claim.
+   */
+  boolean complete(
+      String key, LocalDateTime claimedAt, IdempotentResponse response, LocalDateTime expiresAt) {
+    return jdbcClient
+            .sql(
+                "UPDATE idempotency_key SET status = :status, location = :location, content_type = :contentType, body = :body, expires_at = :expiresAt WHERE idempotency_key = :key AND claimed_at = :claimedAt AND status IS NULL")
+            .param("status", response.status())
+            .param("location", response.location())
+            .param("contentType", response.contentType())
+            .param("body", response.body())
+            .param("expiresAt", expiresAt)
+            .param("key", key)
+            .param("claimedAt", claimedAt)
+            .update()
+        == 1;
+  }
+
+  /**
+   * Performs the operation to release a claimed idempotency key without a response, so that the
+   * request can be repeated, unless the claim was taken over by another request.
+   *
+   * @param key The idempotency key.
+   * @param claimedAt The time the key was claimed at.
+   */
+  void release(String key, LocalDateTime claimedAt) {
+    jdbcClient
+        .sql(
+            "DELETE FROM idempotency_key WHERE idempotency_key = :key AND claimed_at = :claimedAt AND status IS NULL")
+        .param("key", key)
+        .param("claimedAt", claimedAt)
+        .update();
+  }
+
+  /**
+   * Performs the operation to delete the idempotency keys which expired.
+   *
+   * @param now The current time.
+   * @return The number of keys which were deleted.
+   */
+  int deleteExpired(LocalDateTime now) {
+    return jdbcClient
+        .sql("DELETE FROM idempotency_key WHERE expires_at < :now")
+        .param("now", now)
+        .update();
+  }
+}
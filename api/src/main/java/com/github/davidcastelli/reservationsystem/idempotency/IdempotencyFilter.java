@@ -0,0 +1,229 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidIdempotencyKeyException;
+import com.github.davidcastelli.reservationsystem.common.exception.RequestBodyTooLargeException;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Filter which makes POST requests with an Idempotency-Key header run at most once, so a client can
+ * safely retry a request whose response it never received. A repeat of the request gets the status,
+ * Location header and body of the first response, with an Idempotent-Replayed header. The key is
+ * only bound to responses which are not server errors, so a request which failed on the server can
+ * be retried with the same key. Requests without the header are passed on as they are. The body of
+ * a request with the header is read into memory, so a body larger than the maximum body size is
+ * rejected before it is read past that size.
+ */
+class IdempotencyFilter extends OncePerRequestFilter {
+
+  static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+  static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyService idempotencyService;
+  private final HandlerExceptionResolver handlerExceptionResolver;
+  private final int maxBodySize;
+
+  /**
+   * Creates an {@link IdempotencyFilter IdempotencyFilter}.
+   *
+   * @param idempotencyService The idempotency service.
+   * @param handlerExceptionResolver The resolver used to map exceptions to problem details.
+   * @param maxBodySize The maximum number of bytes of a request body which is read into memory.
+   * @throws IllegalArgumentException if the maximum body size is negative or does not fit an array.
+   */
+  IdempotencyFilter(
+      IdempotencyService idempotencyService,
+      HandlerExceptionResolver handlerExceptionResolver,
+      long maxBodySize) {
+    Assert.isTrue(
+        maxBodySize >= 0 && maxBodySize < Integer.MAX_VALUE - 8,
+        "The maximum body size must be between 0 and the maximum size of an array");
+    this.idempotencyService = idempotencyService;
+    this.handlerExceptionResolver = handlerExceptionResolver;
+    this.maxBodySize = (int) maxBodySize;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.POST.matches(request.getMethod())
+        || request.getHeader(IDEMPOTENCY_KEY) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    var key = request.getHeader(IDEMPOTENCY_KEY);
+    CachedBodyRequest cachedRequest;
+    IdempotentResponse replay;
+    String fingerprint;
+    try {
+      if (key == null || key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+        throw new InvalidIdempotencyKeyException(
+            new ErrorDetail[] {RequestErrors.InvalidIdempotencyKey(MAX_KEY_LENGTH)});
+      }
+      cachedRequest = new CachedBodyRequest(request, maxBodySize);
+      fingerprint = fingerprint(cachedRequest);
+      replay = idempotencyService.begin(key, fingerprint).orElse(null);
+    } catch (RuntimeException e) {
+      if (handlerExceptionResolver.resolveException(request, response, null, e) == null) {
+        throw e;
+      }
+      return;
+    }
+
+    if (replay != null) {
+      response.setStatus(replay.status());
+      if (replay.location() != null) {
+        response.setHeader(HttpHeaders.LOCATION, replay.location());
+      }
+      if (replay.contentType() != null) {
+        response.setContentType(replay.contentType());
+      }
+      response.setHeader(IDEMPOTENT_REPLAYED, "true");
+      response.setContentLength(replay.body().length);
+      response.getOutputStream().write(replay.body());
+      return;
+    }
+
+    var cachedResponse = new ContentCachingResponseWrapper(response);
+    boolean completed = false;
+    try {
+      filterChain.doFilter(cachedRequest, cachedResponse);
+      if (cachedResponse.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+        idempotencyService.complete(
+            key,
+            fingerprint,
+            new IdempotentResponse(
+                cachedResponse.getStatus(),
+                cachedResponse.getHeader(HttpHeaders.LOCATION),
+                cachedResponse.getContentType(),
+                cachedResponse.getContentAsByteArray()));
+        completed = true;
+      }
+    } finally {
+      if (!completed) {
+        idempotencyService.release(key);
+      }
+      cachedResponse.copyBodyToResponse();
+    }
+  }
+
+  // The fingerprint binds a key to the method, path, query and body of the request it was first
+  // used for, so a key reused for a different request is rejected instead of replayed.
+  static String fingerprint(CachedBodyRequest request) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      var query = request.getQueryString();
+      if (query != null) {
+        digest.update(query.getBytes(StandardCharsets.UTF_8));
+      }
+      digest.update((byte) 0);
+      return HexFormat.of().formatHex(digest.digest(request.body));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /** Request whose body is read once up front, so it can be fingerprinted and then read again. */
+  static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    /**
+     * Creates a {@link CachedBodyRequest CachedBodyRequest}. A body which declares a larger length
+     * is rejected without reading it, any other body is read no further than one byte past the
+     * maximum size.
+     *
+     * @param request The request.
+     * @param maxBodySize The maximum number of bytes of the body.
+     * @throws IOException if the body cannot be read.
+     * @throws RequestBodyTooLargeException if the body is larger than the maximum size.
+     */
+    CachedBodyRequest(HttpServletRequest request, int maxBodySize) throws IOException {
+      super(request);
+      if (request.getContentLengthLong() > maxBodySize) {
+        throw new RequestBodyTooLargeException(maxBodySize);
+      }
+      this.body = request.getInputStream().readNBytes(maxBodySize + 1);
+      if (body.length > maxBodySize) {
+        throw new RequestBodyTooLargeException(maxBodySize);
+      }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      var input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          // The body is already in memory, so it is available and read to the end at once.
+          try {
+            if (!isFinished()) {
+              readListener.onDataAvailable();
+            }
+            readListener.onAllDataRead();
+          } catch (IOException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return input.read(b, off, len);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      var encoding = getCharacterEncoding();
+      return new BufferedReader(
+          new InputStreamReader(
+              getInputStream(),
+              encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import java.time.LocalDateTime;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A record to hold an idempotency key which was used by a request.
+ *
+ * @param key The idempotency key.
+ * @param fingerprint The fingerprint of the method, path and body of the request.
+ * @param response The response of the request or null if the request is in flight.
+ * @param expiresAt The time after which the key may be used for another request.
+ */
+record IdempotencyKey(
+    String key,
+    String fingerprint,
+    @Nullable IdempotentResponse response,
+    LocalDateTime expiresAt) {}
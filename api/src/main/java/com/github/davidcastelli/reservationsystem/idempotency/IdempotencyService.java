@@ -0,0 +1,274 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.IdempotencyKeyConflictException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidIdempotencyKeyException;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+/**
+ * Service which makes requests with an idempotency key run at most once. The first request with a
+ * key claims it, and its response is stored with the key until the key expires. Every repeat of the
+ * request gets the stored response instead of running again, and a repeat which arrives while the
+ * first request is still in flight waits for its response.
+ *
+ * <p>Repeats on the same node wait on the request in flight and are served from a cache, so only
+ * the first request of a key goes to the database. A repeat on another node polls the database for
+ * the response. A node which claimed a key but never stored its response, because it crashed, loses
+ * the claim after the lock timeout, after which the request runs again. A request which outlived
+ * its claim can no longer store or release the key, since the claim it holds is identified by the
+ * time it was made.
+ */
+@Service
+class IdempotencyService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyService.class);
+
+  private final IdempotencyDao idempotencyDao;
+  private final IdempotencyCache cache;
+  private final Duration ttl;
+  private final Duration lockTimeout;
+  private final Duration waitTimeout;
+  private final Duration pollInterval;
+  private final Clock clock;
+
+  // The keys claimed by requests in flight on this node, completed once the request finishes.
+  private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight =
+      new ConcurrentHashMap<>();
+
+  // The time each key in flight on this node was claimed at, which identifies its claim.
+  private final ConcurrentHashMap<String, LocalDateTime> claims = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an {@link IdempotencyService IdempotencyService}.
+   *
+   * @param idempotencyDao The idempotency DAO.
+   * @param capacity The maximum number of keys cached with their response.
+   * @param ttl How long a key is kept after its response was stored.
+   * @param lockTimeout How long a key is claimed by a request which has not stored a response.
+   * @param waitTimeout How long a repeat waits for the response of the request in flight.
+   * @param pollInterval How often a repeat checks the database for the response.
+   * @param clock The clock the current time is read from.
+   * @throws IllegalArgumentException if the durations are not positive, or a repeat could wait for
+   *     longer than a key is claimed.
+   */
+  IdempotencyService(
+      IdempotencyDao idempotencyDao,
+      @Value("${idempotency.cache.capacity}") int capacity,
+      @Value("${idempotency.ttl}") Duration ttl,
+      @Value("${idempotency.lock-timeout}") Duration lockTimeout,
+      @Value("${idempotency.wait-timeout}") Duration waitTimeout,
+      @Value("${idempotency.poll-interval}") Duration pollInterval,
+      Clock clock) {
+    Assert.isTrue(ttl.isPositive(), "The ttl must be positive");
+    Assert.isTrue(waitTimeout.isPositive(), "The wait timeout must be positive");
+    Assert.isTrue(pollInterval.isPositive(), "The poll interval must be positive");
+    Assert.isTrue(
+        lockTimeout.compareTo(waitTimeout) > 0,
+        "The lock timeout must be longer than the wait timeout");
+    this.idempotencyDao = idempotencyDao;
+    this.cache = new IdempotencyCache(capacity);
+    this.ttl = ttl;
+    this.lockTimeout = lockTimeout;
+    this.waitTimeout = waitTimeout;
+    this.pollInterval = pollInterval;
+    this.clock = clock;
+  }
+
+  /**
+   * Begins a request with an idempotency key. If the key was already used by the same request, its
+   * response is returned once it is known. Otherwise the request claims the key, and must either
+   * {@link #complete(String, String, IdempotentResponse) complete} or {@link #release(String)
+   * release} it once it finished.
+   *
+   * @param key The idempotency key.
+   * @param fingerprint The fingerprint of the method, path and body of the request.
+   * @return The response of the key to replay, or empty if the request claimed the key.
+   * @throws InvalidIdempotencyKeyException if the key was used by a different request.
+   * @throws IdempotencyKeyConflictException if the request with the key did not finish in time.
+   */
+  Optional<IdempotentResponse> begin(String key, String fingerprint) {
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+    while (true) {
+      var cached = cache.get(key, LocalDateTime.now(clock));
+      if (cached != null) {
+        return Optional.of(replay(cached, fingerprint));
+      }
+
+      var claim = new CompletableFuture<Void>();
+      var other = inFlight.putIfAbsent(key, claim);
+      if (other != null) {
+        // The request in flight completes or releases the key, either way the key is looked up
+        // again.
+        await(other, deadline);
+        continue;
+      }
+
+      boolean claimed = false;
+      try {
+        var response = claimOrPoll(key, fingerprint, deadline);
+        claimed = response.isEmpty();
+        return response;
+      } finally {
+        if (!claimed) {
+          inFlight.remove(key, claim);
+          claim.complete(null);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stores the response of a request which claimed an idempotency key. The response is dropped if
+   * the claim was taken over by another request in the meantime.
+   *
+   * @param key The idempotency key.
+   * @param fingerprint The fingerprint of the request.
+   * @param response The response.
+   * @throws IllegalStateException if the key was not claimed on this node.
+   */
+  void complete(String key, String fingerprint, IdempotentResponse response) {
+    try {
+      var expiresAt = LocalDateTime.now(clock).plus(ttl);
+      if (idempotencyDao.complete(key, claimedAt(key), response, expiresAt)) {
+        cache.put(new IdempotencyKey(key, fingerprint, response, expiresAt));
+      } else {
+        LOGGER.warn("The claim of idempotency key {} was taken over before it completed", key);
+      }
+    } finally {
+      finish(key);
+    }
+  }
+
+  /**
+   * Releases an idempotency key claimed by a request which failed, so the request can be repeated.
+   * A claim which was taken over by another request is left alone.
+   *
+   * @param key The idempotency key.
+   * @throws IllegalStateException if the key was not claimed on this node.
+   */
+  void release(String key) {
+    try {
+      idempotencyDao.release(key, claimedAt(key));
+    } finally {
+      finish(key);
+    }
+  }
+
+  /** Deletes the expired idempotency keys periodically. */
+  @Scheduled(
+      initialDelayString = "${idempotency.purge-interval}",
+      fixedDelayString = "${idempotency.purge-interval}")
+  public void purge() {
+    purge(LocalDateTime.now(clock));
+  }
+
+  /**
+   * Deletes the idempotency keys which expired.
+   *
+   * @param now The current time.
+   * @return The number of keys which were deleted.
+   */
+  int purge(LocalDateTime now) {
+    int deleted = idempotencyDao.deleteExpired(now);
+    if (deleted > 0) {
+      LOGGER.info("Purged {} expired idempotency keys", deleted);
+    }
+    return deleted;
+  }
+
+  // Claims the key, or polls the database until the node which claimed it stores a response. The
+  // key is claimed once it is released, expires or the claim is abandoned.
+  private Optional<IdempotentResponse> claimOrPoll(String key, String fingerprint, long deadline) {
+    while (true) {
+      var now = LocalDateTime.now(clock);
+      var claimedAt =
+          idempotencyDao.claim(key, fingerprint, now, now.plus(ttl), now.minus(lockTimeout));
+      if (claimedAt.isPresent()) {
+        claims.put(key, claimedAt.get());
+        return Optional.empty();
+      }
+
+      var stored = idempotencyDao.findByKey(key);
+      if (stored.isPresent() && stored.get().response() != null) {
+        cache.put(stored.get());
+        return Optional.of(replay(stored.get(), fingerprint));
+      }
+      if (stored.isPresent() && !stored.get().fingerprint().equals(fingerprint)) {
+        throw reused();
+      }
+
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        throw inFlight();
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(Math.min(remaining, pollInterval.toNanos()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw inFlight();
+      }
+    }
+  }
+
+  private void await(CompletableFuture<Void> claim, long deadline) {
+    try {
+      claim.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw inFlight();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw inFlight();
+    } catch (ExecutionException e) {
+      // Never completed exceptionally.
+    }
+  }
+
+  private LocalDateTime claimedAt(String key) {
+    var claimedAt = claims.get(key);
+    if (claimedAt == null) {
+      throw new IllegalStateException("The idempotency key " + key + " is not claimed");
+    }
+    return claimedAt;
+  }
+
+  private void finish(String key) {
+    claims.remove(key);
+    var claim = inFlight.remove(key);
+    if (claim != null) {
+      claim.complete(null);
+    }
+  }
+
+  private static IdempotentResponse replay(IdempotencyKey stored, String fingerprint) {
+    var response = stored.response();
+    if (!stored.fingerprint().equals(fingerprint) || response == null) {
+      throw reused();
+    }
+    return response;
+  }
+
+  private static InvalidIdempotencyKeyException reused() {
+    return new InvalidIdempotencyKeyException(
+        new ErrorDetail[] {RequestErrors.ReusedIdempotencyKey()});
+  }
+
+  private static IdempotencyKeyConflictException inFlight() {
+    return new IdempotencyKeyConflictException(
+        new ErrorDetail[] {RequestErrors.IdempotencyKeyInFlight()});
+  }
+}
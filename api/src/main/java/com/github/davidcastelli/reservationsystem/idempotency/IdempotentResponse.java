@@ -0,0 +1,89 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The response of a request with an idempotency key, which is replayed to every repeat of the
+ * request. Responses are equal if their status, headers and the content of their bodies are equal.
+ */
+final class IdempotentResponse {
+
+  private final int status;
+  private final @Nullable String location;
+  private final @Nullable String contentType;
+  private final byte[] body;
+
+  /**
+   * Creates an {@link IdempotentResponse IdempotentResponse}.
+   *
+   * @param status The status code.
+   * @param location The Location header or null if there is none.
+   * @param contentType The Content-Type header or null if there is none.
+   * @param body The body, empty if there is none.
+   */
+  IdempotentResponse(
+      int status, @Nullable String location, @Nullable String contentType, byte[] body) {
+    this.status = status;
+    this.location = location;
+    this.contentType = contentType;
+    this.body = body;
+  }
+
+  /**
+   * Gets the status code.
+   *
+   * @return The status code.
+   */
+  int status() {
+    return status;
+  }
+
+  /**
+   * Gets the Location header.
+   *
+   * @return The Location header or null if there is none.
+   */
+  @Nullable String location() {
+    return location;
+  }
+
+  /**
+   * Gets the Content-Type header.
+   *
+   * @return The Content-Type header or null if there is none.
+   */
+  @Nullable String contentType() {
+    return contentType;
+  }
+
+  /**
+   * Gets the body, which must not be modified.
+   *
+   * @return The body, empty if there is none.
+   */
+  byte[] body() {
+    return body;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    return o instanceof IdempotentResponse other
+        && status == other.status
+        && Objects.equals(location, other.location)
+        && Objects.equals(contentType, other.contentType)
+        && Arrays.equals(body, other.body);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Objects.hash(status, location, contentType) + Arrays.hashCode(body);
+  }
+
+  @Override
+  public String toString() {
+    return "IdempotentResponse[status=%d, location=%s, contentType=%s, body=%d bytes]"
+        .formatted(status, location, contentType, body.length);
+  }
+}
@@ -0,0 +1,164 @@
+package com.github.davidcastelli.reservationsystem.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.util.Assert;
+
+/**
+ * A concurrency limit which adapts to the measured latency with additive increase and
+ * multiplicative decrease (AIMD), like the congestion window of TCP. Every request which finished
+ * within the latency threshold while the limit was in use raises the limit by one over the limit,
+ * so the limit grows by about one per round of requests. A request which took longer than the
+ * threshold, or was shed further down, multiplies the limit by the backoff ratio.
+ *
+ * <p>Only the first slow request of a round decreases the limit: the requests which started before
+ * the last decrease were admitted under the older limit, and their latency says nothing about the
+ * new one. Otherwise a single stall would collapse the limit to its minimum.
+ */
+final class AimdLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long latencyThresholdNanos;
+  private final double backoffRatio;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejections = new LongAdder();
+
+  // Guards the updates of the limit, reads of the limit are not locked.
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile double limit;
+  private long lastDecreaseNanos;
+
+  /**
+   * Creates an {@link AimdLimiter AimdLimiter}.
+   *
+   * @param initialLimit The limit before any request finished.
+   * @param minLimit The minimum limit.
+   * @param maxLimit The maximum limit.
+   * @param latencyThreshold The latency above which a request decreases the limit.
+   * @param backoffRatio The ratio by which the limit is multiplied when it is decreased.
+   * @throws IllegalArgumentException if the limits are not ordered, the minimum limit or the
+   *     latency threshold is not positive, or the backoff ratio is not between 0 and 1.
+   */
+  AimdLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      Duration latencyThreshold,
+      double backoffRatio) {
+    Assert.isTrue(minLimit > 0, "The minimum limit must be positive");
+    Assert.isTrue(
+        minLimit <= initialLimit && initialLimit <= maxLimit,
+        "The initial limit must be between the minimum and the maximum limit");
+    Assert.isTrue(latencyThreshold.isPositive(), "The latency threshold must be positive");
+    Assert.isTrue(
+        backoffRatio > 0 && backoffRatio < 1, "The backoff ratio must be between 0 and 1");
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyThresholdNanos = latencyThreshold.toNanos();
+    this.backoffRatio = backoffRatio;
+    this.limit = initialLimit;
+    this.lastDecreaseNanos = System.nanoTime();
+  }
+
+  /**
+   * Admits a request unless the requests in flight reached the limit. An admitted request must be
+   * released with one of the release methods.
+   *
+   * @return True if the request was admitted, false if it was rejected.
+   */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= (int) limit) {
+        rejections.increment();
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Releases a request which completed, raising the limit if the request was fast and the limit was
+   * in use, or decreasing it if the request was slow.
+   *
+   * @param startNanos The {@link System#nanoTime() nano time} at which the request was admitted.
+   * @param endNanos The nano time at which the request completed.
+   */
+  void release(long startNanos, long endNanos) {
+    int current = inFlight.getAndDecrement();
+    if (endNanos - startNanos > latencyThresholdNanos) {
+      decrease(startNanos, endNanos);
+      return;
+    }
+    // A limit which is not in use says nothing about how much load the server can take, so it is
+    // only raised while at least half of it is used.
+    if (current * 2 >= limit) {
+      lock.lock();
+      try {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Releases a request which was shed further down, which decreases the limit.
+   *
+   * @param startNanos The {@link System#nanoTime() nano time} at which the request was admitted.
+   * @param endNanos The nano time at which the request was shed.
+   */
+  void releaseDropped(long startNanos, long endNanos) {
+    inFlight.decrementAndGet();
+    decrease(startNanos, endNanos);
+  }
+
+  /** Releases a request whose latency says nothing about the load, leaving the limit as it is. */
+  void releaseIgnored() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Gets the current limit.
+   *
+   * @return The number of requests which may be in flight at once.
+   */
+  int limit() {
+    return (int) limit;
+  }
+
+  /**
+   * Gets the number of requests in flight.
+   *
+   * @return The number of requests admitted and not yet released.
+   */
+  int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Gets the number of rejected requests since the limiter was created.
+   *
+   * @return The number of rejections.
+   */
+  long rejections() {
+    return rejections.sum();
+  }
+
+  private void decrease(long startNanos, long endNanos) {
+    lock.lock();
+    try {
+      if (startNanos - lastDecreaseNanos > 0) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecreaseNanos = endNanos;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
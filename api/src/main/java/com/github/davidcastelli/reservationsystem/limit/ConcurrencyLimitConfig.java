@@ -0,0 +1,85 @@
+package com.github.davidcastelli.reservationsystem.limit;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Registers the {@link ConcurrencyLimitFilter ConcurrencyLimitFilter} for the requests of the API,
+ * with a limiter for the reads and one for the writes.
+ */
+@Configuration
+class ConcurrencyLimitConfig {
+
+  @Bean
+  AimdLimiter readLimiter(
+      @Value("${concurrency-limit.read.initial-limit}") int initialLimit,
+      @Value("${concurrency-limit.read.min-limit}") int minLimit,
+      @Value("${concurrency-limit.read.max-limit}") int maxLimit,
+      @Value("${concurrency-limit.read.latency-threshold}") Duration latencyThreshold,
+      @Value("${concurrency-limit.backoff-ratio}") double backoffRatio) {
+    return new AimdLimiter(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+  }
+
+  @Bean
+  AimdLimiter writeLimiter(
+      @Value("${concurrency-limit.write.initial-limit}") int initialLimit,
+      @Value("${concurrency-limit.write.min-limit}") int minLimit,
+      @Value("${concurrency-limit.write.max-limit}") int maxLimit,
+      @Value("${concurrency-limit.write.latency-threshold}") Duration latencyThreshold,
+      @Value("${concurrency-limit.backoff-ratio}") double backoffRatio) {
+    return new AimdLimiter(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+  }
+
+  @Bean
+  FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+      @Qualifier("readLimiter") AimdLimiter readLimiter,
+      @Qualifier("writeLimiter") AimdLimiter writeLimiter,
+      @Value("${concurrency-limit.retry-after}") Duration retryAfter,
+      @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+    var registration =
+        new FilterRegistrationBean<>(
+            new ConcurrencyLimitFilter(
+                readLimiter, writeLimiter, retryAfter, handlerExceptionResolver));
+    registration.addUrlPatterns("/api/*");
+    // Runs after the filters of Spring Boot, so that shed requests are still observed, and before
+    // the other filters of the API, so that a shed request does no work.
+    registration.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER);
+    return registration;
+  }
+
+  @Bean
+  MeterBinder concurrencyLimitMetrics(
+      @Qualifier("readLimiter") AimdLimiter readLimiter,
+      @Qualifier("writeLimiter") AimdLimiter writeLimiter) {
+    return meterRegistry -> {
+      register(meterRegistry, "read", readLimiter);
+      register(meterRegistry, "write", writeLimiter);
+    };
+  }
+
+  private static void register(MeterRegistry meterRegistry, String budget, AimdLimiter limiter) {
+    Gauge.builder(MetricNames.CONCURRENCY_LIMIT, limiter, AimdLimiter::limit)
+        .description("The number of requests which may be in flight at once")
+        .tag("budget", budget)
+        .register(meterRegistry);
+    Gauge.builder(MetricNames.CONCURRENCY_IN_FLIGHT, limiter, AimdLimiter::inFlight)
+        .description("The number of requests in flight")
+        .tag("budget", budget)
+        .register(meterRegistry);
+    FunctionCounter.builder(MetricNames.CONCURRENCY_REJECTIONS, limiter, AimdLimiter::rejections)
+        .description("The requests rejected because of the concurrency limit")
+        .tag("budget", budget)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.davidcastelli.reservationsystem.limit;
+
+import com.github.davidcastelli.reservationsystem.common.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Filter which limits the requests in flight with an {@link AimdLimiter AimdLimiter}, so that a
+ * slow database makes the server shed load instead of queueing requests without bound. Reads, the
+ * GET, HEAD and OPTIONS requests, and writes have limits of their own, so that a flood of one
+ * cannot starve the other. A request over its limit is rejected right away with a {@link
+ * ConcurrencyLimitExceededException ConcurrencyLimitExceededException}, which is mapped to a 503.
+ *
+ * <p>A response with status 503 was shed further down, which decreases the limit like a slow
+ * response does. Asynchronous requests, such as the stream of availability changes, release their
+ * permit once the request thread returns and leave the limit as it is, since their latency is the
+ * lifetime of the stream.
+ */
+class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private final AimdLimiter readLimiter;
+  private final AimdLimiter writeLimiter;
+  private final Duration retryAfter;
+  private final HandlerExceptionResolver handlerExceptionResolver;
+
+  /**
+   * Creates a {@link ConcurrencyLimitFilter ConcurrencyLimitFilter}.
+   *
+   * @param readLimiter The limiter of the reads.
+   * @param writeLimiter The limiter of the writes.
+   * @param retryAfter How long a rejected client should wait before retrying the request.
+   * @param handlerExceptionResolver The resolver used to map exceptions to problem details.
+   */
+  ConcurrencyLimitFilter(
+      AimdLimiter readLimiter,
+      AimdLimiter writeLimiter,
+      Duration retryAfter,
+      HandlerExceptionResolver handlerExceptionResolver) {
+    this.readLimiter = readLimiter;
+    this.writeLimiter = writeLimiter;
+    this.retryAfter = retryAfter;
+    this.handlerExceptionResolver = handlerExceptionResolver;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    var limiter = isRead(request) ? readLimiter : writeLimiter;
+    if (!limiter.tryAcquire()) {
+      var e = new ConcurrencyLimitExceededException(retryAfter);
+      if (handlerExceptionResolver.resolveException(request, response, null, e) == null) {
+        throw e;
+      }
+      return;
+    }
+
+    long start = System.nanoTime();
+    boolean completed = false;
+    try {
+      filterChain.doFilter(request, response);
+      completed = true;
+    } finally {
+      if (!completed || request.isAsyncStarted()) {
+        limiter.releaseIgnored();
+      } else if (response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+        limiter.releaseDropped(start, System.nanoTime());
+      } else {
+        limiter.release(start, System.nanoTime());
+      }
+    }
+  }
+
+  private static boolean isRead(HttpServletRequest request) {
+    var method = request.getMethod();
+    return HttpMethod.GET.matches(method)
+        || HttpMethod.HEAD.matches(method)
+        || HttpMethod.OPTIONS.matches(method);
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A record to hold the occupancy of a day, which is the sum of the occupancy of its hours.
+ *
+ * @param day The day.
+ * @param reservations The number of reservations.
+ * @param people The number of people of the reservations.
+ * @param revenue The admission price of the people of the reservations.
+ * @param hours The occupancy of the hours which have reservations, ordered by hour.
+ */
+record DailyOccupancy(
+    LocalDate day,
+    int reservations,
+    long people,
+    BigDecimal revenue,
+    List<HourlyOccupancy> hours) {}
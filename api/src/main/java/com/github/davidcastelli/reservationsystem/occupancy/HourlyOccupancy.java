@@ -0,0 +1,17 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A record to hold the occupancy of an hour of a day, or the drift of the rollup from the
+ * reservations of that hour.
+ *
+ * @param day The day.
+ * @param hour The hour of the day in which the reservations start.
+ * @param reservations The number of reservations.
+ * @param people The number of people of the reservations.
+ * @param revenue The admission price of the people of the reservations.
+ */
+record HourlyOccupancy(
+    LocalDate day, int hour, int reservations, long people, BigDecimal revenue) {}
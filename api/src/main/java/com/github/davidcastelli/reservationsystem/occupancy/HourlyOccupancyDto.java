@@ -0,0 +1,14 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import java.math.BigDecimal;
+
+/**
+ * An hourly occupancy DTO to return to the client as part of a {@link DailyOccupancyDto
+ * DailyOccupancyDto}.
+ *
+ * @param hour The hour of the day in which the reservations start.
+ * @param reservations The number of reservations.
+ * @param people The number of people of the reservations.
+ * @param revenue The admission price of the people of the reservations.
+ */
+record HourlyOccupancyDto(int hour, int reservations, long people, BigDecimal revenue) {}
@@ -0,0 +1,95 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.http.ProblemDetail;
+
+/** Occupancy controller for handling requests for how full the days are. */
+@Tag(name = "Occupancy", description = "Endpoints for reading the occupancy of days.")
+interface OccupancyApi {
+
+  /**
+   * Endpoint for reading the occupancy of a range of days and of their hours. The occupancy is read
+   * from a rollup which is updated with every reservation, so the cost of a request only depends on
+   * the number of days. Days and hours without reservations are left out.
+   *
+   * @param from The first day.
+   * @param to The last day, inclusive.
+   * @return A list of {@link DailyOccupancyDto DailyOccupancyDtos} ordered by day.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  array = @ArraySchema(schema = @Schema(implementation = DailyOccupancyDto.class)),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                [
+                                    {
+                                        "day": "2025-06-14",
+                                        "reservations": 3,
+                                        "people": 10,
+                                        "revenue": 139.90,
+                                        "hours": [
+                                            {
+                                                "hour": 8,
+                                                "reservations": 2,
+                                                "people": 7,
+                                                "revenue": 97.93
+                                            },
+                                            {
+                                                "hour": 9,
+                                                "reservations": 1,
+                                                "people": 3,
+                                                "revenue": 41.97
+                                            }
+                                        ]
+                                    }
+                                ]
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/admin/occupancy",
+                                    "errors": {
+                                        "Query.to": [
+                                            "The range must not be longer than 366 days"
+                                        ]
+                                    }
+                                }
+                              """))
+            })
+      })
+  List<DailyOccupancyDto> findOccupancy(
+      @Parameter(description = "The first day") LocalDate from,
+      @Parameter(description = "The last day, at most 366 days after the first") LocalDate to);
+}
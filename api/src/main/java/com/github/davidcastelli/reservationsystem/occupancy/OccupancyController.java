@@ -0,0 +1,72 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidQueryParameterException;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api/admin")
+class OccupancyController implements OccupancyApi {
+
+  // The most days which can be read by a single request.
+  static final int MAX_DAYS = 366;
+
+  private final OccupancyService occupancyService;
+
+  /**
+   * Creates an {@link OccupancyController OccupancyController}.
+   *
+   * @param occupancyService The occupancy service.
+   */
+  OccupancyController(OccupancyService occupancyService) {
+    this.occupancyService = occupancyService;
+  }
+
+  @GetMapping(value = "/occupancy")
+  @Override
+  public List<DailyOccupancyDto> findOccupancy(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    validate(from, to);
+
+    return occupancyService.findDaily(from, to).stream()
+        .map(
+            day ->
+                new DailyOccupancyDto(
+                    day.day(),
+                    day.reservations(),
+                    day.people(),
+                    day.revenue(),
+                    day.hours().stream()
+                        .map(
+                            hour ->
+                                new HourlyOccupancyDto(
+                                    hour.hour(),
+                                    hour.reservations(),
+                                    hour.people(),
+                                    hour.revenue()))
+                        .toList()))
+        .toList();
+  }
+
+  private static void validate(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new InvalidQueryParameterException(
+          new ErrorDetail[] {
+            RequestErrors.InvalidQueryParameter("to", "The last day must not be before the first")
+          });
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+      throw new InvalidQueryParameterException(
+          new ErrorDetail[] {
+            RequestErrors.InvalidQueryParameter(
+                "to", String.format("The range must not be longer than %d days", MAX_DAYS))
+          });
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/** DAO used to read and reconcile the daily_occupancy rollup. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class OccupancyDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link OccupancyDao OccupancyDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  OccupancyDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  private final RowMapper<HourlyOccupancy> occupancyMapper =
+      (rs, rowNum) ->
+          new HourlyOccupancy(
+              rs.getObject("day", LocalDate.class),
+              rs.getInt("hour"),
+              rs.getInt("reservations"),
+              rs.getLong("people"),
+              rs.getBigDecimal("revenue"));
+
+  // The occupancy is aggregated from the reservations and archived reservations of the days, the
+  // same way the triggers add them to the rollup. The drift is the difference between both in the
+  // same snapshot, which the triggers of reservations committed since do not change, so it is added
+  // to the rollup instead of overwriting it, and the increments of those triggers are kept.
+  static final String RECONCILE_SQL =
+      """
+      WITH reservations AS (
+          SELECT start_time, people
+          FROM reservation
+          WHERE start_time >= CAST(:from AS date) AND start_time < CAST(:to AS date) + 1
+          UNION ALL
+          SELECT start_time, people
+          FROM reservation_archive
+          WHERE start_time >= CAST(:from AS date) AND start_time < CAST(:to AS date) + 1
+      ), actual AS (
+          SELECT CAST(r.start_time AS date) AS day,
+              CAST(extract(hour FROM r.start_time) AS int) AS hour,
+              count(*) AS reservations,
+              sum(r.people) AS people,
+              sum(r.people * coalesce(p.admission_price, 0)) AS revenue
+          FROM reservations r
+          LEFT JOIN package p ON int4range(p.min_people, p.max_people, '[]') @> r.people
+          GROUP BY 1, 2
+      ), drift AS (
+          SELECT coalesce(a.day, o.day) AS day,
+              coalesce(a.hour, o.hour) AS hour,
+              coalesce(a.reservations, 0) - coalesce(o.reservations, 0) AS reservations,
+              coalesce(a.people, 0) - coalesce(o.people, 0) AS people,
+              coalesce(a.revenue, 0) - coalesce(o.revenue, 0) AS revenue
+          FROM actual a
+          FULL JOIN (
+              SELECT * FROM daily_occupancy WHERE day BETWEEN CAST(:from AS date) AND CAST(:to AS date)
+          ) o ON o.day = a.day AND o.hour = a.hour
+      ), repaired AS (
+          INSERT INTO daily_occupancy AS o (day, hour, reservations, people, revenue)
+          SELECT day, hour, reservations, people, revenue
+          FROM drift
+          WHERE reservations <> 0 OR people <> 0 OR revenue <> 0
+          ON CONFLICT (day, hour) DO UPDATE
+          SET reservations = o.reservations + EXCLUDED.reservations,
+              people = o.people + EXCLUDED.people,
+              revenue = o.revenue + EXCLUDED.revenue
+      )
+      SELECT day, hour, reservations, people, revenue
+      FROM drift
+      WHERE reservations <> 0 OR people <> 0 OR revenue <> 0
+      ORDER BY day, hour
+      """;
+
+  /**
+   * Performs the operation to retrieve the occupancy of the hours with reservations of a range of
+   * days from the rollup.
+   *
+   * @param from The first day.
+   * @param to The last day, inclusive.
+   * @return A list of {@link HourlyOccupancy HourlyOccupancies} ordered by day and hour.
+   */
+  List<HourlyOccupancy> findBetween(LocalDate from, LocalDate to) {
+    return jdbcClient
+        .sql(
+            """
+            SELECT day, hour, reservations, people, revenue
+            FROM daily_occupancy
+            WHERE day BETWEEN :from AND :to AND reservations > 0
+            ORDER BY day, hour
+            """)
+        .param("from", from)
+        .param("to", to)
+        .query(occupancyMapper)
+        .list();
+  }
+
+  /**
+   * Performs the operation to compare the rollup of a range of days with their reservations and
+   * correct the rollup where it drifted.
+   *
+   * @param from The first day.
+   * @param to The last day, inclusive.
+   * @return A list of the drift of the rollup from the reservations, as {@link HourlyOccupancy
+   *     HourlyOccupancies} ordered by day and hour.
+   */
+  List<HourlyOccupancy> reconcile(LocalDate from, LocalDate to) {
+    return jdbcClient
+        .sql(RECONCILE_SQL)
+        .param("from", from)
+        .param("to", to)
+        .query(occupancyMapper)
+        .list();
+  }
+}
@@ -0,0 +1,114 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service which reads the occupancy of days from the daily_occupancy rollup, so a range of days
+ * costs one row per hour with reservations no matter how many reservations it holds.
+ *
+ * <p>The rollup is reconciled with the reservations every night. The revenue is added to the rollup
+ * at the admission price of the time a reservation changed, so after the admission price of a group
+ * changed the revenue of its days drifts until the next reconciliation.
+ */
+@Service
+class OccupancyService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OccupancyService.class);
+
+  private final OccupancyDao occupancyDao;
+  private final int reconcileDays;
+  private final Clock clock;
+
+  /**
+   * Creates an {@link OccupancyService OccupancyService}.
+   *
+   * @param occupancyDao The occupancy DAO.
+   * @param reconcileDays The number of days before and after today which are reconciled.
+   * @param clock The clock today is read from.
+   */
+  OccupancyService(
+      OccupancyDao occupancyDao,
+      @Value("${occupancy.reconcile-days}") int reconcileDays,
+      Clock clock) {
+    this.occupancyDao = occupancyDao;
+    this.reconcileDays = reconcileDays;
+    this.clock = clock;
+  }
+
+  /**
+   * Finds the occupancy of the days with reservations of a range of days.
+   *
+   * @param from The first day.
+   * @param to The last day, inclusive.
+   * @return A list of {@link DailyOccupancy DailyOccupancies} ordered by day.
+   */
+  List<DailyOccupancy> findDaily(LocalDate from, LocalDate to) {
+    var days = new ArrayList<DailyOccupancy>();
+    var hours = new ArrayList<HourlyOccupancy>();
+    for (var hour : occupancyDao.findBetween(from, to)) {
+      if (!hours.isEmpty() && !hours.getFirst().day().equals(hour.day())) {
+        days.add(sum(hours));
+        hours = new ArrayList<>();
+      }
+      hours.add(hour);
+    }
+    if (!hours.isEmpty()) {
+      days.add(sum(hours));
+    }
+    return days;
+  }
+
+  private static DailyOccupancy sum(List<HourlyOccupancy> hours) {
+    int reservations = 0;
+    long people = 0;
+    var revenue = BigDecimal.ZERO;
+    for (var hour : hours) {
+      reservations += hour.reservations();
+      people += hour.people();
+      revenue = revenue.add(hour.revenue());
+    }
+    return new DailyOccupancy(
+        hours.getFirst().day(), reservations, people, revenue, List.copyOf(hours));
+  }
+
+  /** Reconciles the rollup of the days around today every night. */
+  @Scheduled(cron = "${occupancy.reconcile-cron}")
+  public void reconcileScheduled() {
+    var today = LocalDate.now(clock);
+    reconcile(today.minusDays(reconcileDays), today.plusDays(reconcileDays));
+  }
+
+  /**
+   * Reconciles the rollup of a range of days with their reservations. Every hour whose rollup
+   * drifted is reported and corrected.
+   *
+   * @param from The first day.
+   * @param to The last day, inclusive.
+   * @return A list of the drift of the hours, as {@link HourlyOccupancy HourlyOccupancies} ordered
+   *     by day and hour.
+   */
+  List<HourlyOccupancy> reconcile(LocalDate from, LocalDate to) {
+    var drift = occupancyDao.reconcile(from, to);
+    for (var hour : drift) {
+      LOGGER.warn(
+          "Corrected the occupancy of {} at {}:00 by {} reservations, {} people and {} revenue",
+          hour.day(),
+          hour.hour(),
+          hour.reservations(),
+          hour.people(),
+          hour.revenue());
+    }
+    LOGGER.info(
+        "Reconciled the occupancy from {} to {} with {} hours drifted", from, to, drift.size());
+    return drift;
+  }
+}
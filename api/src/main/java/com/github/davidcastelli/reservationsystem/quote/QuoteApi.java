@@ -0,0 +1,108 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ProblemDetail;
+
+/** Quote controller for handling requests to price parties of people. */
+@Tag(name = "Quotes", description = "Endpoints for pricing parties of people.")
+interface QuoteApi {
+
+  /**
+   * Endpoint for pricing a batch of parties. Every party is priced with the admission price of the
+   * group whose people range contains the number of people, and the quotes are returned in the
+   * order of the batch. A party which no group accepts is returned without group and prices.
+   *
+   * @param requests The requests to price the parties.
+   * @return A list of {@link QuoteDto QuoteDtos} in the order of the batch.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  array = @ArraySchema(schema = @Schema(implementation = QuoteDto.class)),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                  [
+                                    {
+                                        "people": 4,
+                                        "date": "2025-06-14",
+                                        "groupId": 1,
+                                        "admissionPrice": 13.99,
+                                        "total": 55.96
+                                    },
+                                    {
+                                        "people": 40,
+                                        "date": "2025-06-14",
+                                        "groupId": null,
+                                        "admissionPrice": null,
+                                        "total": null
+                                    }
+                                  ]
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/quotes",
+                                    "errors": {
+                                        "Quotes[1].Invalid": [
+                                            "The number of people must be greater than 0"
+                                        ]
+                                    }
+                                }
+                              """))
+            })
+      })
+  List<QuoteDto> quote(
+      @RequestBody(
+              description = "Parties to price",
+              required = true,
+              content =
+                  @Content(
+                      mediaType = "application/json",
+                      array = @ArraySchema(schema = @Schema(implementation = QuoteRequest.class)),
+                      examples =
+                          @ExampleObject(
+                              value =
+                                  """
+                                      [
+                                        {
+                                          "people": 4,
+                                          "date": "2025-06-14"
+                                        },
+                                        {
+                                          "people": 40,
+                                          "date": "2025-06-14"
+                                        }
+                                      ]
+                                  """)))
+          List<QuoteRequest> requests);
+}
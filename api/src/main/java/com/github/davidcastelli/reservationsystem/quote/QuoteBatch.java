@@ -0,0 +1,93 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import java.util.Arrays;
+
+/**
+ * The priced quotes of a batch. Every quote is stored at the index of its request in parallel
+ * primitive arrays, so that pricing a batch only allocates the arrays themselves. Prices are kept
+ * in cents and only converted to decimals when the quotes are returned to the client.
+ */
+final class QuoteBatch {
+
+  // The group id of a quote for which no group accepts the number of people.
+  private static final long NO_GROUP = -1L;
+
+  private final long[] groupIds;
+  private final long[] admissionPriceCents;
+  private final long[] totalCents;
+
+  /**
+   * Creates a {@link QuoteBatch QuoteBatch} in which no quote has a group yet.
+   *
+   * @param size The number of quotes in the batch.
+   */
+  QuoteBatch(int size) {
+    this.groupIds = new long[size];
+    this.admissionPriceCents = new long[size];
+    this.totalCents = new long[size];
+    Arrays.fill(groupIds, NO_GROUP);
+  }
+
+  /**
+   * Prices the quote at an index.
+   *
+   * @param index The index of the quote.
+   * @param groupId The id of the group the party belongs to.
+   * @param admissionPriceCents The admission price per person in cents.
+   * @param totalCents The admission price for the whole party in cents.
+   */
+  void set(int index, long groupId, long admissionPriceCents, long totalCents) {
+    this.groupIds[index] = groupId;
+    this.admissionPriceCents[index] = admissionPriceCents;
+    this.totalCents[index] = totalCents;
+  }
+
+  /**
+   * Checks if a group accepts the party of the quote at an index.
+   *
+   * @param index The index of the quote.
+   * @return True if the quote has a group or false otherwise.
+   */
+  boolean hasGroup(int index) {
+    return groupIds[index] != NO_GROUP;
+  }
+
+  /**
+   * Gets the group id of the quote at an index.
+   *
+   * @param index The index of the quote.
+   * @return The group id.
+   */
+  long groupId(int index) {
+    return groupIds[index];
+  }
+
+  /**
+   * Gets the admission price per person in cents of the quote at an index.
+   *
+   * @param index The index of the quote.
+   * @return The admission price in cents.
+   */
+  long admissionPriceCents(int index) {
+    return admissionPriceCents[index];
+  }
+
+  /**
+   * Gets the admission price for the whole party in cents of the quote at an index.
+   *
+   * @param index The index of the quote.
+   * @return The total in cents.
+   */
+  long totalCents(int index) {
+    return totalCents[index];
+  }
+
+  /**
+   * Gets the number of quotes in the batch.
+   *
+   * @return The number of quotes.
+   */
+  int size() {
+    return groupIds.length;
+  }
+}
@@ -0,0 +1,107 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidQuoteBatchException;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api")
+class QuoteController implements QuoteApi {
+
+  // The maximum number of quotes which can be priced by a single batch.
+  static final int MAX_BATCH_SIZE = 1000;
+
+  // Reservations can only be made up to six months ahead, so quotes are limited to the same window.
+  static final int MAX_MONTHS_AHEAD = 6;
+
+  private final QuoteService quoteService;
+  private final Validator validator;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link QuoteController QuoteController}.
+   *
+   * @param quoteService The quote service.
+   * @param validator The validator used to validate every quote of a batch.
+   * @param clock The clock today is read from.
+   */
+  QuoteController(QuoteService quoteService, Validator validator, Clock clock) {
+    this.quoteService = quoteService;
+    this.validator = validator;
+    this.clock = clock;
+  }
+
+  @PostMapping(value = "/quotes")
+  @Override
+  public List<QuoteDto> quote(@RequestBody List<QuoteRequest> requests) {
+    validate(requests);
+
+    var people = new int[requests.size()];
+    for (int i = 0; i < people.length; i++) {
+      people[i] = requests.get(i).people();
+    }
+    var batch = quoteService.quote(people);
+
+    // Prices stay in cents while the batch is priced and only become decimals for the response.
+    var quotes = new ArrayList<QuoteDto>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      var request = requests.get(i);
+      if (!batch.hasGroup(i)) {
+        quotes.add(new QuoteDto(request.people(), request.date(), null, null, null));
+        continue;
+      }
+      quotes.add(
+          new QuoteDto(
+              request.people(),
+              request.date(),
+              batch.groupId(i),
+              BigDecimal.valueOf(batch.admissionPriceCents(i), 2),
+              BigDecimal.valueOf(batch.totalCents(i), 2)));
+    }
+    return quotes;
+  }
+
+  // Validates every quote of the batch up front so that all invalid quotes are reported at once.
+  private void validate(List<QuoteRequest> requests) {
+    if (requests.isEmpty()) {
+      throw new InvalidQuoteBatchException(new ErrorDetail[] {RequestErrors.EmptyQuoteBatch()});
+    }
+    if (requests.size() > MAX_BATCH_SIZE) {
+      throw new InvalidQuoteBatchException(
+          new ErrorDetail[] {RequestErrors.QuoteBatchTooLarge(MAX_BATCH_SIZE)});
+    }
+
+    var today = LocalDate.now(clock);
+    var lastDate = today.plusMonths(MAX_MONTHS_AHEAD);
+    var errors = new ArrayList<ErrorDetail>();
+    for (int i = 0; i < requests.size(); i++) {
+      var request = requests.get(i);
+      if (request == null) {
+        errors.add(RequestErrors.InvalidQuoteInBatch(i, "The quote must not be null"));
+        continue;
+      }
+      var violations = validator.validate(request);
+      for (var violation : violations) {
+        errors.add(RequestErrors.InvalidQuoteInBatch(i, violation.getMessage()));
+      }
+      if (violations.isEmpty()
+          && (request.date().isBefore(today) || !request.date().isBefore(lastDate))) {
+        errors.add(
+            RequestErrors.InvalidQuoteInBatch(
+                i,
+                String.format(
+                    "The date must be from today to less than %d months ahead", MAX_MONTHS_AHEAD)));
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new InvalidQuoteBatchException(errors.toArray(ErrorDetail[]::new));
+    }
+  }
+}
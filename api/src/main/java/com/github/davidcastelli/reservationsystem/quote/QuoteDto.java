@@ -0,0 +1,22 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A quote DTO to return to the client for every quote request of a batch. The group and prices are
+ * null if no group accepts the number of people.
+ *
+ * @param people The number of people in the party.
+ * @param date The date of the visit.
+ * @param groupId The id of the group the party belongs to.
+ * @param admissionPrice The admission price per person.
+ * @param total The admission price for the whole party.
+ */
+record QuoteDto(
+    int people,
+    LocalDate date,
+    @Nullable Long groupId,
+    @Nullable BigDecimal admissionPrice,
+    @Nullable BigDecimal total) {}
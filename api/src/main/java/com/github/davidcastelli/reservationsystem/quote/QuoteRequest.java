@@ -0,0 +1,14 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+
+/**
+ * A quote request sent by the client to price a party of people on a date.
+ *
+ * @param people The number of people in the party.
+ * @param date The date of the visit.
+ */
+record QuoteRequest(
+    @Positive(message = "The number of people must be greater than 0") int people,
+    @NotNull(message = "The date must not be null") LocalDate date) {}
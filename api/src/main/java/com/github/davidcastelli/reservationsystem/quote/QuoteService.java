@@ -0,0 +1,47 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import com.github.davidcastelli.reservationsystem.common.dao.GroupRangeIndex;
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import org.springframework.stereotype.Service;
+
+/** Service which prices quotes against the admission prices of the groups. */
+@Service
+class QuoteService {
+
+  private final SharedGroupDao sharedGroupDao;
+
+  /**
+   * Creates a {@link QuoteService QuoteService}.
+   *
+   * @param sharedGroupDao The shared group DAO.
+   */
+  QuoteService(SharedGroupDao sharedGroupDao) {
+    this.sharedGroupDao = sharedGroupDao;
+  }
+
+  /**
+   * Prices a batch of parties in one pass over the in-memory group index. The index is read once,
+   * so every quote of the batch is priced against the same groups.
+   *
+   * @param people The number of people of every party in the batch.
+   * @return A {@link QuoteBatch QuoteBatch} with a quote at the index of every party.
+   * @throws ArithmeticException if the total of a quote overflows.
+   */
+  QuoteBatch quote(int[] people) {
+    var index = sharedGroupDao.index();
+    var batch = new QuoteBatch(people.length);
+    for (int i = 0; i < people.length; i++) {
+      int position = index.indexOf(people[i]);
+      if (position == GroupRangeIndex.NOT_FOUND) {
+        continue;
+      }
+      long admissionPriceCents = index.admissionPriceCents(position);
+      batch.set(
+          i,
+          index.groupId(position),
+          admissionPriceCents,
+          Math.multiplyExact(admissionPriceCents, people[i]));
+    }
+    return batch;
+  }
+}
@@ -0,0 +1,115 @@
+package com.github.davidcastelli.reservationsystem.recording;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint which records the server with Java Flight Recorder. It is served on the
+ * management port only, so recordings cannot be started through the API. A POST to
+ * /actuator/recording with the JSON body {"duration": "PT30S"} responds once the recording ends,
+ * and its body is the .jfr file, which includes the events of the group resolution, availability
+ * check and booking attempts of the booking path. A request while another recording is running gets
+ * a 409.
+ */
+@Component
+@WebEndpoint(id = "recording")
+public class RecordingEndpoint {
+
+  private static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+
+  private final RecordingService recordingService;
+  private final Duration maxDuration;
+
+  /**
+   * Creates a {@link RecordingEndpoint RecordingEndpoint}.
+   *
+   * @param recordingService The recording service.
+   * @param maxDuration The longest recording which can be requested.
+   */
+  RecordingEndpoint(
+      RecordingService recordingService,
+      @Value("${recordings.max-duration}") Duration maxDuration) {
+    this.recordingService = recordingService;
+    this.maxDuration = maxDuration;
+  }
+
+  /**
+   * Records the server for a duration.
+   *
+   * @param duration How long to record, 30 seconds if not given. Actuator only treats parameters
+   *     with Spring's {@link Nullable Nullable} as optional.
+   * @return A response with the .jfr file of the recording, or with status 409 if another recording
+   *     is running.
+   * @throws InvalidEndpointRequestException if the duration is not positive or longer than the
+   *     maximum.
+   * @throws IOException if the recording could not be written.
+   * @throws InterruptedException if the thread was interrupted while recording.
+   */
+  @WriteOperation(produces = "application/octet-stream")
+  public WebEndpointResponse<Resource> record(@Nullable Duration duration)
+      throws IOException, InterruptedException {
+    var recordFor = duration == null ? DEFAULT_DURATION : duration;
+    if (!recordFor.isPositive() || recordFor.compareTo(maxDuration) > 0) {
+      var message =
+          String.format(
+              "The duration must be positive and at most %d seconds", maxDuration.toSeconds());
+      throw new InvalidEndpointRequestException(message, message);
+    }
+
+    return recordingService
+        .record(recordFor)
+        .map(file -> new WebEndpointResponse<Resource>(new TemporaryFileResource(file)))
+        .orElseGet(() -> new WebEndpointResponse<>(HttpStatus.CONFLICT.value()));
+  }
+
+  // The file of a recording, which is deleted once it has been sent. It does not expose itself as
+  // a file, so that it is sent through its stream instead of being transferred by the server.
+  private static final class TemporaryFileResource extends FileSystemResource {
+
+    private final Path file;
+
+    private TemporaryFileResource(Path file) {
+      super(file);
+      this.file = file;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return new FilterInputStream(super.getInputStream()) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            RecordingService.delete(file);
+          }
+        }
+      };
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+      return Channels.newChannel(getInputStream());
+    }
+
+    @Override
+    public boolean isFile() {
+      return false;
+    }
+  }
+}
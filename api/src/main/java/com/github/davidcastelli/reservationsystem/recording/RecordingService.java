@@ -0,0 +1,112 @@
+package com.github.davidcastelli.reservationsystem.recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Service which records the JVM with Java Flight Recorder on demand, so that a slow booking path
+ * can be diagnosed in production without restarting the server with recording flags. A recording
+ * takes the events of the JVM and the events of the booking path together, and is written to a
+ * temporary file once it ends. Only one recording runs at a time.
+ */
+@Service
+class RecordingService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordingService.class);
+
+  private final Map<String, String> settings;
+  private final DataSize maxSize;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * Creates a {@link RecordingService RecordingService}.
+   *
+   * @param configuration The name of the JFR configuration the recordings use, such as default or
+   *     profile.
+   * @param maxSize The size above which the oldest data of a recording is dropped.
+   * @throws IOException if the configuration could not be read.
+   * @throws ParseException if the configuration could not be parsed.
+   */
+  RecordingService(
+      @Value("${recordings.settings}") String configuration,
+      @Value("${recordings.max-size}") DataSize maxSize)
+      throws IOException, ParseException {
+    var settings = new HashMap<>(Configuration.getConfiguration(configuration).getSettings());
+    // The environment variables and system properties of the server may hold secrets, such as the
+    // database credentials, which must not be handed out with a recording.
+    settings.put("jdk.InitialEnvironmentVariable#enabled", "false");
+    settings.put("jdk.InitialSystemProperty#enabled", "false");
+    this.settings = Map.copyOf(settings);
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Records the JVM for a duration and writes the recording to a temporary file, which the caller
+   * must delete.
+   *
+   * @param duration How long to record.
+   * @return The file of the recording, or empty if another recording is running.
+   * @throws IOException if the recording could not be written.
+   * @throws InterruptedException if the thread was interrupted while recording.
+   */
+  Optional<Path> record(Duration duration) throws IOException, InterruptedException {
+    if (!running.compareAndSet(false, true)) {
+      return Optional.empty();
+    }
+
+    try (var recording = new Recording(settings)) {
+      recording.setName("reservation-system");
+      recording.setMaxSize(maxSize.toBytes());
+      recording.start();
+      Thread.sleep(duration);
+      recording.stop();
+
+      var file = Files.createTempFile("reservation-system-", ".jfr");
+      try {
+        recording.dump(file);
+      } catch (IOException | RuntimeException e) {
+        delete(file);
+        throw e;
+      }
+      return Optional.of(file);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * Checks whether a recording is running.
+   *
+   * @return True if a recording is running.
+   */
+  boolean isRunning() {
+    return running.get();
+  }
+
+  /**
+   * Deletes the file of a recording, logging instead of failing if it could not be deleted.
+   *
+   * @param file The file of the recording.
+   */
+  static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete the flight recording {}", file, e);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ReminderSender ReminderSender} which writes reminders to the log instead of delivering
+ * them, so reminders can be followed without a delivery channel. A sender which delivers reminders
+ * replaces it by being declared as the primary sender.
+ */
+@Component
+class LoggingReminderSender implements ReminderSender {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+  @Override
+  public void send(Reminder reminder) {
+    LOGGER.info(
+        "Reminder {} for {} of reservation {} at {}: {}",
+        reminder.reminderId(),
+        reminder.name(),
+        reminder.reservationId(),
+        reminder.startTime(),
+        reminder.message());
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A record to hold a reminder of a reservation which is due to be sent.
+ *
+ * @param reminderId The id of the reminder.
+ * @param reservationId The id of the reservation.
+ * @param name The name of the party.
+ * @param startTime The start time of the reservation.
+ * @param message The reminder to send to the party.
+ * @param attempts The number of attempts to send the reminder, including the current one.
+ */
+public record Reminder(
+    long reminderId,
+    long reservationId,
+    String name,
+    LocalDateTime startTime,
+    String message,
+    int attempts) {}
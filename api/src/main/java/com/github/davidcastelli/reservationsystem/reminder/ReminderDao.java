@@ -0,0 +1,144 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/** DAO used to queue reminders in the reminder_outbox table and record their delivery. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class ReminderDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link ReminderDao ReminderDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  ReminderDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  private final RowMapper<Reminder> reminderMapper =
+      (rs, rowNum) ->
+          new Reminder(
+              rs.getLong("reminder_id"),
+              rs.getLong("reservation_id"),
+              rs.getString("name"),
+              rs.getObject("start_time", LocalDateTime.class),
+              rs.getString("message"),
+              rs.getInt("attempts"));
+
+  // The reservations which are due are read from the start time index, and the bounds on the start
+  // time prune the partitions of other months. A reminder which is already queued is left alone, so
+  // every node may queue the same reminders.
+  static final String ENQUEUE_SQL =
+      """
+      INSERT INTO reminder_outbox (reservation_id, start_time, name, message)
+      SELECT reservation_id, start_time, name, reminder
+      FROM reservation
+      WHERE start_time > CAST(:from AS timestamp)
+          AND start_time <= CAST(:until AS timestamp)
+          AND status = CAST(:status AS status)
+          AND reminder IS NOT NULL
+      ON CONFLICT ON CONSTRAINT reminder_outbox_reservation_key DO NOTHING
+      """;
+
+  // The batch is locked only for the statement which claims it, and reminders another node is
+  // claiming are skipped instead of waited for. The claim moves the next attempt to the end of the
+  // lease, so no other node claims the batch while it is sent without a transaction held open.
+  static final String CLAIM_SQL =
+      """
+      WITH batch AS (
+          SELECT reminder_id
+          FROM reminder_outbox
+          WHERE sent_at IS NULL
+              AND next_attempt_at <= CAST(:now AS timestamp)
+              AND attempts < :maxAttempts
+          ORDER BY next_attempt_at
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+      )
+      UPDATE reminder_outbox
+      SET attempts = reminder_outbox.attempts + 1, next_attempt_at = CAST(:leaseUntil AS timestamp)
+      FROM batch
+      WHERE reminder_outbox.reminder_id = batch.reminder_id
+      RETURNING reminder_outbox.*
+      """;
+
+  /**
+   * Performs the operation to queue the reminders of the paid reservations starting in a time range
+   * which are not queued yet.
+   *
+   * @param from The time after which the reservations start.
+   * @param until The time at or before which the reservations start.
+   * @return The number of reminders which were queued.
+   */
+  int enqueue(LocalDateTime from, LocalDateTime until) {
+    return jdbcClient
+        .sql(ENQUEUE_SQL)
+        .param("from", from)
+        .param("until", until)
+        .param("status", ReservationStatus.PAID.dbValue())
+        .update();
+  }
+
+  /**
+   * Performs the operation to claim a batch of reminders which are due and have attempts left.
+   * Reminders claimed by another node are skipped.
+   *
+   * @param now The current time.
+   * @param leaseUntil The time until which the reminders are claimed.
+   * @param maxAttempts The maximum number of attempts to send a reminder.
+   * @param limit The maximum number of reminders which are claimed.
+   * @return A list of the {@link Reminder Reminders} which were claimed.
+   */
+  List<Reminder> claim(LocalDateTime now, LocalDateTime leaseUntil, int maxAttempts, int limit) {
+    return jdbcClient
+        .sql(CLAIM_SQL)
+        .param("now", now)
+        .param("leaseUntil", leaseUntil)
+        .param("maxAttempts", maxAttempts)
+        .param("limit", limit)
+        .query(reminderMapper)
+        .list();
+  }
+
+  /**
+   * Performs the operation to record that a reminder was sent.
+   *
+   * @param reminderId The id of the reminder.
+   * @param sentAt The time the reminder was sent.
+   */
+  void markSent(long reminderId, LocalDateTime sentAt) {
+    jdbcClient
+        .sql(
+            "UPDATE reminder_outbox SET sent_at = :sentAt, last_error = NULL WHERE reminder_id = :reminderId")
+        .param("sentAt", sentAt)
+        .param("reminderId", reminderId)
+        .update();
+  }
+
+  /**
+   * Performs the operation to record that an attempt to send a reminder failed.
+   *
+   * @param reminderId The id of the reminder.
+   * @param error The reason the attempt failed.
+   * @param nextAttemptAt The time of the next attempt.
+   */
+  void markFailed(long reminderId, String error, LocalDateTime nextAttemptAt) {
+    jdbcClient
+        .sql(
+            "UPDATE reminder_outbox SET last_error = :error, next_attempt_at = :nextAttemptAt WHERE reminder_id = :reminderId")
+        .param("error", error)
+        .param("nextAttemptAt", nextAttemptAt)
+        .param("reminderId", reminderId)
+        .update();
+  }
+}
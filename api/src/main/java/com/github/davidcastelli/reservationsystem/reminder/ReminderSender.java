@@ -0,0 +1,18 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+/**
+ * Sender which delivers reminders to parties. The sender is called on a thread of its own for every
+ * reminder, so it may block, and it is interrupted once the send timeout has passed. A reminder may
+ * be sent more than once, if a node fails after it was delivered and before it was recorded as
+ * sent.
+ */
+public interface ReminderSender {
+
+  /**
+   * Delivers a reminder.
+   *
+   * @param reminder The reminder.
+   * @throws RuntimeException if the reminder could not be delivered, in which case it is retried.
+   */
+  void send(Reminder reminder);
+}
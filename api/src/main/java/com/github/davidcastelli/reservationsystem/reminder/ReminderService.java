@@ -0,0 +1,177 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+/**
+ * Service which sends the reminders of reservations through the {@link ReminderSender
+ * ReminderSender}. Reminders are queued in the reminder outbox once their reservation starts within
+ * the lead time, and are then claimed in batches and sent.
+ *
+ * <p>Every node dispatches reminders, and a node only claims reminders no other node has claimed,
+ * so the reminders are sent faster the more nodes there are. The reminders of a batch are sent at
+ * the same time on virtual threads, and a send which is still running once the send timeout has
+ * passed is interrupted and retried later, so a slow send only holds up its own reminder. A failed
+ * reminder is retried after the retry delay times its attempts, until it runs out of attempts.
+ */
+@Service
+class ReminderService implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReminderService.class);
+
+  private final ReminderDao reminderDao;
+  private final ReminderSender reminderSender;
+  private final Duration leadTime;
+  private final int batchSize;
+  private final Duration sendTimeout;
+  private final Duration retryDelay;
+  private final int maxAttempts;
+  private final Clock clock;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Creates a {@link ReminderService ReminderService}.
+   *
+   * @param reminderDao The reminder DAO.
+   * @param reminderSender The sender which delivers the reminders.
+   * @param leadTime How long before the start of a reservation its reminder is sent.
+   * @param batchSize The maximum number of reminders claimed at once.
+   * @param sendTimeout How long the reminders of a batch may take to send.
+   * @param retryDelay How long a claimed reminder is held, and how long a failed reminder waits per
+   *     attempt before it is retried.
+   * @param maxAttempts The maximum number of attempts to send a reminder.
+   * @param clock The clock the current time is read from.
+   * @throws IllegalArgumentException if the batch size or maximum attempts are not positive, or the
+   *     retry delay is not longer than the send timeout.
+   */
+  ReminderService(
+      ReminderDao reminderDao,
+      ReminderSender reminderSender,
+      @Value("${reminders.lead-time}") Duration leadTime,
+      @Value("${reminders.batch-size}") int batchSize,
+      @Value("${reminders.send-timeout}") Duration sendTimeout,
+      @Value("${reminders.retry-delay}") Duration retryDelay,
+      @Value("${reminders.max-attempts}") int maxAttempts,
+      Clock clock) {
+    Assert.isTrue(batchSize > 0, "The batch size must be positive");
+    Assert.isTrue(maxAttempts > 0, "The maximum attempts must be positive");
+    // A reminder which is still being sent must not be claimed again by another node.
+    Assert.isTrue(
+        retryDelay.compareTo(sendTimeout) > 0,
+        "The retry delay must be longer than the send timeout");
+    this.reminderDao = reminderDao;
+    this.reminderSender = reminderSender;
+    this.leadTime = leadTime;
+    this.batchSize = batchSize;
+    this.sendTimeout = sendTimeout;
+    this.retryDelay = retryDelay;
+    this.maxAttempts = maxAttempts;
+    this.clock = clock;
+  }
+
+  /** Dispatches the reminders periodically. */
+  @Scheduled(
+      initialDelayString = "${reminders.interval}",
+      fixedDelayString = "${reminders.interval}")
+  public void dispatch() {
+    dispatch(LocalDateTime.now(clock));
+  }
+
+  /**
+   * Queues the reminders which are due and sends the queued reminders until no batch is full.
+   * Sending stops early if the thread is interrupted.
+   *
+   * @param now The current time.
+   * @return The number of reminders which were sent.
+   */
+  int dispatch(LocalDateTime now) {
+    int queued = reminderDao.enqueue(now, now.plus(leadTime));
+    if (queued > 0) {
+      LOGGER.info("Queued {} reminders", queued);
+    }
+
+    int sent = 0;
+    List<Reminder> batch;
+    do {
+      var claimedAt = LocalDateTime.now(clock);
+      batch = reminderDao.claim(claimedAt, claimedAt.plus(retryDelay), maxAttempts, batchSize);
+      sent += send(batch);
+    } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+    if (sent > 0) {
+      LOGGER.info("Sent {} reminders", sent);
+    }
+    return sent;
+  }
+
+  /**
+   * Sends a batch of reminders at the same time and records the outcome of each reminder.
+   *
+   * @param batch The reminders.
+   * @return The number of reminders which were sent.
+   */
+  private int send(List<Reminder> batch) {
+    List<Future<?>> sends = new ArrayList<>(batch.size());
+    for (var reminder : batch) {
+      sends.add(executor.submit(() -> reminderSender.send(reminder)));
+    }
+
+    long deadline = System.nanoTime() + sendTimeout.toNanos();
+    int sent = 0;
+    for (int i = 0; i < batch.size(); i++) {
+      var reminder = batch.get(i);
+      var send = sends.get(i);
+      try {
+        send.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        reminderDao.markSent(reminder.reminderId(), LocalDateTime.now(clock));
+        sent++;
+      } catch (ExecutionException e) {
+        fail(reminder, String.valueOf(e.getCause()));
+      } catch (TimeoutException e) {
+        send.cancel(true);
+        fail(reminder, "Timed out after " + sendTimeout);
+      } catch (InterruptedException e) {
+        // The reminders which are left are claimed again once their lease ends.
+        Thread.currentThread().interrupt();
+        sends.forEach(s -> s.cancel(true));
+        break;
+      }
+    }
+    return sent;
+  }
+
+  private void fail(Reminder reminder, String error) {
+    // A reminder without attempts left is never due again.
+    var nextAttemptAt =
+        reminder.attempts() >= maxAttempts
+            ? LocalDateTime.MAX
+            : LocalDateTime.now(clock).plus(retryDelay.multipliedBy(reminder.attempts()));
+    reminderDao.markFailed(reminder.reminderId(), error, nextAttemptAt);
+    LOGGER.warn(
+        "Failed attempt {} of {} to send reminder {}: {}",
+        reminder.attempts(),
+        maxAttempts,
+        reminder.reminderId(),
+        error);
+  }
+
+  /** Interrupts the reminders which are being sent. */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
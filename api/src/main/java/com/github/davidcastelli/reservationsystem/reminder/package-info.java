@@ -0,0 +1,4 @@
+@NullMarked
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import org.jspecify.annotations.NullMarked;
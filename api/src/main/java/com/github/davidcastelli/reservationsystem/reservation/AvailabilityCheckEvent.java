@@ -0,0 +1,31 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the check of a time range against the holds known to this node, which
+ * rejects a booking or hold without a round trip to the database.
+ */
+@Name("reservationsystem.AvailabilityCheck")
+@Label("Availability Check")
+@Category({"Reservation System", "Booking"})
+@Description("The check of a time range against the holds known to this node")
+final class AvailabilityCheckEvent extends Event {
+
+  @Label("People")
+  int people;
+
+  @Label("Slot Start")
+  String slotStart = "";
+
+  @Label("Slot End")
+  String slotEnd = "";
+
+  @Label("Outcome")
+  @Description("FREE or HELD")
+  String outcome = "";
+}
@@ -0,0 +1,35 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of an attempt to write the time range of a booking or hold. An attempt
+ * which failed with a transient failure is followed by a retry with the next attempt number.
+ */
+@Name("reservationsystem.BookingAttempt")
+@Label("Booking Attempt")
+@Category({"Reservation System", "Booking"})
+@Description("An attempt to write the time range of a booking or hold")
+final class BookingAttemptEvent extends Event {
+
+  @Label("People")
+  int people;
+
+  @Label("Slot Start")
+  String slotStart = "";
+
+  @Label("Slot End")
+  String slotEnd = "";
+
+  @Label("Attempt")
+  @Description("The number of the attempt, starting at 1")
+  int attempt;
+
+  @Label("Outcome")
+  @Description("COMPLETED, CONFLICT, TRANSIENT or FAILED")
+  String outcome = "";
+}
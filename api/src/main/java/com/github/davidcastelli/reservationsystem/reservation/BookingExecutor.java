@@ -0,0 +1,146 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Executor which runs the attempts to book a reservation. Failures are classified by the SQLSTATE
+ * of the database: an exclusion violation means the reservation truly overlaps another one and is
+ * rethrown at once, while serialization failures and deadlocks are transient and retried with a
+ * full jitter exponential backoff. Retries stop once the maximum number of attempts is reached or
+ * the next backoff would exceed the retry budget.
+ */
+@Component
+class BookingExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BookingExecutor.class);
+
+  /** The kind of failure of an attempt. */
+  enum Failure {
+    /** The reservation overlaps another reservation. */
+    CONFLICT,
+    /** The attempt lost a race with another transaction and may succeed when retried. */
+    TRANSIENT,
+    /** Any other failure, which is not retried. */
+    OTHER
+  }
+
+  private static final String EXCLUSION_VIOLATION = "23P01";
+  private static final String SERIALIZATION_FAILURE = "40001";
+  private static final String DEADLOCK_DETECTED = "40P01";
+
+  private final BookingMetrics metrics;
+  private final int maxAttempts;
+  private final Duration baseBackoff;
+  private final Duration budget;
+
+  /**
+   * Creates a {@link BookingExecutor BookingExecutor}.
+   *
+   * @param metrics The booking metrics.
+   * @param maxAttempts The maximum number of attempts, including the first one.
+   * @param baseBackoff The backoff before the first retry, which doubles with every retry.
+   * @param budget The maximum time spent on all attempts and backoffs.
+   */
+  BookingExecutor(
+      BookingMetrics metrics,
+      @Value("${booking.retry.max-attempts}") int maxAttempts,
+      @Value("${booking.retry.base-backoff}") Duration baseBackoff,
+      @Value("${booking.retry.budget}") Duration budget) {
+    Assert.isTrue(maxAttempts > 0, "The maximum number of attempts must be greater than 0");
+    this.metrics = metrics;
+    this.maxAttempts = maxAttempts;
+    this.baseBackoff = baseBackoff;
+    this.budget = budget;
+  }
+
+  /**
+   * Runs an attempt until it succeeds, fails with a failure which is not transient or runs out of
+   * retries.
+   *
+   * @param attempt The attempt, which has to be safe to repeat after a transient failure.
+   * @param <T> The type of the result of the attempt.
+   * @return The result of the successful attempt.
+   * @throws RuntimeException the failure of the attempt if it is not transient.
+   * @throws BookingContentionException if every attempt failed with a transient failure.
+   */
+  <T> T execute(Supplier<T> attempt) {
+    long start = System.nanoTime();
+    long budgetNanos = budget.toNanos();
+    for (int attempts = 1; ; attempts++) {
+      metrics.recordAttempt();
+      RuntimeException failure;
+      try {
+        return attempt.get();
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+
+      switch (classify(failure)) {
+        case CONFLICT -> {
+          metrics.recordConflict();
+          throw failure;
+        }
+        case OTHER -> throw failure;
+        case TRANSIENT -> {}
+      }
+
+      long backoff = backoffNanos(attempts);
+      if (attempts >= maxAttempts || System.nanoTime() - start + backoff > budgetNanos) {
+        metrics.recordExhausted();
+        LOGGER.warn("Giving up booking after {} attempts", attempts, failure);
+        throw new BookingContentionException(budget);
+      }
+      metrics.recordRetry();
+      LOGGER.debug("Retrying booking after transient failure in {} ns", backoff, failure);
+      try {
+        Thread.sleep(Duration.ofNanos(backoff));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new BookingContentionException(budget);
+      }
+    }
+  }
+
+  /**
+   * Classifies a failure by the first SQLSTATE found in its chain of causes.
+   *
+   * @param failure The failure.
+   * @return The {@link Failure Failure}.
+   */
+  static Failure classify(Throwable failure) {
+    var sqlState = sqlState(failure);
+    if (sqlState == null) {
+      return Failure.OTHER;
+    }
+    return switch (sqlState) {
+      case EXCLUSION_VIOLATION -> Failure.CONFLICT;
+      case SERIALIZATION_FAILURE, DEADLOCK_DETECTED -> Failure.TRANSIENT;
+      default -> Failure.OTHER;
+    };
+  }
+
+  // Full jitter spreads retries of bookings which failed together over the whole backoff.
+  private long backoffNanos(int attempts) {
+    long ceiling = baseBackoff.toNanos() << Math.min(attempts - 1, 30);
+    return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+  }
+
+  private static @Nullable String sqlState(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+        return sqlException.getSQLState();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,91 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters of the booking path. Bookings run concurrently on virtual threads, so the counters are
+ * {@link LongAdder LongAdders}, which do not contend on a single memory location. The counters are
+ * bound to the meter registry as {@link MetricNames#BOOKINGS MetricNames.BOOKINGS}.
+ */
+@Component
+class BookingMetrics implements MeterBinder {
+
+  private final LongAdder attempts = new LongAdder();
+  private final LongAdder conflicts = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder exhausted = new LongAdder();
+
+  @Override
+  public void bindTo(MeterRegistry meterRegistry) {
+    register(meterRegistry, "attempt", BookingMetrics::attempts);
+    register(meterRegistry, "conflict", BookingMetrics::conflicts);
+    register(meterRegistry, "retry", BookingMetrics::retries);
+    register(meterRegistry, "exhausted", BookingMetrics::exhausted);
+  }
+
+  private void register(
+      MeterRegistry meterRegistry, String event, ToDoubleFunction<BookingMetrics> count) {
+    FunctionCounter.builder(MetricNames.BOOKINGS, this, count)
+        .description("The events of the booking path")
+        .tag("event", event)
+        .register(meterRegistry);
+  }
+
+  void recordAttempt() {
+    attempts.increment();
+  }
+
+  void recordConflict() {
+    conflicts.increment();
+  }
+
+  void recordRetry() {
+    retries.increment();
+  }
+
+  void recordExhausted() {
+    exhausted.increment();
+  }
+
+  /**
+   * Gets the number of attempts to insert a reservation, including retries.
+   *
+   * @return The number of attempts.
+   */
+  long attempts() {
+    return attempts.sum();
+  }
+
+  /**
+   * Gets the number of bookings which overlapped another reservation.
+   *
+   * @return The number of conflicts.
+   */
+  long conflicts() {
+    return conflicts.sum();
+  }
+
+  /**
+   * Gets the number of attempts which were retried after a transient failure.
+   *
+   * @return The number of retries.
+   */
+  long retries() {
+    return retries.sum();
+  }
+
+  /**
+   * Gets the number of bookings which gave up after exhausting the retry budget.
+   *
+   * @return The number of exhausted bookings.
+   */
+  long exhausted() {
+    return exhausted.sum();
+  }
+}
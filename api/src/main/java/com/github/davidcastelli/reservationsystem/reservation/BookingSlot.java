@@ -0,0 +1,15 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.time.LocalDateTime;
+
+/**
+ * A record to hold the time range a party would take, which has been checked against the opening
+ * hours and the booking horizon.
+ *
+ * @param group The group which accepts the party.
+ * @param startTime The start time.
+ * @param endTime The end time, inclusive, a start interval of the group after the start time.
+ * @param people The number of people in the party.
+ */
+record BookingSlot(Group group, LocalDateTime startTime, LocalDateTime endTime, int people) {}
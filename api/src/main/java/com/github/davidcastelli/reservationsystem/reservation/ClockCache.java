@@ -0,0 +1,170 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Cache holding at most a fixed number of entries, each for at most a time to live. Once the cache
+ * is full, adding an entry evicts one chosen by the CLOCK algorithm, which approximates evicting
+ * the least recently used entry. Unlike a least recently used list, a read only sets the referenced
+ * flag of the entry instead of moving it, so reads never take a lock. Writes are serialized by a
+ * lock, since they move the hand of the clock.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class ClockCache<K, V> {
+
+  private final int capacity;
+  private final long ttlNanos;
+  private final LongSupplier nanoTime;
+  private final ConcurrentHashMap<K, Entry<V>> entries;
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  // The key held by every slot of the clock, only accessed while holding the write lock.
+  private final Object[] slots;
+  private int filled;
+  private int hand;
+
+  /**
+   * Creates a {@link ClockCache ClockCache}.
+   *
+   * @param capacity The maximum number of entries.
+   * @param ttl How long an entry is held.
+   */
+  ClockCache(int capacity, Duration ttl) {
+    this(capacity, ttl, System::nanoTime);
+  }
+
+  /**
+   * Creates a {@link ClockCache ClockCache} with a custom clock.
+   *
+   * @param capacity The maximum number of entries.
+   * @param ttl How long an entry is held.
+   * @param nanoTime The clock used to expire entries, in nanoseconds.
+   */
+  ClockCache(int capacity, Duration ttl, LongSupplier nanoTime) {
+    Assert.isTrue(capacity > 0, "The capacity must be positive");
+    this.capacity = capacity;
+    this.ttlNanos = ttl.toNanos();
+    this.nanoTime = nanoTime;
+    this.entries = new ConcurrentHashMap<>(capacity);
+    this.slots = new Object[capacity];
+  }
+
+  /**
+   * Gets the value of a key if it is cached and has not expired.
+   *
+   * @param key The key.
+   * @return The value or null if the key is not cached.
+   */
+  @Nullable V get(K key) {
+    var entry = entries.get(key);
+    if (entry == null || nanoTime.getAsLong() - entry.expiresAt > 0) {
+      return null;
+    }
+    // Checked first, so reads of a hot entry do not keep writing the same cache line.
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Caches the value of a key, evicting another entry if the cache is full.
+   *
+   * @param key The key.
+   * @param value The value.
+   */
+  void put(K key, V value) {
+    writeLock.lock();
+    try {
+      var entry = new Entry<>(value, nanoTime.getAsLong() + ttlNanos);
+      var previous = entries.get(key);
+      if (previous != null) {
+        entry.slot = previous.slot;
+      } else if (filled < capacity) {
+        entry.slot = filled++;
+      } else {
+        entry.slot = evict();
+      }
+      slots[entry.slot] = key;
+      entries.put(key, entry);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Removes the entry of a key. The slot of the entry is reused by the next eviction.
+   *
+   * @param key The key.
+   */
+  void invalidate(K key) {
+    writeLock.lock();
+    try {
+      entries.remove(key);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** Removes every entry. The slots of the entries are reused by the next evictions. */
+  void invalidateAll() {
+    writeLock.lock();
+    try {
+      entries.clear();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of cached entries, including expired ones which have not been evicted yet.
+   *
+   * @return The number of entries.
+   */
+  int size() {
+    return entries.size();
+  }
+
+  // Advances the hand until it finds a slot whose entry is gone, expired or has not been referenced
+  // since the hand last passed it, clearing the referenced flags on the way. Terminates within two
+  // rotations, since the first one clears every flag.
+  private int evict() {
+    long now = nanoTime.getAsLong();
+    while (true) {
+      int slot = hand;
+      hand = (hand + 1) % capacity;
+      @SuppressWarnings("unchecked")
+      var key = (K) slots[slot];
+      var entry = key == null ? null : entries.get(key);
+      if (entry == null || entry.slot != slot) {
+        return slot;
+      }
+      if (entry.referenced && now - entry.expiresAt <= 0) {
+        entry.referenced = false;
+        continue;
+      }
+      entries.remove(key);
+      return slot;
+    }
+  }
+
+  private static final class Entry<V> {
+
+    private final V value;
+    private final long expiresAt;
+    private int slot;
+    private volatile boolean referenced;
+
+    private Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
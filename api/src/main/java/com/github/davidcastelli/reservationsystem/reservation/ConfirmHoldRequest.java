@@ -0,0 +1,17 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jakarta.validation.constraints.*;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A confirm hold request sent by the client to book a held time range once the customer has checked
+ * out.
+ *
+ * @param name The name to book the reservation under.
+ * @param note An optional note for the reservation.
+ */
+record ConfirmHoldRequest(
+    @NotBlank(message = "The name must not be blank")
+        @Size(max = 20, message = "The name must not be longer than 20 characters")
+        String name,
+    @Nullable String note) {}
@@ -0,0 +1,130 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.util.Assert;
+
+/**
+ * Bloom filter of confirmation codes, which answers whether a code might exist without a round trip
+ * to the database. A code which was put into the filter is always reported as possibly contained, a
+ * code which was not is reported as possibly contained with about the false positive probability
+ * the filter was sized for. The bits are kept in an {@link AtomicLongArray AtomicLongArray}, so
+ * codes can be added while the filter is being read without any locking.
+ */
+final class ConfirmationCodeFilter {
+
+  // The filter never gets smaller than this, so a fresh database does not get a filter which is
+  // already saturated by the first bookings after it was built.
+  static final long MIN_EXPECTED_INSERTIONS = 1L << 16;
+
+  private final AtomicLongArray words;
+  private final long bits;
+  private final int hashes;
+
+  private ConfirmationCodeFilter(long bits, int hashes) {
+    this.words = new AtomicLongArray(Math.toIntExact(bits >>> 6));
+    this.bits = bits;
+    this.hashes = hashes;
+  }
+
+  /**
+   * Creates an empty {@link ConfirmationCodeFilter ConfirmationCodeFilter} sized for the optimal
+   * number of bits and hash functions of a number of codes and a false positive probability.
+   *
+   * @param expectedInsertions The number of codes the filter is sized for.
+   * @param falsePositiveProbability The false positive probability once the filter holds the
+   *     expected number of codes.
+   * @return A {@link ConfirmationCodeFilter ConfirmationCodeFilter}.
+   * @throws IllegalArgumentException if the false positive probability is not between 0 and 1.
+   */
+  static ConfirmationCodeFilter create(long expectedInsertions, double falsePositiveProbability) {
+    Assert.isTrue(
+        falsePositiveProbability > 0 && falsePositiveProbability < 1,
+        "The false positive probability must be between 0 and 1");
+    long n = Math.max(expectedInsertions, MIN_EXPECTED_INSERTIONS);
+    double ln2 = Math.log(2);
+    long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (ln2 * ln2));
+    // Rounded up to whole words, which keeps the probability at most the requested one.
+    long bits = Math.max(64, (optimalBits + 63) & ~63L);
+    int hashes = (int) Math.max(1, Math.round((double) bits / n * ln2));
+    return new ConfirmationCodeFilter(bits, hashes);
+  }
+
+  /**
+   * Puts a confirmation code into the filter.
+   *
+   * @param confirmationCode The confirmation code.
+   */
+  void put(UUID confirmationCode) {
+    long h1 = hash(confirmationCode);
+    long h2 = secondHash(h1);
+    for (int i = 0; i < hashes; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      // Most bits are already set once the filter fills up, which is checked without a write.
+      if ((words.get(word) & mask) == 0) {
+        words.accumulateAndGet(word, mask, (current, set) -> current | set);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a confirmation code might have been put into the filter.
+   *
+   * @param confirmationCode The confirmation code.
+   * @return False if the code has certainly not been put into the filter, true otherwise.
+   */
+  boolean mightContain(UUID confirmationCode) {
+    long h1 = hash(confirmationCode);
+    long h2 = secondHash(h1);
+    for (int i = 0; i < hashes; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of bits of the filter.
+   *
+   * @return The number of bits.
+   */
+  long bits() {
+    return bits;
+  }
+
+  /**
+   * Gets the number of hash functions of the filter.
+   *
+   * @return The number of hash functions.
+   */
+  int hashes() {
+    return hashes;
+  }
+
+  // Random codes are already uniformly distributed, but time ordered codes are not, so both halves
+  // are mixed. The hash functions are derived from two hashes as h1 + i * h2.
+  private static long hash(UUID confirmationCode) {
+    return mix(
+        confirmationCode.getMostSignificantBits()
+            ^ mix(confirmationCode.getLeastSignificantBits()));
+  }
+
+  private static long secondHash(long h1) {
+    // Odd, so that the derived hashes do not repeat before covering the filter.
+    return mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+  }
+
+  // The finalizer of MurmurHash3.
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB93FE1A85A53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,321 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationStatusesChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidReservationException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service which looks up a {@link Reservation Reservation} by its confirmation code. Lookups go
+ * through a bounded {@link ClockCache ClockCache} of recently found reservations. Codes which are
+ * not cached are checked against a {@link ConfirmationCodeFilter ConfirmationCodeFilter} of every
+ * existing code first, so that most mistyped or guessed codes are rejected without touching the
+ * database. Codes which pass the filter but do not exist are remembered for a short while in a
+ * second cache, so repeated lookups of the same false positive do not reach the database either.
+ * Reservations can also be looked up by their {@link ShortCode ShortCode}, which is kept in the
+ * caches and the filter next to the confirmation code.
+ *
+ * <p>The filter is rebuilt from the reservation table periodically, which resizes it and drops
+ * codes of deleted reservations. In between, codes booked on this node are added as they are
+ * booked, and codes booked on other nodes are caught up by reading the reservations with an id
+ * greater than the one read a catch-up window ago. Ids are drawn before the booking commits, so
+ * reading again over the window also picks up bookings which committed out of order. Confirmation
+ * codes carry the time they were generated, so a code generated within the catch-up window skips
+ * the filter and is looked up in the database, which keeps a booking on another node from being
+ * reported as not found before a refresh has read it. Short codes carry no time and may be reported
+ * as not found for up to the refresh interval after they were booked.
+ *
+ * <p>Found reservations are dropped from the cache when the statuses of reservations change in
+ * bulk, so a lookup does not return a status which is out of date for longer than the time to live
+ * of the cache, which bounds how long a change made on another node goes unnoticed.
+ */
+@Service
+class ConfirmationLookupService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConfirmationLookupService.class);
+
+  private final ReservationDao reservationDao;
+  private final LookupMetrics lookupMetrics;
+  private final Clock clock;
+  private final Duration catchUpWindow;
+  private final ClockCache<UUID, Reservation> found;
+  private final ClockCache<UUID, Boolean> notFound;
+  private final double falsePositiveProbability;
+
+  // Serializes rebuilds and refreshes, which both read the reservation table into the filter.
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  // Null until the first build, in which case every lookup which misses the cache is answered by
+  // the database.
+  private volatile @Nullable ConfirmationCodeFilter filter;
+
+  // The filter which is being built, which codes booked during the build are also added to.
+  private volatile @Nullable ConfirmationCodeFilter building;
+
+  // The greatest id read by every refresh within the catch-up window and the newest one before it,
+  // oldest first, only accessed while holding the refresh lock. A refresh reads again from the
+  // oldest, which is the newest id read at least a catch-up window ago.
+  private final ArrayDeque<ReadMark> readMarks = new ArrayDeque<>();
+
+  /**
+   * Creates a {@link ConfirmationLookupService ConfirmationLookupService}.
+   *
+   * @param reservationDao The reservation DAO.
+   * @param lookupMetrics The counters of the lookup path.
+   * @param cacheCapacity The maximum number of found reservations which are cached.
+   * @param cacheTtl How long a found reservation is cached.
+   * @param negativeCacheCapacity The maximum number of codes which were not found that are cached.
+   * @param negativeCacheTtl How long a code which was not found is cached.
+   * @param falsePositiveProbability The false positive probability the filter is sized for.
+   * @param catchUpWindow How long after it was generated a code may commit and still be found.
+   * @param clock The clock used to tell which codes are within the catch-up window.
+   */
+  ConfirmationLookupService(
+      ReservationDao reservationDao,
+      LookupMetrics lookupMetrics,
+      @Value("${lookup.cache.capacity}") int cacheCapacity,
+      @Value("${lookup.cache.ttl}") Duration cacheTtl,
+      @Value("${lookup.negative-cache.capacity}") int negativeCacheCapacity,
+      @Value("${lookup.negative-cache.ttl}") Duration negativeCacheTtl,
+      @Value("${lookup.filter.false-positive-probability}") double falsePositiveProbability,
+      @Value("${lookup.filter.catch-up-window}") Duration catchUpWindow,
+      Clock clock) {
+    this.reservationDao = reservationDao;
+    this.lookupMetrics = lookupMetrics;
+    this.clock = clock;
+    this.catchUpWindow = catchUpWindow;
+    this.found = new ClockCache<>(cacheCapacity, cacheTtl);
+    this.notFound = new ClockCache<>(negativeCacheCapacity, negativeCacheTtl);
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  /**
+   * Finds a reservation by a code as given by a customer, which is either the confirmation code or
+   * its short form.
+   *
+   * @param code The confirmation code or short code.
+   * @return The {@link Reservation Reservation}.
+   * @throws InvalidReservationException if the code is neither a confirmation code nor a short
+   *     code.
+   * @throws ReservationNotFoundException if no reservation has the code.
+   */
+  Reservation find(String code) {
+    // UUID.fromString also accepts abbreviated groups, so only the canonical form is accepted.
+    if (code.length() == 36) {
+      try {
+        return find(UUID.fromString(code));
+      } catch (IllegalArgumentException e) {
+        throw invalidCode();
+      }
+    }
+    return findByShortCode(
+        ShortCode.parse(code).orElseThrow(ConfirmationLookupService::invalidCode));
+  }
+
+  /**
+   * Finds a reservation by its confirmation code.
+   *
+   * @param confirmationCode The confirmation code.
+   * @return The {@link Reservation Reservation}.
+   * @throws ReservationNotFoundException if no reservation has the confirmation code.
+   */
+  Reservation find(UUID confirmationCode) {
+    return find(
+        confirmationCode,
+        isRecent(confirmationCode),
+        () -> reservationDao.findByConfirmationCode(confirmationCode),
+        () -> new ReservationNotFoundException(confirmationCode));
+  }
+
+  /**
+   * Finds a reservation by the short form of its confirmation code.
+   *
+   * @param shortCode The short code, without hyphen.
+   * @return The {@link Reservation Reservation}.
+   * @throws ReservationNotFoundException if no reservation has the short code.
+   */
+  Reservation findByShortCode(String shortCode) {
+    return find(
+        ShortCode.key(shortCode),
+        false,
+        () -> reservationDao.findByShortCode(shortCode),
+        () -> new ReservationNotFoundException(shortCode));
+  }
+
+  // Confirmation codes and short codes share the caches and the filter under their keys. Recent
+  // codes may not have been read into the filter yet, so they are not rejected by it.
+  private Reservation find(
+      UUID key,
+      boolean recent,
+      Supplier<Optional<Reservation>> query,
+      Supplier<ReservationNotFoundException> notFoundException) {
+    var cached = found.get(key);
+    if (cached != null) {
+      lookupMetrics.recordHit();
+      return cached;
+    }
+    lookupMetrics.recordMiss();
+
+    var current = filter;
+    if (current != null && !recent && !current.mightContain(key)) {
+      lookupMetrics.recordRejection();
+      throw notFoundException.get();
+    }
+    if (notFound.get(key) != null) {
+      lookupMetrics.recordNegativeHit();
+      throw notFoundException.get();
+    }
+
+    var reservation = query.get();
+    if (reservation.isEmpty()) {
+      // A recent code was not tested against the filter, so its miss is no false positive.
+      if (current != null && !recent) {
+        lookupMetrics.recordFalsePositive();
+      }
+      notFound.put(key, Boolean.TRUE);
+      throw notFoundException.get();
+    }
+    found.put(key, reservation.get());
+    return reservation.get();
+  }
+
+  /**
+   * Adds the code of a booked reservation to the filter once the transaction which booked it has
+   * committed, or immediately if it was booked outside of a transaction.
+   *
+   * @param event The reservation booked event.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  void onReservationBooked(ReservationBookedEvent event) {
+    // The filter being built is read first. If no build is running, a build which starts later
+    // reads the committed reservation, and if the build has finished, the filter is the new one.
+    var next = building;
+    if (next != null) {
+      put(next, event.confirmationCode());
+    }
+    var current = filter;
+    if (current != null) {
+      put(current, event.confirmationCode());
+    }
+    notFound.invalidate(event.confirmationCode());
+    notFound.invalidate(ShortCode.key(event.confirmationCode()));
+  }
+
+  /**
+   * Drops every found reservation from the cache, since any of them may have changed status.
+   *
+   * @param event The reservation statuses changed event.
+   */
+  @EventListener
+  void onReservationStatusesChanged(ReservationStatusesChangedEvent event) {
+    found.invalidateAll();
+  }
+
+  /** Builds a new filter from every reservation once the application is ready and periodically. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      initialDelayString = "${lookup.filter.rebuild-interval}",
+      fixedDelayString = "${lookup.filter.rebuild-interval}")
+  public void rebuild() {
+    refreshLock.lock();
+    try {
+      // Every reservation takes two keys, and the filter is sized for twice the current
+      // reservations, so it stays below its false positive probability while it fills up until the
+      // next rebuild.
+      var next =
+          ConfirmationCodeFilter.create(reservationDao.count() * 4, falsePositiveProbability);
+      building = next;
+      var readAt = clock.instant();
+      long readId = reservationDao.findConfirmationCodesAfter(0L, code -> put(next, code));
+      filter = next;
+      building = null;
+      readMarks.clear();
+      readMarks.addLast(new ReadMark(readAt, readId));
+      LOGGER.debug(
+          "Rebuilt the confirmation code filter with {} bits and {} hashes up to reservation {}",
+          next.bits(),
+          next.hashes(),
+          readId);
+    } finally {
+      building = null;
+      refreshLock.unlock();
+    }
+  }
+
+  /** Adds the codes of reservations booked since the last refresh, including on other nodes. */
+  @Scheduled(
+      initialDelayString = "${lookup.filter.refresh-interval}",
+      fixedDelayString = "${lookup.filter.refresh-interval}")
+  public void refresh() {
+    refreshLock.lock();
+    try {
+      var current = filter;
+      if (current == null) {
+        return;
+      }
+      var readAt = clock.instant();
+      var horizon = readAt.minus(catchUpWindow);
+      while (readMarks.size() > 1) {
+        var oldest = readMarks.removeFirst();
+        if (readMarks.getFirst().readAt().isAfter(horizon)) {
+          readMarks.addFirst(oldest);
+          break;
+        }
+      }
+      long readId =
+          reservationDao.findConfirmationCodesAfter(
+              readMarks.getFirst().readId(), code -> caughtUp(current, code));
+      readMarks.addLast(new ReadMark(readAt, Math.max(readMarks.getLast().readId(), readId)));
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  // Codes from a clock which is ahead are also recent, but not ones too far ahead to be real.
+  private boolean isRecent(UUID confirmationCode) {
+    var now = clock.instant();
+    return TimeOrderedUuidGenerator.timestamp(confirmationCode)
+        .filter(generatedAt -> generatedAt.isAfter(now.minus(catchUpWindow)))
+        .filter(generatedAt -> generatedAt.isBefore(now.plus(catchUpWindow)))
+        .isPresent();
+  }
+
+  private static InvalidReservationException invalidCode() {
+    return new InvalidReservationException(
+        new ErrorDetail[] {RequestErrors.InvalidConfirmationCode()});
+  }
+
+  // A code read by a refresh may have been looked up before its booking committed.
+  private void caughtUp(ConfirmationCodeFilter filter, UUID confirmationCode) {
+    put(filter, confirmationCode);
+    notFound.invalidate(confirmationCode);
+    notFound.invalidate(ShortCode.key(confirmationCode));
+  }
+
+  private static void put(ConfirmationCodeFilter filter, UUID confirmationCode) {
+    filter.put(confirmationCode);
+    filter.put(ShortCode.key(confirmationCode));
+  }
+
+  private record ReadMark(Instant readAt, long readId) {}
+}
@@ -0,0 +1,33 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the lookup of the group which accepts a party, the first step of a
+ * booking or hold.
+ */
+@Name("reservationsystem.GroupResolution")
+@Label("Group Resolution")
+@Category({"Reservation System", "Booking"})
+@Description("The lookup of the group which accepts a party")
+final class GroupResolutionEvent extends Event {
+
+  @Label("People")
+  int people;
+
+  @Label("Slot Start")
+  @Description("The requested start time")
+  String slotStart = "";
+
+  @Label("Group Id")
+  @Description("The id of the group which accepts the party, 0 if there is none")
+  long groupId;
+
+  @Label("Outcome")
+  @Description("FOUND or NO_GROUP")
+  String outcome = "";
+}
@@ -0,0 +1,37 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A record to hold a temporary hold on the time range of a reservation. While a hold has not
+ * expired no other customer can hold or book an overlapping time range, and the customer holding it
+ * can confirm it as a reservation.
+ *
+ * @param holdId The hold id.
+ * @param startTime The start time.
+ * @param endTime The end time, inclusive.
+ * @param people The number of people in the party.
+ * @param minPeople The minimum number of people of the group of the party.
+ * @param maxPeople The maximum number of people of the group of the party.
+ * @param expiresAt The time at which the hold expires.
+ */
+record Hold(
+    UUID holdId,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    int people,
+    int minPeople,
+    int maxPeople,
+    LocalDateTime expiresAt) {
+
+  /**
+   * Checks if the hold is still active at a time.
+   *
+   * @param now The time.
+   * @return True if the hold expires after the time or false otherwise.
+   */
+  boolean isActive(LocalDateTime now) {
+    return expiresAt.isAfter(now);
+  }
+}
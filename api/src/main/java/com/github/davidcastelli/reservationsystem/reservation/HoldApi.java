@@ -0,0 +1,196 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.springframework.http.ProblemDetail;
+
+/** Hold controller for handling requests to hold time ranges while customers check out. */
+@Tag(name = "Holds", description = "Endpoints for holding and confirming reservation times.")
+interface HoldApi {
+
+  /**
+   * Endpoint for holding the time range a party would take from a start time. No other customer can
+   * hold or book an overlapping time range until the hold is confirmed or expires.
+   *
+   * @param request The request to hold a time range.
+   * @return The {@link HoldDto HoldDto} of the hold.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema = @Schema(type = "object", additionalPropertiesSchema = HoldDto.class),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "holdId": "0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20",
+                                    "startTime": "2025-06-14T10:00:00",
+                                    "endTime": "2025-06-14T10:04:00",
+                                    "people": 4,
+                                    "expiresAt": "2025-06-13T15:32:10.123456"
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/holds",
+                                    "errors": {
+                                        "Reservation.People": [
+                                            "No group accepts 40 people."
+                                        ]
+                                    }
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Conflict",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.10",
+                                    "title": "Conflict",
+                                    "status": 409,
+                                    "detail": "The reservation overlaps another reservation.",
+                                    "instance": "/api/holds",
+                                    "alternativeStartTime": "2025-06-14T10:08:00",
+                                    "errors": {
+                                        "Reservation.Held": [
+                                            "The reservation overlaps a hold of another customer."
+                                        ]
+                                    }
+                                }
+                              """))
+            })
+      })
+  HoldDto hold(
+      @RequestBody(
+              description = "Time range to hold",
+              required = true,
+              content =
+                  @Content(
+                      mediaType = "application/json",
+                      schema = @Schema(implementation = HoldRequest.class),
+                      examples =
+                          @ExampleObject(
+                              value =
+                                  """
+                                      {
+                                        "startTime": "2025-06-14T10:00:00",
+                                        "people": 4
+                                      }
+                                  """)))
+          HoldRequest request);
+
+  /**
+   * Endpoint for confirming a hold as a reservation. A hold can be confirmed once, on any node,
+   * until it expires.
+   *
+   * @param id The id of the hold.
+   * @param request The request to confirm the hold.
+   * @return The {@link ReservationDto ReservationDto} of the booked reservation.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ReservationDto.class),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "reservationId": 1,
+                                    "name": "Castelli",
+                                    "startTime": "2025-06-14T10:00:00",
+                                    "endTime": "2025-06-14T10:04:00",
+                                    "people": 4,
+                                    "confirmationCode": "01977a4e-8f4b-7a55-9d0e-6c1b7b2e5a10",
+                                    "shortCode": "KC3DX-JWPGG",
+                                    "status": "PAID",
+                                    "note": null
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Hold not found or expired",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.5",
+                                    "title": "Not Found",
+                                    "status": 404,
+                                    "detail": "Hold with id: 0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20 could not be found or has expired.",
+                                    "instance": "/api/holds/0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20:confirm"
+                                }
+                              """))
+            })
+      })
+  ReservationDto confirm(
+      @Parameter(description = "The id of the hold") UUID id,
+      @RequestBody(
+              description = "Customer details of the reservation",
+              required = true,
+              content =
+                  @Content(
+                      mediaType = "application/json",
+                      schema = @Schema(implementation = ConfirmHoldRequest.class),
+                      examples =
+                          @ExampleObject(
+                              value =
+                                  """
+                                      {
+                                        "name": "Castelli",
+                                        "note": null
+                                      }
+                                  """)))
+          ConfirmHoldRequest request);
+}
@@ -0,0 +1,51 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api")
+class HoldController implements HoldApi {
+
+  private final HoldService holdService;
+
+  /**
+   * Creates a {@link HoldController HoldController}.
+   *
+   * @param holdService The hold service.
+   */
+  HoldController(HoldService holdService) {
+    this.holdService = holdService;
+  }
+
+  @PostMapping(value = "/holds")
+  @ResponseStatus(HttpStatus.CREATED)
+  @Override
+  public HoldDto hold(@RequestBody @Valid HoldRequest request) {
+    var hold = holdService.hold(request.startTime(), request.people());
+
+    return new HoldDto(
+        hold.holdId(), hold.startTime(), hold.endTime(), hold.people(), hold.expiresAt());
+  }
+
+  @PostMapping(value = "/holds/{id}:confirm")
+  @ResponseStatus(HttpStatus.CREATED)
+  @Override
+  public ReservationDto confirm(
+      @PathVariable UUID id, @RequestBody @Valid ConfirmHoldRequest request) {
+    var reservation = holdService.confirm(id, request.name(), request.note());
+
+    return new ReservationDto(
+        reservation.reservationId(),
+        reservation.name(),
+        reservation.startTime(),
+        reservation.endTime(),
+        reservation.people(),
+        reservation.confirmationCode(),
+        ShortCode.format(reservation.confirmationCode()),
+        reservation.status(),
+        reservation.note());
+  }
+}
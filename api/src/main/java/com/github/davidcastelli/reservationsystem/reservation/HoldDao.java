@@ -0,0 +1,192 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DAO used to perform persistence operations on a {@link Hold Hold}. Expiry is always judged by the
+ * current time passed in by the caller, which is read from the same clock the {@link HoldWheel
+ * HoldWheel} is checked against, so that a hold expires in the database when it expires in memory.
+ */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class HoldDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link HoldDao HoldDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  HoldDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  // The hold row is deleted and the reservation is inserted from it by a single statement, so a
+  // hold can only be confirmed once and never after it has expired.
+  static final String CONFIRM_SQL =
+      """
+      WITH hold AS (
+          DELETE FROM reservation_hold
+          WHERE hold_id = :holdId AND expires_at > :now
+          RETURNING start_time, end_time, people, min_people, max_people
+      )
+      INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status, note)
+      SELECT :name, start_time, end_time, people, min_people, max_people, :confirmationCode, CAST(:status AS status), :note
+      FROM hold
+      RETURNING reservation_id, start_time, end_time, people, min_people, max_people
+      """;
+
+  RowMapper<Hold> rowMapper =
+      (rs, rowNum) ->
+          new Hold(
+              rs.getObject("hold_id", UUID.class),
+              rs.getObject("start_time", LocalDateTime.class),
+              rs.getObject("end_time", LocalDateTime.class),
+              rs.getInt("people"),
+              rs.getInt("min_people"),
+              rs.getInt("max_people"),
+              rs.getObject("expires_at", LocalDateTime.class));
+
+  /**
+   * Performs the operation to retrieve all holds which have not expired.
+   *
+   * @param now The current time.
+   * @return A list of {@link Hold Holds}.
+   */
+  List<Hold> findActive(LocalDateTime now) {
+    return jdbcClient
+        .sql("SELECT * FROM reservation_hold WHERE expires_at > :now")
+        .param("now", now)
+        .query(rowMapper)
+        .list();
+  }
+
+  /**
+   * Performs the operation to delete the expired holds overlapping a time range, which would
+   * otherwise block a new hold through the overlapping_hold exclusion constraint until swept.
+   *
+   * @param startTime The start time of the time range.
+   * @param endTime The end time of the time range, inclusive.
+   * @param now The current time.
+   * @return The number of holds deleted.
+   */
+  int deleteExpiredOverlapping(LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+    return jdbcClient
+        .sql(
+            "DELETE FROM reservation_hold WHERE tsrange(start_time, end_time, '[]') && tsrange(CAST(:startTime AS timestamp), CAST(:endTime AS timestamp), '[]') AND expires_at <= :now")
+        .param("startTime", startTime)
+        .param("endTime", endTime)
+        .param("now", now)
+        .update();
+  }
+
+  /**
+   * Performs the operation to create a hold for a time range if no reservation overlaps it. Only
+   * the partition of the month of the time range is searched for overlapping reservations.
+   *
+   * @param holdId The hold id.
+   * @param startTime The start time.
+   * @param endTime The end time, inclusive.
+   * @param people The number of people in the party.
+   * @param minPeople The minimum number of people of the group of the party.
+   * @param maxPeople The maximum number of people of the group of the party.
+   * @param expiresAt The time at which the hold expires.
+   * @return An optional {@link Hold Hold} or empty if a reservation overlaps the time range.
+   */
+  Optional<Hold> create(
+      UUID holdId,
+      LocalDateTime startTime,
+      LocalDateTime endTime,
+      int people,
+      int minPeople,
+      int maxPeople,
+      LocalDateTime expiresAt) {
+    return jdbcClient
+        .sql(
+            """
+            INSERT INTO reservation_hold (hold_id, start_time, end_time, people, min_people, max_people, expires_at)
+            SELECT :holdId, :startTime, :endTime, :people, :minPeople, :maxPeople, :expiresAt
+            WHERE NOT EXISTS (
+                SELECT 1
+                FROM reservation
+                WHERE tsrange(start_time, end_time, '[]') && tsrange(CAST(:startTime AS timestamp), CAST(:endTime AS timestamp), '[]')
+                    AND start_time >= date_trunc('month', CAST(:startTime AS timestamp))
+                    AND start_time <= CAST(:endTime AS timestamp)
+            )
+            RETURNING *
+            """)
+        .param("holdId", holdId)
+        .param("startTime", startTime)
+        .param("endTime", endTime)
+        .param("people", people)
+        .param("minPeople", minPeople)
+        .param("maxPeople", maxPeople)
+        .param("expiresAt", expiresAt)
+        .query(rowMapper)
+        .optional();
+  }
+
+  /**
+   * Performs the operation to confirm a hold which has not expired as a paid reservation.
+   *
+   * @param holdId The id of the hold.
+   * @param name The name to book the reservation under.
+   * @param confirmationCode The confirmation code of the reservation.
+   * @param note An optional note for the reservation.
+   * @param now The current time.
+   * @return An optional {@link Reservation Reservation} or empty if the hold could not be found or
+   *     has expired.
+   */
+  Optional<Reservation> confirm(
+      UUID holdId, String name, UUID confirmationCode, @Nullable String note, LocalDateTime now) {
+    return jdbcClient
+        .sql(CONFIRM_SQL)
+        .param("holdId", holdId)
+        .param("name", name)
+        .param("confirmationCode", confirmationCode)
+        .param("status", ReservationStatus.PAID.dbValue())
+        .param("note", note)
+        .param("now", now)
+        .query(
+            (rs, rowNum) ->
+                new Reservation(
+                    rs.getLong("reservation_id"),
+                    name,
+                    rs.getObject("start_time", LocalDateTime.class),
+                    rs.getObject("end_time", LocalDateTime.class),
+                    rs.getInt("people"),
+                    rs.getInt("min_people"),
+                    rs.getInt("max_people"),
+                    confirmationCode,
+                    ReservationStatus.PAID,
+                    note,
+                    null))
+        .optional();
+  }
+
+  /**
+   * Performs the operation to delete every expired hold in a single statement, which finds them
+   * through the index on the expiry.
+   *
+   * @param now The current time.
+   * @return The number of holds deleted.
+   */
+  int deleteExpired(LocalDateTime now) {
+    return jdbcClient
+        .sql("DELETE FROM reservation_hold WHERE expires_at <= :now")
+        .param("now", now)
+        .update();
+  }
+}
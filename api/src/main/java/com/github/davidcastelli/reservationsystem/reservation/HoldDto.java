@@ -0,0 +1,20 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A hold DTO to return to the client after a time range has been held.
+ *
+ * @param holdId The id with which the hold is confirmed.
+ * @param startTime The start time.
+ * @param endTime The end time, inclusive.
+ * @param people The number of people in the party.
+ * @param expiresAt The time at which the hold expires.
+ */
+record HoldDto(
+    UUID holdId,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    int people,
+    LocalDateTime expiresAt) {}
@@ -0,0 +1,14 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+/**
+ * A hold request sent by the client to hold a start time for a party while the customer checks out.
+ *
+ * @param startTime The requested start time.
+ * @param people The number of people in the party.
+ */
+record HoldRequest(
+    @NotNull(message = "The start time must not be null") LocalDateTime startTime,
+    @Positive(message = "The number of people must be greater than 0") int people) {}
@@ -0,0 +1,193 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.event.HoldCreatedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.HoldReleasedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import com.github.davidcastelli.reservationsystem.common.exception.HoldNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidReservationException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationConflictException;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service which holds time ranges for customers while they check out and confirms holds as
+ * reservations. Holds are written to the reservation_hold table, so that they are seen by every
+ * node and survive the node which created them, and are also kept in the {@link HoldWheel
+ * HoldWheel} of this node to reject overlapping holds and bookings without a round trip.
+ */
+@Service
+class HoldService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HoldService.class);
+
+  private final HoldDao holdDao;
+  private final HoldWheel holdWheel;
+  private final ReservationService reservationService;
+  private final BookingExecutor bookingExecutor;
+  private final TimeOrderedUuidGenerator uuidGenerator;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration ttl;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link HoldService HoldService}.
+   *
+   * @param holdDao The hold DAO.
+   * @param holdWheel The holds known to this node.
+   * @param reservationService The reservation service used to check and write time ranges.
+   * @param bookingExecutor The executor which runs and retries the confirmations of holds.
+   * @param uuidGenerator The generator of hold ids and confirmation codes.
+   * @param transactionTemplate The transaction template used to create a hold in one transaction.
+   * @param eventPublisher The event publisher used to announce holds and confirmed reservations.
+   * @param ttl How long a hold is held.
+   * @param clock The clock the expiry of holds is judged by.
+   */
+  HoldService(
+      HoldDao holdDao,
+      HoldWheel holdWheel,
+      ReservationService reservationService,
+      BookingExecutor bookingExecutor,
+      TimeOrderedUuidGenerator uuidGenerator,
+      TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${holds.ttl}") Duration ttl,
+      Clock clock) {
+    this.holdDao = holdDao;
+    this.holdWheel = holdWheel;
+    this.reservationService = reservationService;
+    this.bookingExecutor = bookingExecutor;
+    this.uuidGenerator = uuidGenerator;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.ttl = ttl;
+    this.clock = clock;
+  }
+
+  /**
+   * Holds the time range a party would take from a start time. The hold is rejected if it overlaps
+   * a reservation or an active hold, and expired holds in its way are deleted first. The hold is
+   * created under the lock on its day, so a reservation booked at the same time either is seen by
+   * the hold or sees it.
+   *
+   * @param startTime The start time.
+   * @param people The number of people in the party.
+   * @return The {@link Hold Hold}.
+   * @throws InvalidReservationException if no group accepts the party or the time range is not
+   *     within the opening hours and the booking horizon.
+   * @throws ReservationConflictException if the time range overlaps a reservation or active hold.
+   * @throws BookingContentionException if every attempt failed with a transient failure.
+   */
+  Hold hold(LocalDateTime startTime, int people) {
+    var slot = reservationService.resolve(startTime, people);
+    reservationService.checkNotHeld(slot);
+
+    var holdId = uuidGenerator.next();
+    var hold =
+        reservationService
+            .execute(
+                slot,
+                () ->
+                    transactionTemplate.execute(
+                        status -> {
+                          reservationService.lockDay(slot);
+                          var now = LocalDateTime.now(clock);
+                          holdDao.deleteExpiredOverlapping(slot.startTime(), slot.endTime(), now);
+                          return holdDao.create(
+                              holdId,
+                              slot.startTime(),
+                              slot.endTime(),
+                              people,
+                              slot.group().minPeople(),
+                              slot.group().maxPeople(),
+                              now.plus(ttl));
+                        }))
+            .orElseThrow(
+                () -> reservationService.conflict(slot, RequestErrors.OverlappingReservation()));
+    holdWheel.add(hold);
+    eventPublisher.publishEvent(new HoldCreatedEvent(hold.startTime(), hold.endTime()));
+    return hold;
+  }
+
+  /**
+   * Confirms a hold which has not expired as a paid reservation. The hold may have been created on
+   * any node.
+   *
+   * @param holdId The id of the hold.
+   * @param name The name to book the reservation under.
+   * @param note An optional note for the reservation.
+   * @return The {@link Reservation Reservation} which was booked.
+   * @throws HoldNotFoundException if the hold could not be found or has expired.
+   * @throws ReservationConflictException if a reservation booked past the hold overlaps it.
+   * @throws BookingContentionException if every attempt failed with a transient failure.
+   */
+  Reservation confirm(UUID holdId, String name, @Nullable String note) {
+    var confirmationCode = uuidGenerator.next();
+    Reservation reservation;
+    try {
+      reservation =
+          bookingExecutor
+              .execute(
+                  () ->
+                      holdDao.confirm(
+                          holdId, name, confirmationCode, note, LocalDateTime.now(clock)))
+              .orElseThrow(() -> new HoldNotFoundException(holdId));
+    } catch (RuntimeException e) {
+      if (BookingExecutor.classify(e) != BookingExecutor.Failure.CONFLICT) {
+        throw e;
+      }
+      // Holds and bookings of a day are serialized, so only a booking which judged the hold to have
+      // expired can get here, one running just past the expiry or on a node whose clock is ahead.
+      throw new ReservationConflictException(
+          new ErrorDetail[] {RequestErrors.OverlappingReservation()}, null);
+    }
+    holdWheel.remove(holdId, reservation.startTime());
+    eventPublisher.publishEvent(
+        new ReservationBookedEvent(
+            reservation.startTime(), reservation.endTime(), reservation.confirmationCode()));
+    return reservation;
+  }
+
+  /** Loads the active holds from the database, including those created by other nodes. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    var holds = holdDao.findActive(LocalDateTime.now(clock));
+    holds.forEach(holdWheel::add);
+    LOGGER.debug("Loaded {} active holds", holds.size());
+  }
+
+  /**
+   * Releases the expired holds of this node and deletes every expired hold from the database, each
+   * in bulk. Every released hold is announced, so its time range can be offered again. Sweeping on
+   * several nodes at once is harmless, since a hold is only deleted once.
+   */
+  @Scheduled(fixedDelayString = "${holds.sweep-interval}")
+  public void sweep() {
+    var now = LocalDateTime.now(clock);
+    var released = holdWheel.expire(now);
+    released.forEach(
+        hold ->
+            eventPublisher.publishEvent(new HoldReleasedEvent(hold.startTime(), hold.endTime())));
+    int deleted = holdDao.deleteExpired(now);
+    if (!released.isEmpty() || deleted > 0) {
+      LOGGER.debug(
+          "Released {} expired holds and deleted {} from the database", released.size(), deleted);
+    }
+  }
+}
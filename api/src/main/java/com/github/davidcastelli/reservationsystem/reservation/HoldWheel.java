@@ -0,0 +1,157 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * In-memory copy of the holds known to this node, which answers whether a time range is held
+ * without a round trip to the database. The holds are indexed by start time in a skip list and are
+ * also placed in the bucket of a timing wheel for the tick in which they expire, so that expired
+ * holds are released in bulk by draining the buckets of the elapsed ticks instead of scanning every
+ * hold. All structures are lock-free, so lookups and additions never wait for the sweeper.
+ *
+ * <p>The reservation_hold table stays the source of truth and also holds the holds of other nodes,
+ * so a time range which is not held here may still be held in the database.
+ */
+@Component
+class HoldWheel {
+
+  private final long tickMillis;
+  private final int mask;
+  private final ConcurrentLinkedQueue<Hold>[] buckets;
+  private final ConcurrentSkipListMap<LocalDateTime, Hold> holds = new ConcurrentSkipListMap<>();
+
+  // The longest hold seen, which bounds how far before a time range an overlapping hold can start.
+  private final AtomicLong maxLengthSeconds = new AtomicLong();
+
+  // The next tick whose bucket has not been drained.
+  private final AtomicLong cursor;
+
+  /**
+   * Creates a {@link HoldWheel HoldWheel} with enough buckets for a hold to expire within a single
+   * rotation of the wheel.
+   *
+   * @param tick The width of a tick of the wheel.
+   * @param ttl How long a hold is held.
+   * @param clock The clock the first tick is read from.
+   */
+  @SuppressWarnings("unchecked")
+  HoldWheel(
+      @Value("${holds.tick}") Duration tick, @Value("${holds.ttl}") Duration ttl, Clock clock) {
+    Assert.isTrue(tick.toMillis() > 0, "The tick must be at least one millisecond");
+    this.tickMillis = tick.toMillis();
+    int size = Integer.highestOneBit((int) Math.max(1, ttl.toMillis() / tickMillis + 1)) << 1;
+    this.mask = size - 1;
+    this.buckets = new ConcurrentLinkedQueue[size];
+    for (int i = 0; i < size; i++) {
+      buckets[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.cursor = new AtomicLong(tickOf(LocalDateTime.now(clock)));
+  }
+
+  /**
+   * Adds a hold. A hold which starts at the same time as a known hold replaces it, since the
+   * database only accepts a new hold over an expired one.
+   *
+   * @param hold The hold.
+   */
+  void add(Hold hold) {
+    maxLengthSeconds.accumulateAndGet(
+        Duration.between(hold.startTime(), hold.endTime()).toSeconds(), Math::max);
+    holds.put(hold.startTime(), hold);
+    // A hold expiring in an already drained tick goes into the next bucket to be drained. Should
+    // the sweeper pass that bucket in the meantime, the hold is released one rotation later.
+    long tick = Math.max(tickOf(hold.expiresAt()), cursor.get());
+    buckets[(int) (tick & mask)].offer(hold);
+  }
+
+  /**
+   * Removes a hold, for example after it has been confirmed. The hold stays in its bucket until it
+   * expires, where it is then skipped.
+   *
+   * @param holdId The id of the hold.
+   * @param startTime The start time of the hold.
+   */
+  void remove(UUID holdId, LocalDateTime startTime) {
+    holds.computeIfPresent(startTime, (start, hold) -> hold.holdId().equals(holdId) ? null : hold);
+  }
+
+  /**
+   * Checks if an active hold overlaps a time range. The bounds of both are inclusive, like the
+   * overlapping_hold exclusion constraint.
+   *
+   * @param startTime The start time of the time range.
+   * @param endTime The end time of the time range, inclusive.
+   * @param now The current time.
+   * @return True if an active hold overlaps the time range or false otherwise.
+   */
+  boolean isHeld(LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+    var earliestStart = startTime.minusSeconds(maxLengthSeconds.get());
+    for (var hold : holds.subMap(earliestStart, true, endTime, true).values()) {
+      if (hold.isActive(now) && !hold.endTime().isBefore(startTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Releases every hold which has expired by a time by draining the buckets of all ticks up to the
+   * time. Holds in those buckets which expire in a later rotation are put back. This is called by a
+   * single sweeper at a time.
+   *
+   * @param now The current time.
+   * @return The holds released.
+   */
+  List<Hold> expire(LocalDateTime now) {
+    long from = cursor.get();
+    long to = tickOf(now);
+    if (to < from) {
+      return List.of();
+    }
+    // After a long pause every bucket has elapsed, so each one is drained once.
+    long last = Math.min(to, from + mask);
+
+    var released = new ArrayList<Hold>();
+    var later = new ArrayList<Hold>();
+    for (long tick = from; tick <= last; tick++) {
+      var bucket = buckets[(int) (tick & mask)];
+      for (var hold = bucket.poll(); hold != null; hold = bucket.poll()) {
+        if (hold.isActive(now)) {
+          later.add(hold);
+        } else if (holds.remove(hold.startTime(), hold)) {
+          released.add(hold);
+        }
+      }
+    }
+    cursor.set(to + 1);
+    for (var hold : later) {
+      buckets[(int) (Math.max(tickOf(hold.expiresAt()), to + 1) & mask)].offer(hold);
+    }
+    return released;
+  }
+
+  /**
+   * Gets the number of holds known to this node, including expired holds not yet released.
+   *
+   * @return The number of holds.
+   */
+  int size() {
+    return holds.size();
+  }
+
+  private long tickOf(LocalDateTime time) {
+    return time.toInstant(ZoneOffset.UTC).toEpochMilli() / tickMillis;
+  }
+}
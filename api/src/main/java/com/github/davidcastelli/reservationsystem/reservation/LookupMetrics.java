@@ -0,0 +1,131 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters of the confirmation code lookup path. Like the {@link BookingMetrics BookingMetrics},
+ * the counters are {@link LongAdder LongAdders}, which do not contend on a single memory location.
+ * The counters are bound to the meter registry as {@link MetricNames#LOOKUPS MetricNames.LOOKUPS},
+ * the rates are left to the queries of the metrics.
+ */
+@Component
+class LookupMetrics implements MeterBinder {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder negativeHits = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+
+  @Override
+  public void bindTo(MeterRegistry meterRegistry) {
+    register(meterRegistry, "hit", LookupMetrics::hits);
+    register(meterRegistry, "miss", LookupMetrics::misses);
+    register(meterRegistry, "negative_hit", LookupMetrics::negativeHits);
+    register(meterRegistry, "rejection", LookupMetrics::rejections);
+    register(meterRegistry, "false_positive", LookupMetrics::falsePositives);
+  }
+
+  private void register(
+      MeterRegistry meterRegistry, String result, ToDoubleFunction<LookupMetrics> count) {
+    FunctionCounter.builder(MetricNames.LOOKUPS, this, count)
+        .description("The lookups of confirmation codes")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordMiss() {
+    misses.increment();
+  }
+
+  void recordNegativeHit() {
+    negativeHits.increment();
+  }
+
+  void recordRejection() {
+    rejections.increment();
+  }
+
+  void recordFalsePositive() {
+    falsePositives.increment();
+  }
+
+  /**
+   * Gets the number of lookups answered by the cache of found reservations.
+   *
+   * @return The number of hits.
+   */
+  long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of lookups which were not answered by the cache of found reservations.
+   *
+   * @return The number of misses.
+   */
+  long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the number of lookups answered by the cache of codes which were not found.
+   *
+   * @return The number of negative hits.
+   */
+  long negativeHits() {
+    return negativeHits.sum();
+  }
+
+  /**
+   * Gets the number of lookups rejected by the filter of confirmation codes.
+   *
+   * @return The number of rejections.
+   */
+  long rejections() {
+    return rejections.sum();
+  }
+
+  /**
+   * Gets the number of lookups of codes which do not exist but passed the filter of confirmation
+   * codes.
+   *
+   * @return The number of false positives.
+   */
+  long falsePositives() {
+    return falsePositives.sum();
+  }
+
+  /**
+   * Gets the share of lookups answered by the cache of found reservations.
+   *
+   * @return The hit rate, or 0 if there were no lookups.
+   */
+  double hitRate() {
+    return rate(hits(), hits() + misses());
+  }
+
+  /**
+   * Gets the share of lookups of codes which do not exist that passed the filter of confirmation
+   * codes.
+   *
+   * @return The false positive rate, or 0 if no code which does not exist was looked up.
+   */
+  double falsePositiveRate() {
+    return rate(falsePositives(), falsePositives() + rejections());
+  }
+
+  private static double rate(long count, long total) {
+    return total == 0 ? 0 : (double) count / total;
+  }
+}
@@ -0,0 +1,232 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ProblemDetail;
+
+/** Reservation controller for handling requests to book and look up reservations. */
+@Tag(name = "Reservations", description = "Endpoints for booking and looking up reservations.")
+interface ReservationApi {
+
+  /**
+   * Endpoint for booking a reservation. The party is assigned to the group whose people range
+   * contains the number of people and the reservation takes the start interval of that group. If
+   * the reservation overlaps another reservation, the nearest free start time of the same day is
+   * returned with the conflict.
+   *
+   * @param request The request to book a reservation.
+   * @return The {@link ReservationDto ReservationDto} of the booked reservation.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ReservationDto.class),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "reservationId": 1,
+                                    "name": "Castelli",
+                                    "startTime": "2025-06-14T10:00:00",
+                                    "endTime": "2025-06-14T10:04:00",
+                                    "people": 4,
+                                    "confirmationCode": "01977a4e-8f4b-7a55-9d0e-6c1b7b2e5a10",
+                                    "shortCode": "KC3DX-JWPGG",
+                                    "status": "PAID",
+                                    "note": null
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/reservations",
+                                    "errors": {
+                                        "Reservation.StartTime": [
+                                            "The reservation must start and end between 08:00 and 20:00."
+                                        ]
+                                    }
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Conflict",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.10",
+                                    "title": "Conflict",
+                                    "status": 409,
+                                    "detail": "The reservation overlaps another reservation.",
+                                    "instance": "/api/reservations",
+                                    "alternativeStartTime": "2025-06-14T10:08:00",
+                                    "errors": {
+                                        "Reservation.Overlapping": [
+                                            "The reservation overlaps another reservation."
+                                        ]
+                                    }
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Service unavailable",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.6.4",
+                                    "title": "Service Unavailable",
+                                    "status": 503,
+                                    "detail": "The reservation could not be booked due to contention, please try again.",
+                                    "instance": "/api/reservations"
+                                }
+                              """))
+            })
+      })
+  ReservationDto book(
+      @RequestBody(
+              description = "Reservation to book",
+              required = true,
+              content =
+                  @Content(
+                      mediaType = "application/json",
+                      schema = @Schema(implementation = ReservationRequest.class),
+                      examples =
+                          @ExampleObject(
+                              value =
+                                  """
+                                      {
+                                        "name": "Castelli",
+                                        "startTime": "2025-06-14T10:00:00",
+                                        "people": 4,
+                                        "note": null
+                                      }
+                                  """)))
+          ReservationRequest request);
+
+  /**
+   * Endpoint for looking up a reservation by its confirmation code or the short form of it. Short
+   * codes are accepted in any case and with or without the hyphen. Most codes which do not exist
+   * are rejected without a round trip to the database.
+   *
+   * @param code The confirmation code or short code of the reservation.
+   * @return The {@link ReservationDto ReservationDto} of the reservation.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ReservationDto.class),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "reservationId": 1,
+                                    "name": "Castelli",
+                                    "startTime": "2025-06-14T10:00:00",
+                                    "endTime": "2025-06-14T10:04:00",
+                                    "people": 4,
+                                    "confirmationCode": "01977a4e-8f4b-7a55-9d0e-6c1b7b2e5a10",
+                                    "shortCode": "KC3DX-JWPGG",
+                                    "status": "PAID",
+                                    "note": null
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.1",
+                                    "title": "Bad Request",
+                                    "status": 400,
+                                    "detail": "Request validation failed.",
+                                    "instance": "/api/reservations/KC3DX",
+                                    "errors": {
+                                        "Reservation.ConfirmationCode": [
+                                            "The code must be a confirmation code or a short code of ten characters."
+                                        ]
+                                    }
+                                }
+                              """))
+            }),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reservation not found",
+            content = {
+              @Content(
+                  schema =
+                      @Schema(type = "object", additionalPropertiesSchema = ProblemDetail.class),
+                  mediaType = "application/problem+json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                {
+                                    "type": "https://tools.ietf.org/html/rfc9110#section-15.5.5",
+                                    "title": "Not Found",
+                                    "status": 404,
+                                    "detail": "Reservation with confirmation code: 3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a11 could not be found.",
+                                    "instance": "/api/reservations/3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a11"
+                                }
+                              """))
+            })
+      })
+  ReservationDto findByCode(String code);
+}
@@ -0,0 +1,97 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/** DAO used to move reservations from the reservation table to the reservation_archive table. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class ReservationArchiveDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link ReservationArchiveDao ReservationArchiveDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  ReservationArchiveDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  private final RowMapper<ReservationKey> keyMapper =
+      (rs, rowNum) ->
+          new ReservationKey(
+              rs.getObject("start_time", LocalDateTime.class), rs.getLong("reservation_id"));
+
+  // The batch is the next reservations after the key in key order, which are read from the start
+  // time index instead of scanning the rows deleted by the batches before it. The bounds on the
+  // start time prune the partitions outside of them. Deleting and inserting in one statement moves
+  // the batch atomically, so a batch is either archived as a whole or not at all.
+  static final String ARCHIVE_SQL =
+      """
+      WITH moved AS (
+          DELETE FROM reservation
+          WHERE (start_time, reservation_id) IN (
+              SELECT start_time, reservation_id
+              FROM reservation
+              WHERE (start_time, reservation_id) > (CAST(:startTime AS timestamp), :reservationId)
+                  AND start_time >= CAST(:startTime AS timestamp)
+                  AND start_time <= CAST(:cutoff AS timestamp)
+              ORDER BY start_time, reservation_id
+              LIMIT :limit
+          )
+              AND start_time >= CAST(:startTime AS timestamp)
+              AND start_time <= CAST(:cutoff AS timestamp)
+          RETURNING *
+      ), archived AS (
+          INSERT INTO reservation_archive (reservation_id, name, start_time, end_time, people, min_people, max_people, confirmation_code, status, note, reminder)
+          SELECT reservation_id, name, start_time, end_time, people, min_people, max_people, confirmation_code, status, note, reminder
+          FROM moved
+          RETURNING start_time, reservation_id
+      )
+      SELECT start_time, reservation_id
+      FROM archived
+      ORDER BY start_time, reservation_id
+      """;
+
+  /**
+   * Performs the operation to retrieve the greatest key in the archive, after which archival
+   * resumes.
+   *
+   * @return An optional {@link ReservationKey ReservationKey} or empty if the archive is empty.
+   */
+  Optional<ReservationKey> findLastArchived() {
+    return jdbcClient
+        .sql(
+            "SELECT start_time, reservation_id FROM reservation_archive ORDER BY start_time DESC, reservation_id DESC LIMIT 1")
+        .query(keyMapper)
+        .optional();
+  }
+
+  /**
+   * Performs the operation to move a batch of reservations starting at or before a cutoff from the
+   * reservation table to the archive.
+   *
+   * @param after The key after which reservations are moved.
+   * @param cutoff The latest start time of a reservation which is moved.
+   * @param limit The maximum number of reservations which are moved.
+   * @return A list of the {@link ReservationKey ReservationKeys} which were moved, in key order.
+   */
+  List<ReservationKey> archive(ReservationKey after, LocalDateTime cutoff, int limit) {
+    return jdbcClient
+        .sql(ARCHIVE_SQL)
+        .param("startTime", after.startTime())
+        .param("reservationId", after.reservationId())
+        .param("cutoff", cutoff)
+        .param("limit", limit)
+        .query(keyMapper)
+        .list();
+  }
+}
@@ -0,0 +1,100 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+/**
+ * Service which moves expired reservations, which started before the earliest start time the
+ * reservation table accepts, to the reservation archive. The reservations are moved in small
+ * batches, each in a transaction of its own, so no batch holds its locks for long or writes much
+ * WAL at once, and the batches are paced to stay within a budget of rows per second.
+ *
+ * <p>Reservations are archived in key order and the archive remembers the greatest key it holds, so
+ * a run which is interrupted, even by a crash, is resumed after the last batch which committed.
+ * Nodes which archive at the same time only move a reservation once, since the delete of the one
+ * which comes second does not return it.
+ */
+@Service
+class ReservationArchiveService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReservationArchiveService.class);
+
+  private final ReservationArchiveDao reservationArchiveDao;
+  private final int batchSize;
+  private final int rowsPerSecond;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link ReservationArchiveService ReservationArchiveService}.
+   *
+   * @param reservationArchiveDao The reservation archive DAO.
+   * @param batchSize The maximum number of reservations moved by one batch.
+   * @param rowsPerSecond The maximum number of reservations moved per second.
+   * @param clock The clock used to tell the earliest start time.
+   * @throws IllegalArgumentException if the batch size or rows per second are not positive.
+   */
+  ReservationArchiveService(
+      ReservationArchiveDao reservationArchiveDao,
+      @Value("${archival.batch-size}") int batchSize,
+      @Value("${archival.rows-per-second}") int rowsPerSecond,
+      Clock clock) {
+    Assert.isTrue(batchSize > 0, "The batch size must be positive");
+    Assert.isTrue(rowsPerSecond > 0, "The rows per second must be positive");
+    this.reservationArchiveDao = reservationArchiveDao;
+    this.batchSize = batchSize;
+    this.rowsPerSecond = rowsPerSecond;
+    this.clock = clock;
+  }
+
+  /** Archives the reservations which started before the earliest start time periodically. */
+  @Scheduled(initialDelayString = "${archival.interval}", fixedDelayString = "${archival.interval}")
+  public void archive() {
+    // The complement of the start_time_limit constraint of the reservation table.
+    archive(
+        LocalDate.now(clock).minusMonths(ReservationService.BOOKING_HORIZON_MONTHS).atStartOfDay());
+  }
+
+  /**
+   * Archives the reservations starting at or before a cutoff, resuming after the last reservation
+   * which was archived. Archiving stops early if the thread is interrupted.
+   *
+   * @param cutoff The latest start time of a reservation which is archived.
+   * @return The number of reservations which were archived.
+   */
+  long archive(LocalDateTime cutoff) {
+    var after = reservationArchiveDao.findLastArchived().orElse(ReservationKey.FIRST);
+    long archived = 0;
+    long startedAt = System.nanoTime();
+    while (true) {
+      var batch = reservationArchiveDao.archive(after, cutoff, batchSize);
+      archived += batch.size();
+      if (batch.size() < batchSize) {
+        break;
+      }
+      after = batch.getLast();
+
+      // The next batch is due once the rows moved so far fit into the budget since the start.
+      long wait = startedAt + archived * 1_000_000_000L / rowsPerSecond - System.nanoTime();
+      if (wait > 0) {
+        try {
+          Thread.sleep(Duration.ofNanos(wait));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    if (archived > 0) {
+      LOGGER.info("Archived {} reservations starting at or before {}", archived, cutoff);
+    }
+    return archived;
+  }
+}
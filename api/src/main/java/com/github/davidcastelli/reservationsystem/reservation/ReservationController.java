@@ -0,0 +1,56 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api")
+class ReservationController implements ReservationApi {
+
+  private final ReservationService reservationService;
+  private final ConfirmationLookupService confirmationLookupService;
+
+  /**
+   * Creates a {@link ReservationController ReservationController}.
+   *
+   * @param reservationService The reservation service.
+   * @param confirmationLookupService The service looking up reservations by confirmation code.
+   */
+  ReservationController(
+      ReservationService reservationService, ConfirmationLookupService confirmationLookupService) {
+    this.reservationService = reservationService;
+    this.confirmationLookupService = confirmationLookupService;
+  }
+
+  @PostMapping(value = "/reservations")
+  @ResponseStatus(HttpStatus.CREATED)
+  @Override
+  public ReservationDto book(@RequestBody @Valid ReservationRequest request) {
+    var reservation =
+        reservationService.book(
+            request.name(), request.startTime(), request.people(), request.note());
+
+    return toDto(reservation);
+  }
+
+  @GetMapping(value = "/reservations/{code}")
+  @Override
+  public ReservationDto findByCode(@PathVariable String code) {
+    return toDto(confirmationLookupService.find(code));
+  }
+
+  private static ReservationDto toDto(Reservation reservation) {
+    return new ReservationDto(
+        reservation.reservationId(),
+        reservation.name(),
+        reservation.startTime(),
+        reservation.endTime(),
+        reservation.people(),
+        reservation.confirmationCode(),
+        ShortCode.format(reservation.confirmationCode()),
+        reservation.status(),
+        reservation.note());
+  }
+}
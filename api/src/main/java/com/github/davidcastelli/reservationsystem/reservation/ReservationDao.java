@@ -0,0 +1,261 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+/** DAO used to perform persistence operations on a {@link Reservation Reservation}. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class ReservationDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link ReservationDao ReservationDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  ReservationDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  RowMapper<Reservation> rowMapper =
+      (rs, rowNum) ->
+          new Reservation(
+              rs.getLong("reservation_id"),
+              rs.getString("name"),
+              rs.getObject("start_time", LocalDateTime.class),
+              rs.getObject("end_time", LocalDateTime.class),
+              rs.getInt("people"),
+              rs.getInt("min_people"),
+              rs.getInt("max_people"),
+              rs.getObject("confirmation_code", UUID.class),
+              ReservationStatus.fromDbValue(rs.getString("status")),
+              rs.getString("note"),
+              rs.getString("reminder"));
+
+  // Candidate start times are generated a start interval apart and rejected if a reservation of
+  // the same length would overlap an existing reservation or active hold. The overlaps are tested
+  // with the same expressions as the exclusion constraints, so every test is answered by an index.
+  // A reservation ends in the month it starts in, so one which overlaps a candidate starts between
+  // the first of the month of the first start and the end of the last candidate. The bounds only
+  // exist so the partitions of other months are pruned.
+  static final String NEAREST_FREE_START_SQL =
+      """
+      SELECT candidate
+      FROM generate_series(CAST(:firstStart AS timestamp), CAST(:lastStart AS timestamp), make_interval(mins => :minutes)) AS candidate
+      WHERE NOT EXISTS (
+          SELECT 1
+          FROM reservation
+          WHERE tsrange(start_time, end_time, '[]') && tsrange(candidate, candidate + make_interval(mins => :minutes), '[]')
+              AND start_time >= date_trunc('month', CAST(:firstStart AS timestamp))
+              AND start_time <= CAST(:lastStart AS timestamp) + make_interval(mins => :minutes)
+      )
+      AND NOT EXISTS (
+          SELECT 1
+          FROM reservation_hold
+          WHERE tsrange(start_time, end_time, '[]') && tsrange(candidate, candidate + make_interval(mins => :minutes), '[]')
+              AND expires_at > :now
+      )
+      ORDER BY abs(extract(epoch FROM candidate - CAST(:requested AS timestamp))), candidate
+      LIMIT 1
+      """;
+
+  /**
+   * Performs the operation to create a {@link Reservation Reservation} unless an active hold
+   * overlaps it. The reservation id of the given reservation is ignored.
+   *
+   * @param reservation The reservation to create.
+   * @param now The current time, which decides whether a hold is active.
+   * @return An optional id of the reservation which was persisted or empty if an active hold
+   *     overlaps the reservation.
+   * @throws IllegalArgumentException if the generated key is null.
+   */
+  OptionalLong create(Reservation reservation, LocalDateTime now) {
+    var keyHolder = new GeneratedKeyHolder();
+    int updated =
+        jdbcClient
+            .sql(
+                """
+                INSERT INTO reservation (name, start_time, end_time, people, min_people, max_people, confirmation_code, status, note, reminder)
+                SELECT :name, :startTime, :endTime, :people, :minPeople, :maxPeople, :confirmationCode, CAST(:status AS status), :note, :reminder
+                WHERE NOT EXISTS (
+                    SELECT 1
+                    FROM reservation_hold
+                    WHERE tsrange(start_time, end_time, '[]') && tsrange(CAST(:startTime AS timestamp), CAST(:endTime AS timestamp), '[]')
+                        AND expires_at > :now
+                )
+                RETURNING reservation_id
+                """)
+            .param("name", reservation.name())
+            .param("startTime", reservation.startTime())
+            .param("endTime", reservation.endTime())
+            .param("people", reservation.people())
+            .param("minPeople", reservation.minPeople())
+            .param("maxPeople", reservation.maxPeople())
+            .param("confirmationCode", reservation.confirmationCode())
+            .param("status", reservation.status().dbValue())
+            .param("note", reservation.note())
+            .param("reminder", reservation.reminder())
+            .param("now", now)
+            .update(keyHolder);
+
+    if (updated == 0) {
+      return OptionalLong.empty();
+    }
+
+    var key = keyHolder.getKey();
+    Assert.notNull(
+        key, "Failed to retrieve generated key during reservation insertion, key is null");
+
+    return OptionalLong.of(key.longValue());
+  }
+
+  /**
+   * Performs the operation to take the transaction scoped lock on the bookings of a day. Holds and
+   * reservations each only check for the other in their insert, which cannot see an uncommitted row
+   * of the other table, so both take this lock first and the later insert sees the earlier one once
+   * it committed. Has to be called within a transaction and in a statement of its own, as a
+   * statement under read committed only sees what was committed before it started.
+   *
+   * @param day The day the hold or reservation starts on.
+   */
+  void lockDay(LocalDate day) {
+    jdbcClient
+        .sql("SELECT pg_advisory_xact_lock(hashtext('reservation'), :day)")
+        .param("day", Math.toIntExact(day.toEpochDay()))
+        .query()
+        .listOfRows();
+  }
+
+  /**
+   * Performs the operation to find the free start time nearest to a requested start time. Start
+   * times are a number of minutes apart from the first start time, and a start time is free if a
+   * reservation of that many minutes starting at it would not overlap any reservation or active
+   * hold. Of two equally near start times the earlier one is returned.
+   *
+   * @param firstStart The earliest start time.
+   * @param lastStart The latest start time, inclusive.
+   * @param minutes The length of a reservation and the distance between two start times.
+   * @param requested The requested start time.
+   * @param now The current time, which decides whether a hold is active.
+   * @return An optional start time or empty if every start time is taken.
+   */
+  Optional<LocalDateTime> findNearestFreeStart(
+      LocalDateTime firstStart,
+      LocalDateTime lastStart,
+      int minutes,
+      LocalDateTime requested,
+      LocalDateTime now) {
+    return jdbcClient
+        .sql(NEAREST_FREE_START_SQL)
+        .param("firstStart", firstStart)
+        .param("lastStart", lastStart)
+        .param("minutes", minutes)
+        .param("requested", requested)
+        .param("now", now)
+        .query((rs, rowNum) -> rs.getObject("candidate", LocalDateTime.class))
+        .optional();
+  }
+
+  /**
+   * Performs the operation to retrieve a {@link Reservation Reservation} by its confirmation code,
+   * which is answered by the confirmation code index of the partitions. A time ordered confirmation
+   * code was generated when the reservation was booked, which starts after it and within the
+   * booking horizon, so only the partitions of those months are searched. A day of slack on both
+   * sides covers the clocks and time zones of the nodes and the database.
+   *
+   * @param confirmationCode The confirmation code.
+   * @return An optional {@link Reservation Reservation} or empty if no reservation has the code.
+   */
+  Optional<Reservation> findByConfirmationCode(UUID confirmationCode) {
+    var bookedAt = TimeOrderedUuidGenerator.timestamp(confirmationCode);
+    if (bookedAt.isEmpty()) {
+      return jdbcClient
+          .sql("SELECT * FROM reservation WHERE confirmation_code = :confirmationCode")
+          .param("confirmationCode", confirmationCode)
+          .query(rowMapper)
+          .optional();
+    }
+    var booked = LocalDateTime.ofInstant(bookedAt.get(), ZoneId.systemDefault());
+    return jdbcClient
+        .sql(
+            "SELECT * FROM reservation WHERE confirmation_code = :confirmationCode AND start_time >= :from AND start_time < :to")
+        .param("confirmationCode", confirmationCode)
+        .param("from", booked.minusDays(1))
+        .param("to", booked.plusMonths(ReservationService.BOOKING_HORIZON_MONTHS).plusDays(1))
+        .query(rowMapper)
+        .optional();
+  }
+
+  /**
+   * Performs the operation to retrieve a {@link Reservation Reservation} by the short form of its
+   * confirmation code. The short code is resolved to its confirmation code by the index on the
+   * short_code function of the reservation_code table, which keeps short codes unique across every
+   * partition, so at most one reservation is found. The short code carries no time, so the
+   * partitions of every month are searched for the confirmation code.
+   *
+   * @param shortCode The short code, without hyphen.
+   * @return An optional {@link Reservation Reservation} or empty if no reservation has the code.
+   */
+  Optional<Reservation> findByShortCode(String shortCode) {
+    return jdbcClient
+        .sql(
+            """
+            SELECT * FROM reservation
+            WHERE confirmation_code = (
+                SELECT confirmation_code FROM reservation_code
+                WHERE short_code(confirmation_code) = :shortCode
+            )
+            """)
+        .param("shortCode", shortCode)
+        .query(rowMapper)
+        .optional();
+  }
+
+  /**
+   * Performs the operation to count the reservations.
+   *
+   * @return The number of reservations.
+   */
+  long count() {
+    return jdbcClient.sql("SELECT count(*) FROM reservation").query(Long.class).single();
+  }
+
+  /**
+   * Performs the operation to pass the confirmation code of every reservation with a greater id
+   * than a given one to a consumer. The rows are handed to the consumer one by one instead of being
+   * collected into a list.
+   *
+   * @param reservationId The id after which reservations are read, 0 to read every reservation.
+   * @param consumer The consumer of the confirmation codes.
+   * @return The greatest id which was read, or the given id if no reservation was read.
+   */
+  long findConfirmationCodesAfter(long reservationId, Consumer<UUID> consumer) {
+    long[] greatest = {reservationId};
+    jdbcClient
+        .sql(
+            "SELECT reservation_id, confirmation_code FROM reservation WHERE reservation_id > :reservationId")
+        .param("reservationId", reservationId)
+        .query(
+            rs -> {
+              consumer.accept(rs.getObject("confirmation_code", UUID.class));
+              greatest[0] = Math.max(greatest[0], rs.getLong("reservation_id"));
+            });
+    return greatest[0];
+  }
+}
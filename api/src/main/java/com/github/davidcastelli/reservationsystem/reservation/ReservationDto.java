@@ -0,0 +1,30 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reservation DTO to return to the client after a reservation has been booked.
+ *
+ * @param reservationId The reservation id.
+ * @param name The name the reservation was booked under.
+ * @param startTime The start time.
+ * @param endTime The end time, inclusive.
+ * @param people The number of people in the party.
+ * @param confirmationCode The code with which the party can look up the reservation.
+ * @param shortCode The short form of the confirmation code, which can be used in its place.
+ * @param status The status.
+ * @param note The note of the reservation.
+ */
+record ReservationDto(
+    long reservationId,
+    String name,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    int people,
+    UUID confirmationCode,
+    String shortCode,
+    ReservationStatus status,
+    @Nullable String note) {}
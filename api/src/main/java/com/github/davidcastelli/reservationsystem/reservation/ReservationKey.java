@@ -0,0 +1,17 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * A record to hold the primary key of a reservation in the partitioned reservation table, which
+ * includes the start time the table is partitioned by. Keys are ordered by start time first, which
+ * is the order reservations are archived in.
+ *
+ * @param startTime The start time.
+ * @param reservationId The reservation id.
+ */
+record ReservationKey(LocalDateTime startTime, long reservationId) {
+
+  /** The key before every reservation. */
+  static final ReservationKey FIRST = new ReservationKey(LocalDateTime.MIN, 0L);
+}
@@ -0,0 +1,14 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.YearMonth;
+
+/**
+ * A record to hold a partition of the reservation table, which holds the reservations starting in
+ * one month.
+ *
+ * @param name The name of the partition table.
+ * @param month The month of the start times of the reservations in the partition.
+ * @param detachPending Whether a concurrent detach of the partition was interrupted and has to be
+ *     finalized.
+ */
+record ReservationPartition(String name, YearMonth month, boolean detachPending) {}
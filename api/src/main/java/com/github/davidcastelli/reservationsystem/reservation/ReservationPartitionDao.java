@@ -0,0 +1,94 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DAO used to create and detach the monthly {@link ReservationPartition ReservationPartitions} of
+ * the reservation table.
+ */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class ReservationPartitionDao {
+
+  // The name of a partition is reservation_yYYYYmMM, as created by create_reservation_partition.
+  private static final String PREFIX = "reservation_";
+  private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link ReservationPartitionDao ReservationPartitionDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  ReservationPartitionDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  /**
+   * Performs the operation to create the partition of a month with its constraints unless it
+   * already exists.
+   *
+   * @param month The month.
+   * @return True if the partition was created, false if it already existed.
+   */
+  boolean create(YearMonth month) {
+    return jdbcClient
+        .sql("SELECT create_reservation_partition(CAST(:month AS date))")
+        .param("month", month.atDay(1))
+        .query(Boolean.class)
+        .single();
+  }
+
+  /**
+   * Performs the operation to retrieve the partitions of the reservation table. Partitions which
+   * were not created by create_reservation_partition are left out.
+   *
+   * @return A list of {@link ReservationPartition ReservationPartitions} ordered by month.
+   */
+  List<ReservationPartition> findAll() {
+    return jdbcClient
+        .sql(
+            """
+            SELECT c.relname, i.inhdetachpending
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = CAST('reservation' AS regclass)
+                AND c.relname ~ '^reservation_y[0-9]{4}m[0-9]{2}$'
+            ORDER BY c.relname
+            """)
+        .query(
+            (rs, rowNum) -> {
+              var name = rs.getString("relname");
+              return new ReservationPartition(
+                  name,
+                  YearMonth.parse(name.substring(PREFIX.length()), MONTH),
+                  rs.getBoolean("inhdetachpending"));
+            })
+        .list();
+  }
+
+  /**
+   * Performs the operation to detach a partition from the reservation table. The partition is
+   * detached concurrently, which only changes the catalog and does not block reads and writes of
+   * the other partitions, and is kept as a table of its own. A concurrent detach cannot run in a
+   * transaction, so this must not be called inside one. A detach which was interrupted is finalized
+   * instead.
+   *
+   * @param partition The partition.
+   */
+  void detach(ReservationPartition partition) {
+    jdbcClient
+        .sql(
+            "ALTER TABLE reservation DETACH PARTITION \""
+                + partition.name()
+                + (partition.detachPending() ? "\" FINALIZE" : "\" CONCURRENTLY"))
+        .update();
+  }
+}
@@ -0,0 +1,99 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+/**
+ * Service which maintains the monthly partitions of the reservation table. The partitions of the
+ * coming months are created ahead of time, so a booking never waits for one to be created, and the
+ * partitions of months past the retention are detached, which takes the same time no matter how
+ * many reservations they hold.
+ *
+ * <p>Every node runs the maintenance. Creating a partition is serialized by the database, and a
+ * partition another node detached first only fails the detach of this node, which is logged and
+ * retried by the next run.
+ */
+@Service
+class ReservationPartitionService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReservationPartitionService.class);
+
+  private final ReservationPartitionDao reservationPartitionDao;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link ReservationPartitionService ReservationPartitionService}.
+   *
+   * @param reservationPartitionDao The reservation partition DAO.
+   * @param monthsAhead The number of months after the current one which have a partition.
+   * @param retentionMonths The number of months before the current one which keep their partition.
+   * @param clock The clock used to tell the current month.
+   * @throws IllegalArgumentException if the partitions do not cover the months in which a
+   *     reservation may start.
+   */
+  ReservationPartitionService(
+      ReservationPartitionDao reservationPartitionDao,
+      @Value("${partitions.months-ahead}") int monthsAhead,
+      @Value("${partitions.retention-months}") int retentionMonths,
+      Clock clock) {
+    // The reservation table accepts start times up to the booking horizon before and after today.
+    Assert.isTrue(
+        monthsAhead >= ReservationService.BOOKING_HORIZON_MONTHS,
+        "The partitions must be created for at least the booking horizon");
+    Assert.isTrue(
+        retentionMonths >= ReservationService.BOOKING_HORIZON_MONTHS,
+        "The partitions must be retained for at least the booking horizon");
+    this.reservationPartitionDao = reservationPartitionDao;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.clock = clock;
+  }
+
+  /** Maintains the partitions once the application is ready and periodically. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      initialDelayString = "${partitions.maintenance-interval}",
+      fixedDelayString = "${partitions.maintenance-interval}")
+  public void maintain() {
+    maintain(YearMonth.now(clock));
+  }
+
+  /**
+   * Creates the missing partitions from the current month until the months ahead, and detaches the
+   * partitions of the months before the retention.
+   *
+   * @param current The current month.
+   */
+  void maintain(YearMonth current) {
+    for (int i = 0; i <= monthsAhead; i++) {
+      var month = current.plusMonths(i);
+      if (reservationPartitionDao.create(month)) {
+        LOGGER.info("Created the reservation partition of {}", month);
+      }
+    }
+
+    var retainedFrom = current.minusMonths(retentionMonths);
+    for (var partition : reservationPartitionDao.findAll()) {
+      if (!partition.month().isBefore(retainedFrom)) {
+        break;
+      }
+      try {
+        reservationPartitionDao.detach(partition);
+        LOGGER.info("Detached the reservation partition {}", partition.name());
+      } catch (DataAccessException e) {
+        LOGGER.warn("Failed to detach the reservation partition {}", partition.name(), e);
+      }
+    }
+  }
+}
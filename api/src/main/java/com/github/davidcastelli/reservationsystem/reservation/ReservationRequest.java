@@ -0,0 +1,22 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reservation request sent by the client to book a start time for a party of people. The end time
+ * follows from the start interval of the group which accepts the party.
+ *
+ * @param name The name to book the reservation under.
+ * @param startTime The requested start time.
+ * @param people The number of people in the party.
+ * @param note An optional note for the reservation.
+ */
+record ReservationRequest(
+    @NotBlank(message = "The name must not be blank")
+        @Size(max = 20, message = "The name must not be longer than 20 characters")
+        String name,
+    @NotNull(message = "The start time must not be null") LocalDateTime startTime,
+    @Positive(message = "The number of people must be greater than 0") int people,
+    @Nullable String note) {}
@@ -0,0 +1,314 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidReservationException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationConflictException;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/** Service which books a {@link Reservation Reservation}. */
+@Service
+class ReservationService {
+
+  // Reservations can only end within six months from today.
+  static final int BOOKING_HORIZON_MONTHS = 6;
+
+  private final ReservationDao reservationDao;
+  private final SharedGroupDao sharedGroupDao;
+  private final BookingExecutor bookingExecutor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final HoldWheel holdWheel;
+  private final TimeOrderedUuidGenerator uuidGenerator;
+  private final TransactionTemplate transactionTemplate;
+  private final LocalTime openingTime;
+  private final LocalTime closingTime;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link ReservationService ReservationService}.
+   *
+   * @param reservationDao The reservation DAO.
+   * @param sharedGroupDao The shared group DAO used to find the group of a party.
+   * @param bookingExecutor The executor which runs and retries the attempts to book.
+   * @param eventPublisher The event publisher used to announce booked reservations.
+   * @param holdWheel The holds known to this node.
+   * @param uuidGenerator The generator of confirmation codes.
+   * @param transactionTemplate The transaction template used to book a reservation in one
+   *     transaction.
+   * @param openingTime The time of day at which the first reservation may start.
+   * @param closingTime The time of day at which the last reservation has to end.
+   * @param clock The clock the current date and time are read from.
+   */
+  ReservationService(
+      ReservationDao reservationDao,
+      SharedGroupDao sharedGroupDao,
+      BookingExecutor bookingExecutor,
+      ApplicationEventPublisher eventPublisher,
+      HoldWheel holdWheel,
+      TimeOrderedUuidGenerator uuidGenerator,
+      TransactionTemplate transactionTemplate,
+      @Value("${availability.opening-time}") LocalTime openingTime,
+      @Value("${availability.closing-time}") LocalTime closingTime,
+      Clock clock) {
+    Assert.isTrue(openingTime.isBefore(closingTime), "The opening time must be before closing");
+    this.reservationDao = reservationDao;
+    this.sharedGroupDao = sharedGroupDao;
+    this.bookingExecutor = bookingExecutor;
+    this.eventPublisher = eventPublisher;
+    this.holdWheel = holdWheel;
+    this.uuidGenerator = uuidGenerator;
+    this.transactionTemplate = transactionTemplate;
+    this.openingTime = openingTime;
+    this.closingTime = closingTime;
+    this.clock = clock;
+  }
+
+  /**
+   * Books a reservation for a party. The reservation takes the start interval of the group which
+   * accepts the party and is booked as paid. The insert is left to the overlapping_reservation
+   * exclusion constraint instead of checking for overlaps first, so a booking takes a single round
+   * trip unless it fails. Time ranges held by another customer are rejected, without a round trip
+   * if the hold is known to this node. The insert waits for the lock on the day of the reservation,
+   * so it cannot miss a hold which is being created at the same time.
+   *
+   * @param name The name to book the reservation under.
+   * @param startTime The start time.
+   * @param people The number of people in the party.
+   * @param note An optional note for the reservation.
+   * @return The {@link Reservation Reservation} which was booked.
+   * @throws InvalidReservationException if no group accepts the party or the reservation is not
+   *     within the opening hours and the booking horizon.
+   * @throws ReservationConflictException if the reservation overlaps another reservation or hold.
+   * @throws BookingContentionException if every attempt to book failed with a transient failure.
+   */
+  Reservation book(String name, LocalDateTime startTime, int people, @Nullable String note) {
+    var slot = resolve(startTime, people);
+    checkNotHeld(slot);
+
+    var reservation =
+        new Reservation(
+            0L,
+            name,
+            slot.startTime(),
+            slot.endTime(),
+            people,
+            slot.group().minPeople(),
+            slot.group().maxPeople(),
+            uuidGenerator.next(),
+            ReservationStatus.PAID,
+            note,
+            null);
+
+    var reservationId =
+        execute(
+                slot,
+                () ->
+                    transactionTemplate.execute(
+                        status -> {
+                          lockDay(slot);
+                          return reservationDao.create(reservation, LocalDateTime.now(clock));
+                        }))
+            .orElseThrow(() -> conflict(slot, RequestErrors.HeldReservation()));
+    eventPublisher.publishEvent(
+        new ReservationBookedEvent(
+            reservation.startTime(), reservation.endTime(), reservation.confirmationCode()));
+
+    return new Reservation(
+        reservationId,
+        reservation.name(),
+        reservation.startTime(),
+        reservation.endTime(),
+        reservation.people(),
+        reservation.minPeople(),
+        reservation.maxPeople(),
+        reservation.confirmationCode(),
+        reservation.status(),
+        reservation.note(),
+        reservation.reminder());
+  }
+
+  /**
+   * Resolves the time range a party would take from a start time.
+   *
+   * @param startTime The start time.
+   * @param people The number of people in the party.
+   * @return The {@link BookingSlot BookingSlot}.
+   * @throws InvalidReservationException if no group accepts the party or the time range is not
+   *     within the opening hours and the booking horizon.
+   */
+  BookingSlot resolve(LocalDateTime startTime, int people) {
+    var event = new GroupResolutionEvent();
+    event.begin();
+    var found = sharedGroupDao.findByPeople(people);
+    event.end();
+    if (event.shouldCommit()) {
+      event.people = people;
+      event.slotStart = startTime.toString();
+      event.groupId = found.map(Group::groupId).orElse(0L);
+      event.outcome = found.isPresent() ? "FOUND" : "NO_GROUP";
+      event.commit();
+    }
+
+    var group =
+        found.orElseThrow(
+            () ->
+                new InvalidReservationException(
+                    new ErrorDetail[] {RequestErrors.NoGroupForReservation(people)}));
+    var endTime = startTime.plusMinutes(group.startInterval());
+    validate(startTime, endTime);
+    return new BookingSlot(group, startTime, endTime, people);
+  }
+
+  /**
+   * Rejects a time range held by another customer, if the hold is known to this node.
+   *
+   * @param slot The time range to check.
+   * @throws ReservationConflictException if the time range overlaps a hold known to this node.
+   */
+  void checkNotHeld(BookingSlot slot) {
+    var event = new AvailabilityCheckEvent();
+    event.begin();
+    boolean held = holdWheel.isHeld(slot.startTime(), slot.endTime(), LocalDateTime.now(clock));
+    event.end();
+    if (event.shouldCommit()) {
+      event.people = slot.people();
+      event.slotStart = slot.startTime().toString();
+      event.slotEnd = slot.endTime().toString();
+      event.outcome = held ? "HELD" : "FREE";
+      event.commit();
+    }
+    if (held) {
+      throw conflict(slot, RequestErrors.HeldReservation());
+    }
+  }
+
+  /**
+   * Takes the lock on the day of a time range, which every transaction creating a hold or
+   * reservation takes before its insert. Has to be called within the transaction of the insert.
+   *
+   * @param slot The time range which is written.
+   */
+  void lockDay(BookingSlot slot) {
+    reservationDao.lockDay(slot.startTime().toLocalDate());
+  }
+
+  /**
+   * Runs an attempt to write a time range through the {@link BookingExecutor BookingExecutor}, and
+   * turns an exclusion violation into a conflict offering the nearest free start time. Every
+   * attempt, retries included, is recorded as a {@link BookingAttemptEvent BookingAttemptEvent}.
+   *
+   * @param slot The time range which is written.
+   * @param attempt The attempt.
+   * @param <T> The type of the result of the attempt.
+   * @return The result of the attempt.
+   * @throws ReservationConflictException if the time range overlaps another one.
+   * @throws BookingContentionException if every attempt failed with a transient failure.
+   */
+  <T> T execute(BookingSlot slot, Supplier<T> attempt) {
+    var attempts = new AtomicInteger();
+    try {
+      return bookingExecutor.execute(() -> record(slot, attempts.incrementAndGet(), attempt));
+    } catch (RuntimeException e) {
+      if (BookingExecutor.classify(e) != BookingExecutor.Failure.CONFLICT) {
+        throw e;
+      }
+      throw conflict(slot, RequestErrors.OverlappingReservation());
+    }
+  }
+
+  /**
+   * Creates a conflict for a time range which offers the nearest free start time of the same day.
+   *
+   * @param slot The time range which conflicts.
+   * @param error The error detail describing the conflict.
+   * @return A {@link ReservationConflictException ReservationConflictException}.
+   */
+  ReservationConflictException conflict(BookingSlot slot, ErrorDetail error) {
+    return new ReservationConflictException(
+        new ErrorDetail[] {error}, findAlternative(slot.startTime(), slot.group()));
+  }
+
+  private static <T> T record(BookingSlot slot, int number, Supplier<T> attempt) {
+    var event = new BookingAttemptEvent();
+    event.begin();
+    var outcome = "FAILED";
+    try {
+      var result = attempt.get();
+      outcome = "COMPLETED";
+      return result;
+    } catch (RuntimeException e) {
+      outcome =
+          switch (BookingExecutor.classify(e)) {
+            case CONFLICT -> "CONFLICT";
+            case TRANSIENT -> "TRANSIENT";
+            case OTHER -> "FAILED";
+          };
+      throw e;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.people = slot.people();
+        event.slotStart = slot.startTime().toString();
+        event.slotEnd = slot.endTime().toString();
+        event.attempt = number;
+        event.outcome = outcome;
+        event.commit();
+      }
+    }
+  }
+
+  private void validate(LocalDateTime startTime, LocalDateTime endTime) {
+    var errors = new ArrayList<ErrorDetail>();
+    if (!startTime.toLocalDate().equals(endTime.toLocalDate())
+        || startTime.toLocalTime().isBefore(openingTime)
+        || endTime.toLocalTime().isAfter(closingTime)) {
+      errors.add(RequestErrors.ReservationOutsideOpeningHours(openingTime, closingTime));
+    }
+    var horizon = LocalDate.now(clock).plusMonths(BOOKING_HORIZON_MONTHS).atStartOfDay();
+    if (!startTime.isAfter(LocalDateTime.now(clock)) || !endTime.isBefore(horizon)) {
+      errors.add(RequestErrors.ReservationOutsideBookingHorizon(BOOKING_HORIZON_MONTHS));
+    }
+    if (!errors.isEmpty()) {
+      throw new InvalidReservationException(errors.toArray(ErrorDetail[]::new));
+    }
+  }
+
+  // Finds the free start time nearest to the requested one on the same day. Start times are a
+  // start interval apart from the opening time, and on the current day only those after now count.
+  private @Nullable LocalDateTime findAlternative(LocalDateTime startTime, Group group) {
+    var day = startTime.toLocalDate();
+    var interval = Duration.ofMinutes(group.startInterval());
+    var firstStart = day.atTime(openingTime);
+    var now = LocalDateTime.now(clock);
+    if (now.isAfter(firstStart)) {
+      long elapsed = Duration.between(firstStart, now).toMinutes() / group.startInterval();
+      firstStart = firstStart.plus(interval.multipliedBy(elapsed + 1));
+    }
+    var lastStart = day.atTime(closingTime).minus(interval);
+    if (firstStart.isAfter(lastStart)) {
+      return null;
+    }
+    return reservationDao
+        .findNearestFreeStart(firstStart, lastStart, group.startInterval(), startTime, now)
+        .orElse(null);
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short, human friendly form of a confirmation code, which is easier to read out over the phone
+ * than a UUID. The short code is the last 50 bits of the confirmation code, which are random for
+ * both random and time ordered UUIDs, written as ten characters of Crockford's base 32 in two
+ * groups of five. Parsing is forgiving: case, hyphens and the letters I, L and O, which are read as
+ * 1, 1 and 0, are accepted.
+ *
+ * <p>The short_code function of the database computes the same short code, and a unique index on it
+ * over the reservation_code table maps a short code back to its confirmation code across every
+ * partition.
+ */
+final class ShortCode {
+
+  private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+  private static final int LENGTH = 10;
+  private static final long MASK = (1L << (LENGTH * 5)) - 1;
+
+  private ShortCode() {}
+
+  /**
+   * Gets the short code of a confirmation code.
+   *
+   * @param confirmationCode The confirmation code.
+   * @return The short code, without hyphen.
+   */
+  static String of(UUID confirmationCode) {
+    return encode(confirmationCode.getLeastSignificantBits() & MASK);
+  }
+
+  /**
+   * Formats the short code of a confirmation code for display.
+   *
+   * @param confirmationCode The confirmation code.
+   * @return The short code, as two groups of five characters separated by a hyphen.
+   */
+  static String format(UUID confirmationCode) {
+    var shortCode = of(confirmationCode);
+    return shortCode.substring(0, LENGTH / 2) + "-" + shortCode.substring(LENGTH / 2);
+  }
+
+  /**
+   * Parses a short code as typed by a customer.
+   *
+   * @param text The text.
+   * @return An optional short code, without hyphen, or empty if the text is not a short code.
+   */
+  static Optional<String> parse(String text) {
+    var shortCode = new StringBuilder(LENGTH);
+    for (int i = 0; i < text.length(); i++) {
+      char c = Character.toUpperCase(text.charAt(i));
+      if (c == '-') {
+        continue;
+      }
+      c =
+          switch (c) {
+            case 'I', 'L' -> '1';
+            case 'O' -> '0';
+            default -> c;
+          };
+      if (ALPHABET.indexOf(c) < 0 || shortCode.length() == LENGTH) {
+        return Optional.empty();
+      }
+      shortCode.append(c);
+    }
+    return shortCode.length() == LENGTH ? Optional.of(shortCode.toString()) : Optional.empty();
+  }
+
+  /**
+   * Gets the key under which a short code is kept in the {@link ConfirmationCodeFilter
+   * ConfirmationCodeFilter}. The most significant bits of a confirmation code are never 0, since
+   * they hold the version, so the keys never collide with confirmation codes.
+   *
+   * @param shortCode The short code, without hyphen.
+   * @return The key.
+   */
+  static UUID key(String shortCode) {
+    long bits = 0;
+    for (int i = 0; i < shortCode.length(); i++) {
+      bits = bits << 5 | ALPHABET.indexOf(shortCode.charAt(i));
+    }
+    return new UUID(0L, bits);
+  }
+
+  /**
+   * Gets the key under which the short code of a confirmation code is kept in the {@link
+   * ConfirmationCodeFilter ConfirmationCodeFilter}.
+   *
+   * @param confirmationCode The confirmation code.
+   * @return The key.
+   */
+  static UUID key(UUID confirmationCode) {
+    return new UUID(0L, confirmationCode.getLeastSignificantBits() & MASK);
+  }
+
+  private static String encode(long bits) {
+    var chars = new char[LENGTH];
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET.charAt((int) (bits & 31));
+      bits >>>= 5;
+    }
+    return new String(chars);
+  }
+}
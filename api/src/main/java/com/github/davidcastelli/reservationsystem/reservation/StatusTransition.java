@@ -0,0 +1,12 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+
+/**
+ * A record to hold the number of reservations which were transitioned from one status to another.
+ *
+ * @param from The status the reservations had.
+ * @param to The status the reservations have now.
+ * @param count The number of reservations.
+ */
+record StatusTransition(ReservationStatus from, ReservationStatus to, long count) {}
@@ -0,0 +1,50 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+
+/** Status transition controller for handling requests to run the end of day status transitions. */
+@Tag(
+    name = "Administration",
+    description = "Endpoints for running the maintenance of reservations.")
+interface StatusTransitionApi {
+
+  /**
+   * Endpoint for running the end of day status transitions now instead of waiting for the scheduled
+   * run. Paid reservations which ended more than a grace period ago are marked as no shows.
+   *
+   * @return A list of {@link StatusTransitionDto StatusTransitionDtos} with the number of
+   *     reservations each transition changed.
+   */
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+              @Content(
+                  array =
+                      @ArraySchema(schema = @Schema(implementation = StatusTransitionDto.class)),
+                  mediaType = "application/json",
+                  examples =
+                      @ExampleObject(
+                          value =
+                              """
+                                [
+                                    {
+                                        "from": "PAID",
+                                        "to": "NO_SHOW",
+                                        "count": 12
+                                    }
+                                ]
+                              """))
+            })
+      })
+  List<StatusTransitionDto> transitionStatuses();
+}
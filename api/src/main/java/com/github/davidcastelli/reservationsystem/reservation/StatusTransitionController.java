@@ -0,0 +1,35 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api/admin")
+class StatusTransitionController implements StatusTransitionApi {
+
+  private final StatusTransitionService statusTransitionService;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link StatusTransitionController StatusTransitionController}.
+   *
+   * @param statusTransitionService The status transition service.
+   * @param clock The clock the current time is read from.
+   */
+  StatusTransitionController(StatusTransitionService statusTransitionService, Clock clock) {
+    this.statusTransitionService = statusTransitionService;
+    this.clock = clock;
+  }
+
+  @PostMapping(value = "/reservations:transitionStatuses")
+  @Override
+  public List<StatusTransitionDto> transitionStatuses() {
+    return statusTransitionService.run(LocalDateTime.now(clock)).stream()
+        .map(
+            transition ->
+                new StatusTransitionDto(transition.from(), transition.to(), transition.count()))
+        .toList();
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/** DAO used to transition the status of reservations which have ended. */
+@Repository
+@Timed(MetricNames.DAO_CALLS)
+class StatusTransitionDao {
+
+  private final JdbcClient jdbcClient;
+
+  /**
+   * Creates a {@link StatusTransitionDao StatusTransitionDao}.
+   *
+   * @param jdbcClient The jdbcClient.
+   */
+  StatusTransitionDao(JdbcClient jdbcClient) {
+    this.jdbcClient = jdbcClient;
+  }
+
+  // The batch is locked before it is updated, and rows another transaction holds are skipped
+  // instead of waited for, so nodes running the same transition each update a different batch and
+  // never block a booking. A reservation starts before it ends, so the bound on the start time
+  // holds for every row of the batch and prunes the partitions of later months.
+  static final String TRANSITION_SQL =
+      """
+      WITH batch AS (
+          SELECT reservation_id, start_time
+          FROM reservation
+          WHERE status = CAST(:from AS status)
+              AND end_time < CAST(:endedBefore AS timestamp)
+              AND start_time < CAST(:endedBefore AS timestamp)
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+      )
+      UPDATE reservation
+      SET status = CAST(:to AS status)
+      FROM batch
+      WHERE reservation.reservation_id = batch.reservation_id
+          AND reservation.start_time = batch.start_time
+          AND reservation.start_time < CAST(:endedBefore AS timestamp)
+      """;
+
+  /**
+   * Performs the operation to transition a batch of reservations of a status which ended before a
+   * time to another status. Reservations locked by another transaction are skipped.
+   *
+   * @param from The status of the reservations which are transitioned.
+   * @param to The status the reservations are transitioned to.
+   * @param endedBefore The time before which the reservations ended.
+   * @param limit The maximum number of reservations which are transitioned.
+   * @return The number of reservations which were transitioned.
+   */
+  int transition(
+      ReservationStatus from, ReservationStatus to, LocalDateTime endedBefore, int limit) {
+    return jdbcClient
+        .sql(TRANSITION_SQL)
+        .param("from", from.dbValue())
+        .param("to", to.dbValue())
+        .param("endedBefore", endedBefore)
+        .param("limit", limit)
+        .update();
+  }
+}
@@ -0,0 +1,12 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+
+/**
+ * A status transition DTO to return to the client after the status transitions have run.
+ *
+ * @param from The status the reservations had.
+ * @param to The status the reservations have now.
+ * @param count The number of reservations which were transitioned.
+ */
+record StatusTransitionDto(ReservationStatus from, ReservationStatus to, long count) {}
@@ -0,0 +1,106 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import com.github.davidcastelli.reservationsystem.common.event.ReservationStatusesChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+/**
+ * Service which runs the end of day status transitions of reservations. A paid reservation whose
+ * party has not teed off by a grace period after the reservation ended is marked as a no show.
+ *
+ * <p>Reservations are transitioned in batches, each an update of its own, until a batch comes back
+ * short. Every node may run the transitions at the same time, since a batch skips the reservations
+ * another node is transitioning, and together they transition every reservation once. A {@link
+ * ReservationStatusesChangedEvent ReservationStatusesChangedEvent} is published once any
+ * reservation has been transitioned.
+ */
+@Service
+class StatusTransitionService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StatusTransitionService.class);
+
+  private final StatusTransitionDao statusTransitionDao;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration gracePeriod;
+  private final int batchSize;
+  private final Clock clock;
+
+  /**
+   * Creates a {@link StatusTransitionService StatusTransitionService}.
+   *
+   * @param statusTransitionDao The status transition DAO.
+   * @param eventPublisher The event publisher used to announce transitioned reservations.
+   * @param gracePeriod How long after a reservation ended its party may still tee off.
+   * @param batchSize The maximum number of reservations transitioned by one batch.
+   * @param clock The clock the current time is read from.
+   * @throws IllegalArgumentException if the batch size is not positive.
+   */
+  StatusTransitionService(
+      StatusTransitionDao statusTransitionDao,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${status-transitions.grace-period}") Duration gracePeriod,
+      @Value("${status-transitions.batch-size}") int batchSize,
+      Clock clock) {
+    Assert.isTrue(batchSize > 0, "The batch size must be positive");
+    this.statusTransitionDao = statusTransitionDao;
+    this.eventPublisher = eventPublisher;
+    this.gracePeriod = gracePeriod;
+    this.batchSize = batchSize;
+    this.clock = clock;
+  }
+
+  /** Runs the status transitions at the end of every day. */
+  @Scheduled(cron = "${status-transitions.cron}")
+  public void runScheduled() {
+    run(LocalDateTime.now(clock));
+  }
+
+  /**
+   * Runs the status transitions of the reservations which ended a grace period before a time.
+   *
+   * @param now The current time.
+   * @return A list of the {@link StatusTransition StatusTransitions} which ran with the number of
+   *     reservations each transitioned.
+   */
+  List<StatusTransition> run(LocalDateTime now) {
+    var endedBefore = now.minus(gracePeriod);
+    var transitions =
+        List.of(transition(ReservationStatus.PAID, ReservationStatus.NO_SHOW, endedBefore));
+    boolean transitioned = false;
+    for (var transition : transitions) {
+      if (transition.count() > 0) {
+        LOGGER.info(
+            "Transitioned {} reservations from {} to {}",
+            transition.count(),
+            transition.from(),
+            transition.to());
+        transitioned = true;
+      }
+    }
+    if (transitioned) {
+      eventPublisher.publishEvent(new ReservationStatusesChangedEvent());
+    }
+    return transitions;
+  }
+
+  private StatusTransition transition(
+      ReservationStatus from, ReservationStatus to, LocalDateTime endedBefore) {
+    long count = 0;
+    int updated;
+    do {
+      updated = statusTransitionDao.transition(from, to, endedBefore, batchSize);
+      count += updated;
+    } while (updated == batchSize);
+    return new StatusTransition(from, to, count);
+  }
+}
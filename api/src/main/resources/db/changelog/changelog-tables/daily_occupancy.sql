@@ -0,0 +1,44 @@
+--liquibase formatted sql
+
+--changeset david:1 splitStatements:false
+-- Rollup of the reservations starting in each hour of each day, which the triggers of the
+-- reservation and reservation_archive tables keep up to date in the transaction which changes a
+-- reservation, so reading the occupancy of a day does not aggregate its reservations. The revenue
+-- is the people of a reservation times the admission price of the group whose people range
+-- contains them. A reservation moved to the archive is removed from one table and added to the
+-- other, so it stays in the rollup.
+CREATE TABLE daily_occupancy (
+    day date NOT NULL,
+    hour int NOT NULL CONSTRAINT valid_hour CHECK (hour BETWEEN 0 AND 23),
+    reservations int NOT NULL,
+    people bigint NOT NULL,
+    revenue numeric(14, 2) NOT NULL,
+    PRIMARY KEY (day, hour)
+);
+CREATE FUNCTION add_daily_occupancy(reservation_start_time timestamp, party_people int, direction int) RETURNS void AS $$
+BEGIN
+    INSERT INTO daily_occupancy AS o (day, hour, reservations, people, revenue)
+    SELECT CAST(reservation_start_time AS date),
+        CAST(extract(hour FROM reservation_start_time) AS int),
+        direction,
+        direction * party_people,
+        direction * party_people * coalesce(
+            (SELECT admission_price FROM package WHERE int4range(min_people, max_people, '[]') @> party_people), 0)
+    ON CONFLICT (day, hour) DO UPDATE
+    SET reservations = o.reservations + EXCLUDED.reservations,
+        people = o.people + EXCLUDED.people,
+        revenue = o.revenue + EXCLUDED.revenue;
+END;
+$$ LANGUAGE plpgsql;
+CREATE FUNCTION track_daily_occupancy() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM add_daily_occupancy(OLD.start_time, OLD.people, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM add_daily_occupancy(NEW.start_time, NEW.people, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+--rollback drop function track_daily_occupancy(); drop function add_daily_occupancy(timestamp, int, int); drop table daily_occupancy;
@@ -0,0 +1,20 @@
+--liquibase formatted sql
+
+--changeset david:1
+-- Every idempotency key a client sent with a request, with the fingerprint of the request and the
+-- response once it is known. A key without a response is in flight, and a node which claimed it but
+-- never stored a response is taken over once the claim is older than the lock timeout. Keys are
+-- purged once they expire.
+CREATE TABLE idempotency_key (
+    idempotency_key varchar(255) NOT NULL,
+    fingerprint text NOT NULL,
+    status int,
+    location text,
+    content_type text,
+    body bytea,
+    claimed_at timestamp NOT NULL,
+    expires_at timestamp NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+CREATE INDEX idempotency_key_expires_at_idx ON idempotency_key (expires_at)
+--rollback drop table idempotency_key
@@ -12,4 +12,34 @@ CREATE TABLE package (
     CONSTRAINT overlapping_people EXCLUDE USING GIST (int4range(min_people, max_people, '[]') WITH &&),
     PRIMARY KEY (package_id)
 )
---rollback drop table package
\ No newline at end of file
+--rollback drop table package
+
+--changeset david:2
+ALTER TABLE package ADD COLUMN version bigint NOT NULL DEFAULT 0 CONSTRAINT positive_or_zero_version CHECK (version >= 0)
+--rollback alter table package drop column version
+
+--changeset david:3
+-- The people range filter is served by the index of the overlapping_people exclusion constraint.
+-- The price and start interval indexes end in package_id so that they also serve the keyset order.
+CREATE INDEX package_admission_price_idx ON package (admission_price, package_id);
+CREATE INDEX package_start_interval_idx ON package (start_interval, package_id);
+--rollback drop index package_start_interval_idx; drop index package_admission_price_idx;
+
+--changeset david:4 splitStatements:false
+-- Announces every change to the groups on the package_changed channel so that every node can
+-- refresh its local copy of the groups. The payload is the package_id and version of the changed row.
+CREATE FUNCTION notify_package_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        PERFORM pg_notify('package_changed', '*');
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('package_changed', OLD.package_id || ':' || OLD.version);
+    ELSE
+        PERFORM pg_notify('package_changed', NEW.package_id || ':' || NEW.version);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER package_changed AFTER INSERT OR UPDATE OR DELETE ON package FOR EACH ROW EXECUTE FUNCTION notify_package_changed();
+CREATE TRIGGER package_truncated AFTER TRUNCATE ON package FOR EACH STATEMENT EXECUTE FUNCTION notify_package_changed();
+--rollback drop trigger package_truncated on package; drop trigger package_changed on package; drop function notify_package_changed();
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset david:1
+-- A reminder of a reservation is copied here once it is due, and every attempt to deliver it is
+-- recorded on its row. A reminder waits until its next attempt, which is also how long a node which
+-- claimed it has to deliver it before another node may claim it again. A reservation gets one
+-- reminder per start time, so a reservation which is moved gets reminded of its new start time.
+CREATE TABLE reminder_outbox (
+    reminder_id bigint GENERATED ALWAYS AS IDENTITY,
+    reservation_id bigint NOT NULL,
+    start_time timestamp NOT NULL,
+    name varchar(20) NOT NULL,
+    message text NOT NULL,
+    attempts int NOT NULL DEFAULT 0,
+    next_attempt_at timestamp NOT NULL DEFAULT localtimestamp,
+    sent_at timestamp,
+    last_error text,
+    CONSTRAINT reminder_outbox_reservation_key UNIQUE (reservation_id, start_time),
+    PRIMARY KEY (reminder_id)
+);
+-- Only reminders which were not sent are claimed, so the index leaves out the sent ones.
+CREATE INDEX reminder_outbox_next_attempt_at_idx ON reminder_outbox (next_attempt_at) WHERE sent_at IS NULL
+--rollback drop table reminder_outbox
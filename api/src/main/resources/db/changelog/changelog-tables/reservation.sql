@@ -21,4 +21,126 @@ CREATE TABLE reservation (
     CONSTRAINT overlapping_reservation EXCLUDE USING GIST (tsrange(start_time, end_time, '[]') WITH &&),
     PRIMARY KEY (reservation_id)
 )
---rollback drop table reservation
\ No newline at end of file
+--rollback drop table reservation
+
+--changeset david:2 splitStatements:false
+-- The short code of a confirmation code is its last 50 bits written as ten characters of
+-- Crockford's base 32, which customers can type instead of the whole code. The unique index on the
+-- expression maps a short code back to its reservation without storing it, so it also covers
+-- reservations booked before short codes existed.
+CREATE FUNCTION short_code(confirmation_code uuid) RETURNS text AS $$
+    SELECT string_agg(substr('0123456789ABCDEFGHJKMNPQRSTVWXYZ', CAST((bits >> (45 - 5 * i)) & 31 AS int) + 1, 1), '' ORDER BY i)
+    FROM CAST(CAST('x' || right(replace(CAST(confirmation_code AS text), '-', ''), 13) AS bit(52)) AS bigint) AS bits,
+        generate_series(0, 9) AS i
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+CREATE UNIQUE INDEX reservation_short_code_idx ON reservation (short_code(confirmation_code));
+--rollback drop index reservation_short_code_idx; drop function short_code(uuid);
+
+--changeset david:3 splitStatements:false
+-- The table is partitioned by month of the start time, so queries bounded by time only read the
+-- partitions of their months, and a month which is no longer needed is detached instead of deleted
+-- row by row. A unique or exclusion constraint on a partitioned table has to compare the partition
+-- key with equality, which the overlapping_reservation constraint cannot, so every partition gets
+-- its own constraints from create_reservation_partition. A reservation has to end in the month it
+-- starts in, so two reservations which overlap are always in the same partition and the exclusion
+-- constraint of that partition still rejects every overlap. The confirmation code and short code
+-- can only be kept unique within a partition here, the reservation_code table keeps them unique
+-- across partitions.
+CREATE FUNCTION create_reservation_partition(month date) RETURNS boolean AS $$
+DECLARE
+    first_day date := date_trunc('month', month);
+    partition_name text := 'reservation_' || to_char(first_day, '"y"YYYY"m"MM');
+BEGIN
+    -- Serializes nodes which create the same partition at the same time.
+    PERFORM pg_advisory_xact_lock(hashtext('create_reservation_partition'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF reservation ('
+            || 'CONSTRAINT %I UNIQUE (confirmation_code), '
+            || 'CONSTRAINT %I EXCLUDE USING GIST (tsrange(start_time, end_time, ''[]'') WITH &&)'
+            || ') FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        partition_name || '_confirmation_code_key',
+        partition_name || '_overlapping_reservation',
+        first_day,
+        first_day + interval '1 month');
+    EXECUTE format(
+        'CREATE UNIQUE INDEX %I ON %I (short_code(confirmation_code))',
+        partition_name || '_short_code_idx',
+        partition_name);
+    RETURN true;
+END
+$$ LANGUAGE plpgsql;
+--rollback drop function create_reservation_partition(date);
+
+--changeset david:4
+ALTER TABLE reservation RENAME TO reservation_unpartitioned;
+CREATE TABLE reservation (
+    reservation_id bigint GENERATED ALWAYS AS IDENTITY,
+    name varchar(20) NOT NULL,
+    start_time timestamp NOT NULL,
+    end_time timestamp NOT NULL,
+    people int NOT NULL CONSTRAINT positive_people CHECK (people > 0),
+    min_people int NOT NULL CONSTRAINT positive_min_people CHECK (min_people > 0),
+    max_people int NOT NULL CONSTRAINT positive_max_people CHECK (max_people > 0),
+    confirmation_code uuid NOT NULL,
+    status status NOT NULL,
+    note text,
+    reminder text,
+    CONSTRAINT valid_start_time CHECK (start_time < end_time),
+    CONSTRAINT valid_end_time CHECK (end_time > start_time),
+    CONSTRAINT valid_min_people CHECK (min_people < max_people),
+    CONSTRAINT valid_max_people CHECK (max_people > min_people),
+    CONSTRAINT valid_people CHECK (people BETWEEN min_people AND max_people),
+    CONSTRAINT reservation_within_month CHECK (end_time < date_trunc('month', start_time) + interval '1 month')
+) PARTITION BY RANGE (start_time);
+SELECT create_reservation_partition(CAST(month AS date))
+FROM generate_series(
+    least(
+        (SELECT date_trunc('month', min(start_time)) FROM reservation_unpartitioned),
+        date_trunc('month', current_date - interval '6 months')),
+    date_trunc('month', current_date + interval '7 months'),
+    interval '1 month') AS month;
+INSERT INTO reservation OVERRIDING SYSTEM VALUE
+SELECT reservation_id, name, start_time, end_time, people, min_people, max_people, confirmation_code, status, note, reminder
+FROM reservation_unpartitioned;
+DROP TABLE reservation_unpartitioned;
+SELECT setval(pg_get_serial_sequence('reservation', 'reservation_id'), coalesce(max(reservation_id), 0) + 1, false)
+FROM reservation;
+ALTER TABLE reservation ADD PRIMARY KEY (reservation_id, start_time);
+-- Copied reservations which are already past the limits are kept, new ones are still checked.
+ALTER TABLE reservation ADD CONSTRAINT start_time_limit CHECK (start_time > current_date - interval '6 months') NOT VALID;
+ALTER TABLE reservation ADD CONSTRAINT end_time_limit CHECK (end_time < current_date + interval '6 months') NOT VALID;
+--rollback ALTER TABLE reservation RENAME TO reservation_partitioned;
+--rollback CREATE TABLE reservation (LIKE reservation_partitioned INCLUDING DEFAULTS INCLUDING IDENTITY);
+--rollback INSERT INTO reservation OVERRIDING SYSTEM VALUE SELECT * FROM reservation_partitioned;
+--rollback DROP TABLE reservation_partitioned;
+--rollback SELECT setval(pg_get_serial_sequence('reservation', 'reservation_id'), coalesce(max(reservation_id), 0) + 1, false) FROM reservation;
+--rollback ALTER TABLE reservation ADD PRIMARY KEY (reservation_id), ADD UNIQUE (confirmation_code), ADD CONSTRAINT overlapping_reservation EXCLUDE USING GIST (tsrange(start_time, end_time, '[]') WITH &&), ADD CONSTRAINT start_time_limit CHECK (start_time > current_date - interval '6 months') NOT VALID, ADD CONSTRAINT end_time_limit CHECK (end_time < current_date + interval '6 months') NOT VALID, ADD CONSTRAINT valid_start_time CHECK (start_time < end_time), ADD CONSTRAINT valid_end_time CHECK (end_time > start_time), ADD CONSTRAINT valid_min_people CHECK (min_people < max_people), ADD CONSTRAINT valid_max_people CHECK (max_people > min_people), ADD CONSTRAINT valid_people CHECK (people BETWEEN min_people AND max_people), ADD CONSTRAINT positive_people CHECK (people > 0), ADD CONSTRAINT positive_min_people CHECK (min_people > 0), ADD CONSTRAINT positive_max_people CHECK (max_people > 0);
+--rollback CREATE UNIQUE INDEX reservation_short_code_idx ON reservation (short_code(confirmation_code));
+
+--changeset david:5
+-- Orders the reservations of a partition by start time, which lets archival walk them in batches.
+CREATE INDEX reservation_start_time_idx ON reservation (start_time, reservation_id)
+--rollback drop index reservation_start_time_idx
+
+--changeset david:6
+-- Finds the reservations of a status which have ended, which end of day processing transitions.
+CREATE INDEX reservation_status_end_time_idx ON reservation (status, end_time)
+--rollback drop index reservation_status_end_time_idx
+
+--changeset david:7
+-- Keeps the daily_occupancy rollup up to date with the reservations, starting from the existing ones.
+CREATE TRIGGER reservation_occupancy AFTER INSERT OR DELETE OR UPDATE OF start_time, people ON reservation FOR EACH ROW EXECUTE FUNCTION track_daily_occupancy();
+INSERT INTO daily_occupancy (day, hour, reservations, people, revenue)
+SELECT CAST(r.start_time AS date), CAST(extract(hour FROM r.start_time) AS int), count(*), sum(r.people), sum(r.people * coalesce(p.admission_price, 0))
+FROM reservation r
+LEFT JOIN package p ON int4range(p.min_people, p.max_people, '[]') @> r.people
+GROUP BY 1, 2
+ON CONFLICT (day, hour) DO UPDATE
+SET reservations = daily_occupancy.reservations + EXCLUDED.reservations,
+    people = daily_occupancy.people + EXCLUDED.people,
+    revenue = daily_occupancy.revenue + EXCLUDED.revenue;
+--rollback drop trigger reservation_occupancy on reservation
@@ -0,0 +1,36 @@
+--liquibase formatted sql
+
+--changeset david:1
+-- Reservations which started before the start_time_limit of the reservation table are moved here
+-- in batches. The table is not partitioned and has none of the time limits, so it can keep every
+-- reservation. The greatest key of the table is where archival resumes.
+CREATE TABLE reservation_archive (
+    reservation_id bigint NOT NULL,
+    name varchar(20) NOT NULL,
+    start_time timestamp NOT NULL,
+    end_time timestamp NOT NULL,
+    people int NOT NULL,
+    min_people int NOT NULL,
+    max_people int NOT NULL,
+    confirmation_code uuid NOT NULL,
+    status status NOT NULL,
+    note text,
+    reminder text,
+    archived_at timestamp NOT NULL DEFAULT localtimestamp,
+    PRIMARY KEY (start_time, reservation_id)
+)
+--rollback drop table reservation_archive
+
+--changeset david:2
+-- Keeps the archived reservations in the daily_occupancy rollup, starting from the existing ones.
+CREATE TRIGGER reservation_archive_occupancy AFTER INSERT OR DELETE ON reservation_archive FOR EACH ROW EXECUTE FUNCTION track_daily_occupancy();
+INSERT INTO daily_occupancy (day, hour, reservations, people, revenue)
+SELECT CAST(r.start_time AS date), CAST(extract(hour FROM r.start_time) AS int), count(*), sum(r.people), sum(r.people * coalesce(p.admission_price, 0))
+FROM reservation_archive r
+LEFT JOIN package p ON int4range(p.min_people, p.max_people, '[]') @> r.people
+GROUP BY 1, 2
+ON CONFLICT (day, hour) DO UPDATE
+SET reservations = daily_occupancy.reservations + EXCLUDED.reservations,
+    people = daily_occupancy.people + EXCLUDED.people,
+    revenue = daily_occupancy.revenue + EXCLUDED.revenue;
+--rollback drop trigger reservation_archive_occupancy on reservation_archive
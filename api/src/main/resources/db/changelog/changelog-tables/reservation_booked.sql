@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset david:1 splitStatements:false
+-- Announces every reservation booked on the reservation_booked channel so that every node can keep
+-- its projections of the reservations up to date. The payload is the confirmation code, start time
+-- and end time of the reservation and the application name of the node which booked it. The
+-- trigger lives in its own changelog so that it is created on the final reservation table.
+CREATE FUNCTION notify_reservation_booked() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('reservation_booked', NEW.confirmation_code || ' ' || to_char(NEW.start_time, 'YYYY-MM-DD"T"HH24:MI:SS.US') || ' ' || to_char(NEW.end_time, 'YYYY-MM-DD"T"HH24:MI:SS.US') || ' ' || current_setting('application_name'));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER reservation_booked AFTER INSERT ON reservation FOR EACH ROW EXECUTE FUNCTION notify_reservation_booked();
+--rollback drop trigger reservation_booked on reservation; drop function notify_reservation_booked();
@@ -0,0 +1,105 @@
+--liquibase formatted sql
+
+--changeset david:1 splitStatements:false
+-- The partitions of the reservation table keep the confirmation code and short code unique within
+-- themselves only, so every code booked is also recorded here. The table is not partitioned, so its
+-- indexes keep both codes unique across every partition, and a lookup by short code finds at most
+-- one reservation. A code is kept after its reservation is archived or its partition detached, so
+-- no code is ever handed out twice. Codes which already collide are recorded once.
+CREATE TABLE reservation_code (
+    confirmation_code uuid PRIMARY KEY
+);
+CREATE UNIQUE INDEX reservation_code_short_code_idx ON reservation_code (short_code(confirmation_code));
+CREATE FUNCTION record_reservation_code() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO reservation_code (confirmation_code) VALUES (NEW.confirmation_code);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER reservation_code AFTER INSERT ON reservation FOR EACH ROW EXECUTE FUNCTION record_reservation_code();
+INSERT INTO reservation_code (confirmation_code)
+SELECT confirmation_code FROM reservation
+UNION ALL
+SELECT confirmation_code FROM reservation_archive
+ON CONFLICT DO NOTHING;
+--rollback drop trigger reservation_code on reservation; drop function record_reservation_code(); drop table reservation_code;
+
+--changeset david:2 splitStatements:false
+-- The reservation_code table keeps both codes unique across every partition, so the unique
+-- constraint on the confirmation code and the unique index on the short code of every partition
+-- only cost an index update per booking. Lookups by confirmation code still need an index, which
+-- the partitioned index on the confirmation code gives every partition, present and future.
+-- Lookups by short code are resolved through reservation_code and need no index on the partitions.
+DO $$
+DECLARE
+    partition_name text;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST('reservation' AS regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %I DROP CONSTRAINT IF EXISTS %I', partition_name, partition_name || '_confirmation_code_key');
+        EXECUTE format('DROP INDEX IF EXISTS %I', partition_name || '_short_code_idx');
+    END LOOP;
+END
+$$;
+CREATE INDEX reservation_confirmation_code_idx ON reservation (confirmation_code);
+CREATE OR REPLACE FUNCTION create_reservation_partition(month date) RETURNS boolean AS $$
+DECLARE
+    first_day date := date_trunc('month', month);
+    partition_name text := 'reservation_' || to_char(first_day, '"y"YYYY"m"MM');
+BEGIN
+    -- Serializes nodes which create the same partition at the same time.
+    PERFORM pg_advisory_xact_lock(hashtext('create_reservation_partition'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF reservation ('
+            || 'CONSTRAINT %I EXCLUDE USING GIST (tsrange(start_time, end_time, ''[]'') WITH &&)'
+            || ') FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        partition_name || '_overlapping_reservation',
+        first_day,
+        first_day + interval '1 month');
+    RETURN true;
+END
+$$ LANGUAGE plpgsql;
+--rollback DROP INDEX reservation_confirmation_code_idx;
+--rollback CREATE OR REPLACE FUNCTION create_reservation_partition(month date) RETURNS boolean AS $$
+--rollback DECLARE
+--rollback     first_day date := date_trunc('month', month);
+--rollback     partition_name text := 'reservation_' || to_char(first_day, '"y"YYYY"m"MM');
+--rollback BEGIN
+--rollback     PERFORM pg_advisory_xact_lock(hashtext('create_reservation_partition'));
+--rollback     IF to_regclass(partition_name) IS NOT NULL THEN
+--rollback         RETURN false;
+--rollback     END IF;
+--rollback     EXECUTE format(
+--rollback         'CREATE TABLE %I PARTITION OF reservation ('
+--rollback             || 'CONSTRAINT %I UNIQUE (confirmation_code), '
+--rollback             || 'CONSTRAINT %I EXCLUDE USING GIST (tsrange(start_time, end_time, ''[]'') WITH &&)'
+--rollback             || ') FOR VALUES FROM (%L) TO (%L)',
+--rollback         partition_name,
+--rollback         partition_name || '_confirmation_code_key',
+--rollback         partition_name || '_overlapping_reservation',
+--rollback         first_day,
+--rollback         first_day + interval '1 month');
+--rollback     EXECUTE format(
+--rollback         'CREATE UNIQUE INDEX %I ON %I (short_code(confirmation_code))',
+--rollback         partition_name || '_short_code_idx',
+--rollback         partition_name);
+--rollback     RETURN true;
+--rollback END
+--rollback $$ LANGUAGE plpgsql;
+--rollback DO $$
+--rollback DECLARE
+--rollback     partition_name text;
+--rollback BEGIN
+--rollback     FOR partition_name IN
+--rollback         SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST('reservation' AS regclass)
+--rollback     LOOP
+--rollback         EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I UNIQUE (confirmation_code)', partition_name, partition_name || '_confirmation_code_key');
+--rollback         EXECUTE format('CREATE UNIQUE INDEX %I ON %I (short_code(confirmation_code))', partition_name || '_short_code_idx', partition_name);
+--rollback     END LOOP;
+--rollback END
+--rollback $$;
@@ -0,0 +1,18 @@
+--liquibase formatted sql
+
+--changeset david:1
+CREATE TABLE reservation_hold (
+    hold_id uuid NOT NULL,
+    start_time timestamp NOT NULL,
+    end_time timestamp NOT NULL,
+    people int NOT NULL CONSTRAINT positive_people CHECK (people > 0),
+    min_people int NOT NULL CONSTRAINT positive_min_people CHECK (min_people > 0),
+    max_people int NOT NULL CONSTRAINT positive_max_people CHECK (max_people > 0),
+    expires_at timestamp NOT NULL,
+    CONSTRAINT valid_start_time CHECK (start_time < end_time),
+    CONSTRAINT valid_people CHECK (people BETWEEN min_people AND max_people),
+    CONSTRAINT overlapping_hold EXCLUDE USING GIST (tsrange(start_time, end_time, '[]') WITH &&),
+    PRIMARY KEY (hold_id)
+);
+CREATE INDEX reservation_hold_expires_at ON reservation_hold (expires_at)
+--rollback drop table reservation_hold
@@ -5,3 +5,9 @@ CREATE VIEW package_v AS
     SELECT package_id, min_people, max_people, admission_price, start_interval
     FROM package
 --rollback drop view package_v
+
+--changeset david:2
+CREATE OR REPLACE VIEW package_v AS
+    SELECT package_id, min_people, max_people, admission_price, start_interval, version
+    FROM package
+--rollback drop view package_v; create view package_v as select package_id, min_people, max_people, admission_price, start_interval from package
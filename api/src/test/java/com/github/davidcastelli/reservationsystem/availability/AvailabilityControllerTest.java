@@ -0,0 +1,179 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+@NullUnmarked
+@WebMvcTest(AvailabilityController.class)
+@MockitoBean(types = AvailabilityStream.class)
+class AvailabilityControllerTest {
+
+  @Autowired private MockMvcTester mockMvcTester;
+
+  // The mocked service also receives the application ready event, so only lookups are verified.
+  @MockitoBean private AvailabilityService availabilityService;
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDate tomorrow = LocalDate.now(CLOCK).plusDays(1);
+
+  @TestConfiguration
+  static class FixedClockConfig {
+    @Bean
+    Clock clock() {
+      return CLOCK;
+    }
+  }
+
+  @Test
+  void givenFreeStartTimes_whenFindSlots_thenReturnCorrectStatusContentTypeBody() {
+    when(availabilityService.findFreeStartTimes(tomorrow, 3))
+        .thenReturn(
+            Optional.of(
+                new AvailableSlots(
+                    tomorrow,
+                    new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+                    List.of(LocalTime.of(8, 0), LocalTime.of(8, 16)))));
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/availability/slots?date={date}&people=3", tomorrow)
+                .accept(MediaType.APPLICATION_JSON))
+        .doesNotHaveFailed()
+        .hasStatusOk()
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .convertTo(AvailableSlotsDto.class)
+        .isEqualTo(
+            new AvailableSlotsDto(
+                tomorrow, 1L, 4, List.of(LocalTime.of(8, 0), LocalTime.of(8, 16))));
+  }
+
+  @Test
+  void givenNoGroupForPeople_whenFindSlots_thenReturnCorrectStatusContentTypeErrors() {
+    when(availabilityService.findFreeStartTimes(tomorrow, 40)).thenReturn(Optional.empty());
+
+    assertThat(mockMvcTester.get().uri("/api/availability/slots?date={date}&people=40", tomorrow))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Query.people']")
+        .asArray()
+        .containsExactly("No group accepts 40 people");
+  }
+
+  @Test
+  void givenInvalidQueryParameters_whenFindSlots_thenReturnErrorsOfEveryInvalidParameter() {
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri(
+                    "/api/availability/slots?date={date}&people=0",
+                    LocalDate.now(CLOCK)
+                        .plusMonths(AvailabilityService.BOOKING_HORIZON_MONTHS + 1)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors")
+        .asMap()
+        .containsOnlyKeys("Query.date", "Query.people");
+    verify(availabilityService, never()).findFreeStartTimes(any(LocalDate.class), anyInt());
+  }
+
+  @Test
+  void givenMissingDate_whenFindSlots_thenReturnBadRequest() {
+    assertThat(mockMvcTester.get().uri("/api/availability/slots?people=3"))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST);
+    verify(availabilityService, never()).findFreeStartTimes(any(LocalDate.class), anyInt());
+  }
+
+  @Test
+  void givenFreeWindows_whenFindWindows_thenReturnCorrectStatusContentTypeBody() {
+    List<FreeWindow> windows =
+        List.of(
+            new FreeWindow(tomorrow.atTime(8, 0), true, tomorrow.atTime(9, 0), false),
+            new FreeWindow(tomorrow.atTime(9, 4), false, tomorrow.atTime(20, 0), true));
+    when(availabilityService.findFreeWindows(tomorrow.atTime(8, 0), tomorrow.atTime(20, 0), 3))
+        .thenReturn(
+            Optional.of(new FreeWindows(new Group(1L, 1, 5, new BigDecimal("13.99"), 4), windows)));
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri(
+                    "/api/availability?from={from}&to={to}&people=3",
+                    tomorrow.atTime(8, 0),
+                    tomorrow.atTime(20, 0))
+                .accept(MediaType.APPLICATION_JSON))
+        .doesNotHaveFailed()
+        .hasStatusOk()
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .convertTo(FreeWindowsDto.class)
+        .isEqualTo(new FreeWindowsDto(1L, 4, windows));
+  }
+
+  @Test
+  void givenTooLongRange_whenFindWindows_thenReturnCorrectStatusContentTypeErrors() {
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri(
+                    "/api/availability?from={from}&to={to}&people=0",
+                    tomorrow.atTime(8, 0),
+                    tomorrow.plusDays(32).atTime(8, 0)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors")
+        .asMap()
+        .containsOnlyKeys("Query.to", "Query.people");
+    verify(availabilityService, never())
+        .findFreeWindows(any(LocalDateTime.class), any(LocalDateTime.class), anyInt());
+  }
+
+  @Test
+  void givenEndBeforeStart_whenFindWindows_thenReturnCorrectStatusContentTypeErrors() {
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri(
+                    "/api/availability?from={from}&to={to}&people=3",
+                    tomorrow.atTime(20, 0),
+                    tomorrow.atTime(8, 0)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Query.to']")
+        .asArray()
+        .containsExactly("The end must be after the start");
+  }
+}
@@ -0,0 +1,170 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+  @Mock private AvailabilityDao availabilityDao;
+
+  @Mock private SharedGroupDao sharedGroupDao;
+
+  private AvailabilityService availabilityService;
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDate tomorrow = LocalDate.now(CLOCK).plusDays(1);
+
+  @BeforeEach
+  void init() {
+    availabilityService =
+        new AvailabilityService(
+            availabilityDao,
+            sharedGroupDao,
+            Duration.ofMinutes(1),
+            LocalTime.of(8, 0),
+            LocalTime.of(8, 20),
+            CLOCK);
+  }
+
+  @Test
+  void givenNoGroupForPeople_whenFindFreeStartTimes_thenReturnEmptyOptional() {
+    when(sharedGroupDao.findByPeople(40)).thenReturn(Optional.empty());
+
+    Optional<AvailableSlots> availableSlots = availabilityService.findFreeStartTimes(tomorrow, 40);
+
+    assertThat(availableSlots).isEmpty();
+    verifyNoInteractions(availabilityDao);
+  }
+
+  @Test
+  void givenReservations_whenFindFreeStartTimes_thenReturnStartTimesOfGroupWithinOpeningHours() {
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+    when(sharedGroupDao.findByPeople(3)).thenReturn(Optional.of(group));
+    when(availabilityDao.findReserved(any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(List.of(new ReservedRange(tomorrow.atTime(8, 8), tomorrow.atTime(8, 12))));
+
+    Optional<AvailableSlots> availableSlots = availabilityService.findFreeStartTimes(tomorrow, 3);
+
+    assertThat(availableSlots)
+        .get()
+        .returns(tomorrow, from(AvailableSlots::date))
+        .returns(group, from(AvailableSlots::group))
+        .returns(
+            List.of(LocalTime.of(8, 0), LocalTime.of(8, 16)), from(AvailableSlots::startTimes));
+    verify(availabilityDao, times(1))
+        .findReserved(any(LocalDateTime.class), any(LocalDateTime.class));
+  }
+
+  @Test
+  void givenDateOutsideHorizon_whenFindFreeStartTimes_thenReturnNoStartTimes() {
+    LocalDate yesterday = LocalDate.now(CLOCK).minusDays(1);
+    when(sharedGroupDao.findByPeople(3))
+        .thenReturn(Optional.of(new Group(1L, 1, 5, new BigDecimal("13.99"), 4)));
+    when(availabilityDao.findReserved(any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(Collections.emptyList());
+
+    Optional<AvailableSlots> availableSlots = availabilityService.findFreeStartTimes(yesterday, 3);
+
+    assertThat(availableSlots)
+        .get()
+        .returns(yesterday, from(AvailableSlots::date))
+        .returns(List.of(), from(AvailableSlots::startTimes));
+  }
+
+  @Test
+  void givenReservationBookedEvent_whenFindFreeStartTimes_thenExcludeBookedTimes() {
+    when(sharedGroupDao.findByPeople(3))
+        .thenReturn(Optional.of(new Group(1L, 1, 5, new BigDecimal("13.99"), 4)));
+    when(availabilityDao.findReserved(any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(Collections.emptyList());
+    availabilityService.reload();
+
+    availabilityService.onReservationBooked(
+        new ReservationBookedEvent(
+            tomorrow.atTime(8, 0), tomorrow.atTime(8, 4), UUID.randomUUID()));
+
+    assertThat(availabilityService.findFreeStartTimes(tomorrow, 3))
+        .get()
+        .returns(
+            List.of(LocalTime.of(8, 8), LocalTime.of(8, 12), LocalTime.of(8, 16)),
+            from(AvailableSlots::startTimes));
+  }
+
+  @Test
+  void givenReservationsBookedSinceLoad_whenReload_thenExcludeBookedTimes() {
+    when(sharedGroupDao.findByPeople(3))
+        .thenReturn(Optional.of(new Group(1L, 1, 5, new BigDecimal("13.99"), 4)));
+    when(availabilityDao.findReserved(any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(
+            Collections.emptyList(),
+            List.of(new ReservedRange(tomorrow.atTime(8, 0), tomorrow.atTime(8, 4))));
+    availabilityService.reload();
+
+    availabilityService.reload();
+
+    assertThat(availabilityService.findFreeStartTimes(tomorrow, 3))
+        .get()
+        .returns(
+            List.of(LocalTime.of(8, 8), LocalTime.of(8, 12), LocalTime.of(8, 16)),
+            from(AvailableSlots::startTimes));
+    verify(availabilityDao, times(2))
+        .findReserved(any(LocalDateTime.class), any(LocalDateTime.class));
+  }
+
+  @Test
+  void givenNoGroupForPeople_whenFindFreeWindows_thenReturnEmptyOptional() {
+    when(sharedGroupDao.findByPeople(40)).thenReturn(Optional.empty());
+
+    Optional<FreeWindows> freeWindows =
+        availabilityService.findFreeWindows(tomorrow.atTime(8, 0), tomorrow.atTime(20, 0), 40);
+
+    assertThat(freeWindows).isEmpty();
+    verifyNoInteractions(availabilityDao);
+  }
+
+  @Test
+  void givenGroupForPeople_whenFindFreeWindows_thenReturnWindowsFittingStartIntervalOfGroup() {
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+    List<FreeWindow> windows =
+        List.of(new FreeWindow(tomorrow.atTime(8, 0), true, tomorrow.atTime(20, 0), true));
+    when(sharedGroupDao.findByPeople(3)).thenReturn(Optional.of(group));
+    when(availabilityDao.findFreeWindows(
+            tomorrow.atTime(8, 0),
+            tomorrow.atTime(20, 0),
+            LocalTime.of(8, 0),
+            LocalTime.of(8, 20),
+            4))
+        .thenReturn(windows);
+
+    Optional<FreeWindows> freeWindows =
+        availabilityService.findFreeWindows(tomorrow.atTime(8, 0), tomorrow.atTime(20, 0), 3);
+
+    assertThat(freeWindows).get().isEqualTo(new FreeWindows(group, windows));
+  }
+}
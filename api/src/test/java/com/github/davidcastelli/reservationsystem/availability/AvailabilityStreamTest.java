@@ -0,0 +1,132 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.HoldCreatedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.HoldReleasedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationsChangedEvent;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@NullUnmarked
+@WebMvcTest(AvailabilityController.class)
+@Import(AvailabilityStream.class)
+@MockitoBean(types = AvailabilityService.class)
+class AvailabilityStreamTest {
+
+  // The stream never completes, so the requests are performed without waiting for their result.
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private AvailabilityStream availabilityStream;
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDate tomorrow = LocalDate.now(CLOCK).plusDays(1);
+
+  @TestConfiguration
+  static class FixedClockConfig {
+    @Bean
+    Clock clock() {
+      return CLOCK;
+    }
+  }
+
+  // Frames are sent by the virtual thread of the client, so the body is polled until one arrived.
+  // A frame is written in parts and only complete once it ends with a blank line.
+  private static String awaitFrame(MvcResult result, String event) throws Exception {
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    String body = result.getResponse().getContentAsString();
+    while (!(body.contains("event:" + event) && body.endsWith("\n\n"))
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      body = result.getResponse().getContentAsString();
+    }
+    return body;
+  }
+
+  @Test
+  void givenBookings_whenFlush_thenSendChangesInOneFrame() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/availability/stream")).andReturn();
+    assertThat(result.getRequest().isAsyncStarted()).isTrue();
+    LocalDateTime tomorrowAtTen = tomorrow.atTime(10, 0);
+
+    availabilityStream.onReservationBooked(
+        new ReservationBookedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), UUID.randomUUID()));
+    availabilityStream.onReservationBooked(
+        new ReservationBookedEvent(
+            tomorrowAtTen.plusHours(1),
+            tomorrowAtTen.plusHours(1).plusMinutes(4),
+            UUID.randomUUID()));
+    availabilityStream.flush();
+
+    assertThat(awaitFrame(result, "slots"))
+        .containsOnlyOnce("event:slots")
+        .contains(tomorrowAtTen.toString(), tomorrowAtTen.plusHours(1).toString());
+  }
+
+  @Test
+  void givenDate_whenFlush_thenSendOnlyChangesOfDate() throws Exception {
+    MvcResult result =
+        mockMvc.perform(get("/api/availability/stream?date={date}", tomorrow)).andReturn();
+    LocalDateTime otherDay = tomorrow.plusDays(1).atTime(10, 0);
+    LocalDateTime tomorrowAtTen = tomorrow.atTime(10, 0);
+
+    availabilityStream.onReservationBooked(
+        new ReservationBookedEvent(otherDay, otherDay.plusMinutes(4), UUID.randomUUID()));
+    availabilityStream.flush();
+    availabilityStream.onReservationBooked(
+        new ReservationBookedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), UUID.randomUUID()));
+    availabilityStream.flush();
+
+    assertThat(awaitFrame(result, "slots"))
+        .containsOnlyOnce("event:slots")
+        .contains(tomorrowAtTen.toString())
+        .doesNotContain(otherDay.toString());
+  }
+
+  @Test
+  void givenHoldCreatedAndReleased_whenFlush_thenSendTakenAndReleasedInOrder() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/availability/stream")).andReturn();
+    LocalDateTime tomorrowAtTen = tomorrow.atTime(10, 0);
+
+    availabilityStream.onHoldCreated(
+        new HoldCreatedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4)));
+    availabilityStream.onHoldReleased(
+        new HoldReleasedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4)));
+    availabilityStream.flush();
+
+    String body = awaitFrame(result, "slots");
+    assertThat(body).containsOnlyOnce("event:slots").contains("\"TAKEN\"", "\"RELEASED\"");
+    assertThat(body.indexOf("\"TAKEN\"")).isLessThan(body.indexOf("\"RELEASED\""));
+  }
+
+  @Test
+  void givenReservationsChangedEvent_whenFlush_thenSendResyncInsteadOfChanges() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/availability/stream")).andReturn();
+    LocalDateTime tomorrowAtTen = tomorrow.atTime(10, 0);
+
+    availabilityStream.onReservationBooked(
+        new ReservationBookedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), UUID.randomUUID()));
+    availabilityStream.onReservationsChanged(new ReservationsChangedEvent());
+    availabilityStream.flush();
+
+    assertThat(awaitFrame(result, "resync")).contains("event:resync").doesNotContain("event:slots");
+  }
+}
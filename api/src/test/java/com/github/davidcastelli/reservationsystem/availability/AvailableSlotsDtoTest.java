@@ -0,0 +1,63 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.json.JacksonTester;
+
+@NullUnmarked
+class AvailableSlotsDtoTest {
+
+  private JacksonTester<AvailableSlotsDto> jacksonTester;
+
+  private AvailableSlotsDto availableSlotsDto;
+
+  @BeforeEach
+  void init() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    JacksonTester.initFields(this, objectMapper);
+
+    availableSlotsDto =
+        new AvailableSlotsDto(
+            LocalDate.of(2025, 6, 14), 1L, 4, List.of(LocalTime.of(8, 0), LocalTime.of(8, 16)));
+  }
+
+  @Test
+  void whenConstructingAvailableSlotsDto_thenCorrectAvailableSlotsDtoProperties() {
+    assertThat(availableSlotsDto)
+        .isNotNull()
+        .hasNoNullFieldsOrProperties()
+        .hasOnlyFields("date", "groupId", "startInterval", "startTimes")
+        .returns(LocalDate.of(2025, 6, 14), from(AvailableSlotsDto::date))
+        .returns(1L, from(AvailableSlotsDto::groupId))
+        .returns(4, from(AvailableSlotsDto::startInterval))
+        .returns(
+            List.of(LocalTime.of(8, 0), LocalTime.of(8, 16)), from(AvailableSlotsDto::startTimes));
+  }
+
+  @Test
+  void givenAvailableSlotsDto_whenSerialized_thenReturnCorrectJson() throws Exception {
+    String expected =
+        """
+              {
+                "date": "2025-06-14",
+                "groupId": 1,
+                "startInterval": 4,
+                "startTimes": ["08:00:00", "08:16:00"]
+              }
+            """;
+
+    assertThat(jacksonTester.write(availableSlotsDto)).isNotNull().isEqualToJson(expected);
+  }
+}
@@ -0,0 +1,90 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class SlotCalendarTest {
+
+  private final LocalDate firstDay = LocalDate.of(2025, 6, 1);
+
+  private final SlotCalendar slotCalendar = new SlotCalendar(firstDay, 3, Duration.ofMinutes(1));
+
+  @Test
+  void givenSlotWidthNotDividingDay_whenConstructing_thenThrowIllegalArgumentException() {
+    Throwable thrown = catchThrowable(() -> new SlotCalendar(firstDay, 3, Duration.ofMinutes(7)));
+
+    assertThat(thrown).isNotNull().isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void givenSlotCalendar_whenContains_thenOnlyContainDaysOfCalendar() {
+    assertThat(slotCalendar.lastDay()).isEqualTo(LocalDate.of(2025, 6, 3));
+    assertThat(slotCalendar.contains(LocalDate.of(2025, 5, 31))).isFalse();
+    assertThat(slotCalendar.contains(LocalDate.of(2025, 6, 1))).isTrue();
+    assertThat(slotCalendar.contains(LocalDate.of(2025, 6, 3))).isTrue();
+    assertThat(slotCalendar.contains(LocalDate.of(2025, 6, 4))).isFalse();
+  }
+
+  @Test
+  void givenTimes_whenSlotOfTimeOfSlotsOf_thenConvertBetweenTimesAndSlots() {
+    assertThat(slotCalendar.slotOf(LocalTime.of(8, 4, 30))).isEqualTo(484);
+    assertThat(slotCalendar.timeOf(484)).isEqualTo(LocalTime.of(8, 4));
+    assertThat(slotCalendar.slotsOf(Duration.ofMinutes(4))).isEqualTo(4);
+    assertThat(slotCalendar.slotsOf(Duration.ofSeconds(241))).isEqualTo(5);
+  }
+
+  @Test
+  void givenReservation_whenNextReserved_thenReturnFirstSlotOfReservationIncludingEndSlot() {
+    LocalDate day = LocalDate.of(2025, 6, 2);
+    slotCalendar.reserve(day.atTime(9, 0), day.atTime(10, 0));
+
+    assertThat(slotCalendar.nextReserved(day, 0, 539)).isEqualTo(SlotCalendar.NOT_FOUND);
+    assertThat(slotCalendar.nextReserved(day, 0, 540)).isEqualTo(540);
+    assertThat(slotCalendar.nextReserved(day, 600, 700)).isEqualTo(600);
+    assertThat(slotCalendar.nextReserved(day, 601, 700)).isEqualTo(SlotCalendar.NOT_FOUND);
+  }
+
+  @Test
+  void givenReservationOverMidnight_whenNextReserved_thenReserveSlotsOfBothDays() {
+    LocalDate day = LocalDate.of(2025, 6, 1);
+    slotCalendar.reserve(day.atTime(23, 30), day.plusDays(1).atTime(0, 30));
+
+    assertThat(slotCalendar.nextReserved(day, 0, 1439)).isEqualTo(1410);
+    assertThat(slotCalendar.nextReserved(day.plusDays(1), 0, 1439)).isZero();
+    assertThat(slotCalendar.nextReserved(day.plusDays(1), 31, 1439))
+        .isEqualTo(SlotCalendar.NOT_FOUND);
+  }
+
+  @Test
+  void givenReservationOutsideCalendar_whenReserve_thenOnlyReservePartWithinCalendar() {
+    slotCalendar.reserve(LocalDate.of(2025, 5, 31).atTime(12, 0), firstDay.atTime(0, 9));
+    slotCalendar.reserve(
+        LocalDate.of(2025, 6, 3).atTime(23, 59), LocalDate.of(2025, 6, 5).atTime(1, 0));
+
+    assertThat(slotCalendar.nextReserved(firstDay, 0, 1439)).isZero();
+    assertThat(slotCalendar.nextReserved(firstDay, 10, 1439)).isEqualTo(SlotCalendar.NOT_FOUND);
+    assertThat(slotCalendar.nextReserved(LocalDate.of(2025, 6, 3), 0, 1439)).isEqualTo(1439);
+  }
+
+  @Test
+  void givenReservations_whenFreeStarts_thenReturnStartsNotOverlappingReservations() {
+    LocalDate day = LocalDate.of(2025, 6, 2);
+    slotCalendar.reserve(day.atTime(8, 8), day.atTime(8, 12));
+
+    int[] starts = slotCalendar.freeStarts(day, 480, 500, 4, 5);
+
+    // 08:04 ends in the reserved 08:08 slot and 08:12 starts in the reserved 08:12 slot.
+    assertThat(starts).containsExactly(480, 496);
+  }
+
+  @Test
+  void givenSpanLongerThanRange_whenFreeStarts_thenReturnNoStarts() {
+    assertThat(slotCalendar.freeStarts(firstDay, 480, 482, 4, 5)).isEmpty();
+  }
+}
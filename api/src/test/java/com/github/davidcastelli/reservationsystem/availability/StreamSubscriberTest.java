@@ -0,0 +1,105 @@
+package com.github.davidcastelli.reservationsystem.availability;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class StreamSubscriberTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDate tomorrow = LocalDate.now(CLOCK).plusDays(1);
+
+  private SlotChange taken(LocalDateTime startTime) {
+    return new SlotChange(SlotChange.Type.TAKEN, startTime, startTime.plusMinutes(4));
+  }
+
+  @Test
+  void givenChanges_whenOfferAndTake_thenReturnFrameOfChanges() throws Exception {
+    StreamSubscriber subscriber = new StreamSubscriber(null, 2);
+    List<SlotChange> changes =
+        List.of(taken(tomorrow.atTime(10, 0)), taken(tomorrow.plusDays(1).atTime(10, 0)));
+
+    subscriber.offer(changes);
+
+    assertThat(subscriber.take())
+        .isEqualTo(new StreamSubscriber.Changes(new SlotChangesDto(changes)));
+  }
+
+  @Test
+  void givenDate_whenOffer_thenQueueOnlyChangesOfDate() throws Exception {
+    StreamSubscriber subscriber = new StreamSubscriber(tomorrow, 2);
+    SlotChange wanted = taken(tomorrow.atTime(10, 0));
+
+    subscriber.offer(List.of(taken(tomorrow.plusDays(1).atTime(10, 0))));
+    subscriber.offer(List.of(wanted, taken(tomorrow.minusDays(1).atTime(10, 0))));
+
+    assertThat(subscriber.take())
+        .isEqualTo(new StreamSubscriber.Changes(new SlotChangesDto(List.of(wanted))));
+  }
+
+  @Test
+  void givenFullQueue_whenOffer_thenReplaceFramesWithResyncAndDropChangesUntilTaken()
+      throws Exception {
+    StreamSubscriber subscriber = new StreamSubscriber(null, 2);
+    subscriber.offer(List.of(taken(tomorrow.atTime(10, 0))));
+    subscriber.offer(List.of(taken(tomorrow.atTime(11, 0))));
+
+    subscriber.offer(List.of(taken(tomorrow.atTime(12, 0))));
+    subscriber.offer(List.of(taken(tomorrow.atTime(13, 0))));
+
+    assertThat(subscriber.take()).isEqualTo(new StreamSubscriber.Resync());
+    List<SlotChange> afterResync = List.of(taken(tomorrow.atTime(14, 0)));
+    subscriber.offer(afterResync);
+    assertThat(subscriber.take())
+        .isEqualTo(new StreamSubscriber.Changes(new SlotChangesDto(afterResync)));
+  }
+
+  @Test
+  void givenQueuedFrames_whenResync_thenReplaceFramesWithSingleResync() throws Exception {
+    StreamSubscriber subscriber = new StreamSubscriber(null, 2);
+    subscriber.offer(List.of(taken(tomorrow.atTime(10, 0))));
+
+    subscriber.resync();
+    subscriber.resync();
+
+    assertThat(subscriber.take()).isEqualTo(new StreamSubscriber.Resync());
+    List<SlotChange> afterResync = List.of(taken(tomorrow.atTime(11, 0)));
+    subscriber.offer(afterResync);
+    assertThat(subscriber.take())
+        .isEqualTo(new StreamSubscriber.Changes(new SlotChangesDto(afterResync)));
+  }
+
+  @Test
+  void givenFrameWaitingLongerThanTimeout_whenIsStalled_thenReturnTrue() throws Exception {
+    StreamSubscriber subscriber = new StreamSubscriber(null, 2);
+
+    assertThat(subscriber.isStalled(0)).isFalse();
+    subscriber.offer(List.of(taken(tomorrow.atTime(10, 0))));
+    Thread.sleep(5);
+    assertThat(subscriber.isStalled(TimeUnit.MILLISECONDS.toNanos(1))).isTrue();
+    assertThat(subscriber.isStalled(TimeUnit.MINUTES.toNanos(1))).isFalse();
+  }
+
+  @Test
+  void givenFullQueue_whenClose_thenReplaceFramesWithClosed() throws Exception {
+    StreamSubscriber subscriber = new StreamSubscriber(null, 2);
+    subscriber.offer(List.of(taken(tomorrow.atTime(10, 0))));
+    subscriber.offer(List.of(taken(tomorrow.atTime(11, 0))));
+
+    subscriber.close();
+
+    assertThat(subscriber.isClosed()).isTrue();
+    assertThat(subscriber.take()).isEqualTo(new StreamSubscriber.Closed());
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.davidcastelli.reservationsystem.common;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidRequestIdException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ClientErrorLogTest {
+
+  @Mock private Logger logger;
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(logger.isInfoEnabled()).thenReturn(true);
+  }
+
+  private ClientErrorLog clientErrorLog(int maxPerInterval, double sampleRate) {
+    return new ClientErrorLog(
+        logger, Duration.ofSeconds(1), maxPerInterval, sampleRate, nanoTime::get);
+  }
+
+  private static boolean record(ClientErrorLog clientErrorLog, long id) {
+    return clientErrorLog.record(
+        HttpStatus.NOT_FOUND, new GroupNotFoundException(id), "uri=/api/groups/" + id, Map.of());
+  }
+
+  @Test
+  void givenErrorsBeyondLimit_whenRecord_thenLogOnlyLimitPerInterval() {
+    ClientErrorLog clientErrorLog = clientErrorLog(2, 1.0);
+
+    assertThat(record(clientErrorLog, 1)).isTrue();
+    assertThat(record(clientErrorLog, 2)).isTrue();
+    assertThat(record(clientErrorLog, 3)).isFalse();
+    assertThat(record(clientErrorLog, 4)).isFalse();
+    nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertThat(record(clientErrorLog, 5)).isTrue();
+
+    assertThat(clientErrorLog.count(GroupNotFoundException.class)).isEqualTo(5);
+    verify(logger, times(3)).info(anyString(), any(Object[].class));
+    // The line of the first error of the next interval tells how many were left out.
+    verify(logger)
+        .info(
+            anyString(),
+            eq("GroupNotFoundException"),
+            eq(404),
+            eq("Group with id: 5 could not be found."),
+            eq("uri=/api/groups/5"),
+            eq(List.of()),
+            eq(2L));
+  }
+
+  @Test
+  void givenLimitOfOneType_whenRecordOtherType_thenLogOtherType() {
+    ClientErrorLog clientErrorLog = clientErrorLog(1, 1.0);
+    record(clientErrorLog, 1);
+
+    boolean logged =
+        clientErrorLog.record(
+            HttpStatus.BAD_REQUEST,
+            new InvalidRequestIdException(new ErrorDetail[] {}),
+            "uri=/api/groups/1",
+            Map.of());
+
+    assertThat(logged).isTrue();
+    assertThat(clientErrorLog.counts())
+        .containsExactly(
+            entry(
+                new ClientErrorLog.ClientError("GroupNotFoundException", HttpStatus.NOT_FOUND), 1L),
+            entry(
+                new ClientErrorLog.ClientError("InvalidRequestIdException", HttpStatus.BAD_REQUEST),
+                1L));
+  }
+
+  @Test
+  void givenSampleRateOfZero_whenRecord_thenCountWithoutLogging() {
+    ClientErrorLog clientErrorLog = clientErrorLog(10, 0.0);
+
+    assertThat(record(clientErrorLog, 1)).isFalse();
+
+    assertThat(clientErrorLog.count(GroupNotFoundException.class)).isEqualTo(1);
+    verify(logger, never()).info(anyString(), any(Object[].class));
+  }
+
+  @Test
+  void givenInfoDisabled_whenRecord_thenCountWithoutLogging() {
+    when(logger.isInfoEnabled()).thenReturn(false);
+    ClientErrorLog clientErrorLog = clientErrorLog(10, 1.0);
+
+    assertThat(record(clientErrorLog, 1)).isFalse();
+
+    assertThat(clientErrorLog.count(GroupNotFoundException.class)).isEqualTo(1);
+  }
+
+  @Test
+  void givenListener_whenRecordNewTypes_thenCallListenerOncePerType() {
+    ClientErrorLog clientErrorLog = clientErrorLog(10, 1.0);
+    record(clientErrorLog, 1);
+    List<String> types = new ArrayList<>();
+
+    clientErrorLog.onNewType((type, status) -> types.add(type.getSimpleName() + " " + status));
+    record(clientErrorLog, 2);
+    clientErrorLog.record(
+        HttpStatus.BAD_REQUEST,
+        new InvalidRequestIdException(new ErrorDetail[] {}),
+        "uri=/api/groups/1",
+        Map.of());
+
+    assertThat(types)
+        .containsExactly(
+            "GroupNotFoundException 404 NOT_FOUND", "InvalidRequestIdException 400 BAD_REQUEST");
+  }
+}
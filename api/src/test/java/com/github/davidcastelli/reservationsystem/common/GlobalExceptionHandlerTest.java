@@ -2,17 +2,28 @@ package com.github.davidcastelli.reservationsystem.common;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import com.github.davidcastelli.reservationsystem.common.exception.ConcurrencyLimitExceededException;
+import com.github.davidcastelli.reservationsystem.common.exception.DatabaseBusyException;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupConflictException;
 import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupVersionMismatchException;
 import com.github.davidcastelli.reservationsystem.common.exception.InvalidRequestIdException;
+import com.github.davidcastelli.reservationsystem.common.exception.RequestBodyTooLargeException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationConflictException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Map;
 import org.jspecify.annotations.NullUnmarked;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.WebRequest;
 
 @NullUnmarked
@@ -23,7 +34,8 @@ class GlobalExceptionHandlerTest {
 
   @Test
   void givenBadRequestException_whenHandleBadRequestException_thenReturnCorrectProblemDetail() {
-    GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
     ErrorDetail[] errors =
         new ErrorDetail[] {
           new ErrorDetail("Request.InvalidRequestId", "The request id must match the route id.")
@@ -49,7 +61,8 @@ class GlobalExceptionHandlerTest {
 
   @Test
   void givenNotFoundException_whenHandleNotFoundException_thenReturnCorrectProblemDetail() {
-    GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
     GroupNotFoundException groupNotFoundException = new GroupNotFoundException(1);
 
     ProblemDetail actual =
@@ -60,5 +73,167 @@ class GlobalExceptionHandlerTest {
     expected.setType(URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.5"));
 
     assertThat(actual).isNotNull().usingRecursiveComparison().isEqualTo(expected);
+    assertThat(globalExceptionHandler.clientErrors().count(GroupNotFoundException.class))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void
+      givenPreconditionFailedException_whenHandlePreconditionFailedException_thenReturnCorrectProblemDetail() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    GroupVersionMismatchException groupVersionMismatchException =
+        new GroupVersionMismatchException(1L);
+
+    ProblemDetail actual =
+        globalExceptionHandler.handlePreconditionFailedException(
+            groupVersionMismatchException, request);
+
+    ProblemDetail expected =
+        ProblemDetail.forStatusAndDetail(
+            HttpStatus.PRECONDITION_FAILED, groupVersionMismatchException.getMessage());
+    expected.setType(URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.13"));
+
+    assertThat(actual).isNotNull().usingRecursiveComparison().isEqualTo(expected);
+  }
+
+  @Test
+  void
+      givenPayloadTooLargeException_whenHandlePayloadTooLargeException_thenReturnCorrectProblemDetail() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    RequestBodyTooLargeException requestBodyTooLargeException =
+        new RequestBodyTooLargeException(65536);
+
+    ProblemDetail actual =
+        globalExceptionHandler.handlePayloadTooLargeException(
+            requestBodyTooLargeException, request);
+
+    ProblemDetail expected =
+        ProblemDetail.forStatusAndDetail(
+            HttpStatus.PAYLOAD_TOO_LARGE, requestBodyTooLargeException.getMessage());
+    expected.setType(URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.14"));
+
+    assertThat(actual).isNotNull().usingRecursiveComparison().isEqualTo(expected);
+    assertThat(globalExceptionHandler.clientErrors().count(RequestBodyTooLargeException.class))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenConflictException_whenHandleConflictException_thenReturnCorrectProblemDetail() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    ErrorDetail[] errors =
+        new ErrorDetail[] {
+          new ErrorDetail(
+              "Groups[0].OverlappingPeople",
+              "The people range overlaps the people range of the group with id: 1.")
+        };
+    GroupConflictException groupConflictException = new GroupConflictException(errors);
+
+    ProblemDetail actual =
+        globalExceptionHandler.handleConflictException(groupConflictException, request);
+
+    ProblemDetail expected =
+        ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, groupConflictException.getMessage());
+    expected.setType(URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.10"));
+    expected.setProperties(
+        Map.of(
+            "errors",
+            Map.of(
+                "Groups[0].OverlappingPeople",
+                new String[] {
+                  "The people range overlaps the people range of the group with id: 1."
+                })));
+
+    assertThat(actual).isNotNull().usingRecursiveComparison().isEqualTo(expected);
+  }
+
+  @Test
+  void
+      givenConflictExceptionWithProperties_whenHandleConflictException_thenReturnProblemDetailWithProperties() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    LocalDateTime alternativeStartTime = LocalDateTime.of(2025, 6, 14, 10, 8);
+    ReservationConflictException reservationConflictException =
+        new ReservationConflictException(
+            new ErrorDetail[] {
+              new ErrorDetail(
+                  "Reservation.Overlapping", "The reservation overlaps another reservation.")
+            },
+            alternativeStartTime);
+
+    ProblemDetail actual =
+        globalExceptionHandler.handleConflictException(reservationConflictException, request);
+
+    ProblemDetail expected =
+        ProblemDetail.forStatusAndDetail(
+            HttpStatus.CONFLICT, reservationConflictException.getMessage());
+    expected.setType(URI.create("https://tools.ietf.org/html/rfc9110#section-15.5.10"));
+    expected.setProperties(
+        Map.of(
+            "alternativeStartTime",
+            alternativeStartTime,
+            "errors",
+            Map.of(
+                "Reservation.Overlapping",
+                new String[] {"The reservation overlaps another reservation."})));
+
+    assertThat(actual).isNotNull().usingRecursiveComparison().isEqualTo(expected);
+  }
+
+  @Test
+  void
+      givenServiceUnavailableException_whenHandleServiceUnavailableException_thenReturnProblemDetailWithRetryAfter() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    BookingContentionException bookingContentionException =
+        new BookingContentionException(Duration.ofMillis(1500));
+
+    ResponseEntity<ProblemDetail> actual =
+        globalExceptionHandler.handleServiceUnavailableException(
+            bookingContentionException, request);
+
+    ProblemDetail expected =
+        ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE, bookingContentionException.getMessage());
+    expected.setType(URI.create("https://tools.ietf.org/html/rfc9110#section-15.6.4"));
+
+    assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(actual.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    assertThat(actual.getBody()).isNotNull().usingRecursiveComparison().isEqualTo(expected);
+  }
+
+  @Test
+  void
+      givenDatabaseBusyException_whenHandleServiceUnavailableException_thenReturnProblemDetailWithoutCountingClientError() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    DatabaseBusyException databaseBusyException = new DatabaseBusyException(Duration.ofSeconds(1));
+
+    ResponseEntity<ProblemDetail> actual =
+        globalExceptionHandler.handleServiceUnavailableException(databaseBusyException, request);
+
+    assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(actual.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    assertThat(globalExceptionHandler.clientErrors().count(DatabaseBusyException.class)).isZero();
+  }
+
+  @Test
+  void
+      givenConcurrencyLimitExceededException_whenHandleServiceUnavailableException_thenReturnProblemDetailWithoutCountingClientError() {
+    GlobalExceptionHandler globalExceptionHandler =
+        new GlobalExceptionHandler(Duration.ofMinutes(1), 20, 1.0);
+    ConcurrencyLimitExceededException concurrencyLimitExceededException =
+        new ConcurrencyLimitExceededException(Duration.ofMillis(200));
+
+    ResponseEntity<ProblemDetail> actual =
+        globalExceptionHandler.handleServiceUnavailableException(
+            concurrencyLimitExceededException, request);
+
+    assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(actual.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    assertThat(globalExceptionHandler.clientErrors().count(ConcurrencyLimitExceededException.class))
+        .isZero();
   }
 }
@@ -0,0 +1,69 @@
+package com.github.davidcastelli.reservationsystem.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.utility.MetricNames;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class PinnedThreadMonitorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private PinnedThreadMonitor pinnedThreadMonitor;
+
+  @BeforeEach
+  void setUp() {
+    pinnedThreadMonitor = new PinnedThreadMonitor(Duration.ofMillis(10), meterRegistry);
+    pinnedThreadMonitor.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    pinnedThreadMonitor.stop();
+  }
+
+  // Sleeping while holding a monitor pins a virtual thread to its carrier.
+  private static synchronized void sleepPinned() {
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void pin() throws InterruptedException {
+    Thread.ofVirtual().start(PinnedThreadMonitorTest::sleepPinned).join();
+  }
+
+  @Test
+  void givenPinnedVirtualThread_whenMonitor_thenTimePinning() throws InterruptedException {
+    Timer pinned = meterRegistry.get(MetricNames.VIRTUAL_THREADS_PINNED).timer();
+
+    // The events are streamed once the recording is flushed, about every second.
+    long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+    while (pinned.count() == 0 && System.nanoTime() < deadline) {
+      pin();
+      Thread.sleep(100);
+    }
+
+    assertThat(pinned.count()).isPositive();
+    assertThat(pinned.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+  }
+
+  @Test
+  void whenStop_thenIsNotRunning() {
+    assertThat(pinnedThreadMonitor.isRunning()).isTrue();
+
+    pinnedThreadMonitor.stop();
+
+    assertThat(pinnedThreadMonitor.isRunning()).isFalse();
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.davidcastelli.reservationsystem.common.dao;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.exception.DatabaseBusyException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class GatedDataSourceTest {
+
+  @Mock private DataSource targetDataSource;
+
+  @Mock private Connection connection;
+
+  private GatedDataSource gatedDataSource(int maxConcurrency, int maxWaiting) {
+    return new GatedDataSource(
+        targetDataSource, maxConcurrency, maxWaiting, Duration.ofMillis(100));
+  }
+
+  @Test
+  void givenInvalidLimits_whenCreate_thenThrowIllegalArgumentException() {
+    Duration queueTimeout = Duration.ofMillis(100);
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new GatedDataSource(targetDataSource, 0, 1, queueTimeout));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new GatedDataSource(targetDataSource, 1, -1, queueTimeout));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new GatedDataSource(targetDataSource, 1, 1, Duration.ZERO));
+  }
+
+  @Test
+  void givenFreePermit_whenGetConnection_thenReturnConnectionWhichReleasesPermitOnceWhenClosed()
+      throws SQLException {
+    when(targetDataSource.getConnection()).thenReturn(connection);
+    GatedDataSource gatedDataSource = gatedDataSource(2, 1);
+
+    Connection gated = gatedDataSource.getConnection();
+
+    assertThat(gatedDataSource.active()).isEqualTo(1);
+    assertThat(DataSourceUtils.getTargetConnection(gated)).isSameAs(connection);
+    gated.close();
+    gated.close();
+    assertThat(gatedDataSource.active()).isZero();
+    verify(connection, times(1)).close();
+  }
+
+  @Test
+  void givenConnectionsInUse_whenGetConnection_thenThrowDatabaseBusyExceptionAfterQueueTimeout()
+      throws SQLException {
+    when(targetDataSource.getConnection()).thenReturn(connection);
+    GatedDataSource gatedDataSource = gatedDataSource(1, 1);
+    gatedDataSource.getConnection();
+
+    long start = System.nanoTime();
+    assertThatExceptionOfType(DatabaseBusyException.class)
+        .isThrownBy(gatedDataSource::getConnection);
+
+    assertThat(System.nanoTime() - start)
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(gatedDataSource.rejections()).isEqualTo(1);
+    assertThat(gatedDataSource.waiting()).isZero();
+    verify(targetDataSource, times(1)).getConnection();
+  }
+
+  @Test
+  void givenNoRoomToWait_whenGetConnection_thenThrowDatabaseBusyExceptionWithoutWaiting()
+      throws SQLException {
+    when(targetDataSource.getConnection()).thenReturn(connection);
+    GatedDataSource gatedDataSource =
+        new GatedDataSource(targetDataSource, 1, 0, Duration.ofSeconds(10));
+    gatedDataSource.getConnection();
+
+    long start = System.nanoTime();
+    assertThatExceptionOfType(DatabaseBusyException.class)
+        .isThrownBy(gatedDataSource::getConnection);
+
+    assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+    assertThat(gatedDataSource.rejections()).isEqualTo(1);
+  }
+
+  @Test
+  void givenWaitingRequest_whenCloseConnection_thenHandPermitToWaitingRequest() throws Exception {
+    when(targetDataSource.getConnection()).thenReturn(connection);
+    GatedDataSource gatedDataSource =
+        new GatedDataSource(targetDataSource, 1, 1, Duration.ofSeconds(10));
+    Connection held = gatedDataSource.getConnection();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletableFuture<Connection> waiter = new CompletableFuture<>();
+      executor.execute(
+          () -> {
+            try {
+              waiter.complete(gatedDataSource.getConnection());
+            } catch (SQLException | RuntimeException e) {
+              waiter.completeExceptionally(e);
+            }
+          });
+      while (gatedDataSource.waiting() == 0) {
+        Thread.onSpinWait();
+      }
+
+      held.close();
+
+      assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+      assertThat(gatedDataSource.active()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void givenFailingTargetDataSource_whenGetConnection_thenReleasePermit() throws SQLException {
+    when(targetDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+    GatedDataSource gatedDataSource = gatedDataSource(1, 1);
+
+    assertThatExceptionOfType(SQLException.class).isThrownBy(gatedDataSource::getConnection);
+
+    assertThat(gatedDataSource.active()).isZero();
+    assertThat(gatedDataSource.rejections()).isZero();
+  }
+}
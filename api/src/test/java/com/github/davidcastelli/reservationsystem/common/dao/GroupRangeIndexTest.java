@@ -0,0 +1,98 @@
+package com.github.davidcastelli.reservationsystem.common.dao;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class GroupRangeIndexTest {
+
+  private final List<Group> groups =
+      List.of(
+          new Group(3L, 11, 15, new BigDecimal("11.99"), 12),
+          new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+          new Group(2L, 6, 10, new BigDecimal("13.99"), 8));
+
+  @Test
+  void givenUnsortedGroups_whenOf_thenReturnIndexWithCorrectSize() {
+    GroupRangeIndex groupRangeIndex = GroupRangeIndex.of(groups);
+
+    assertThat(groupRangeIndex.size()).isEqualTo(3);
+  }
+
+  @Test
+  void givenOverlappingGroups_whenOf_thenThrowIllegalArgumentException() {
+    List<Group> overlappingGroups =
+        List.of(
+            new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+            new Group(2L, 5, 10, new BigDecimal("13.99"), 8));
+
+    Throwable thrown = catchThrowable(() -> GroupRangeIndex.of(overlappingGroups));
+
+    assertThat(thrown).isNotNull().isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void givenPeopleWithinRanges_whenFind_thenReturnGroupContainingPeople() {
+    GroupRangeIndex groupRangeIndex = GroupRangeIndex.of(groups);
+
+    assertThat(groupRangeIndex.find(1)).isNotNull().returns(1L, from(Group::groupId));
+    assertThat(groupRangeIndex.find(5)).isNotNull().returns(1L, from(Group::groupId));
+    assertThat(groupRangeIndex.find(6)).isNotNull().returns(2L, from(Group::groupId));
+    assertThat(groupRangeIndex.find(12)).isNotNull().returns(3L, from(Group::groupId));
+    assertThat(groupRangeIndex.find(15)).isNotNull().returns(3L, from(Group::groupId));
+  }
+
+  @Test
+  void givenPeopleOutsideRanges_whenFind_thenReturnNull() {
+    GroupRangeIndex groupRangeIndex =
+        GroupRangeIndex.of(
+            List.of(
+                new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+                new Group(2L, 8, 10, new BigDecimal("13.99"), 8)));
+
+    assertThat(groupRangeIndex.find(0)).isNull();
+    assertThat(groupRangeIndex.find(6)).isNull();
+    assertThat(groupRangeIndex.find(11)).isNull();
+  }
+
+  @Test
+  void givenNoGroups_whenFind_thenReturnNull() {
+    GroupRangeIndex groupRangeIndex = GroupRangeIndex.of(Collections.emptyList());
+
+    assertThat(groupRangeIndex.find(1)).isNull();
+  }
+
+  @Test
+  void givenPeopleWithinRanges_whenIndexOf_thenReturnPositionWithGroupIdAndPriceInCents() {
+    GroupRangeIndex groupRangeIndex = GroupRangeIndex.of(groups);
+
+    int position = groupRangeIndex.indexOf(12);
+
+    assertThat(position).isNotEqualTo(GroupRangeIndex.NOT_FOUND);
+    assertThat(groupRangeIndex.groupId(position)).isEqualTo(3L);
+    assertThat(groupRangeIndex.admissionPriceCents(position)).isEqualTo(1199L);
+  }
+
+  @Test
+  void givenPeopleOutsideRanges_whenIndexOf_thenReturnNotFound() {
+    GroupRangeIndex groupRangeIndex = GroupRangeIndex.of(groups);
+
+    assertThat(groupRangeIndex.indexOf(0)).isEqualTo(GroupRangeIndex.NOT_FOUND);
+    assertThat(groupRangeIndex.indexOf(16)).isEqualTo(GroupRangeIndex.NOT_FOUND);
+  }
+
+  @Test
+  void givenPriceWithMoreThanTwoDecimalPlaces_whenOf_thenThrowArithmeticException() {
+    List<Group> fractionalCentGroups = List.of(new Group(1L, 1, 5, new BigDecimal("13.999"), 4));
+
+    Throwable thrown = catchThrowable(() -> GroupRangeIndex.of(fractionalCentGroups));
+
+    assertThat(thrown).isNotNull().isInstanceOf(ArithmeticException.class);
+  }
+}
@@ -132,4 +132,31 @@ class BadRequestExceptionTest {
                   "The group start interval must be positive."
                 }));
   }
+
+  @Test
+  void givenBadRequestException_whenChangeErrors_thenKeepErrorsOfException() {
+    BadRequestException badRequestException =
+        Mockito.mock(
+            BadRequestException.class,
+            Mockito.withSettings()
+                .useConstructor(
+                    "Bad request exception.",
+                    new ErrorDetail[] {
+                      new ErrorDetail(
+                          "Request.InvalidRequestId", "The request id must match the route id.")
+                    })
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    Map<String, String[]> errors = badRequestException.getErrors();
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> errors.put("Group.InvalidGroup", new String[] {}));
+    errors.get("Request.InvalidRequestId")[0] = "Changed.";
+    assertThat(badRequestException.getErrors())
+        .containsExactly(
+            new AbstractMap.SimpleEntry<>(
+                "Request.InvalidRequestId",
+                new String[] {"The request id must match the route id."}));
+    assertThat(badRequestException.getStackTrace()).isEmpty();
+  }
 }
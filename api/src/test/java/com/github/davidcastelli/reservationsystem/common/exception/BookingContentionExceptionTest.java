@@ -0,0 +1,33 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class BookingContentionExceptionTest {
+
+  @Test
+  void givenBookingContentionException_whenGetMessage_thenReturnCorrectMessage() {
+    BookingContentionException bookingContentionException =
+        new BookingContentionException(Duration.ofSeconds(1));
+
+    String message = bookingContentionException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo("The reservation could not be booked due to contention, please try again.");
+  }
+
+  @Test
+  void givenBookingContentionException_whenGetRetryAfter_thenReturnRetryAfter() {
+    BookingContentionException bookingContentionException =
+        new BookingContentionException(Duration.ofSeconds(1));
+
+    Duration retryAfter = bookingContentionException.getRetryAfter();
+
+    assertThat(retryAfter).isEqualTo(Duration.ofSeconds(1));
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ConcurrencyLimitExceededExceptionTest {
+
+  @Test
+  void givenConcurrencyLimitExceededException_whenGetMessage_thenReturnCorrectMessage() {
+    ConcurrencyLimitExceededException concurrencyLimitExceededException =
+        new ConcurrencyLimitExceededException(Duration.ofSeconds(1));
+
+    String message = concurrencyLimitExceededException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("The server is overloaded, please try again.");
+  }
+
+  @Test
+  void givenConcurrencyLimitExceededException_whenGetRetryAfter_thenReturnRetryAfter() {
+    ConcurrencyLimitExceededException concurrencyLimitExceededException =
+        new ConcurrencyLimitExceededException(Duration.ofSeconds(1));
+
+    Duration retryAfter = concurrencyLimitExceededException.getRetryAfter();
+
+    assertThat(retryAfter).isEqualTo(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void givenConcurrencyLimitExceededException_whenGetStackTrace_thenReturnEmptyStackTrace() {
+    ConcurrencyLimitExceededException concurrencyLimitExceededException =
+        new ConcurrencyLimitExceededException(Duration.ofSeconds(1));
+
+    assertThat(concurrencyLimitExceededException.getStackTrace()).isEmpty();
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.util.Map;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@NullUnmarked
+class ConflictExceptionTest {
+
+  @Test
+  void givenConflictException_whenGetMessage_thenReturnCorrectMessage() {
+    ConflictException conflictException =
+        Mockito.mock(
+            ConflictException.class,
+            Mockito.withSettings()
+                .useConstructor("Conflict exception.", new ErrorDetail[] {})
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    String message = conflictException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Conflict exception.");
+  }
+
+  @Test
+  void givenConflictExceptionWithDuplicateCodes_whenGetErrors_thenReturnCorrectSizeAndErrors() {
+    ConflictException conflictException =
+        Mockito.mock(
+            ConflictException.class,
+            Mockito.withSettings()
+                .useConstructor(
+                    "Conflict exception.",
+                    new ErrorDetail[] {
+                      new ErrorDetail("Groups[0].OverlappingPeople", "Overlaps group 1."),
+                      new ErrorDetail("Groups[0].OverlappingPeople", "Overlaps group 2."),
+                      new ErrorDetail("Groups[1].OverlappingPeople", "Overlaps group 3.")
+                    })
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    Map<String, String[]> errors = conflictException.getErrors();
+
+    assertThat(errors)
+        .isNotNull()
+        .hasSize(2)
+        .containsExactlyInAnyOrderEntriesOf(
+            Map.of(
+                "Groups[0].OverlappingPeople",
+                new String[] {"Overlaps group 1.", "Overlaps group 2."},
+                "Groups[1].OverlappingPeople",
+                new String[] {"Overlaps group 3."}));
+  }
+
+  @Test
+  void givenConflictException_whenGetProperties_thenReturnEmptyMap() {
+    ConflictException conflictException =
+        Mockito.mock(
+            ConflictException.class,
+            Mockito.withSettings()
+                .useConstructor("Conflict exception.", new ErrorDetail[] {})
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    Map<String, Object> properties = conflictException.getProperties();
+
+    assertThat(properties).isNotNull().isEmpty();
+  }
+}
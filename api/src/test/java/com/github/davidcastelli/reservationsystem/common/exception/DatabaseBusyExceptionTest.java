@@ -0,0 +1,36 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class DatabaseBusyExceptionTest {
+
+  @Test
+  void givenDatabaseBusyException_whenGetMessage_thenReturnCorrectMessage() {
+    DatabaseBusyException databaseBusyException = new DatabaseBusyException(Duration.ofMillis(500));
+
+    String message = databaseBusyException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("The database is busy, please try again.");
+  }
+
+  @Test
+  void givenDatabaseBusyException_whenGetRetryAfter_thenReturnRetryAfter() {
+    DatabaseBusyException databaseBusyException = new DatabaseBusyException(Duration.ofMillis(500));
+
+    Duration retryAfter = databaseBusyException.getRetryAfter();
+
+    assertThat(retryAfter).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void givenDatabaseBusyException_whenGetStackTrace_thenReturnEmptyStackTrace() {
+    DatabaseBusyException databaseBusyException = new DatabaseBusyException(Duration.ofMillis(500));
+
+    assertThat(databaseBusyException.getStackTrace()).isEmpty();
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class GroupConflictExceptionTest {
+
+  @Test
+  void givenGroupConflictException_whenGetMessage_thenReturnCorrectMessage() {
+    GroupConflictException groupConflictException =
+        new GroupConflictException(new ErrorDetail[] {});
+
+    String message = groupConflictException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo("Groups with overlapping people ranges can not be created.");
+  }
+}
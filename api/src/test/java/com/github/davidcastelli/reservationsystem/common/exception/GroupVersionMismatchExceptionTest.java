@@ -0,0 +1,20 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class GroupVersionMismatchExceptionTest {
+
+  @Test
+  void givenGroupVersionMismatchException_whenGetMessage_thenReturnCorrectMessage() {
+    GroupVersionMismatchException groupVersionMismatchException =
+        new GroupVersionMismatchException(1L);
+
+    String message = groupVersionMismatchException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Group with id: 1 has been modified.");
+  }
+}
@@ -0,0 +1,24 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class HoldNotFoundExceptionTest {
+
+  @Test
+  void givenHoldNotFoundException_whenGetMessage_thenReturnCorrectMessage() {
+    UUID holdId = UUID.fromString("0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20");
+    HoldNotFoundException holdNotFoundException = new HoldNotFoundException(holdId);
+
+    String message = holdNotFoundException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo(
+            "Hold with id: 0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20 could not be found or has expired.");
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class IdempotencyKeyConflictExceptionTest {
+
+  @Test
+  void givenIdempotencyKeyConflictException_whenGetMessage_thenReturnCorrectMessage() {
+    IdempotencyKeyConflictException idempotencyKeyConflictException =
+        new IdempotencyKeyConflictException(new ErrorDetail[] {});
+
+    String message = idempotencyKeyConflictException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo("A request with the same idempotency key is in flight.");
+  }
+}
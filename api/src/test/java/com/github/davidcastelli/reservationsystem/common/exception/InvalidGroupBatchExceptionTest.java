@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class InvalidGroupBatchExceptionTest {
+
+  @Test
+  void givenInvalidGroupBatchException_whenGetMessage_thenReturnCorrectMessage() {
+    InvalidGroupBatchException invalidGroupBatchException =
+        new InvalidGroupBatchException(new ErrorDetail[] {});
+
+    String message = invalidGroupBatchException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Request validation failed.");
+  }
+}
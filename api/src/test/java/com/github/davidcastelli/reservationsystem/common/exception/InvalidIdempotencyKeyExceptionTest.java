@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class InvalidIdempotencyKeyExceptionTest {
+
+  @Test
+  void givenInvalidIdempotencyKeyException_whenGetMessage_thenReturnCorrectMessage() {
+    InvalidIdempotencyKeyException invalidIdempotencyKeyException =
+        new InvalidIdempotencyKeyException(new ErrorDetail[] {});
+
+    String message = invalidIdempotencyKeyException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Request validation failed.");
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class InvalidQueryParameterExceptionTest {
+
+  @Test
+  void givenInvalidQueryParameterException_whenGetMessage_thenReturnCorrectMessage() {
+    InvalidQueryParameterException invalidQueryParameterException =
+        new InvalidQueryParameterException(new ErrorDetail[] {});
+
+    String message = invalidQueryParameterException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Request validation failed.");
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class InvalidQuoteBatchExceptionTest {
+
+  @Test
+  void givenInvalidQuoteBatchException_whenGetMessage_thenReturnCorrectMessage() {
+    InvalidQuoteBatchException invalidQuoteBatchException =
+        new InvalidQuoteBatchException(new ErrorDetail[] {});
+
+    String message = invalidQuoteBatchException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Request validation failed.");
+  }
+}
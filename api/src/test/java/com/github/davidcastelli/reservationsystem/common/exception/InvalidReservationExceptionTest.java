@@ -0,0 +1,21 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class InvalidReservationExceptionTest {
+
+  @Test
+  void givenInvalidReservationException_whenGetMessage_thenReturnCorrectMessage() {
+    InvalidReservationException invalidReservationException =
+        new InvalidReservationException(new ErrorDetail[] {});
+
+    String message = invalidReservationException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Request validation failed.");
+  }
+}
@@ -22,4 +22,18 @@ class NotFoundExceptionTest {
 
     assertThat(message).isNotNull().isEqualTo("Not found exception.");
   }
+
+  @Test
+  void givenNotFoundException_whenGetStackTrace_thenReturnEmptyStackTrace() {
+    NotFoundException notFoundException =
+        Mockito.mock(
+            NotFoundException.class,
+            Mockito.withSettings()
+                .useConstructor("Not found exception.")
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    StackTraceElement[] stackTrace = notFoundException.getStackTrace();
+
+    assertThat(stackTrace).isEmpty();
+  }
 }
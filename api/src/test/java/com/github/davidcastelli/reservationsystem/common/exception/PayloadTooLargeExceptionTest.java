@@ -0,0 +1,25 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@NullUnmarked
+class PayloadTooLargeExceptionTest {
+
+  @Test
+  void givenPayloadTooLargeException_whenGetMessage_thenReturnCorrectMessage() {
+    PayloadTooLargeException payloadTooLargeException =
+        Mockito.mock(
+            PayloadTooLargeException.class,
+            Mockito.withSettings()
+                .useConstructor("Payload too large exception.")
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    String message = payloadTooLargeException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Payload too large exception.");
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@NullUnmarked
+class PreconditionFailedExceptionTest {
+
+  @Test
+  void givenPreconditionFailedException_whenGetMessage_thenReturnCorrectMessage() {
+    PreconditionFailedException preconditionFailedException =
+        Mockito.mock(
+            PreconditionFailedException.class,
+            Mockito.withSettings()
+                .useConstructor("Precondition failed exception.")
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+    String message = preconditionFailedException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("Precondition failed exception.");
+  }
+}
@@ -0,0 +1,22 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class RequestBodyTooLargeExceptionTest {
+
+  @Test
+  void givenRequestBodyTooLargeException_whenGetMessage_thenReturnCorrectMessage() {
+    RequestBodyTooLargeException requestBodyTooLargeException =
+        new RequestBodyTooLargeException(65536);
+
+    String message = requestBodyTooLargeException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo("The request body must not be larger than 65536 bytes.");
+  }
+}
@@ -0,0 +1,46 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ReservationConflictExceptionTest {
+
+  @Test
+  void givenReservationConflictException_whenGetMessage_thenReturnCorrectMessage() {
+    ReservationConflictException reservationConflictException =
+        new ReservationConflictException(new ErrorDetail[] {}, null);
+
+    String message = reservationConflictException.getMessage();
+
+    assertThat(message).isNotNull().isEqualTo("The reservation overlaps another reservation.");
+  }
+
+  @Test
+  void givenAlternativeStartTime_whenGetProperties_thenReturnAlternativeStartTime() {
+    LocalDateTime alternativeStartTime = LocalDateTime.of(2025, 6, 14, 10, 8);
+    ReservationConflictException reservationConflictException =
+        new ReservationConflictException(new ErrorDetail[] {}, alternativeStartTime);
+
+    Map<String, Object> properties = reservationConflictException.getProperties();
+
+    assertThat(properties)
+        .isNotNull()
+        .containsExactlyEntriesOf(Map.of("alternativeStartTime", alternativeStartTime));
+  }
+
+  @Test
+  void givenNoAlternativeStartTime_whenGetProperties_thenReturnEmptyMap() {
+    ReservationConflictException reservationConflictException =
+        new ReservationConflictException(new ErrorDetail[] {}, null);
+
+    Map<String, Object> properties = reservationConflictException.getProperties();
+
+    assertThat(properties).isNotNull().isEmpty();
+  }
+}
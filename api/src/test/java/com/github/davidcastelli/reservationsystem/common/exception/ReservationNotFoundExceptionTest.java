@@ -0,0 +1,37 @@
+package com.github.davidcastelli.reservationsystem.common.exception;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ReservationNotFoundExceptionTest {
+
+  @Test
+  void givenReservationNotFoundException_whenGetMessage_thenReturnCorrectMessage() {
+    UUID confirmationCode = UUID.fromString("0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20");
+    ReservationNotFoundException reservationNotFoundException =
+        new ReservationNotFoundException(confirmationCode);
+
+    String message = reservationNotFoundException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo(
+            "Reservation with confirmation code: 0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20 could not be found.");
+  }
+
+  @Test
+  void givenShortCode_whenGetMessage_thenReturnCorrectMessage() {
+    ReservationNotFoundException reservationNotFoundException =
+        new ReservationNotFoundException("KC3DXJWPGG");
+
+    String message = reservationNotFoundException.getMessage();
+
+    assertThat(message)
+        .isNotNull()
+        .isEqualTo("Reservation with short code: KC3DXJWPGG could not be found.");
+  }
+}
@@ -11,16 +11,25 @@ class GroupTest {
 
   @Test
   void whenConstructingGroup_thenCorrectGroupProperties() {
-    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4, 2L);
 
     assertThat(group)
         .isNotNull()
         .hasNoNullFieldsOrProperties()
-        .hasOnlyFields("groupId", "minPeople", "maxPeople", "admissionPrice", "startInterval")
+        .hasOnlyFields(
+            "groupId", "minPeople", "maxPeople", "admissionPrice", "startInterval", "version")
         .returns(1L, from(Group::groupId))
         .returns(1, from(Group::minPeople))
         .returns(5, from(Group::maxPeople))
         .returns(new BigDecimal("13.99"), from(Group::admissionPrice))
-        .returns(4, from(Group::startInterval));
+        .returns(4, from(Group::startInterval))
+        .returns(2L, from(Group::version));
+  }
+
+  @Test
+  void whenConstructingGroupWithoutVersion_thenInitialVersion() {
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+
+    assertThat(group).returns(0L, from(Group::version));
   }
 }
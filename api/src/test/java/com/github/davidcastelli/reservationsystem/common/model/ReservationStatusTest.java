@@ -0,0 +1,29 @@
+package com.github.davidcastelli.reservationsystem.common.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ReservationStatusTest {
+
+  @Test
+  void givenEveryStatus_whenFromDbValue_thenReturnSameStatus() {
+    for (ReservationStatus status : ReservationStatus.values()) {
+      assertThat(ReservationStatus.fromDbValue(status.dbValue())).isEqualTo(status);
+    }
+  }
+
+  @Test
+  void givenNoShow_whenDbValue_thenReturnDatabaseLabel() {
+    assertThat(ReservationStatus.NO_SHOW.dbValue()).isEqualTo("no show");
+  }
+
+  @Test
+  void givenUnknownDbValue_whenFromDbValue_thenThrowIllegalArgumentException() {
+    Throwable thrown = catchThrowable(() -> ReservationStatus.fromDbValue("cancelled"));
+
+    assertThat(thrown).isNotNull().isInstanceOf(IllegalArgumentException.class);
+  }
+}
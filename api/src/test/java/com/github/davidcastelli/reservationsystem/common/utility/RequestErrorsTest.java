@@ -3,6 +3,7 @@ package com.github.davidcastelli.reservationsystem.common.utility;
 import static org.assertj.core.api.Assertions.*;
 
 import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import java.time.LocalTime;
 import org.jspecify.annotations.NullUnmarked;
 import org.junit.jupiter.api.Test;
 
@@ -20,4 +21,189 @@ class RequestErrorsTest {
         .returns("Request.InvalidRequestId", from(ErrorDetail::code))
         .returns("The request id must match the route id.", from(ErrorDetail::description));
   }
+
+  @Test
+  void whenRequestErrorsEmptyGroupBatch_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.EmptyGroupBatch();
+
+    assertThat(errorDetail)
+        .returns("Request.EmptyBatch", from(ErrorDetail::code))
+        .returns("The batch must contain at least one group.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsGroupBatchTooLarge_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.GroupBatchTooLarge(1000);
+
+    assertThat(errorDetail)
+        .returns("Request.BatchTooLarge", from(ErrorDetail::code))
+        .returns(
+            "The batch must not contain more than 1000 groups.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsInvalidGroupInBatch_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail =
+        RequestErrors.InvalidGroupInBatch(2, "The start interval must be greater than 0");
+
+    assertThat(errorDetail)
+        .returns("Groups[2].Invalid", from(ErrorDetail::code))
+        .returns("The start interval must be greater than 0", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsOverlappingGroupInBatch_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.OverlappingGroupInBatch(3, 1);
+
+    assertThat(errorDetail)
+        .returns("Groups[3].OverlappingPeople", from(ErrorDetail::code))
+        .returns(
+            "The people range overlaps the people range of the group at index 1 of the batch.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsOverlappingExistingGroup_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.OverlappingExistingGroup(0, 7L);
+
+    assertThat(errorDetail)
+        .returns("Groups[0].OverlappingPeople", from(ErrorDetail::code))
+        .returns(
+            "The people range overlaps the people range of the group with id: 7.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsInvalidQueryParameter_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail =
+        RequestErrors.InvalidQueryParameter("limit", "The limit must be between 1 and 500");
+
+    assertThat(errorDetail)
+        .returns("Query.limit", from(ErrorDetail::code))
+        .returns("The limit must be between 1 and 500", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsEmptyQuoteBatch_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.EmptyQuoteBatch();
+
+    assertThat(errorDetail)
+        .returns("Request.EmptyBatch", from(ErrorDetail::code))
+        .returns("The batch must contain at least one quote.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsQuoteBatchTooLarge_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.QuoteBatchTooLarge(1000);
+
+    assertThat(errorDetail)
+        .returns("Request.BatchTooLarge", from(ErrorDetail::code))
+        .returns(
+            "The batch must not contain more than 1000 quotes.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsInvalidQuoteInBatch_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail =
+        RequestErrors.InvalidQuoteInBatch(2, "The number of people must be greater than 0");
+
+    assertThat(errorDetail)
+        .returns("Quotes[2].Invalid", from(ErrorDetail::code))
+        .returns("The number of people must be greater than 0", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsNoGroupForReservation_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.NoGroupForReservation(40);
+
+    assertThat(errorDetail)
+        .returns("Reservation.People", from(ErrorDetail::code))
+        .returns("No group accepts 40 people.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsReservationOutsideOpeningHours_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail =
+        RequestErrors.ReservationOutsideOpeningHours(LocalTime.of(8, 0), LocalTime.of(20, 0));
+
+    assertThat(errorDetail)
+        .returns("Reservation.StartTime", from(ErrorDetail::code))
+        .returns(
+            "The reservation must start and end between 08:00 and 20:00.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsReservationOutsideBookingHorizon_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.ReservationOutsideBookingHorizon(6);
+
+    assertThat(errorDetail)
+        .returns("Reservation.StartTime", from(ErrorDetail::code))
+        .returns(
+            "The reservation must start after now and end within 6 months.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsOverlappingReservation_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.OverlappingReservation();
+
+    assertThat(errorDetail)
+        .returns("Reservation.Overlapping", from(ErrorDetail::code))
+        .returns("The reservation overlaps another reservation.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsHeldReservation_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.HeldReservation();
+
+    assertThat(errorDetail)
+        .returns("Reservation.Held", from(ErrorDetail::code))
+        .returns(
+            "The reservation overlaps a hold of another customer.", from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsInvalidConfirmationCode_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.InvalidConfirmationCode();
+
+    assertThat(errorDetail)
+        .returns("Reservation.ConfirmationCode", from(ErrorDetail::code))
+        .returns(
+            "The code must be a confirmation code or a short code of ten characters.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsInvalidIdempotencyKey_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.InvalidIdempotencyKey(255);
+
+    assertThat(errorDetail)
+        .returns("Request.IdempotencyKey", from(ErrorDetail::code))
+        .returns(
+            "The idempotency key must be between 1 and 255 characters.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsReusedIdempotencyKey_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.ReusedIdempotencyKey();
+
+    assertThat(errorDetail)
+        .returns("Request.IdempotencyKey", from(ErrorDetail::code))
+        .returns(
+            "The idempotency key was already used for a different request.",
+            from(ErrorDetail::description));
+  }
+
+  @Test
+  void whenRequestErrorsIdempotencyKeyInFlight_thenReturnCorrectErrorDetail() {
+    ErrorDetail errorDetail = RequestErrors.IdempotencyKeyInFlight();
+
+    assertThat(errorDetail)
+        .returns("Request.IdempotencyKey", from(ErrorDetail::code))
+        .returns(
+            "A request with the idempotency key is still being processed, retry later.",
+            from(ErrorDetail::description));
+  }
 }
@@ -0,0 +1,95 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class GroupCacheTest {
+
+  @Mock private GroupDao groupDao;
+
+  private final List<Group> groups = List.of(new Group(1L, 1, 5, new BigDecimal("13.99"), 4));
+
+  private final List<Group> updatedGroups =
+      List.of(new Group(1L, 1, 5, new BigDecimal("11.99"), 4));
+
+  @Test
+  void givenUnchangedGroups_whenGet_thenLoadGroupsOnce() {
+    GroupCache groupCache = new GroupCache(groupDao, Duration.ofMinutes(5));
+    when(groupDao.findAll()).thenReturn(groups);
+
+    GroupSnapshot first = groupCache.get();
+    GroupSnapshot second = groupCache.get();
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.groups()).isEqualTo(groups);
+    assertThat(first.eTag()).isEqualTo(groupCache.eTag());
+    verify(groupDao, times(1)).findAll();
+  }
+
+  @Test
+  void givenGroupsChangedEvent_whenGet_thenReloadGroupsWithNewETag() {
+    GroupCache groupCache = new GroupCache(groupDao, Duration.ofMinutes(5));
+    when(groupDao.findAll()).thenReturn(groups, updatedGroups);
+    GroupSnapshot first = groupCache.get();
+
+    groupCache.onGroupsChanged(new GroupsChangedEvent());
+    GroupSnapshot second = groupCache.get();
+
+    assertThat(second.revision()).isGreaterThan(first.revision());
+    assertThat(second.eTag()).isNotEqualTo(first.eTag()).isEqualTo(groupCache.eTag());
+    assertThat(second.groups()).isEqualTo(updatedGroups);
+  }
+
+  @Test
+  void givenUnreachableDatabaseWithinStaleWindow_whenGet_thenReturnStaleSnapshot() {
+    GroupCache groupCache = new GroupCache(groupDao, Duration.ofMinutes(5));
+    when(groupDao.findAll())
+        .thenReturn(groups)
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+    GroupSnapshot first = groupCache.get();
+
+    groupCache.onGroupsChanged(new GroupsChangedEvent());
+    GroupSnapshot second = groupCache.get();
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void givenUnreachableDatabaseOutsideStaleWindow_whenGet_thenThrowDataAccessException() {
+    GroupCache groupCache = new GroupCache(groupDao, Duration.ZERO);
+    when(groupDao.findAll())
+        .thenReturn(groups)
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+    groupCache.get();
+
+    groupCache.onGroupsChanged(new GroupsChangedEvent());
+    Throwable thrown = catchThrowable(groupCache::get);
+
+    assertThat(thrown).isNotNull().isInstanceOf(DataAccessResourceFailureException.class);
+  }
+
+  @Test
+  void givenUnreachableDatabaseWithoutSnapshot_whenGet_thenThrowDataAccessException() {
+    GroupCache groupCache = new GroupCache(groupDao, Duration.ofMinutes(5));
+    when(groupDao.findAll())
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+    Throwable thrown = catchThrowable(groupCache::get);
+
+    assertThat(thrown).isNotNull().isInstanceOf(DataAccessResourceFailureException.class);
+  }
+}
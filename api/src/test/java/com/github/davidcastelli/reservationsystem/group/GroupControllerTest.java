@@ -4,9 +4,13 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupConflictException;
 import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupVersionMismatchException;
 import com.github.davidcastelli.reservationsystem.common.model.Group;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -34,6 +38,10 @@ class GroupControllerTest {
 
   @Test
   void givenUnacceptableMediaType_whenFindAll_thenReturnCorrectStatusContentTypeFailureMessage() {
+    when(groupService.eTag()).thenReturn("a-1");
+    when(groupService.findPage(GroupFilter.NONE, 0L, 100))
+        .thenReturn(new GroupPage(Collections.emptyList(), null));
+
     assertThat(mockMvcTester.get().uri("/api/groups").accept(MediaType.APPLICATION_XML))
         .hasFailed()
         .hasStatus(HttpStatus.NOT_ACCEPTABLE)
@@ -43,13 +51,14 @@ class GroupControllerTest {
   }
 
   @Test
-  void givenGroups_whenFindAll_thenReturnCorrectStatusContentTypeBody() {
+  void givenGroups_whenFindAll_thenReturnCorrectStatusContentTypeETagBody() {
     List<Group> groups =
         List.of(
             new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
             new Group(2L, 6, 10, new BigDecimal("13.99"), 8),
             new Group(3L, 11, 15, new BigDecimal("13.99"), 12));
-    when(groupService.findAll()).thenReturn(groups);
+    when(groupService.eTag()).thenReturn("a-1");
+    when(groupService.findPage(GroupFilter.NONE, 0L, 100)).thenReturn(new GroupPage(groups, null));
     when(groupMapper.toDto(any(Group.class)))
         .thenReturn(
             new GroupDto(1L, 1, 5, new BigDecimal("13.99"), 4),
@@ -60,6 +69,8 @@ class GroupControllerTest {
         .doesNotHaveFailed()
         .hasStatusOk()
         .hasContentType(MediaType.APPLICATION_JSON)
+        .hasHeader(HttpHeaders.ETAG, "\"a-1\"")
+        .doesNotContainHeader(HttpHeaders.LINK)
         .bodyJson()
         .convertTo(InstanceOfAssertFactories.list(GroupDto.class))
         .isNotNull()
@@ -73,7 +84,8 @@ class GroupControllerTest {
   @Test
   void givenNoGroups_whenFindAll_thenReturnCorrectStatusContentTypeBody() {
     List<Group> groups = Collections.emptyList();
-    when(groupService.findAll()).thenReturn(groups);
+    when(groupService.eTag()).thenReturn("a-1");
+    when(groupService.findPage(GroupFilter.NONE, 0L, 100)).thenReturn(new GroupPage(groups, null));
 
     assertThat(mockMvcTester.get().uri("/api/groups").accept(MediaType.APPLICATION_JSON))
         .doesNotHaveFailed()
@@ -85,9 +97,137 @@ class GroupControllerTest {
         .isEmpty();
   }
 
+  @Test
+  void givenMatchingIfNoneMatch_whenFindAll_thenReturnNotModifiedWithoutLoadingGroups() {
+    when(groupService.eTag()).thenReturn("a-1");
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"a-1\""))
+        .doesNotHaveFailed()
+        .hasStatus(HttpStatus.NOT_MODIFIED)
+        .hasHeader(HttpHeaders.ETAG, "\"a-1\"")
+        .body()
+        .isEmpty();
+
+    verify(groupService, never()).findPage(any(), anyLong(), anyInt());
+  }
+
+  @Test
+  void givenOutdatedIfNoneMatch_whenFindAll_thenReturnCorrectStatusETag() {
+    when(groupService.eTag()).thenReturn("a-2");
+    when(groupService.findPage(GroupFilter.NONE, 0L, 100))
+        .thenReturn(new GroupPage(Collections.emptyList(), null));
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"a-1\""))
+        .doesNotHaveFailed()
+        .hasStatusOk()
+        .hasHeader(HttpHeaders.ETAG, "\"a-2\"");
+  }
+
+  @Test
+  void givenMoreGroupsThanLimit_whenFindAll_thenReturnLinkToNextPage() {
+    Group group = new Group(3L, 1, 5, new BigDecimal("13.99"), 4);
+    when(groupService.eTag()).thenReturn("a-1");
+    when(groupService.findPage(GroupFilter.NONE, 2L, 1))
+        .thenReturn(new GroupPage(List.of(group), 3L));
+    when(groupMapper.toDto(group)).thenReturn(new GroupDto(3L, 1, 5, new BigDecimal("13.99"), 4));
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups?after=2&limit=1")
+                .accept(MediaType.APPLICATION_JSON))
+        .doesNotHaveFailed()
+        .hasStatusOk()
+        .hasHeader(HttpHeaders.LINK, "<http://localhost/api/groups?after=3&limit=1>; rel=\"next\"")
+        .bodyJson()
+        .convertTo(InstanceOfAssertFactories.list(GroupDto.class))
+        .containsExactly(new GroupDto(3L, 1, 5, new BigDecimal("13.99"), 4));
+  }
+
+  @Test
+  void givenFilters_whenFindAll_thenFindPageWithFilter() {
+    when(groupService.eTag()).thenReturn("a-1");
+    GroupFilter filter = new GroupFilter(2, 8, new BigDecimal("10.00"), new BigDecimal("14.00"), 4);
+    when(groupService.findPage(filter, 0L, 100))
+        .thenReturn(new GroupPage(Collections.emptyList(), null));
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri(
+                    "/api/groups?minPeople=2&maxPeople=8&minPrice=10.00&maxPrice=14.00&startInterval=4")
+                .accept(MediaType.APPLICATION_JSON))
+        .doesNotHaveFailed()
+        .hasStatusOk();
+
+    verify(groupService, times(1)).findPage(filter, 0L, 100);
+  }
+
+  @Test
+  void givenInvalidQueryParameters_whenFindAll_thenReturnCorrectStatusContentTypeErrors() {
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups?after=-1&limit=501&minPrice=-1")
+                .accept(MediaType.APPLICATION_JSON))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors")
+        .asMap()
+        .containsOnlyKeys("Query.after", "Query.limit", "Query.minPrice");
+
+    verify(groupService, never()).findPage(any(), anyLong(), anyInt());
+  }
+
+  @Test
+  void givenMinPeopleGreaterThanMaxPeople_whenFindAll_thenReturnBadRequest() {
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups?minPeople=8&maxPeople=2")
+                .accept(MediaType.APPLICATION_JSON))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Query.maxPeople']")
+        .asArray()
+        .containsExactly(
+            "The maximum number of people must not be less than the minimum number of people");
+
+    verify(groupService, never()).findPage(any(), anyLong(), anyInt());
+  }
+
+  @Test
+  void givenInvalidQueryParametersAndMatchingIfNoneMatch_whenFindAll_thenReturnBadRequest() {
+    when(groupService.eTag()).thenReturn("a-1");
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups?limit=0")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"a-1\""))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST);
+  }
+
   @Test
   void givenNonExistingId_whenFindById_thenReturnCorrectStatusContentTypeFailureMessage() {
-    when(groupService.findById(2L)).thenThrow(new GroupNotFoundException(2L));
+    when(groupService.eTag()).thenReturn("a-1");
+    when(groupService.snapshot()).thenReturn(GroupSnapshot.of(1L, "a-1", Collections.emptyList()));
 
     assertThat(mockMvcTester.get().uri("/api/groups/{id}", 2L).accept(MediaType.APPLICATION_JSON))
         .hasFailed()
@@ -98,15 +238,16 @@ class GroupControllerTest {
   }
 
   @Test
-  void givenExistingId_whenFindById_thenReturnCorrectStatusContentTypeBody() {
-    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
-    when(groupService.findById(1L)).thenReturn(group);
+  void givenExistingId_whenFindById_thenReturnCorrectStatusContentTypeETagBody() {
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4, 3L);
+    when(groupService.snapshot()).thenReturn(GroupSnapshot.of(1L, "a-1", List.of(group)));
     when(groupMapper.toDto(group)).thenReturn(new GroupDto(1L, 1, 5, new BigDecimal("13.99"), 4));
 
     assertThat(mockMvcTester.get().uri("/api/groups/{id}", 1L).accept(MediaType.APPLICATION_JSON))
         .doesNotHaveFailed()
         .hasStatusOk()
         .hasContentType(MediaType.APPLICATION_JSON)
+        .hasHeader(HttpHeaders.ETAG, "\"3\"")
         .bodyJson()
         .convertTo(GroupDto.class)
         .isNotNull()
@@ -114,6 +255,25 @@ class GroupControllerTest {
         .isEqualTo(new GroupDto(1L, 1, 5, new BigDecimal("13.99"), 4));
   }
 
+  @Test
+  void givenMatchingIfNoneMatch_whenFindById_thenReturnNotModified() {
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4, 3L);
+    when(groupService.snapshot()).thenReturn(GroupSnapshot.of(1L, "a-1", List.of(group)));
+
+    assertThat(
+            mockMvcTester
+                .get()
+                .uri("/api/groups/{id}", 1L)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+        .doesNotHaveFailed()
+        .hasStatus(HttpStatus.NOT_MODIFIED)
+        .body()
+        .isEmpty();
+
+    verify(groupMapper, never()).toDto(any());
+  }
+
   @Test
   void givenNullGroupRequest_whenCreate_thenReturnCorrectStatusContentType() throws Exception {
     assertThat(
@@ -179,6 +339,134 @@ class GroupControllerTest {
         .isEmpty();
   }
 
+  @Test
+  void givenEmptyBatch_whenCreateAll_thenReturnCorrectStatusContentTypeErrors() {
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/groups:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Request.EmptyBatch']")
+        .asArray()
+        .containsExactly("The batch must contain at least one group.");
+    verifyNoInteractions(groupService);
+  }
+
+  @Test
+  void givenTooLargeBatch_whenCreateAll_thenReturnCorrectStatusContentTypeErrors()
+      throws Exception {
+    List<GroupRequest> groupRequests =
+        Collections.nCopies(
+            GroupController.MAX_BATCH_SIZE + 1,
+            new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/groups:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequests)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Request.BatchTooLarge']")
+        .asArray()
+        .containsExactly("The batch must not contain more than 1000 groups.");
+    verifyNoInteractions(groupService);
+  }
+
+  @Test
+  void givenBatchWithInvalidGroupRequests_whenCreateAll_thenReturnErrorsOfEveryInvalidGroup()
+      throws Exception {
+    @SuppressWarnings("DataFlowIssue") // Creating invalid object for testing
+    List<GroupRequest> groupRequests =
+        Arrays.asList(
+            new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4),
+            new GroupRequest(0L, 6, 10, new BigDecimal("13.99"), -8),
+            null,
+            new GroupRequest(0L, 15, 11, new BigDecimal("11.99"), 12));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/groups:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequests)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors")
+        .asMap()
+        .containsOnlyKeys("Groups[1].Invalid", "Groups[2].Invalid", "Groups[3].Invalid");
+    verifyNoInteractions(groupService);
+  }
+
+  @Test
+  void givenOverlappingGroups_whenCreateAll_thenReturnCorrectStatusContentTypeErrors()
+      throws Exception {
+    List<GroupRequest> groupRequests =
+        List.of(new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4));
+    Group group = new Group(0L, 1, 5, new BigDecimal("13.99"), 4);
+    when(groupMapper.toGroup(groupRequests.getFirst())).thenReturn(group);
+    when(groupService.createAll(List.of(group)))
+        .thenThrow(
+            new GroupConflictException(
+                new ErrorDetail[] {
+                  new ErrorDetail(
+                      "Groups[0].OverlappingPeople",
+                      "The people range overlaps the people range of the group with id: 1.")
+                }));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/groups:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequests)))
+        .hasFailed()
+        .hasStatus(HttpStatus.CONFLICT)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Groups[0].OverlappingPeople']")
+        .asArray()
+        .containsExactly("The people range overlaps the people range of the group with id: 1.");
+  }
+
+  @Test
+  void givenValidBatch_whenCreateAll_thenReturnCorrectStatusContentTypeResults() throws Exception {
+    List<GroupRequest> groupRequests =
+        List.of(
+            new GroupRequest(0L, 1, 5, new BigDecimal("13.99"), 4),
+            new GroupRequest(0L, 6, 10, new BigDecimal("13.99"), 8));
+    List<Group> groups =
+        List.of(
+            new Group(0L, 1, 5, new BigDecimal("13.99"), 4),
+            new Group(0L, 6, 10, new BigDecimal("13.99"), 8));
+    when(groupMapper.toGroup(groupRequests.get(0))).thenReturn(groups.get(0));
+    when(groupMapper.toGroup(groupRequests.get(1))).thenReturn(groups.get(1));
+    when(groupService.createAll(groups)).thenReturn(new long[] {4L, 5L});
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/groups:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequests)))
+        .doesNotHaveFailed()
+        .hasStatus(HttpStatus.CREATED)
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .convertTo(InstanceOfAssertFactories.list(GroupBatchResultDto.class))
+        .containsExactly(new GroupBatchResultDto(0, 4L), new GroupBatchResultDto(1, 5L));
+  }
+
   @Test
   void givenDifferentRouteAndRequestId_whenUpdate_thenReturnCorrectStatusContentTypeFailureMessage()
       throws Exception {
@@ -203,7 +491,7 @@ class GroupControllerTest {
     GroupRequest groupRequest = new GroupRequest(2L, 1, 5, new BigDecimal("13.99"), 4);
     Group group = new Group(2L, 1, 5, new BigDecimal("13.99"), 4);
     when(groupMapper.toGroup(groupRequest)).thenReturn(group);
-    doThrow(new GroupNotFoundException(2L)).when(groupService).update(2L, group);
+    when(groupService.update(2L, group, null)).thenThrow(new GroupNotFoundException(2L));
 
     assertThat(
             mockMvcTester
@@ -235,10 +523,11 @@ class GroupControllerTest {
   }
 
   @Test
-  void givenValidGroupRequest_whenUpdate_thenReturnCorrectStatusEmptyBody() throws Exception {
+  void givenValidGroupRequest_whenUpdate_thenReturnCorrectStatusETagEmptyBody() throws Exception {
     GroupRequest groupRequest = new GroupRequest(1L, 1, 5, new BigDecimal("13.99"), 4);
     Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
     when(groupMapper.toGroup(groupRequest)).thenReturn(group);
+    when(groupService.update(1L, group, null)).thenReturn(1L);
 
     assertThat(
             mockMvcTester
@@ -249,10 +538,71 @@ class GroupControllerTest {
         .doesNotHaveFailed()
         .hasStatus(HttpStatus.NO_CONTENT)
         .doesNotContainHeader("Content-Type")
+        .hasHeader(HttpHeaders.ETAG, "\"1\"")
         .body()
         .isEmpty();
 
-    verify(groupService, times(1)).update(1L, group);
+    verify(groupService, times(1)).update(1L, group, null);
+  }
+
+  @Test
+  void givenMatchingIfMatch_whenUpdate_thenUpdateExpectedVersion() throws Exception {
+    GroupRequest groupRequest = new GroupRequest(1L, 1, 5, new BigDecimal("13.99"), 4);
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+    when(groupMapper.toGroup(groupRequest)).thenReturn(group);
+    when(groupService.update(1L, group, 3L)).thenReturn(4L);
+
+    assertThat(
+            mockMvcTester
+                .put()
+                .uri("/api/groups/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequest)))
+        .doesNotHaveFailed()
+        .hasStatus(HttpStatus.NO_CONTENT)
+        .hasHeader(HttpHeaders.ETAG, "\"4\"");
+  }
+
+  @Test
+  void givenOutdatedIfMatch_whenUpdate_thenReturnCorrectStatusContentTypeFailureMessage()
+      throws Exception {
+    GroupRequest groupRequest = new GroupRequest(1L, 1, 5, new BigDecimal("13.99"), 4);
+    Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+    when(groupMapper.toGroup(groupRequest)).thenReturn(group);
+    when(groupService.update(1L, group, 2L)).thenThrow(new GroupVersionMismatchException(1L));
+
+    assertThat(
+            mockMvcTester
+                .put()
+                .uri("/api/groups/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequest)))
+        .hasFailed()
+        .hasStatus(HttpStatus.PRECONDITION_FAILED)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .failure()
+        .hasMessage("Group with id: 1 has been modified.");
+  }
+
+  @Test
+  void givenWeakIfMatch_whenUpdate_thenReturnPreconditionFailedWithoutUpdating() throws Exception {
+    GroupRequest groupRequest = new GroupRequest(1L, 1, 5, new BigDecimal("13.99"), 4);
+    when(groupMapper.toGroup(groupRequest))
+        .thenReturn(new Group(1L, 1, 5, new BigDecimal("13.99"), 4));
+
+    assertThat(
+            mockMvcTester
+                .put()
+                .uri("/api/groups/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(groupRequest)))
+        .hasFailed()
+        .hasStatus(HttpStatus.PRECONDITION_FAILED);
+
+    verify(groupService, never()).update(anyLong(), any(), any());
   }
 
   @Test
@@ -38,11 +38,13 @@ class GroupMapperTest {
     assertThat(group)
         .isNotNull()
         .hasNoNullFieldsOrProperties()
-        .hasOnlyFields("groupId", "minPeople", "maxPeople", "admissionPrice", "startInterval")
+        .hasOnlyFields(
+            "groupId", "minPeople", "maxPeople", "admissionPrice", "startInterval", "version")
         .returns(1L, from(Group::groupId))
         .returns(1, from(Group::minPeople))
         .returns(5, from(Group::maxPeople))
         .returns(new BigDecimal("13.99"), from(Group::admissionPrice))
-        .returns(4, from(Group::startInterval));
+        .returns(4, from(Group::startInterval))
+        .returns(0L, from(Group::version));
   }
 }
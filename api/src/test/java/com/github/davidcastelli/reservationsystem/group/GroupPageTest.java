@@ -0,0 +1,35 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class GroupPageTest {
+
+  private final List<Group> groups =
+      List.of(
+          new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+          new Group(2L, 6, 10, new BigDecimal("13.99"), 8),
+          new Group(3L, 11, 15, new BigDecimal("11.99"), 12));
+
+  @Test
+  void givenGroupsWithinLimit_whenOf_thenReturnLastPage() {
+    GroupPage page = GroupPage.of(groups, 3);
+
+    assertThat(page.groups()).isEqualTo(groups);
+    assertThat(page.nextAfter()).isNull();
+  }
+
+  @Test
+  void givenOneGroupMoreThanLimit_whenOf_thenDropExtraGroupAndReturnCursor() {
+    GroupPage page = GroupPage.of(groups, 2);
+
+    assertThat(page.groups()).isEqualTo(groups.subList(0, 2));
+    assertThat(page.nextAfter()).isEqualTo(2L);
+  }
+}
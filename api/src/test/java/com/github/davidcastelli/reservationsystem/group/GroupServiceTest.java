@@ -3,11 +3,13 @@ package com.github.davidcastelli.reservationsystem.group;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.github.davidcastelli.reservationsystem.common.event.GroupsChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupConflictException;
 import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.GroupVersionMismatchException;
 import com.github.davidcastelli.reservationsystem.common.model.Group;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
 import org.jspecify.annotations.NullUnmarked;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @NullUnmarked
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +26,10 @@ class GroupServiceTest {
 
   @Mock private GroupDao groupDao;
 
+  @Mock private GroupCache groupCache;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks private GroupService groupService;
 
   private Group group;
@@ -32,36 +40,46 @@ class GroupServiceTest {
   }
 
   @Test
-  void whenFindAll_thenReturnCorrectGroupsSize() {
-    Group group1 = new Group(2L, 6, 10, new BigDecimal("13.99"), 8);
-    Group group2 = new Group(3L, 11, 15, new BigDecimal("13.99"), 12);
+  void whenSnapshot_thenReturnSnapshotFromGroupCache() {
+    GroupSnapshot groupSnapshot = GroupSnapshot.of(1L, "a-1", List.of(group));
+    when(groupCache.get()).thenReturn(groupSnapshot);
+
+    GroupSnapshot actual = groupService.snapshot();
+
+    assertThat(actual).isNotNull().isSameAs(groupSnapshot);
+    verifyNoInteractions(groupDao);
+  }
 
-    when(groupDao.findAll()).thenReturn(List.of(group, group1, group2));
+  @Test
+  void givenNoFilter_whenFindPage_thenReturnPageOfSnapshot() {
+    Group group2 = new Group(2L, 6, 10, new BigDecimal("13.99"), 8);
+    when(groupCache.get()).thenReturn(GroupSnapshot.of(1L, "a-1", List.of(group2, group)));
 
-    List<Group> groups = groupService.findAll();
+    GroupPage page = groupService.findPage(GroupFilter.NONE, 0L, 1);
 
-    assertThat(groups).isNotNull().hasSize(3);
+    assertThat(page).isEqualTo(new GroupPage(List.of(group), 1L));
+    verifyNoInteractions(groupDao);
   }
 
   @Test
-  void givenExistingId_whenFindById_thenReturnCorrectGroup() {
-    when(groupDao.findById(1L)).thenReturn(Optional.ofNullable(group));
+  void givenFilter_whenFindPage_thenReturnPageFromGroupDao() {
+    GroupFilter filter = new GroupFilter(null, null, null, null, 4);
+    when(groupDao.findPage(filter, 0L, 10)).thenReturn(new GroupPage(List.of(group), null));
 
-    Group actual = groupService.findById(1L);
+    GroupPage page = groupService.findPage(filter, 0L, 10);
 
-    assertThat(actual).isNotNull();
+    assertThat(page).isEqualTo(new GroupPage(List.of(group), null));
+    verifyNoInteractions(groupCache);
   }
 
   @Test
-  void givenNonExistingId_whenFindById_thenThrowGroupNotFoundException() {
-    when(groupDao.findById(2L)).thenReturn(Optional.empty());
+  void whenETag_thenReturnETagFromGroupCache() {
+    when(groupCache.eTag()).thenReturn("a-1");
 
-    Throwable thrown = catchThrowable(() -> groupService.findById(2L));
+    String eTag = groupService.eTag();
 
-    assertThat(thrown)
-        .isNotNull()
-        .isInstanceOf(GroupNotFoundException.class)
-        .hasMessage("Group with id: 2 could not be found.");
+    assertThat(eTag).isEqualTo("a-1");
+    verifyNoInteractions(groupDao);
   }
 
   @Test
@@ -72,42 +90,143 @@ class GroupServiceTest {
     long groupId = groupService.create(groupToCreate);
 
     assertThat(groupId).isEqualTo(1L);
+    verify(eventPublisher, times(1)).publishEvent(new GroupsChangedEvent());
   }
 
   @Test
-  void givenGroupWithExistingId_whenUpdate_thenVerified() {
-    when(groupDao.findById(1L)).thenReturn(Optional.ofNullable(group));
+  void givenNonOverlappingGroups_whenCreateAll_thenReturnGroupIdsInBatchOrder() {
+    List<Group> groups =
+        List.of(
+            new Group(0L, 6, 10, new BigDecimal("13.99"), 8),
+            new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    when(groupDao.findOverlapping(groups)).thenReturn(List.of());
+    when(groupDao.createAll(groups)).thenReturn(new long[] {2L, 1L});
+
+    long[] groupIds = groupService.createAll(groups);
+
+    assertThat(groupIds).containsExactly(2L, 1L);
+    verify(eventPublisher, times(1)).publishEvent(new GroupsChangedEvent());
+  }
 
-    groupService.update(1L, group);
+  @Test
+  void
+      givenGroupsOverlappingEachOther_whenCreateAll_thenThrowGroupConflictExceptionForEveryGroup() {
+    List<Group> groups =
+        List.of(
+            new Group(0L, 1, 20, new BigDecimal("13.99"), 4),
+            new Group(0L, 6, 10, new BigDecimal("13.99"), 8),
+            new Group(0L, 21, 25, new BigDecimal("13.99"), 8),
+            new Group(0L, 11, 15, new BigDecimal("11.99"), 12));
+    when(groupDao.findOverlapping(groups)).thenReturn(List.of());
+
+    assertThatExceptionOfType(GroupConflictException.class)
+        .isThrownBy(() -> groupService.createAll(groups))
+        .extracting(GroupConflictException::getErrors)
+        .satisfies(
+            errors ->
+                assertThat(errors)
+                    .containsOnlyKeys("Groups[1].OverlappingPeople", "Groups[3].OverlappingPeople")
+                    .containsEntry(
+                        "Groups[3].OverlappingPeople",
+                        new String[] {
+                          "The people range overlaps the people range of the group at index 0 of the batch."
+                        }));
+    verify(groupDao, never()).createAll(any());
+    verifyNoInteractions(eventPublisher);
+  }
 
-    verify(groupDao, times(1)).update(1L, group);
+  @Test
+  void givenGroupsOverlappingExistingGroups_whenCreateAll_thenThrowGroupConflictException() {
+    List<Group> groups =
+        List.of(
+            new Group(0L, 1, 5, new BigDecimal("13.99"), 4),
+            new Group(0L, 16, 20, new BigDecimal("9.99"), 16));
+    when(groupDao.findOverlapping(groups)).thenReturn(List.of(new GroupOverlap(0, 1L)));
+
+    assertThatExceptionOfType(GroupConflictException.class)
+        .isThrownBy(() -> groupService.createAll(groups))
+        .extracting(GroupConflictException::getErrors)
+        .satisfies(
+            errors ->
+                assertThat(errors)
+                    .containsOnlyKeys("Groups[0].OverlappingPeople")
+                    .containsEntry(
+                        "Groups[0].OverlappingPeople",
+                        new String[] {
+                          "The people range overlaps the people range of the group with id: 1."
+                        }));
+    verify(groupDao, never()).createAll(any());
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenConcurrentlyCreatedOverlappingGroup_whenCreateAll_thenThrowGroupConflictException() {
+    List<Group> groups = List.of(new Group(0L, 1, 5, new BigDecimal("13.99"), 4));
+    when(groupDao.findOverlapping(groups)).thenReturn(List.of());
+    when(groupDao.createAll(groups))
+        .thenThrow(new DataIntegrityViolationException("overlapping_people"));
+
+    assertThatExceptionOfType(GroupConflictException.class)
+        .isThrownBy(() -> groupService.createAll(groups))
+        .extracting(GroupConflictException::getErrors)
+        .satisfies(errors -> assertThat(errors).containsOnlyKeys("Groups.OverlappingPeople"));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenGroupWithExistingId_whenUpdate_thenReturnNewVersion() {
+    when(groupDao.update(1L, group, null))
+        .thenReturn(new GroupUpdateResult(GroupUpdateResult.Status.UPDATED, 1L));
+
+    long version = groupService.update(1L, group, null);
+
+    assertThat(version).isEqualTo(1L);
+    verify(groupDao, never()).findById(anyLong());
+    verify(eventPublisher, times(1)).publishEvent(new GroupsChangedEvent());
   }
 
   @Test
   void givenGroupWithNonExistingId_whenUpdate_thenThrowGroupNotFoundException() {
-    when(groupDao.findById(2L)).thenReturn(Optional.empty());
     Group newGroup = new Group(2L, 1, 5, new BigDecimal("13.99"), 8);
+    when(groupDao.update(2L, newGroup, null))
+        .thenReturn(new GroupUpdateResult(GroupUpdateResult.Status.NOT_FOUND, 0L));
 
-    Throwable thrown = catchThrowable(() -> groupService.update(2L, newGroup));
+    Throwable thrown = catchThrowable(() -> groupService.update(2L, newGroup, null));
 
     assertThat(thrown)
         .isNotNull()
         .isInstanceOf(GroupNotFoundException.class)
         .hasMessage("Group with id: 2 could not be found.");
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenGroupWithDifferentVersion_whenUpdate_thenThrowGroupVersionMismatchException() {
+    when(groupDao.update(1L, group, 3L))
+        .thenReturn(new GroupUpdateResult(GroupUpdateResult.Status.VERSION_MISMATCH, 4L));
+
+    Throwable thrown = catchThrowable(() -> groupService.update(1L, group, 3L));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(GroupVersionMismatchException.class)
+        .hasMessage("Group with id: 1 has been modified.");
+    verifyNoInteractions(eventPublisher);
   }
 
   @Test
   void givenExistingId_whenDelete_thenVerified() {
-    when(groupDao.findById(1L)).thenReturn(Optional.ofNullable(group));
+    when(groupDao.delete(1L)).thenReturn(true);
 
     groupService.delete(1L);
 
-    verify(groupDao, times(1)).delete(1L);
+    verify(groupDao, never()).findById(anyLong());
+    verify(eventPublisher, times(1)).publishEvent(new GroupsChangedEvent());
   }
 
   @Test
   void givenNonExistingId_whenDelete_thenThrowGroupNotFoundException() {
-    when(groupDao.findById(2L)).thenReturn(Optional.empty());
+    when(groupDao.delete(2L)).thenReturn(false);
 
     Throwable thrown = catchThrowable(() -> groupService.delete(2L));
 
@@ -115,5 +234,6 @@ class GroupServiceTest {
         .isNotNull()
         .isInstanceOf(GroupNotFoundException.class)
         .hasMessage("Group with id: 2 could not be found.");
+    verifyNoInteractions(eventPublisher);
   }
 }
@@ -0,0 +1,68 @@
+package com.github.davidcastelli.reservationsystem.group;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.exception.GroupNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class GroupSnapshotTest {
+
+  private final Group group1 = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+  private final Group group2 = new Group(4L, 6, 10, new BigDecimal("13.99"), 8);
+  private final Group group3 = new Group(7L, 11, 15, new BigDecimal("11.99"), 12);
+
+  @Test
+  void givenUnorderedGroups_whenOf_thenOrderGroupsById() {
+    GroupSnapshot snapshot = GroupSnapshot.of(1L, "a-1", List.of(group3, group1, group2));
+
+    assertThat(snapshot.groups()).containsExactly(group1, group2, group3);
+  }
+
+  @Test
+  void givenExistingId_whenGetById_thenReturnGroup() {
+    GroupSnapshot snapshot = GroupSnapshot.of(1L, "a-1", List.of(group1, group2));
+
+    assertThat(snapshot.getById(4L)).isEqualTo(group2);
+  }
+
+  @Test
+  void givenNonExistingId_whenGetById_thenThrowGroupNotFoundException() {
+    GroupSnapshot snapshot = GroupSnapshot.of(1L, "a-1", List.of(group1));
+
+    assertThatExceptionOfType(GroupNotFoundException.class)
+        .isThrownBy(() -> snapshot.getById(2L))
+        .withMessage("Group with id: 2 could not be found.");
+  }
+
+  @Test
+  void givenCursorBetweenIds_whenPage_thenReturnGroupsAfterCursor() {
+    GroupSnapshot snapshot = GroupSnapshot.of(1L, "a-1", List.of(group1, group2, group3));
+
+    GroupPage page = snapshot.page(2L, 1);
+
+    assertThat(page).isEqualTo(new GroupPage(List.of(group2), 4L));
+  }
+
+  @Test
+  void givenCursorOfLastPage_whenPage_thenReturnPageWithoutCursor() {
+    GroupSnapshot snapshot = GroupSnapshot.of(1L, "a-1", List.of(group1, group2, group3));
+
+    GroupPage page = snapshot.page(4L, 5);
+
+    assertThat(page).isEqualTo(new GroupPage(List.of(group3), null));
+  }
+
+  @Test
+  void givenCursorAfterLastGroup_whenPage_thenReturnEmptyPage() {
+    GroupSnapshot snapshot = GroupSnapshot.of(1L, "a-1", List.of(group1, group2, group3));
+
+    GroupPage page = snapshot.page(7L, 5);
+
+    assertThat(page).isEqualTo(new GroupPage(List.of(), null));
+  }
+}
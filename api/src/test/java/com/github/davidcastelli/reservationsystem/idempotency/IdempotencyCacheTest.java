@@ -0,0 +1,41 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class IdempotencyCacheTest {
+
+  private final LocalDateTime now = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  private IdempotencyKey entry(String key, LocalDateTime expiresAt) {
+    return new IdempotencyKey(
+        key, "fingerprint", new IdempotentResponse(201, null, null, new byte[0]), expiresAt);
+  }
+
+  @Test
+  void givenExpiredKey_whenGet_thenReturnNull() {
+    var cache = new IdempotencyCache(10);
+    cache.put(entry("key", now.minusSeconds(1)));
+
+    assertThat(cache.get("key", now)).isNull();
+  }
+
+  @Test
+  void givenFullCache_whenPut_thenEvictLeastRecentlyUsedKey() {
+    var cache = new IdempotencyCache(2);
+    cache.put(entry("first", now.plusHours(1)));
+    cache.put(entry("second", now.plusHours(1)));
+    cache.get("first", now);
+
+    cache.put(entry("third", now.plusHours(1)));
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("first", now)).isNotNull();
+    assertThat(cache.get("second", now)).isNull();
+    assertThat(cache.get("third", now)).isNotNull();
+  }
+}
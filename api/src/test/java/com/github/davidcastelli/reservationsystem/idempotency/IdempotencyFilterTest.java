@@ -0,0 +1,254 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.IdempotencyKeyConflictException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidIdempotencyKeyException;
+import com.github.davidcastelli.reservationsystem.common.exception.RequestBodyTooLargeException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+  @Mock private IdempotencyService idempotencyService;
+
+  @Mock private HandlerExceptionResolver handlerExceptionResolver;
+
+  private IdempotencyFilter idempotencyFilter;
+
+  private static final int MAX_BODY_SIZE = 16;
+
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  @BeforeEach
+  void setUp() {
+    idempotencyFilter =
+        new IdempotencyFilter(idempotencyService, handlerExceptionResolver, MAX_BODY_SIZE);
+  }
+
+  private static MockHttpServletRequest request(String method, String key, String body) {
+    var request = new MockHttpServletRequest(method, "/api/reservations");
+    if (key != null) {
+      request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+    }
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+
+  private static MockFilterChain chain(int status, String body) {
+    return new MockFilterChain(
+        new HttpServlet() {
+          @Override
+          protected void service(HttpServletRequest request, HttpServletResponse response)
+              throws IOException {
+            assertThat(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("{}");
+            response.setStatus(status);
+            response.setHeader("Location", "/api/reservations/1");
+            response.setContentType("application/json");
+            response.getWriter().write(body);
+          }
+        });
+  }
+
+  @Test
+  void givenRequestWithoutKey_whenFilter_thenPassRequestOn() throws Exception {
+    idempotencyFilter.doFilter(request("POST", null, "{}"), response, chain(201, "{\"id\":1}"));
+
+    assertThat(response.getStatus()).isEqualTo(201);
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void givenGetRequestWithKey_whenFilter_thenPassRequestOn() throws Exception {
+    idempotencyFilter.doFilter(request("GET", "key", "{}"), response, chain(200, "[]"));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void givenUnusedKey_whenFilter_thenRunRequestAndStoreResponse() throws Exception {
+    when(idempotencyService.begin(eq("key"), any())).thenReturn(Optional.empty());
+
+    idempotencyFilter.doFilter(request("POST", "key", "{}"), response, chain(201, "{\"id\":1}"));
+
+    var stored = ArgumentCaptor.forClass(IdempotentResponse.class);
+    verify(idempotencyService).complete(eq("key"), any(), stored.capture());
+    assertThat(stored.getValue().status()).isEqualTo(201);
+    assertThat(stored.getValue().location()).isEqualTo("/api/reservations/1");
+    assertThat(new String(stored.getValue().body(), StandardCharsets.UTF_8))
+        .isEqualTo("{\"id\":1}");
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+  }
+
+  @Test
+  void givenServerError_whenFilter_thenReleaseKey() throws Exception {
+    when(idempotencyService.begin(eq("key"), any())).thenReturn(Optional.empty());
+
+    idempotencyFilter.doFilter(request("POST", "key", "{}"), response, chain(503, "{}"));
+
+    verify(idempotencyService).release("key");
+    verify(idempotencyService, never()).complete(any(), any(), any());
+    assertThat(response.getStatus()).isEqualTo(503);
+  }
+
+  @Test
+  void givenCompletedKey_whenFilter_thenReplayResponse() throws Exception {
+    when(idempotencyService.begin(eq("key"), any()))
+        .thenReturn(
+            Optional.of(
+                new IdempotentResponse(
+                    201,
+                    "/api/reservations/1",
+                    "application/json",
+                    "{\"id\":1}".getBytes(StandardCharsets.UTF_8))));
+    var chain = new MockFilterChain();
+
+    idempotencyFilter.doFilter(request("POST", "key", "{}"), response, chain);
+
+    assertThat(chain.getRequest()).isNull();
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getHeader("Location")).isEqualTo("/api/reservations/1");
+    assertThat(response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+  }
+
+  @Test
+  void givenSameRequest_whenFingerprint_thenReturnSameFingerprint() throws Exception {
+    var first =
+        new IdempotencyFilter.CachedBodyRequest(request("POST", "key", "{}"), MAX_BODY_SIZE);
+    var second =
+        new IdempotencyFilter.CachedBodyRequest(request("POST", "key", "{}"), MAX_BODY_SIZE);
+    var other =
+        new IdempotencyFilter.CachedBodyRequest(request("POST", "key", "{ }"), MAX_BODY_SIZE);
+
+    assertThat(IdempotencyFilter.fingerprint(first))
+        .isEqualTo(IdempotencyFilter.fingerprint(second))
+        .isNotEqualTo(IdempotencyFilter.fingerprint(other));
+  }
+
+  @Test
+  void givenReadListener_whenSetReadListener_thenReadWholeBodyAtOnce() throws Exception {
+    var request =
+        new IdempotencyFilter.CachedBodyRequest(request("POST", "key", "{}"), MAX_BODY_SIZE);
+    var inputStream = request.getInputStream();
+    var readListener = mock(ReadListener.class);
+    doAnswer(
+            invocation -> {
+              assertThat(inputStream.readAllBytes())
+                  .isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+              return null;
+            })
+        .when(readListener)
+        .onDataAvailable();
+
+    inputStream.setReadListener(readListener);
+
+    InOrder inOrder = inOrder(readListener);
+    inOrder.verify(readListener).onDataAvailable();
+    inOrder.verify(readListener).onAllDataRead();
+    verify(readListener, never()).onError(any());
+  }
+
+  @Test
+  void givenTooLongKey_whenFilter_thenResolveInvalidIdempotencyKeyException() throws Exception {
+    when(handlerExceptionResolver.resolveException(any(), any(), isNull(), any()))
+        .thenReturn(new ModelAndView());
+
+    idempotencyFilter.doFilter(
+        request("POST", "k".repeat(256), "{}"), response, new MockFilterChain());
+
+    verify(handlerExceptionResolver)
+        .resolveException(any(), any(), isNull(), isA(InvalidIdempotencyKeyException.class));
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void givenTooLargeContentLength_whenFilter_thenResolveRequestBodyTooLargeException()
+      throws Exception {
+    when(handlerExceptionResolver.resolveException(any(), any(), isNull(), any()))
+        .thenReturn(new ModelAndView());
+    var chain = new MockFilterChain();
+
+    idempotencyFilter.doFilter(
+        request("POST", "key", "x".repeat(MAX_BODY_SIZE + 1)), response, chain);
+
+    verify(handlerExceptionResolver)
+        .resolveException(any(), any(), isNull(), isA(RequestBodyTooLargeException.class));
+    assertThat(chain.getRequest()).isNull();
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void givenTooLargeBodyWithoutContentLength_whenFilter_thenResolveRequestBodyTooLargeException()
+      throws Exception {
+    when(handlerExceptionResolver.resolveException(any(), any(), isNull(), any()))
+        .thenReturn(new ModelAndView());
+    var request =
+        new MockHttpServletRequest("POST", "/api/reservations") {
+          @Override
+          public long getContentLengthLong() {
+            return -1;
+          }
+        };
+    request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key");
+    request.setContent("x".repeat(MAX_BODY_SIZE * 4).getBytes(StandardCharsets.UTF_8));
+    var chain = new MockFilterChain();
+
+    idempotencyFilter.doFilter(request, response, chain);
+
+    verify(handlerExceptionResolver)
+        .resolveException(any(), any(), isNull(), isA(RequestBodyTooLargeException.class));
+    assertThat(chain.getRequest()).isNull();
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void givenBodyOfMaxSize_whenCreateCachedBodyRequest_thenCacheWholeBody() throws Exception {
+    var body = "x".repeat(MAX_BODY_SIZE);
+
+    var request =
+        new IdempotencyFilter.CachedBodyRequest(request("POST", "key", body), MAX_BODY_SIZE);
+
+    assertThat(request.getInputStream().readAllBytes())
+        .isEqualTo(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void givenKeyInFlight_whenFilter_thenResolveConflict() throws Exception {
+    var conflict = new IdempotencyKeyConflictException(new ErrorDetail[0]);
+    when(idempotencyService.begin(eq("key"), any())).thenThrow(conflict);
+    when(handlerExceptionResolver.resolveException(any(), any(), isNull(), eq(conflict)))
+        .thenReturn(new ModelAndView());
+    var chain = new MockFilterChain();
+
+    idempotencyFilter.doFilter(request("POST", "key", "{}"), response, chain);
+
+    assertThat(chain.getRequest()).isNull();
+  }
+}
@@ -0,0 +1,187 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.exception.IdempotencyKeyConflictException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidIdempotencyKeyException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private IdempotencyDao idempotencyDao;
+
+  private IdempotencyService idempotencyService;
+
+  private final IdempotentResponse response =
+      new IdempotentResponse(201, "/api/reservations/1", "application/json", new byte[] {1});
+
+  @BeforeEach
+  void setUp() {
+    idempotencyService =
+        new IdempotencyService(
+            idempotencyDao,
+            10,
+            Duration.ofHours(24),
+            Duration.ofSeconds(30),
+            Duration.ofMillis(200),
+            Duration.ofMillis(10),
+            CLOCK);
+  }
+
+  private final LocalDateTime now = LocalDateTime.now(CLOCK);
+
+  private final LocalDateTime claimedAt = now;
+
+  private IdempotencyKey stored(String fingerprint, IdempotentResponse response) {
+    return new IdempotencyKey("key", fingerprint, response, now.plusHours(1));
+  }
+
+  @Test
+  void givenUnusedKey_whenBegin_thenClaimKey() {
+    when(idempotencyDao.claim(eq("key"), eq("fingerprint"), any(), any(), any()))
+        .thenReturn(Optional.of(claimedAt));
+
+    Optional<IdempotentResponse> replay = idempotencyService.begin("key", "fingerprint");
+
+    assertThat(replay).isEmpty();
+  }
+
+  @Test
+  void givenCompletedKey_whenBegin_thenReplayFromCacheWithoutDatabase() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(claimedAt));
+    when(idempotencyDao.complete(any(), any(), any(), any())).thenReturn(true);
+    idempotencyService.begin("key", "fingerprint");
+    idempotencyService.complete("key", "fingerprint", response);
+
+    Optional<IdempotentResponse> replay = idempotencyService.begin("key", "fingerprint");
+
+    assertThat(replay).contains(response);
+    verify(idempotencyDao, times(1)).claim(any(), any(), any(), any(), any());
+    verify(idempotencyDao).complete(eq("key"), eq(claimedAt), eq(response), any());
+  }
+
+  @Test
+  void givenKeyCompletedOnAnotherNode_whenBegin_thenReplayStoredResponse() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(idempotencyDao.findByKey("key")).thenReturn(Optional.of(stored("fingerprint", response)));
+
+    Optional<IdempotentResponse> replay = idempotencyService.begin("key", "fingerprint");
+
+    assertThat(replay).contains(response);
+  }
+
+  @Test
+  void givenKeyUsedForDifferentRequest_whenBegin_thenThrowInvalidIdempotencyKeyException() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(idempotencyDao.findByKey("key")).thenReturn(Optional.of(stored("other", response)));
+
+    assertThatExceptionOfType(InvalidIdempotencyKeyException.class)
+        .isThrownBy(() -> idempotencyService.begin("key", "fingerprint"));
+  }
+
+  @Test
+  void givenKeyInFlightOnAnotherNode_whenBegin_thenPollUntilResponseIsStored() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(idempotencyDao.findByKey("key"))
+        .thenReturn(
+            Optional.of(stored("fingerprint", null)),
+            Optional.of(stored("fingerprint", null)),
+            Optional.of(stored("fingerprint", response)));
+
+    Optional<IdempotentResponse> replay = idempotencyService.begin("key", "fingerprint");
+
+    assertThat(replay).contains(response);
+    verify(idempotencyDao, times(3)).findByKey("key");
+  }
+
+  @Test
+  void givenKeyInFlightPastWaitTimeout_whenBegin_thenThrowIdempotencyKeyConflictException() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(idempotencyDao.findByKey("key")).thenReturn(Optional.of(stored("fingerprint", null)));
+
+    assertThatExceptionOfType(IdempotencyKeyConflictException.class)
+        .isThrownBy(() -> idempotencyService.begin("key", "fingerprint"));
+  }
+
+  @Test
+  void givenKeyInFlightOnSameNode_whenBegin_thenWaitForResponseWithoutDatabase() throws Exception {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(claimedAt));
+    when(idempotencyDao.complete(any(), any(), any(), any())).thenReturn(true);
+    idempotencyService.begin("key", "fingerprint");
+
+    var repeat =
+        CompletableFuture.supplyAsync(() -> idempotencyService.begin("key", "fingerprint"));
+    Thread.sleep(50);
+    assertThat(repeat).isNotDone();
+    idempotencyService.complete("key", "fingerprint", response);
+
+    assertThat(repeat.get(1, TimeUnit.SECONDS)).contains(response);
+    verify(idempotencyDao, times(1)).claim(any(), any(), any(), any(), any());
+    verify(idempotencyDao, never()).findByKey(any());
+  }
+
+  @Test
+  void givenReleasedKey_whenBegin_thenClaimKeyAgain() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(claimedAt));
+    idempotencyService.begin("key", "fingerprint");
+    idempotencyService.release("key");
+
+    Optional<IdempotentResponse> replay = idempotencyService.begin("key", "fingerprint");
+
+    assertThat(replay).isEmpty();
+    verify(idempotencyDao).release("key", claimedAt);
+    verify(idempotencyDao, times(2)).claim(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void givenClaimTakenOver_whenComplete_thenDoNotCacheResponse() {
+    when(idempotencyDao.claim(any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(claimedAt), Optional.empty());
+    when(idempotencyDao.complete(eq("key"), eq(claimedAt), eq(response), any())).thenReturn(false);
+    when(idempotencyDao.findByKey("key")).thenReturn(Optional.of(stored("other", null)));
+    idempotencyService.begin("key", "fingerprint");
+    idempotencyService.complete("key", "fingerprint", response);
+
+    assertThatExceptionOfType(InvalidIdempotencyKeyException.class)
+        .isThrownBy(() -> idempotencyService.begin("key", "fingerprint"));
+    verify(idempotencyDao, times(2)).claim(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void givenUnclaimedKey_whenRelease_thenThrowIllegalStateException() {
+    assertThatIllegalStateException().isThrownBy(() -> idempotencyService.release("key"));
+    verifyNoInteractions(idempotencyDao);
+  }
+
+  @Test
+  void whenPurge_thenDeleteExpiredKeys() {
+    when(idempotencyDao.deleteExpired(now)).thenReturn(3);
+
+    int deleted = idempotencyService.purge(now);
+
+    assertThat(deleted).isEqualTo(3);
+  }
+}
@@ -0,0 +1,37 @@
+package com.github.davidcastelli.reservationsystem.idempotency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class IdempotentResponseTest {
+
+  @Test
+  void givenResponsesWithEqualBodies_whenEquals_thenReturnTrue() {
+    var first =
+        new IdempotentResponse(201, "/api/reservations/1", "application/json", new byte[] {1});
+    var second =
+        new IdempotentResponse(201, "/api/reservations/1", "application/json", new byte[] {1});
+
+    assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+  }
+
+  @Test
+  void givenResponsesWithDifferentBodies_whenEquals_thenReturnFalse() {
+    var first = new IdempotentResponse(201, null, null, new byte[] {1});
+    var second = new IdempotentResponse(201, null, null, new byte[] {2});
+
+    assertThat(first).isNotEqualTo(second);
+  }
+
+  @Test
+  void whenToString_thenDescribeBodyByLength() {
+    var response = new IdempotentResponse(201, null, "application/json", new byte[] {1, 2});
+
+    assertThat(response)
+        .hasToString(
+            "IdempotentResponse[status=201, location=null, contentType=application/json, body=2 bytes]");
+  }
+}
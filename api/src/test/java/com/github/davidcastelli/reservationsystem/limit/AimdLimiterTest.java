@@ -0,0 +1,130 @@
+package com.github.davidcastelli.reservationsystem.limit;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class AimdLimiterTest {
+
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+  private static AimdLimiter limiter(int initialLimit) {
+    return new AimdLimiter(initialLimit, 2, 20, Duration.ofMillis(100), 0.5);
+  }
+
+  private static void fill(AimdLimiter limiter) {
+    while (limiter.tryAcquire()) {}
+  }
+
+  @Test
+  void givenInvalidLimits_whenCreate_thenThrowIllegalArgumentException() {
+    Duration threshold = Duration.ofMillis(100);
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AimdLimiter(1, 0, 10, threshold, 0.5));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AimdLimiter(11, 1, 10, threshold, 0.5));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AimdLimiter(5, 1, 10, Duration.ZERO, 0.5));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AimdLimiter(5, 1, 10, threshold, 1.0));
+  }
+
+  @Test
+  void givenRequestsAtLimit_whenTryAcquire_thenReject() {
+    AimdLimiter limiter = limiter(2);
+
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isFalse();
+
+    assertThat(limiter.inFlight()).isEqualTo(2);
+    assertThat(limiter.rejections()).isEqualTo(1);
+  }
+
+  @Test
+  void givenFastRequestsUsingLimit_whenRelease_thenIncreaseLimitByAboutOnePerRound() {
+    AimdLimiter limiter = limiter(4);
+    fill(limiter);
+
+    // Two rounds of requests, of a limit of 4 and then of 5.
+    for (int i = 0; i < 10; i++) {
+      long start = System.nanoTime();
+      limiter.release(start, start + FAST);
+      fill(limiter);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(6);
+    assertThat(limiter.inFlight()).isEqualTo(6);
+  }
+
+  @Test
+  void givenFastRequestsNotUsingLimit_whenRelease_thenKeepLimit() {
+    AimdLimiter limiter = limiter(10);
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      long start = System.nanoTime();
+      limiter.release(start, start + FAST);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(10);
+  }
+
+  @Test
+  void givenSlowRequest_whenRelease_thenDecreaseLimitDownToMinimum() {
+    AimdLimiter limiter = limiter(16);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      limiter.tryAcquire();
+      limiter.release(start, start + SLOW);
+      start += SLOW + 1;
+    }
+
+    assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  void givenSlowRequestsOfSameRound_whenRelease_thenDecreaseLimitOnce() {
+    AimdLimiter limiter = limiter(16);
+    long start = System.nanoTime();
+    for (int i = 0; i < 8; i++) {
+      limiter.tryAcquire();
+    }
+
+    for (int i = 0; i < 8; i++) {
+      limiter.release(start, start + SLOW + i);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(8);
+  }
+
+  @Test
+  void givenDroppedRequest_whenReleaseDropped_thenDecreaseLimit() {
+    AimdLimiter limiter = limiter(16);
+    limiter.tryAcquire();
+
+    long start = System.nanoTime();
+    limiter.releaseDropped(start, start + FAST);
+
+    assertThat(limiter.limit()).isEqualTo(8);
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  @Test
+  void givenIgnoredRequest_whenReleaseIgnored_thenKeepLimit() {
+    AimdLimiter limiter = limiter(2);
+    limiter.tryAcquire();
+    limiter.tryAcquire();
+
+    limiter.releaseIgnored();
+
+    assertThat(limiter.limit()).isEqualTo(2);
+    assertThat(limiter.tryAcquire()).isTrue();
+  }
+}
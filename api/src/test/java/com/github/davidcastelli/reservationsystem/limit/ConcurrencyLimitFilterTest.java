@@ -0,0 +1,151 @@
+package com.github.davidcastelli.reservationsystem.limit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitFilterTest {
+
+  @Mock private HandlerExceptionResolver handlerExceptionResolver;
+
+  private final AimdLimiter readLimiter = new AimdLimiter(4, 1, 10, Duration.ofSeconds(10), 0.5);
+  private final AimdLimiter writeLimiter = new AimdLimiter(4, 1, 10, Duration.ofSeconds(10), 0.5);
+
+  private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  @BeforeEach
+  void setUp() {
+    concurrencyLimitFilter =
+        new ConcurrencyLimitFilter(
+            readLimiter, writeLimiter, Duration.ofSeconds(1), handlerExceptionResolver);
+  }
+
+  private static MockFilterChain chain(int status) {
+    return new MockFilterChain(
+        new HttpServlet() {
+          @Override
+          protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setStatus(status);
+          }
+        });
+  }
+
+  private static void fill(AimdLimiter limiter) {
+    while (limiter.tryAcquire()) {}
+  }
+
+  @Test
+  void givenReadsBelowLimit_whenFilterGet_thenPassRequestOnAndRelease() throws Exception {
+    concurrencyLimitFilter.doFilter(
+        new MockHttpServletRequest("GET", "/api/groups"), response, chain(200));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(readLimiter.inFlight()).isZero();
+    verifyNoInteractions(handlerExceptionResolver);
+  }
+
+  @Test
+  void givenReadsAtLimit_whenFilterGet_thenRejectWithoutPassingRequestOn() throws Exception {
+    fill(readLimiter);
+    when(handlerExceptionResolver.resolveException(any(), any(), any(), any()))
+        .thenReturn(new ModelAndView());
+    MockFilterChain chain = chain(200);
+
+    concurrencyLimitFilter.doFilter(
+        new MockHttpServletRequest("GET", "/api/groups/1"), response, chain);
+
+    assertThat(chain.getRequest()).isNull();
+    ArgumentCaptor<Exception> exception = ArgumentCaptor.forClass(Exception.class);
+    verify(handlerExceptionResolver).resolveException(any(), any(), any(), exception.capture());
+    assertThat(exception.getValue())
+        .isInstanceOfSatisfying(
+            ConcurrencyLimitExceededException.class,
+            e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+  }
+
+  @Test
+  void givenReadsAtLimit_whenFilterPost_thenPassRequestOnWithinWriteLimit() throws Exception {
+    fill(readLimiter);
+
+    concurrencyLimitFilter.doFilter(
+        new MockHttpServletRequest("POST", "/api/reservations"), response, chain(201));
+
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(writeLimiter.rejections()).isZero();
+    verifyNoInteractions(handlerExceptionResolver);
+  }
+
+  @Test
+  void givenServiceUnavailableResponse_whenFilter_thenDecreaseLimit() throws Exception {
+    concurrencyLimitFilter.doFilter(
+        new MockHttpServletRequest("POST", "/api/reservations"), response, chain(503));
+
+    assertThat(writeLimiter.limit()).isEqualTo(2);
+    assertThat(writeLimiter.inFlight()).isZero();
+  }
+
+  @Test
+  void givenAsyncRequest_whenFilter_thenReleaseWithoutChangingLimit() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/api/availability/stream");
+    request.setAsyncSupported(true);
+    MockFilterChain chain =
+        new MockFilterChain(
+            new HttpServlet() {
+              @Override
+              protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.startAsync();
+                response.setStatus(503);
+              }
+            });
+
+    concurrencyLimitFilter.doFilter(request, response, chain);
+
+    assertThat(readLimiter.limit()).isEqualTo(4);
+    assertThat(readLimiter.inFlight()).isZero();
+  }
+
+  @Test
+  void givenFailingRequest_whenFilter_thenReleaseAndRethrow() {
+    MockFilterChain chain =
+        new MockFilterChain(
+            new HttpServlet() {
+              @Override
+              protected void service(HttpServletRequest request, HttpServletResponse response)
+                  throws ServletException {
+                throw new ServletException("Failed");
+              }
+            });
+
+    assertThatExceptionOfType(ServletException.class)
+        .isThrownBy(
+            () ->
+                concurrencyLimitFilter.doFilter(
+                    new MockHttpServletRequest("DELETE", "/api/groups/1"), response, chain));
+
+    assertThat(writeLimiter.inFlight()).isZero();
+    assertThat(writeLimiter.limit()).isEqualTo(4);
+  }
+}
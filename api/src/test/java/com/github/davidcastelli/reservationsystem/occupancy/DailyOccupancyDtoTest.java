@@ -0,0 +1,81 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.json.JacksonTester;
+
+@NullUnmarked
+class DailyOccupancyDtoTest {
+
+  private JacksonTester<DailyOccupancyDto> jacksonTester;
+
+  private final List<HourlyOccupancyDto> hours =
+      List.of(
+          new HourlyOccupancyDto(8, 2, 7, new BigDecimal("97.93")),
+          new HourlyOccupancyDto(9, 1, 3, new BigDecimal("41.97")));
+
+  @BeforeEach
+  void init() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    JacksonTester.initFields(this, objectMapper);
+  }
+
+  @Test
+  void whenConstructingDailyOccupancyDto_thenCorrectDailyOccupancyDtoProperties() {
+    DailyOccupancyDto dailyOccupancyDto =
+        new DailyOccupancyDto(LocalDate.of(2025, 6, 14), 3, 10, new BigDecimal("139.90"), hours);
+
+    assertThat(dailyOccupancyDto)
+        .isNotNull()
+        .hasNoNullFieldsOrProperties()
+        .hasOnlyFields("day", "reservations", "people", "revenue", "hours")
+        .returns(LocalDate.of(2025, 6, 14), from(DailyOccupancyDto::day))
+        .returns(3, from(DailyOccupancyDto::reservations))
+        .returns(10L, from(DailyOccupancyDto::people))
+        .returns(new BigDecimal("139.90"), from(DailyOccupancyDto::revenue))
+        .returns(hours, from(DailyOccupancyDto::hours));
+  }
+
+  @Test
+  void givenDailyOccupancyDto_whenSerialized_thenReturnCorrectJson() throws Exception {
+    DailyOccupancyDto dailyOccupancyDto =
+        new DailyOccupancyDto(LocalDate.of(2025, 6, 14), 3, 10, new BigDecimal("139.90"), hours);
+    String expected =
+        """
+              {
+                "day": "2025-06-14",
+                "reservations": 3,
+                "people": 10,
+                "revenue": 139.90,
+                "hours": [
+                  {
+                    "hour": 8,
+                    "reservations": 2,
+                    "people": 7,
+                    "revenue": 97.93
+                  },
+                  {
+                    "hour": 9,
+                    "reservations": 1,
+                    "people": 3,
+                    "revenue": 41.97
+                  }
+                ]
+              }
+            """;
+
+    assertThat(jacksonTester.write(dailyOccupancyDto)).isNotNull().isEqualToJson(expected);
+  }
+}
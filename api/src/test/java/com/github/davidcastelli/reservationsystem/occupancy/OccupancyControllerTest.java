@@ -0,0 +1,89 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+@NullUnmarked
+@WebMvcTest(OccupancyController.class)
+class OccupancyControllerTest {
+
+  @Autowired private MockMvcTester mockMvcTester;
+
+  @MockitoBean private OccupancyService occupancyService;
+
+  private final LocalDate day = LocalDate.of(2025, 6, 14);
+
+  @Test
+  void givenOccupiedDay_whenFindOccupancy_thenReturnCorrectStatusContentTypeBody() {
+    when(occupancyService.findDaily(day, day.plusDays(6)))
+        .thenReturn(
+            List.of(
+                new DailyOccupancy(
+                    day,
+                    1,
+                    3,
+                    new BigDecimal("41.97"),
+                    List.of(new HourlyOccupancy(day, 9, 1, 3, new BigDecimal("41.97"))))));
+
+    assertThat(mockMvcTester.get().uri("/api/admin/occupancy?from=2025-06-14&to=2025-06-20"))
+        .hasStatus(HttpStatus.OK)
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .isLenientlyEqualTo(
+            """
+              [
+                {
+                  "day": "2025-06-14",
+                  "reservations": 1,
+                  "people": 3,
+                  "revenue": 41.97,
+                  "hours": [
+                    {
+                      "hour": 9,
+                      "reservations": 1,
+                      "people": 3,
+                      "revenue": 41.97
+                    }
+                  ]
+                }
+              ]
+            """);
+  }
+
+  @Test
+  void givenLastDayBeforeFirst_whenFindOccupancy_thenReturnBadRequest() {
+    assertThat(mockMvcTester.get().uri("/api/admin/occupancy?from=2025-06-14&to=2025-06-13"))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Query.to']")
+        .asArray()
+        .containsExactly("The last day must not be before the first");
+    verify(occupancyService, never()).findDaily(any(), any());
+  }
+
+  @Test
+  void givenRangeLongerThanMaximum_whenFindOccupancy_thenReturnBadRequest() {
+    assertThat(mockMvcTester.get().uri("/api/admin/occupancy?from=2025-01-01&to=2026-01-02"))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .bodyJson()
+        .extractingPath("$.errors['Query.to']")
+        .asArray()
+        .containsExactly("The range must not be longer than 366 days");
+  }
+}
@@ -0,0 +1,73 @@
+package com.github.davidcastelli.reservationsystem.occupancy;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class OccupancyServiceTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private OccupancyDao occupancyDao;
+
+  private OccupancyService occupancyService;
+
+  private final LocalDate day = LocalDate.of(2025, 6, 14);
+
+  @BeforeEach
+  void init() {
+    occupancyService = new OccupancyService(occupancyDao, 200, CLOCK);
+  }
+
+  @Test
+  void givenHoursOfDays_whenFindDaily_thenReturnSumOfHoursPerDay() {
+    HourlyOccupancy first = new HourlyOccupancy(day, 8, 2, 7, new BigDecimal("97.93"));
+    HourlyOccupancy second = new HourlyOccupancy(day, 9, 1, 3, new BigDecimal("41.97"));
+    HourlyOccupancy third = new HourlyOccupancy(day.plusDays(2), 10, 1, 4, new BigDecimal("55.96"));
+    when(occupancyDao.findBetween(day, day.plusDays(2))).thenReturn(List.of(first, second, third));
+
+    List<DailyOccupancy> days = occupancyService.findDaily(day, day.plusDays(2));
+
+    assertThat(days)
+        .containsExactly(
+            new DailyOccupancy(day, 3, 10, new BigDecimal("139.90"), List.of(first, second)),
+            new DailyOccupancy(day.plusDays(2), 1, 4, new BigDecimal("55.96"), List.of(third)));
+  }
+
+  @Test
+  void givenNoHours_whenFindDaily_thenReturnEmptyList() {
+    when(occupancyDao.findBetween(day, day)).thenReturn(List.of());
+
+    assertThat(occupancyService.findDaily(day, day)).isEmpty();
+  }
+
+  @Test
+  void whenReconcile_thenReturnDriftOfRollup() {
+    HourlyOccupancy drift = new HourlyOccupancy(day, 8, -1, -3, new BigDecimal("-41.97"));
+    when(occupancyDao.reconcile(day, day.plusDays(1))).thenReturn(List.of(drift));
+
+    assertThat(occupancyService.reconcile(day, day.plusDays(1))).containsExactly(drift);
+  }
+
+  @Test
+  void whenReconcileScheduled_thenReconcileDaysAroundTodayOfClock() {
+    occupancyService.reconcileScheduled();
+
+    verify(occupancyDao).reconcile(day.minusDays(200), day.plusDays(200));
+  }
+}
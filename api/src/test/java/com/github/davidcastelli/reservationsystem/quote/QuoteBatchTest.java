@@ -0,0 +1,32 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class QuoteBatchTest {
+
+  @Test
+  void whenConstructingQuoteBatch_thenNoQuoteHasGroup() {
+    QuoteBatch quoteBatch = new QuoteBatch(2);
+
+    assertThat(quoteBatch.size()).isEqualTo(2);
+    assertThat(quoteBatch.hasGroup(0)).isFalse();
+    assertThat(quoteBatch.hasGroup(1)).isFalse();
+  }
+
+  @Test
+  void givenQuoteBatch_whenSet_thenQuoteHasGroupAndPrices() {
+    QuoteBatch quoteBatch = new QuoteBatch(2);
+
+    quoteBatch.set(1, 3L, 1199L, 4796L);
+
+    assertThat(quoteBatch.hasGroup(0)).isFalse();
+    assertThat(quoteBatch.hasGroup(1)).isTrue();
+    assertThat(quoteBatch.groupId(1)).isEqualTo(3L);
+    assertThat(quoteBatch.admissionPriceCents(1)).isEqualTo(1199L);
+    assertThat(quoteBatch.totalCents(1)).isEqualTo(4796L);
+  }
+}
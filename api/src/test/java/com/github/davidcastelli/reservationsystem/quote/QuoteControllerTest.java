@@ -0,0 +1,148 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+@NullUnmarked
+@WebMvcTest(QuoteController.class)
+class QuoteControllerTest {
+
+  @Autowired private MockMvcTester mockMvcTester;
+
+  @MockitoBean private QuoteService quoteService;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDate today = LocalDate.now(CLOCK);
+
+  private final LocalDate tomorrow = today.plusDays(1);
+
+  @TestConfiguration
+  static class FixedClockConfig {
+    @Bean
+    Clock clock() {
+      return CLOCK;
+    }
+  }
+
+  @Test
+  void givenEmptyBatch_whenQuote_thenReturnCorrectStatusContentTypeErrors() {
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Request.EmptyBatch']")
+        .asArray()
+        .containsExactly("The batch must contain at least one quote.");
+    verifyNoInteractions(quoteService);
+  }
+
+  @Test
+  void givenTooLargeBatch_whenQuote_thenReturnCorrectStatusContentTypeErrors() throws Exception {
+    List<QuoteRequest> quoteRequests =
+        Collections.nCopies(QuoteController.MAX_BATCH_SIZE + 1, new QuoteRequest(4, tomorrow));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(quoteRequests)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors['Request.BatchTooLarge']")
+        .asArray()
+        .containsExactly("The batch must not contain more than 1000 quotes.");
+    verifyNoInteractions(quoteService);
+  }
+
+  @Test
+  void givenBatchWithInvalidQuoteRequests_whenQuote_thenReturnErrorsOfEveryInvalidQuote()
+      throws Exception {
+    @SuppressWarnings("DataFlowIssue") // Creating invalid object for testing
+    List<QuoteRequest> quoteRequests =
+        Arrays.asList(
+            new QuoteRequest(4, tomorrow),
+            new QuoteRequest(0, tomorrow),
+            null,
+            new QuoteRequest(4, null),
+            new QuoteRequest(4, today.minusDays(1)),
+            new QuoteRequest(4, today.plusMonths(QuoteController.MAX_MONTHS_AHEAD)));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(quoteRequests)))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .bodyJson()
+        .extractingPath("$.errors")
+        .asMap()
+        .containsOnlyKeys(
+            "Quotes[1].Invalid",
+            "Quotes[2].Invalid",
+            "Quotes[3].Invalid",
+            "Quotes[4].Invalid",
+            "Quotes[5].Invalid");
+    verifyNoInteractions(quoteService);
+  }
+
+  @Test
+  void givenValidBatch_whenQuote_thenReturnCorrectStatusContentTypeQuotes() throws Exception {
+    List<QuoteRequest> quoteRequests =
+        List.of(new QuoteRequest(4, tomorrow), new QuoteRequest(40, tomorrow));
+    QuoteBatch quoteBatch = new QuoteBatch(2);
+    quoteBatch.set(0, 1L, 1399L, 5596L);
+    when(quoteService.quote(new int[] {4, 40})).thenReturn(quoteBatch);
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(quoteRequests)))
+        .doesNotHaveFailed()
+        .hasStatusOk()
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .convertTo(InstanceOfAssertFactories.list(QuoteDto.class))
+        .containsExactly(
+            new QuoteDto(4, tomorrow, 1L, new BigDecimal("13.99"), new BigDecimal("55.96")),
+            new QuoteDto(40, tomorrow, null, null, null));
+  }
+}
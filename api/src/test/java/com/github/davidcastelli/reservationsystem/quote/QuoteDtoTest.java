@@ -0,0 +1,82 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.json.JacksonTester;
+
+@NullUnmarked
+class QuoteDtoTest {
+
+  private JacksonTester<QuoteDto> jacksonTester;
+
+  @BeforeEach
+  void init() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    JacksonTester.initFields(this, objectMapper);
+  }
+
+  @Test
+  void whenConstructingQuoteDto_thenCorrectQuoteDtoProperties() {
+    QuoteDto quoteDto =
+        new QuoteDto(
+            4, LocalDate.of(2025, 6, 14), 1L, new BigDecimal("13.99"), new BigDecimal("55.96"));
+
+    assertThat(quoteDto)
+        .isNotNull()
+        .hasNoNullFieldsOrProperties()
+        .hasOnlyFields("people", "date", "groupId", "admissionPrice", "total")
+        .returns(4, from(QuoteDto::people))
+        .returns(LocalDate.of(2025, 6, 14), from(QuoteDto::date))
+        .returns(1L, from(QuoteDto::groupId))
+        .returns(new BigDecimal("13.99"), from(QuoteDto::admissionPrice))
+        .returns(new BigDecimal("55.96"), from(QuoteDto::total));
+  }
+
+  @Test
+  void givenQuoteDto_whenSerialized_thenReturnCorrectJson() throws Exception {
+    QuoteDto quoteDto =
+        new QuoteDto(
+            4, LocalDate.of(2025, 6, 14), 1L, new BigDecimal("13.99"), new BigDecimal("55.96"));
+    String expected =
+        """
+              {
+                "people": 4,
+                "date": "2025-06-14",
+                "groupId": 1,
+                "admissionPrice": 13.99,
+                "total": 55.96
+              }
+            """;
+
+    assertThat(jacksonTester.write(quoteDto)).isNotNull().isEqualToJson(expected);
+  }
+
+  @Test
+  void givenQuoteDtoWithoutGroup_whenSerialized_thenReturnJsonWithNullGroupAndPrices()
+      throws Exception {
+    QuoteDto quoteDto = new QuoteDto(40, LocalDate.of(2025, 6, 14), null, null, null);
+    String expected =
+        """
+              {
+                "people": 40,
+                "date": "2025-06-14",
+                "groupId": null,
+                "admissionPrice": null,
+                "total": null
+              }
+            """;
+
+    assertThat(jacksonTester.write(quoteDto)).isNotNull().isEqualToJson(expected);
+  }
+}
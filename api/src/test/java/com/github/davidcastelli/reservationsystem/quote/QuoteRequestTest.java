@@ -0,0 +1,64 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.Set;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class QuoteRequestTest {
+
+  private static ValidatorFactory validatorFactory;
+  private static Validator validator;
+
+  @BeforeAll
+  static void initAll() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+  }
+
+  @Test
+  void givenValidQuoteRequest_whenValidate_thenNoViolations() {
+    QuoteRequest quoteRequest = new QuoteRequest(4, LocalDate.of(2025, 6, 14));
+
+    Set<ConstraintViolation<QuoteRequest>> violations = validator.validate(quoteRequest);
+
+    assertThat(violations).isEmpty();
+  }
+
+  @Test
+  void givenNonPositivePeople_whenValidate_thenReturnCorrectViolation() {
+    QuoteRequest quoteRequest = new QuoteRequest(0, LocalDate.of(2025, 6, 14));
+
+    Set<ConstraintViolation<QuoteRequest>> violations = validator.validate(quoteRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactly("The number of people must be greater than 0");
+  }
+
+  @Test
+  @SuppressWarnings("DataFlowIssue") // Creating invalid object for testing
+  void givenNullDate_whenValidate_thenReturnCorrectViolation() {
+    QuoteRequest quoteRequest = new QuoteRequest(4, null);
+
+    Set<ConstraintViolation<QuoteRequest>> violations = validator.validate(quoteRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactly("The date must not be null");
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    validatorFactory.close();
+  }
+}
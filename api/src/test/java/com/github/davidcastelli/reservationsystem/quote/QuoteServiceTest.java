@@ -0,0 +1,60 @@
+package com.github.davidcastelli.reservationsystem.quote;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.dao.GroupRangeIndex;
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import java.math.BigDecimal;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class QuoteServiceTest {
+
+  @Mock private SharedGroupDao sharedGroupDao;
+
+  @InjectMocks private QuoteService quoteService;
+
+  @Test
+  void givenPeopleWithinRanges_whenQuote_thenReturnGroupAndPricesInCentsOfEveryQuote() {
+    when(sharedGroupDao.index())
+        .thenReturn(
+            GroupRangeIndex.of(
+                List.of(
+                    new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+                    new Group(2L, 6, 10, new BigDecimal("12.50"), 8))));
+
+    QuoteBatch quoteBatch = quoteService.quote(new int[] {4, 10, 1});
+
+    assertThat(quoteBatch.size()).isEqualTo(3);
+    assertThat(quoteBatch.hasGroup(0)).isTrue();
+    assertThat(quoteBatch.groupId(0)).isEqualTo(1L);
+    assertThat(quoteBatch.admissionPriceCents(0)).isEqualTo(1399L);
+    assertThat(quoteBatch.totalCents(0)).isEqualTo(5596L);
+    assertThat(quoteBatch.groupId(1)).isEqualTo(2L);
+    assertThat(quoteBatch.admissionPriceCents(1)).isEqualTo(1250L);
+    assertThat(quoteBatch.totalCents(1)).isEqualTo(12500L);
+    assertThat(quoteBatch.groupId(2)).isEqualTo(1L);
+    assertThat(quoteBatch.totalCents(2)).isEqualTo(1399L);
+    verify(sharedGroupDao, times(1)).index();
+  }
+
+  @Test
+  void givenPeopleOutsideRanges_whenQuote_thenReturnQuoteWithoutGroup() {
+    when(sharedGroupDao.index())
+        .thenReturn(GroupRangeIndex.of(List.of(new Group(1L, 1, 5, new BigDecimal("13.99"), 4))));
+
+    QuoteBatch quoteBatch = quoteService.quote(new int[] {6, 2});
+
+    assertThat(quoteBatch.hasGroup(0)).isFalse();
+    assertThat(quoteBatch.hasGroup(1)).isTrue();
+  }
+}
@@ -0,0 +1,84 @@
+package com.github.davidcastelli.reservationsystem.recording;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class RecordingEndpointTest {
+
+  @Mock private RecordingService recordingService;
+
+  private RecordingEndpoint recordingEndpoint;
+
+  @BeforeEach
+  void init() {
+    recordingEndpoint = new RecordingEndpoint(recordingService, Duration.ofMinutes(5));
+  }
+
+  @Test
+  void givenValidDuration_whenRecord_thenReturnRecordingAndDeleteItOnceRead() throws Exception {
+    Path file = Files.createTempFile("recording-endpoint-test", ".jfr");
+    Files.write(file, new byte[] {1, 2, 3});
+    when(recordingService.record(Duration.ofSeconds(10))).thenReturn(Optional.of(file));
+
+    WebEndpointResponse<Resource> actual = recordingEndpoint.record(Duration.ofSeconds(10));
+
+    assertThat(actual.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+    try (var in = actual.getBody().getInputStream()) {
+      assertThat(in.readAllBytes()).containsExactly(1, 2, 3);
+    }
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  void givenNoDuration_whenRecord_thenRecordDefaultDuration() throws Exception {
+    when(recordingService.record(any())).thenReturn(Optional.empty());
+
+    recordingEndpoint.record(null);
+
+    verify(recordingService).record(Duration.ofSeconds(30));
+  }
+
+  @Test
+  void givenRecordingInProgress_whenRecord_thenReturnConflict() throws Exception {
+    when(recordingService.record(Duration.ofSeconds(10))).thenReturn(Optional.empty());
+
+    WebEndpointResponse<Resource> actual = recordingEndpoint.record(Duration.ofSeconds(10));
+
+    assertThat(actual.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+    assertThat(actual.getBody()).isNull();
+  }
+
+  @Test
+  void givenDurationLongerThanMaximum_whenRecord_thenThrowInvalidEndpointRequestException()
+      throws Exception {
+    assertThatExceptionOfType(InvalidEndpointRequestException.class)
+        .isThrownBy(() -> recordingEndpoint.record(Duration.ofMinutes(6)))
+        .withMessage("The duration must be positive and at most 300 seconds");
+    verify(recordingService, never()).record(any());
+  }
+
+  @Test
+  void givenZeroDuration_whenRecord_thenThrowInvalidEndpointRequestException() throws Exception {
+    assertThatExceptionOfType(InvalidEndpointRequestException.class)
+        .isThrownBy(() -> recordingEndpoint.record(Duration.ZERO));
+    verify(recordingService, never()).record(any());
+  }
+}
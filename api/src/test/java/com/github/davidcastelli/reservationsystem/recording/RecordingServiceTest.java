@@ -0,0 +1,72 @@
+package com.github.davidcastelli.reservationsystem.recording;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+@NullUnmarked
+class RecordingServiceTest {
+
+  private RecordingService recordingService;
+
+  @BeforeEach
+  void init() throws Exception {
+    recordingService = new RecordingService("default", DataSize.ofMegabytes(10));
+  }
+
+  @Test
+  void whenRecord_thenReturnRecordingWithoutEnvironmentVariablesAndSystemProperties()
+      throws Exception {
+    Path file = recordingService.record(Duration.ofMillis(100)).orElseThrow();
+    try {
+      assertThat(RecordingFile.readAllEvents(file))
+          .isNotEmpty()
+          .extracting(RecordedEvent::getEventType)
+          .extracting(type -> type.getName())
+          .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+      assertThat(recordingService.isRunning()).isFalse();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void givenRecordingRunning_whenRecord_thenReturnEmpty() throws Exception {
+    CompletableFuture<Optional<Path>> running =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return recordingService.record(Duration.ofMillis(500));
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!recordingService.isRunning() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    Optional<Path> actual = recordingService.record(Duration.ofMillis(100));
+
+    assertThat(actual).isEmpty();
+    Files.delete(running.get().orElseThrow());
+  }
+
+  @Test
+  void givenUnknownSettings_whenCreate_thenThrowException() {
+    Throwable thrown =
+        catchThrowable(() -> new RecordingService("unknown", DataSize.ofMegabytes(10)));
+
+    assertThat(thrown).isNotNull();
+  }
+}
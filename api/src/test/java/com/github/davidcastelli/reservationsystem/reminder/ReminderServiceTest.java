@@ -0,0 +1,169 @@
+package com.github.davidcastelli.reservationsystem.reminder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ReminderServiceTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private ReminderDao reminderDao;
+
+  @Mock private ReminderSender reminderSender;
+
+  private ReminderService reminderService;
+
+  private final LocalDateTime now = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  @AfterEach
+  void tearDown() {
+    if (reminderService != null) {
+      reminderService.close();
+    }
+  }
+
+  private ReminderService reminderService(ReminderSender reminderSender, int batchSize) {
+    return new ReminderService(
+        reminderDao,
+        reminderSender,
+        Duration.ofHours(24),
+        batchSize,
+        Duration.ofMillis(200),
+        Duration.ofMinutes(1),
+        3,
+        CLOCK);
+  }
+
+  private static Reminder reminder(long reminderId, int attempts) {
+    return new Reminder(reminderId, reminderId, "Test", LocalDateTime.MAX, "Bring clubs", attempts);
+  }
+
+  @Test
+  void whenDispatch_thenQueueRemindersStartingWithinLeadTime() {
+    reminderService = reminderService(reminderSender, 10);
+
+    reminderService.dispatch(now);
+
+    verify(reminderDao).enqueue(now, now.plusHours(24));
+  }
+
+  @Test
+  void givenClaimedReminders_whenDispatch_thenSendAndMarkSent() {
+    reminderService = reminderService(reminderSender, 10);
+    when(reminderDao.claim(any(), any(), eq(3), eq(10)))
+        .thenReturn(List.of(reminder(1L, 1), reminder(2L, 1)));
+
+    int sent = reminderService.dispatch(now);
+
+    assertThat(sent).isEqualTo(2);
+    verify(reminderSender).send(reminder(1L, 1));
+    verify(reminderSender).send(reminder(2L, 1));
+    verify(reminderDao).markSent(eq(1L), any());
+    verify(reminderDao).markSent(eq(2L), any());
+  }
+
+  @Test
+  void givenFullBatches_whenDispatch_thenClaimUntilBatchIsNotFull() {
+    reminderService = reminderService(reminderSender, 1);
+    when(reminderDao.claim(any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(reminder(1L, 1)), List.of(reminder(2L, 1)), List.of());
+
+    int sent = reminderService.dispatch(now);
+
+    assertThat(sent).isEqualTo(2);
+    verify(reminderDao, times(3)).claim(any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void givenFailingSender_whenDispatch_thenMarkFailedWithBackoff() {
+    reminderService = reminderService(reminderSender, 10);
+    when(reminderDao.claim(any(), any(), anyInt(), anyInt())).thenReturn(List.of(reminder(1L, 2)));
+    doThrow(new IllegalStateException("Unreachable")).when(reminderSender).send(any());
+
+    int sent = reminderService.dispatch(now);
+
+    assertThat(sent).isZero();
+    verify(reminderDao).markFailed(eq(1L), contains("Unreachable"), eq(now.plusMinutes(2)));
+    verify(reminderDao, never()).markSent(anyLong(), any());
+  }
+
+  @Test
+  void givenFailingSenderOnLastAttempt_whenDispatch_thenNeverRetry() {
+    reminderService = reminderService(reminderSender, 10);
+    when(reminderDao.claim(any(), any(), anyInt(), anyInt())).thenReturn(List.of(reminder(1L, 3)));
+    doThrow(new IllegalStateException("Unreachable")).when(reminderSender).send(any());
+
+    reminderService.dispatch(now);
+
+    verify(reminderDao).markFailed(eq(1L), anyString(), eq(LocalDateTime.MAX));
+  }
+
+  @Test
+  void givenSlowSend_whenDispatch_thenTimeOutSlowSendAndMarkOthersSent() {
+    var released = new CountDownLatch(1);
+    reminderService =
+        reminderService(
+            reminder -> {
+              if (reminder.reminderId() == 1L) {
+                try {
+                  released.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new IllegalStateException(e);
+                }
+              }
+            },
+            10);
+    when(reminderDao.claim(any(), any(), anyInt(), anyInt()))
+        .thenReturn(List.of(reminder(1L, 1), reminder(2L, 1)));
+
+    int sent = reminderService.dispatch(now);
+
+    assertThat(sent).isEqualTo(1);
+    verify(reminderDao).markFailed(eq(1L), startsWith("Timed out"), any());
+    verify(reminderDao).markSent(eq(2L), any());
+    released.countDown();
+  }
+
+  @Test
+  void givenRetryDelayNotLongerThanSendTimeout_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new ReminderService(
+                    reminderDao,
+                    reminderSender,
+                    Duration.ofHours(24),
+                    10,
+                    Duration.ofMinutes(1),
+                    Duration.ofMinutes(1),
+                    3,
+                    CLOCK))
+        .withMessage("The retry delay must be longer than the send timeout");
+  }
+
+  @Test
+  void givenNonPositiveBatchSize_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> reminderService(reminderSender, 0))
+        .withMessage("The batch size must be positive");
+  }
+}
@@ -0,0 +1,143 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@NullUnmarked
+class BookingExecutorTest {
+
+  private BookingMetrics metrics;
+
+  private BookingExecutor bookingExecutor;
+
+  @BeforeEach
+  void init() {
+    metrics = new BookingMetrics();
+    bookingExecutor = new BookingExecutor(metrics, 3, Duration.ofMillis(1), Duration.ofSeconds(1));
+  }
+
+  @Test
+  void givenExclusionViolation_whenClassify_thenReturnConflict() {
+    var failure =
+        new DataIntegrityViolationException(
+            "Overlapping", new SQLException("conflicting key value", "23P01"));
+
+    assertThat(BookingExecutor.classify(failure)).isEqualTo(BookingExecutor.Failure.CONFLICT);
+  }
+
+  @Test
+  void givenSerializationFailureOrDeadlock_whenClassify_thenReturnTransient() {
+    var serializationFailure =
+        new CannotAcquireLockException("Serialization", new SQLException("could not", "40001"));
+    var deadlock =
+        new CannotAcquireLockException("Deadlock", new SQLException("deadlock detected", "40P01"));
+
+    assertThat(BookingExecutor.classify(serializationFailure))
+        .isEqualTo(BookingExecutor.Failure.TRANSIENT);
+    assertThat(BookingExecutor.classify(deadlock)).isEqualTo(BookingExecutor.Failure.TRANSIENT);
+  }
+
+  @Test
+  void givenOtherFailure_whenClassify_thenReturnOther() {
+    var uniqueViolation =
+        new DataIntegrityViolationException("Duplicate", new SQLException("duplicate", "23505"));
+
+    assertThat(BookingExecutor.classify(uniqueViolation)).isEqualTo(BookingExecutor.Failure.OTHER);
+    assertThat(BookingExecutor.classify(new IllegalStateException()))
+        .isEqualTo(BookingExecutor.Failure.OTHER);
+  }
+
+  @Test
+  void givenSuccessfulAttempt_whenExecute_thenReturnResultAfterOneAttempt() {
+    long result = bookingExecutor.execute(() -> 1L);
+
+    assertThat(result).isEqualTo(1L);
+    assertThat(metrics.attempts()).isEqualTo(1L);
+    assertThat(metrics.retries()).isZero();
+  }
+
+  @Test
+  void givenTransientFailureThenSuccess_whenExecute_thenRetryAndReturnResult() {
+    var calls = new AtomicInteger();
+
+    long result =
+        bookingExecutor.execute(
+            () -> {
+              if (calls.getAndIncrement() == 0) {
+                throw new CannotAcquireLockException(
+                    "Deadlock", new SQLException("deadlock detected", "40P01"));
+              }
+              return 1L;
+            });
+
+    assertThat(result).isEqualTo(1L);
+    assertThat(metrics.attempts()).isEqualTo(2L);
+    assertThat(metrics.retries()).isEqualTo(1L);
+    assertThat(metrics.exhausted()).isZero();
+  }
+
+  @Test
+  void givenConflict_whenExecute_thenRethrowWithoutRetrying() {
+    var failure =
+        new DataIntegrityViolationException(
+            "Overlapping", new SQLException("conflicting key value", "23P01"));
+
+    Throwable thrown =
+        catchThrowable(
+            () ->
+                bookingExecutor.execute(
+                    () -> {
+                      throw failure;
+                    }));
+
+    assertThat(thrown).isSameAs(failure);
+    assertThat(metrics.attempts()).isEqualTo(1L);
+    assertThat(metrics.conflicts()).isEqualTo(1L);
+    assertThat(metrics.retries()).isZero();
+  }
+
+  @Test
+  void givenOnlyTransientFailures_whenExecute_thenThrowBookingContentionException() {
+    Throwable thrown =
+        catchThrowable(
+            () ->
+                bookingExecutor.execute(
+                    () -> {
+                      throw new CannotAcquireLockException(
+                          "Serialization", new SQLException("could not", "40001"));
+                    }));
+
+    assertThat(thrown).isNotNull().isInstanceOf(BookingContentionException.class);
+    assertThat(metrics.attempts()).isEqualTo(3L);
+    assertThat(metrics.retries()).isEqualTo(2L);
+    assertThat(metrics.exhausted()).isEqualTo(1L);
+  }
+
+  @Test
+  void givenBackoffExceedingBudget_whenExecute_thenGiveUpBeforeMaxAttempts() {
+    bookingExecutor =
+        new BookingExecutor(metrics, 10, Duration.ofSeconds(10), Duration.ofMillis(1));
+
+    // Any jittered backoff longer than a millisecond is over budget, so retries end almost at once.
+    Throwable thrown =
+        catchThrowable(
+            () ->
+                bookingExecutor.execute(
+                    () -> {
+                      throw new CannotAcquireLockException(
+                          "Serialization", new SQLException("could not", "40001"));
+                    }));
+
+    assertThat(thrown).isNotNull().isInstanceOf(BookingContentionException.class);
+    assertThat(metrics.attempts()).isLessThan(10L);
+  }
+}
@@ -0,0 +1,140 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ClockCacheTest {
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  private final ClockCache<String, Integer> clockCache =
+      new ClockCache<>(3, Duration.ofSeconds(10), nanoTime::get);
+
+  @Test
+  void givenCachedValue_whenGet_thenReturnValue() {
+    clockCache.put("a", 1);
+
+    assertThat(clockCache.get("a")).isEqualTo(1);
+    assertThat(clockCache.get("b")).isNull();
+  }
+
+  @Test
+  void givenCachedValue_whenPutSameKey_thenReplaceValueWithoutEviction() {
+    clockCache.put("a", 1);
+    clockCache.put("b", 2);
+    clockCache.put("c", 3);
+
+    clockCache.put("a", 4);
+
+    assertThat(clockCache.get("a")).isEqualTo(4);
+    assertThat(clockCache.get("b")).isEqualTo(2);
+    assertThat(clockCache.get("c")).isEqualTo(3);
+  }
+
+  @Test
+  void givenFullCache_whenPut_thenEvictEntryWhichWasNotReferenced() {
+    clockCache.put("a", 1);
+    clockCache.put("b", 2);
+    clockCache.put("c", 3);
+    clockCache.get("a");
+    clockCache.get("c");
+
+    clockCache.put("d", 4);
+
+    assertThat(clockCache.size()).isEqualTo(3);
+    assertThat(clockCache.get("b")).isNull();
+    assertThat(clockCache.get("a")).isEqualTo(1);
+    assertThat(clockCache.get("c")).isEqualTo(3);
+    assertThat(clockCache.get("d")).isEqualTo(4);
+  }
+
+  @Test
+  void givenFullCacheOfReferencedEntries_whenPut_thenEvictFirstEntryAfterOneRotation() {
+    clockCache.put("a", 1);
+    clockCache.put("b", 2);
+    clockCache.put("c", 3);
+    clockCache.get("a");
+    clockCache.get("b");
+    clockCache.get("c");
+
+    clockCache.put("d", 4);
+
+    assertThat(clockCache.size()).isEqualTo(3);
+    assertThat(clockCache.get("a")).isNull();
+    assertThat(clockCache.get("d")).isEqualTo(4);
+  }
+
+  @Test
+  void givenExpiredValue_whenGet_thenReturnNull() {
+    clockCache.put("a", 1);
+
+    nanoTime.addAndGet(Duration.ofSeconds(10).toNanos() + 1);
+
+    assertThat(clockCache.get("a")).isNull();
+  }
+
+  @Test
+  void givenFullCacheWithReferencedExpiredEntry_whenPut_thenEvictExpiredEntry() {
+    clockCache.put("a", 1);
+    clockCache.get("a");
+    nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+    clockCache.put("b", 2);
+    clockCache.put("c", 3);
+    clockCache.get("b");
+    clockCache.get("c");
+    nanoTime.addAndGet(Duration.ofSeconds(6).toNanos());
+
+    clockCache.put("d", 4);
+
+    assertThat(clockCache.get("b")).isEqualTo(2);
+    assertThat(clockCache.get("c")).isEqualTo(3);
+    assertThat(clockCache.get("d")).isEqualTo(4);
+  }
+
+  @Test
+  void givenInvalidatedEntry_whenPut_thenReuseItsSlot() {
+    clockCache.put("a", 1);
+    clockCache.put("b", 2);
+    clockCache.put("c", 3);
+    clockCache.get("a");
+    clockCache.get("c");
+
+    clockCache.invalidate("a");
+    clockCache.put("d", 4);
+
+    assertThat(clockCache.get("a")).isNull();
+    assertThat(clockCache.get("b")).isEqualTo(2);
+    assertThat(clockCache.get("c")).isEqualTo(3);
+    assertThat(clockCache.get("d")).isEqualTo(4);
+  }
+
+  @Test
+  void givenFullCache_whenInvalidateAllAndPut_thenKeepOnlyNewEntries() {
+    clockCache.put("a", 1);
+    clockCache.put("b", 2);
+    clockCache.put("c", 3);
+
+    clockCache.invalidateAll();
+    clockCache.put("d", 4);
+    clockCache.put("e", 5);
+    clockCache.put("f", 6);
+
+    assertThat(clockCache.get("a")).isNull();
+    assertThat(clockCache.get("d")).isEqualTo(4);
+    assertThat(clockCache.get("e")).isEqualTo(5);
+    assertThat(clockCache.get("f")).isEqualTo(6);
+    assertThat(clockCache.size()).isEqualTo(3);
+  }
+
+  @Test
+  void givenNonPositiveCapacity_whenConstruct_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ClockCache<String, Integer>(0, Duration.ofSeconds(1)))
+        .withMessage("The capacity must be positive");
+  }
+}
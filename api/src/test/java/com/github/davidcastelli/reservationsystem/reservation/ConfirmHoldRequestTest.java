@@ -0,0 +1,53 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.Set;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ConfirmHoldRequestTest {
+
+  private static ValidatorFactory validatorFactory;
+  private static Validator validator;
+
+  @BeforeAll
+  static void initAll() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+  }
+
+  @Test
+  void givenValidConfirmHoldRequest_whenValidate_thenNoViolations() {
+    ConfirmHoldRequest confirmHoldRequest = new ConfirmHoldRequest("Castelli", "Birthday");
+
+    Set<ConstraintViolation<ConfirmHoldRequest>> violations =
+        validator.validate(confirmHoldRequest);
+
+    assertThat(violations).isEmpty();
+  }
+
+  @Test
+  void givenTooLongName_whenValidate_thenReturnCorrectViolation() {
+    ConfirmHoldRequest confirmHoldRequest = new ConfirmHoldRequest("a".repeat(21), null);
+
+    Set<ConstraintViolation<ConfirmHoldRequest>> violations =
+        validator.validate(confirmHoldRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactly("The name must not be longer than 20 characters");
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    validatorFactory.close();
+  }
+}
@@ -0,0 +1,88 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ConfirmationCodeFilterTest {
+
+  @Test
+  void givenPutCodes_whenMightContain_thenReturnTrueForEveryCode() {
+    ConfirmationCodeFilter filter = ConfirmationCodeFilter.create(10_000, 0.01);
+    List<UUID> codes = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      UUID code = UUID.randomUUID();
+      codes.add(code);
+      filter.put(code);
+    }
+
+    assertThat(codes).allMatch(filter::mightContain);
+  }
+
+  @Test
+  void givenFilledFilter_whenMightContainUnknownCodes_thenFalsePositiveRateIsNearProbability() {
+    ConfirmationCodeFilter filter = ConfirmationCodeFilter.create(100_000, 0.01);
+    for (int i = 0; i < 100_000; i++) {
+      filter.put(UUID.randomUUID());
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(UUID.randomUUID())) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+  }
+
+  @Test
+  void givenSequentialCodes_whenMightContainUnknownCodes_thenFalsePositiveRateIsNearProbability() {
+    // Time ordered codes share most of their high bits, which must not cluster in the filter.
+    ConfirmationCodeFilter filter = ConfirmationCodeFilter.create(100_000, 0.01);
+    for (long i = 0; i < 100_000; i++) {
+      filter.put(new UUID(0x01900000_00007000L + (i << 16), 0x80000000_00000000L | i));
+    }
+
+    int falsePositives = 0;
+    for (long i = 100_000; i < 200_000; i++) {
+      if (filter.mightContain(
+          new UUID(0x01900000_00007000L + (i << 16), 0x80000000_00000000L | i))) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+  }
+
+  @Test
+  void givenExpectedInsertionsAndProbability_whenCreate_thenSizeFilterOptimally() {
+    ConfirmationCodeFilter filter = ConfirmationCodeFilter.create(1_000_000, 0.01);
+
+    // About 9.59 bits and 7 hashes per code for a probability of 1%.
+    assertThat(filter.bits()).isBetween(9_580_000L, 9_590_000L);
+    assertThat(filter.bits() % 64).isZero();
+    assertThat(filter.hashes()).isEqualTo(7);
+  }
+
+  @Test
+  void givenFewExpectedInsertions_whenCreate_thenSizeFilterForMinimum() {
+    ConfirmationCodeFilter small = ConfirmationCodeFilter.create(0, 0.01);
+    ConfirmationCodeFilter minimum =
+        ConfirmationCodeFilter.create(ConfirmationCodeFilter.MIN_EXPECTED_INSERTIONS, 0.01);
+
+    assertThat(small.bits()).isEqualTo(minimum.bits());
+  }
+
+  @Test
+  void givenInvalidProbability_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ConfirmationCodeFilter.create(1_000, 1.0))
+        .withMessage("The false positive probability must be between 0 and 1");
+  }
+}
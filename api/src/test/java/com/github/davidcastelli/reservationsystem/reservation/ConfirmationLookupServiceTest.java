@@ -0,0 +1,331 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationStatusesChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidReservationException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ConfirmationLookupServiceTest {
+
+  private static final Instant NOW = Instant.parse("2025-06-14T10:00:00Z");
+
+  @Mock private ReservationDao reservationDao;
+
+  @Mock private Clock clock;
+
+  private LookupMetrics lookupMetrics;
+
+  private ConfirmationLookupService confirmationLookupService;
+
+  private final LocalDateTime tomorrowAtTen = LocalDateTime.of(2025, 6, 15, 10, 0);
+
+  private final UUID confirmationCode = UUID.randomUUID();
+
+  private final Reservation reservation =
+      new Reservation(
+          1L,
+          "Castelli",
+          tomorrowAtTen,
+          tomorrowAtTen.plusMinutes(4),
+          4,
+          1,
+          5,
+          confirmationCode,
+          ReservationStatus.PAID,
+          null,
+          null);
+
+  @BeforeEach
+  void init() {
+    lenient().when(clock.instant()).thenReturn(NOW);
+    lookupMetrics = new LookupMetrics();
+    confirmationLookupService =
+        new ConfirmationLookupService(
+            reservationDao,
+            lookupMetrics,
+            100,
+            Duration.ofMinutes(1),
+            100,
+            Duration.ofSeconds(30),
+            0.01,
+            Duration.ofMinutes(1),
+            clock);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenCodesInDatabase(long readId, UUID... codes) {
+    when(reservationDao.findConfirmationCodesAfter(anyLong(), any(Consumer.class)))
+        .thenAnswer(
+            invocation -> {
+              Consumer<UUID> consumer = invocation.getArgument(1);
+              for (UUID code : codes) {
+                consumer.accept(code);
+              }
+              return readId;
+            });
+  }
+
+  @Test
+  void givenFilterNotBuilt_whenFind_thenQueryDatabaseAndCacheReservation() {
+    when(reservationDao.findByConfirmationCode(confirmationCode))
+        .thenReturn(Optional.of(reservation));
+
+    Reservation first = confirmationLookupService.find(confirmationCode);
+    Reservation second = confirmationLookupService.find(confirmationCode);
+
+    assertThat(first).isEqualTo(reservation);
+    assertThat(second).isEqualTo(reservation);
+    verify(reservationDao, times(1)).findByConfirmationCode(confirmationCode);
+    assertThat(lookupMetrics.hits()).isEqualTo(1);
+    assertThat(lookupMetrics.misses()).isEqualTo(1);
+    assertThat(lookupMetrics.hitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void givenCodeNotInFilter_whenFind_thenThrowReservationNotFoundExceptionWithoutQuery() {
+    givenCodesInDatabase(1L, confirmationCode);
+    confirmationLookupService.rebuild();
+    UUID unknown = UUID.randomUUID();
+
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.find(unknown));
+    verify(reservationDao, never()).findByConfirmationCode(any(UUID.class));
+    assertThat(lookupMetrics.rejections()).isEqualTo(1);
+  }
+
+  @Test
+  void givenCodeInFilter_whenFind_thenQueryDatabase() {
+    givenCodesInDatabase(1L, confirmationCode);
+    confirmationLookupService.rebuild();
+    when(reservationDao.findByConfirmationCode(confirmationCode))
+        .thenReturn(Optional.of(reservation));
+
+    Reservation actual = confirmationLookupService.find(confirmationCode);
+
+    assertThat(actual).isEqualTo(reservation);
+  }
+
+  @Test
+  void givenFalsePositive_whenFindTwice_thenQueryDatabaseOnceAndCountFalsePositiveOnce() {
+    UUID deleted = UUID.randomUUID();
+    givenCodesInDatabase(1L, deleted);
+    confirmationLookupService.rebuild();
+    when(reservationDao.findByConfirmationCode(deleted)).thenReturn(Optional.empty());
+
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.find(deleted));
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.find(deleted));
+    verify(reservationDao, times(1)).findByConfirmationCode(deleted);
+    assertThat(lookupMetrics.falsePositives()).isEqualTo(1);
+    assertThat(lookupMetrics.negativeHits()).isEqualTo(1);
+    assertThat(lookupMetrics.falsePositiveRate()).isEqualTo(1.0);
+  }
+
+  @Test
+  void givenBookedReservation_whenFind_thenCodePassesFilter() {
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    when(reservationDao.findByConfirmationCode(confirmationCode))
+        .thenReturn(Optional.of(reservation));
+
+    confirmationLookupService.onReservationBooked(
+        new ReservationBookedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), confirmationCode));
+
+    assertThat(confirmationLookupService.find(confirmationCode)).isEqualTo(reservation);
+  }
+
+  @Test
+  void givenReservationBookedOnOtherNode_whenRefreshAndFind_thenCodePassesFilter() {
+    UUID otherNode = UUID.randomUUID();
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    givenCodesInDatabase(2L, otherNode);
+    when(reservationDao.findByConfirmationCode(otherNode)).thenReturn(Optional.of(reservation));
+
+    confirmationLookupService.refresh();
+
+    assertThat(confirmationLookupService.find(otherNode)).isEqualTo(reservation);
+    verify(reservationDao).findConfirmationCodesAfter(eq(0L), any());
+    verify(reservationDao).findConfirmationCodesAfter(eq(1L), any());
+  }
+
+  @Test
+  void givenRefreshesWithinCatchUpWindow_whenRefresh_thenReadAgainFromRebuild() {
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    givenCodesInDatabase(5L);
+    confirmationLookupService.refresh();
+    givenCodesInDatabase(9L);
+    confirmationLookupService.refresh();
+
+    confirmationLookupService.refresh();
+
+    verify(reservationDao, times(3)).findConfirmationCodesAfter(eq(1L), any());
+  }
+
+  @Test
+  void givenRefreshesOlderThanCatchUpWindow_whenRefresh_thenReadAgainFromNewestIdBeforeWindow() {
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+    givenCodesInDatabase(5L);
+    confirmationLookupService.refresh();
+    when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+    givenCodesInDatabase(9L);
+    confirmationLookupService.refresh();
+    when(clock.instant()).thenReturn(NOW.plusSeconds(90));
+
+    confirmationLookupService.refresh();
+
+    verify(reservationDao, times(2)).findConfirmationCodesAfter(eq(1L), any());
+    verify(reservationDao).findConfirmationCodesAfter(eq(5L), any());
+  }
+
+  @Test
+  void givenCodeNotFoundBeforeBookingCommitted_whenRefreshAndFind_thenQueryDatabaseAgain() {
+    UUID lateCommit = new TimeOrderedUuidGenerator(NOW::toEpochMilli).next();
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    when(reservationDao.findByConfirmationCode(lateCommit))
+        .thenReturn(Optional.empty(), Optional.of(reservation));
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.find(lateCommit));
+    givenCodesInDatabase(2L, lateCommit);
+
+    confirmationLookupService.refresh();
+
+    assertThat(confirmationLookupService.find(lateCommit)).isEqualTo(reservation);
+  }
+
+  @Test
+  void givenRecentCodeNotInFilter_whenFind_thenQueryDatabase() {
+    UUID recent = new TimeOrderedUuidGenerator(() -> NOW.minusSeconds(5).toEpochMilli()).next();
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    when(reservationDao.findByConfirmationCode(recent)).thenReturn(Optional.of(reservation));
+
+    Reservation actual = confirmationLookupService.find(recent);
+
+    assertThat(actual).isEqualTo(reservation);
+    assertThat(lookupMetrics.rejections()).isZero();
+  }
+
+  @Test
+  void givenRecentCodeNotInDatabase_whenFind_thenDoNotCountFalsePositive() {
+    UUID recent = new TimeOrderedUuidGenerator(() -> NOW.minusSeconds(5).toEpochMilli()).next();
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+    when(reservationDao.findByConfirmationCode(recent)).thenReturn(Optional.empty());
+
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.find(recent));
+    assertThat(lookupMetrics.falsePositives()).isZero();
+  }
+
+  @Test
+  void givenOldCodeNotInFilter_whenFind_thenThrowReservationNotFoundExceptionWithoutQuery() {
+    UUID old = new TimeOrderedUuidGenerator(() -> NOW.minusSeconds(120).toEpochMilli()).next();
+    givenCodesInDatabase(1L);
+    confirmationLookupService.rebuild();
+
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.find(old));
+    verify(reservationDao, never()).findByConfirmationCode(any(UUID.class));
+  }
+
+  @Test
+  void givenCachedReservation_whenStatusesChangedAndFind_thenQueryDatabaseAgain() {
+    when(reservationDao.findByConfirmationCode(confirmationCode))
+        .thenReturn(Optional.of(reservation));
+    confirmationLookupService.find(confirmationCode);
+
+    confirmationLookupService.onReservationStatusesChanged(new ReservationStatusesChangedEvent());
+    confirmationLookupService.find(confirmationCode);
+
+    verify(reservationDao, times(2)).findByConfirmationCode(confirmationCode);
+  }
+
+  @Test
+  void givenFilterNotBuilt_whenRefresh_thenDoNothing() {
+    confirmationLookupService.refresh();
+
+    verify(reservationDao, never()).findConfirmationCodesAfter(anyLong(), any());
+  }
+
+  @Test
+  void givenCanonicalConfirmationCode_whenFindByText_thenFindByConfirmationCode() {
+    when(reservationDao.findByConfirmationCode(confirmationCode))
+        .thenReturn(Optional.of(reservation));
+
+    Reservation actual = confirmationLookupService.find(confirmationCode.toString());
+
+    assertThat(actual).isEqualTo(reservation);
+  }
+
+  @Test
+  void givenShortCodeAsTyped_whenFindByText_thenFindByNormalizedShortCode() {
+    String shortCode = ShortCode.of(confirmationCode);
+    when(reservationDao.findByShortCode(shortCode)).thenReturn(Optional.of(reservation));
+
+    Reservation actual =
+        confirmationLookupService.find(ShortCode.format(confirmationCode).toLowerCase(Locale.ROOT));
+
+    assertThat(actual).isEqualTo(reservation);
+  }
+
+  @Test
+  void givenMalformedCode_whenFindByText_thenThrowInvalidReservationException() {
+    assertThatExceptionOfType(InvalidReservationException.class)
+        .isThrownBy(() -> confirmationLookupService.find("not-a-code"));
+    assertThatExceptionOfType(InvalidReservationException.class)
+        .isThrownBy(() -> confirmationLookupService.find("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5aXY"));
+    verifyNoInteractions(reservationDao);
+  }
+
+  @Test
+  void
+      givenShortCodeNotInFilter_whenFindByShortCode_thenThrowReservationNotFoundExceptionWithoutQuery() {
+    givenCodesInDatabase(1L, confirmationCode);
+    confirmationLookupService.rebuild();
+    String unknown = ShortCode.of(UUID.randomUUID());
+
+    assertThatExceptionOfType(ReservationNotFoundException.class)
+        .isThrownBy(() -> confirmationLookupService.findByShortCode(unknown));
+    verify(reservationDao, never()).findByShortCode(anyString());
+  }
+
+  @Test
+  void givenShortCodeInFilter_whenFindByShortCode_thenQueryDatabase() {
+    givenCodesInDatabase(1L, confirmationCode);
+    confirmationLookupService.rebuild();
+    String shortCode = ShortCode.of(confirmationCode);
+    when(reservationDao.findByShortCode(shortCode)).thenReturn(Optional.of(reservation));
+
+    Reservation actual = confirmationLookupService.findByShortCode(shortCode);
+
+    assertThat(actual).isEqualTo(reservation);
+  }
+}
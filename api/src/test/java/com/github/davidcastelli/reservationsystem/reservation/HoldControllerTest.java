@@ -0,0 +1,130 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.davidcastelli.reservationsystem.common.exception.HoldNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+@NullUnmarked
+@WebMvcTest(HoldController.class)
+class HoldControllerTest {
+
+  @Autowired private MockMvcTester mockMvcTester;
+
+  // The mock receives the ApplicationReadyEvent, so only the endpoint methods are verified.
+  @MockitoBean private HoldService holdService;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private final LocalDateTime startTime = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  private final UUID holdId = UUID.fromString("0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20");
+
+  @Test
+  void givenValidHoldRequest_whenHold_thenReturnCorrectStatusAndHold() throws Exception {
+    when(holdService.hold(startTime, 4))
+        .thenReturn(
+            new Hold(
+                holdId,
+                startTime,
+                startTime.plusMinutes(4),
+                4,
+                1,
+                5,
+                LocalDateTime.of(2025, 6, 13, 15, 32, 10)));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HoldRequest(startTime, 4))))
+        .hasStatus(HttpStatus.CREATED)
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .isLenientlyEqualTo(
+            """
+              {
+                "holdId": "0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20",
+                "startTime": "2025-06-14T10:00:00",
+                "endTime": "2025-06-14T10:04:00",
+                "people": 4,
+                "expiresAt": "2025-06-13T15:32:10"
+              }
+            """);
+  }
+
+  @Test
+  void givenInvalidHoldRequest_whenHold_thenReturnCorrectStatusContentType() throws Exception {
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HoldRequest(startTime, 0))))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON);
+    verify(holdService, never()).hold(any(LocalDateTime.class), anyInt());
+  }
+
+  @Test
+  void givenActiveHold_whenConfirm_thenReturnCorrectStatusAndReservation() throws Exception {
+    when(holdService.confirm(holdId, "Castelli", null))
+        .thenReturn(
+            new Reservation(
+                1L,
+                "Castelli",
+                startTime,
+                startTime.plusMinutes(4),
+                4,
+                1,
+                5,
+                UUID.fromString("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10"),
+                ReservationStatus.PAID,
+                null,
+                null));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/holds/{id}:confirm", holdId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ConfirmHoldRequest("Castelli", null))))
+        .hasStatus(HttpStatus.CREATED)
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .extractingPath("$.reservationId")
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenExpiredHold_whenConfirm_thenReturnNotFound() throws Exception {
+    when(holdService.confirm(holdId, "Castelli", null))
+        .thenThrow(new HoldNotFoundException(holdId));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/holds/{id}:confirm", holdId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ConfirmHoldRequest("Castelli", null))))
+        .hasFailed()
+        .hasStatus(HttpStatus.NOT_FOUND)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON);
+  }
+}
@@ -0,0 +1,66 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.json.JacksonTester;
+
+@NullUnmarked
+class HoldDtoTest {
+
+  private JacksonTester<HoldDto> jacksonTester;
+
+  private final UUID holdId = UUID.fromString("0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20");
+
+  private final LocalDateTime startTime = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  private final LocalDateTime expiresAt = LocalDateTime.of(2025, 6, 13, 15, 32, 10);
+
+  @BeforeEach
+  void init() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    JacksonTester.initFields(this, objectMapper);
+  }
+
+  @Test
+  void whenConstructingHoldDto_thenCorrectHoldDtoProperties() {
+    HoldDto holdDto = new HoldDto(holdId, startTime, startTime.plusMinutes(4), 4, expiresAt);
+
+    assertThat(holdDto)
+        .isNotNull()
+        .hasNoNullFieldsOrProperties()
+        .hasOnlyFields("holdId", "startTime", "endTime", "people", "expiresAt")
+        .returns(holdId, from(HoldDto::holdId))
+        .returns(startTime, from(HoldDto::startTime))
+        .returns(startTime.plusMinutes(4), from(HoldDto::endTime))
+        .returns(4, from(HoldDto::people))
+        .returns(expiresAt, from(HoldDto::expiresAt));
+  }
+
+  @Test
+  void givenHoldDto_whenSerialized_thenReturnCorrectJson() throws Exception {
+    HoldDto holdDto = new HoldDto(holdId, startTime, startTime.plusMinutes(4), 4, expiresAt);
+    String expected =
+        """
+              {
+                "holdId": "0b6f7c1e-2a4d-4c9b-8e3f-5d7a9c1b3e20",
+                "startTime": "2025-06-14T10:00:00",
+                "endTime": "2025-06-14T10:04:00",
+                "people": 4,
+                "expiresAt": "2025-06-13T15:32:10"
+              }
+            """;
+
+    assertThat(jacksonTester.write(holdDto)).isNotNull().isEqualToJson(expected);
+  }
+}
@@ -0,0 +1,54 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.LocalDateTime;
+import java.util.Set;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class HoldRequestTest {
+
+  private static ValidatorFactory validatorFactory;
+  private static Validator validator;
+
+  @BeforeAll
+  static void initAll() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+  }
+
+  @Test
+  void givenValidHoldRequest_whenValidate_thenNoViolations() {
+    HoldRequest holdRequest = new HoldRequest(LocalDateTime.of(2025, 6, 14, 10, 0), 4);
+
+    Set<ConstraintViolation<HoldRequest>> violations = validator.validate(holdRequest);
+
+    assertThat(violations).isEmpty();
+  }
+
+  @Test
+  void givenNullStartTimeAndNonPositivePeople_whenValidate_thenReturnCorrectViolations() {
+    @SuppressWarnings("DataFlowIssue") // Creating invalid object for testing
+    HoldRequest holdRequest = new HoldRequest(null, 0);
+
+    Set<ConstraintViolation<HoldRequest>> violations = validator.validate(holdRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactlyInAnyOrder(
+            "The start time must not be null", "The number of people must be greater than 0");
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    validatorFactory.close();
+  }
+}
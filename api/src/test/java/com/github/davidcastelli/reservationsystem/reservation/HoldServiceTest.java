@@ -0,0 +1,259 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.event.HoldCreatedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.HoldReleasedEvent;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.HoldNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationConflictException;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+
+  @Mock private HoldDao holdDao;
+
+  @Mock private HoldWheel holdWheel;
+
+  @Mock private ReservationService reservationService;
+
+  @Mock private TransactionTemplate transactionTemplate;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private HoldService holdService;
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDateTime now = LocalDateTime.now(CLOCK);
+
+  private final LocalDateTime tomorrowAtTen = now.toLocalDate().plusDays(1).atTime(10, 0);
+
+  private final BookingSlot slot =
+      new BookingSlot(
+          new Group(1L, 1, 5, new BigDecimal("13.99"), 4),
+          tomorrowAtTen,
+          tomorrowAtTen.plusMinutes(4),
+          4);
+
+  @BeforeEach
+  void init() {
+    holdService =
+        new HoldService(
+            holdDao,
+            holdWheel,
+            reservationService,
+            new BookingExecutor(
+                new BookingMetrics(), 3, Duration.ofMillis(1), Duration.ofSeconds(1)),
+            new TimeOrderedUuidGenerator(),
+            transactionTemplate,
+            eventPublisher,
+            Duration.ofMinutes(2),
+            CLOCK);
+  }
+
+  private void runAttemptsInTransaction() {
+    when(reservationService.execute(eq(slot), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  void givenFreeTimeRange_whenHold_thenCreateHoldExpiringAfterTtlAddItToWheelAndPublishEvent() {
+    when(reservationService.resolve(tomorrowAtTen, 4)).thenReturn(slot);
+    runAttemptsInTransaction();
+    Hold hold =
+        new Hold(
+            UUID.randomUUID(),
+            tomorrowAtTen,
+            tomorrowAtTen.plusMinutes(4),
+            4,
+            1,
+            5,
+            now.plusMinutes(2));
+    when(holdDao.create(
+            any(UUID.class),
+            eq(tomorrowAtTen),
+            eq(tomorrowAtTen.plusMinutes(4)),
+            eq(4),
+            eq(1),
+            eq(5),
+            eq(now.plusMinutes(2))))
+        .thenReturn(Optional.of(hold));
+
+    Hold actual = holdService.hold(tomorrowAtTen, 4);
+
+    assertThat(actual).isEqualTo(hold);
+    InOrder inOrder = inOrder(reservationService, holdDao);
+    inOrder.verify(reservationService).lockDay(slot);
+    inOrder
+        .verify(holdDao)
+        .deleteExpiredOverlapping(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), now);
+    verify(holdWheel).add(hold);
+    verify(eventPublisher)
+        .publishEvent(new HoldCreatedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4)));
+  }
+
+  @Test
+  void givenHoldKnownToNode_whenHold_thenThrowConflictWithoutWriting() {
+    ReservationConflictException conflict =
+        new ReservationConflictException(new ErrorDetail[] {RequestErrors.HeldReservation()}, null);
+    when(reservationService.resolve(tomorrowAtTen, 4)).thenReturn(slot);
+    doThrow(conflict).when(reservationService).checkNotHeld(slot);
+
+    Throwable thrown = catchThrowable(() -> holdService.hold(tomorrowAtTen, 4));
+
+    assertThat(thrown).isSameAs(conflict);
+    verifyNoInteractions(holdDao);
+  }
+
+  @Test
+  void givenOverlappingReservation_whenHold_thenThrowConflict() {
+    ReservationConflictException conflict =
+        new ReservationConflictException(
+            new ErrorDetail[] {RequestErrors.OverlappingReservation()}, null);
+    when(reservationService.resolve(tomorrowAtTen, 4)).thenReturn(slot);
+    runAttemptsInTransaction();
+    when(holdDao.create(
+            any(UUID.class),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            anyInt(),
+            anyInt(),
+            anyInt(),
+            any(LocalDateTime.class)))
+        .thenReturn(Optional.empty());
+    when(reservationService.conflict(eq(slot), any(ErrorDetail.class))).thenReturn(conflict);
+
+    Throwable thrown = catchThrowable(() -> holdService.hold(tomorrowAtTen, 4));
+
+    assertThat(thrown).isSameAs(conflict);
+    verify(holdWheel, never()).add(any(Hold.class));
+  }
+
+  @Test
+  void givenActiveHold_whenConfirm_thenReturnReservationAndPublishEvent() {
+    UUID holdId = UUID.randomUUID();
+    Reservation reservation =
+        new Reservation(
+            1L,
+            "Castelli",
+            tomorrowAtTen,
+            tomorrowAtTen.plusMinutes(4),
+            4,
+            1,
+            5,
+            UUID.randomUUID(),
+            ReservationStatus.PAID,
+            null,
+            null);
+    when(holdDao.confirm(eq(holdId), eq("Castelli"), any(UUID.class), isNull(), eq(now)))
+        .thenReturn(Optional.of(reservation));
+
+    Reservation actual = holdService.confirm(holdId, "Castelli", null);
+
+    assertThat(actual).isEqualTo(reservation);
+    verify(holdWheel).remove(holdId, tomorrowAtTen);
+    verify(eventPublisher)
+        .publishEvent(
+            new ReservationBookedEvent(
+                tomorrowAtTen, tomorrowAtTen.plusMinutes(4), reservation.confirmationCode()));
+  }
+
+  @Test
+  void givenUnknownOrExpiredHold_whenConfirm_thenThrowHoldNotFoundException() {
+    UUID holdId = UUID.randomUUID();
+    when(holdDao.confirm(eq(holdId), eq("Castelli"), any(UUID.class), isNull(), eq(now)))
+        .thenReturn(Optional.empty());
+
+    Throwable thrown = catchThrowable(() -> holdService.confirm(holdId, "Castelli", null));
+
+    assertThat(thrown).isNotNull().isInstanceOf(HoldNotFoundException.class);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenReservationBookedPastHold_whenConfirm_thenThrowConflict() {
+    UUID holdId = UUID.randomUUID();
+    when(holdDao.confirm(eq(holdId), eq("Castelli"), any(UUID.class), isNull(), eq(now)))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "Overlapping", new SQLException("conflicting key value", "23P01")));
+
+    Throwable thrown = catchThrowable(() -> holdService.confirm(holdId, "Castelli", null));
+
+    assertThat(thrown).isNotNull().isInstanceOf(ReservationConflictException.class);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenActiveHolds_whenLoad_thenAddEveryHoldToWheel() {
+    Hold hold =
+        new Hold(
+            UUID.randomUUID(),
+            tomorrowAtTen,
+            tomorrowAtTen.plusMinutes(4),
+            4,
+            1,
+            5,
+            now.plusMinutes(2));
+    when(holdDao.findActive(now)).thenReturn(List.of(hold));
+
+    holdService.load();
+
+    verify(holdWheel).add(hold);
+  }
+
+  @Test
+  void givenExpiredHold_whenSweep_thenPublishReleaseAndDeleteExpiredHoldsInBulk() {
+    Hold hold =
+        new Hold(
+            UUID.randomUUID(),
+            tomorrowAtTen,
+            tomorrowAtTen.plusMinutes(4),
+            4,
+            1,
+            5,
+            now.minusSeconds(1));
+    when(holdWheel.expire(now)).thenReturn(List.of(hold));
+
+    holdService.sweep();
+
+    verify(eventPublisher)
+        .publishEvent(new HoldReleasedEvent(tomorrowAtTen, tomorrowAtTen.plusMinutes(4)));
+    verify(holdDao).deleteExpired(now);
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class HoldWheelTest {
+
+  private HoldWheel holdWheel;
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDateTime now = LocalDateTime.now(CLOCK);
+
+  private final LocalDateTime tomorrowAtTen = now.toLocalDate().plusDays(1).atTime(10, 0);
+
+  @BeforeEach
+  void init() {
+    holdWheel = new HoldWheel(Duration.ofSeconds(1), Duration.ofMinutes(2), CLOCK);
+  }
+
+  private static Hold hold(LocalDateTime startTime, int minutes, LocalDateTime expiresAt) {
+    return new Hold(
+        UUID.randomUUID(), startTime, startTime.plusMinutes(minutes), 4, 1, 5, expiresAt);
+  }
+
+  @Test
+  void givenActiveHold_whenIsHeld_thenReturnTrueForOverlappingRangesInclusive() {
+    holdWheel.add(hold(tomorrowAtTen, 4, now.plusMinutes(2)));
+
+    assertThat(holdWheel.isHeld(tomorrowAtTen.minusMinutes(4), tomorrowAtTen, now)).isTrue();
+    assertThat(holdWheel.isHeld(tomorrowAtTen.plusMinutes(2), tomorrowAtTen.plusMinutes(6), now))
+        .isTrue();
+    assertThat(holdWheel.isHeld(tomorrowAtTen.plusMinutes(4), tomorrowAtTen.plusMinutes(8), now))
+        .isTrue();
+  }
+
+  @Test
+  void givenActiveHold_whenIsHeldOutsideHold_thenReturnFalse() {
+    holdWheel.add(hold(tomorrowAtTen, 4, now.plusMinutes(2)));
+
+    assertThat(holdWheel.isHeld(tomorrowAtTen.minusMinutes(5), tomorrowAtTen.minusMinutes(1), now))
+        .isFalse();
+    assertThat(holdWheel.isHeld(tomorrowAtTen.plusMinutes(5), tomorrowAtTen.plusMinutes(9), now))
+        .isFalse();
+  }
+
+  @Test
+  void givenLongHoldStartingEarlier_whenIsHeld_thenReturnTrue() {
+    holdWheel.add(hold(tomorrowAtTen, 30, now.plusMinutes(2)));
+    holdWheel.add(hold(tomorrowAtTen.plusMinutes(40), 4, now.plusMinutes(2)));
+
+    assertThat(holdWheel.isHeld(tomorrowAtTen.plusMinutes(20), tomorrowAtTen.plusMinutes(24), now))
+        .isTrue();
+  }
+
+  @Test
+  void givenExpiredHold_whenIsHeld_thenReturnFalse() {
+    holdWheel.add(hold(tomorrowAtTen, 4, now.minusSeconds(1)));
+
+    assertThat(holdWheel.isHeld(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), now)).isFalse();
+  }
+
+  @Test
+  void givenRemovedHold_whenIsHeld_thenReturnFalse() {
+    Hold hold = hold(tomorrowAtTen, 4, now.plusMinutes(2));
+    holdWheel.add(hold);
+
+    holdWheel.remove(hold.holdId(), hold.startTime());
+
+    assertThat(holdWheel.isHeld(tomorrowAtTen, tomorrowAtTen.plusMinutes(4), now)).isFalse();
+    assertThat(holdWheel.size()).isZero();
+  }
+
+  @Test
+  void givenOtherHoldAtSameStart_whenRemove_thenKeepOtherHold() {
+    Hold hold = hold(tomorrowAtTen, 4, now.plusMinutes(2));
+    holdWheel.add(hold);
+
+    holdWheel.remove(UUID.randomUUID(), hold.startTime());
+
+    assertThat(holdWheel.size()).isEqualTo(1);
+  }
+
+  @Test
+  void givenHoldsExpiringAtDifferentTimes_whenExpire_thenReleaseOnlyExpiredHolds() {
+    holdWheel.add(hold(tomorrowAtTen, 4, now.plusSeconds(5)));
+    holdWheel.add(hold(tomorrowAtTen.plusMinutes(8), 4, now.plusSeconds(10)));
+    holdWheel.add(hold(tomorrowAtTen.plusMinutes(16), 4, now.plusSeconds(60)));
+
+    List<Hold> released = holdWheel.expire(now.plusSeconds(10));
+
+    assertThat(released)
+        .extracting(Hold::startTime)
+        .containsExactlyInAnyOrder(tomorrowAtTen, tomorrowAtTen.plusMinutes(8));
+    assertThat(holdWheel.size()).isEqualTo(1);
+    assertThat(holdWheel.expire(now.plusSeconds(60))).hasSize(1);
+    assertThat(holdWheel.size()).isZero();
+  }
+
+  @Test
+  void givenHoldExpiringInLaterRotation_whenExpire_thenKeepHoldUntilItExpires() {
+    // The wheel of a two minute time to live has 128 one second buckets.
+    holdWheel.add(hold(tomorrowAtTen, 4, now.plusSeconds(300)));
+
+    assertThat(holdWheel.expire(now.plusSeconds(290))).isEmpty();
+    assertThat(holdWheel.size()).isEqualTo(1);
+    assertThat(holdWheel.expire(now.plusSeconds(301))).hasSize(1);
+  }
+
+  @Test
+  void givenHoldAlreadyExpiredWhenAdded_whenExpire_thenReleaseHold() {
+    holdWheel.expire(now.plusSeconds(10));
+    holdWheel.add(hold(tomorrowAtTen, 4, now.minusSeconds(5)));
+
+    assertThat(holdWheel.expire(now.plusSeconds(11))).hasSize(1);
+    assertThat(holdWheel.size()).isZero();
+  }
+}
@@ -0,0 +1,121 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ReservationArchiveServiceTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private ReservationArchiveDao reservationArchiveDao;
+
+  private final LocalDateTime cutoff = LocalDate.now(CLOCK).minusMonths(6).atStartOfDay();
+
+  private final ReservationKey first = new ReservationKey(cutoff.minusDays(3), 1L);
+  private final ReservationKey second = new ReservationKey(cutoff.minusDays(2), 2L);
+  private final ReservationKey third = new ReservationKey(cutoff.minusDays(1), 3L);
+
+  @Test
+  void givenEmptyArchive_whenArchive_thenArchiveFromFirstReservation() {
+    when(reservationArchiveDao.findLastArchived()).thenReturn(Optional.empty());
+    when(reservationArchiveDao.archive(ReservationKey.FIRST, cutoff, 2)).thenReturn(List.of(first));
+    var reservationArchiveService =
+        new ReservationArchiveService(reservationArchiveDao, 2, 1000, CLOCK);
+
+    long archived = reservationArchiveService.archive(cutoff);
+
+    assertThat(archived).isEqualTo(1);
+    verify(reservationArchiveDao, times(1)).archive(any(), any(), anyInt());
+  }
+
+  @Test
+  void whenArchiveScheduled_thenArchiveReservationsStartedBeforeBookingHorizonOfClock() {
+    when(reservationArchiveDao.findLastArchived()).thenReturn(Optional.empty());
+    when(reservationArchiveDao.archive(any(), any(), anyInt())).thenReturn(List.of());
+    var reservationArchiveService =
+        new ReservationArchiveService(reservationArchiveDao, 2, 1000, CLOCK);
+
+    reservationArchiveService.archive();
+
+    verify(reservationArchiveDao)
+        .archive(ReservationKey.FIRST, LocalDateTime.of(2024, 12, 14, 0, 0), 2);
+  }
+
+  @Test
+  void givenArchivedReservations_whenArchive_thenResumeAfterLastArchived() {
+    when(reservationArchiveDao.findLastArchived()).thenReturn(Optional.of(first));
+    when(reservationArchiveDao.archive(first, cutoff, 2)).thenReturn(List.of());
+    var reservationArchiveService =
+        new ReservationArchiveService(reservationArchiveDao, 2, 1000, CLOCK);
+
+    long archived = reservationArchiveService.archive(cutoff);
+
+    assertThat(archived).isZero();
+    verify(reservationArchiveDao).archive(first, cutoff, 2);
+  }
+
+  @Test
+  void givenFullBatches_whenArchive_thenContinueAfterLastKeyOfBatchUntilBatchIsNotFull() {
+    when(reservationArchiveDao.findLastArchived()).thenReturn(Optional.empty());
+    when(reservationArchiveDao.archive(ReservationKey.FIRST, cutoff, 2))
+        .thenReturn(List.of(first, second));
+    when(reservationArchiveDao.archive(second, cutoff, 2)).thenReturn(List.of(third));
+    var reservationArchiveService =
+        new ReservationArchiveService(reservationArchiveDao, 2, 1000, CLOCK);
+
+    long archived = reservationArchiveService.archive(cutoff);
+
+    assertThat(archived).isEqualTo(3);
+    verify(reservationArchiveDao, times(2)).archive(any(), any(), anyInt());
+  }
+
+  @Test
+  void givenRowsPerSecondBudget_whenArchive_thenPaceBatchesWithinBudget() {
+    when(reservationArchiveDao.findLastArchived()).thenReturn(Optional.empty());
+    when(reservationArchiveDao.archive(any(), eq(cutoff), eq(2)))
+        .thenReturn(List.of(first, second), List.of(first, second), List.of(first, second))
+        .thenReturn(List.of());
+    var reservationArchiveService =
+        new ReservationArchiveService(reservationArchiveDao, 2, 50, CLOCK);
+
+    long startedAt = System.nanoTime();
+    long archived = reservationArchiveService.archive(cutoff);
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+    assertThat(archived).isEqualTo(6);
+    // Six rows at fifty rows per second take at least 120 milliseconds.
+    assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(120));
+  }
+
+  @Test
+  void givenNonPositiveBatchSize_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ReservationArchiveService(reservationArchiveDao, 0, 1000, CLOCK))
+        .withMessage("The batch size must be positive");
+  }
+
+  @Test
+  void givenNonPositiveRowsPerSecond_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ReservationArchiveService(reservationArchiveDao, 2, 0, CLOCK))
+        .withMessage("The rows per second must be positive");
+  }
+}
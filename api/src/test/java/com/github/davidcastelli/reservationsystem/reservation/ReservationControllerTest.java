@@ -0,0 +1,222 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.davidcastelli.reservationsystem.common.ErrorDetail;
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidReservationException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationConflictException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationNotFoundException;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import com.github.davidcastelli.reservationsystem.common.utility.RequestErrors;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+@NullUnmarked
+@WebMvcTest(ReservationController.class)
+class ReservationControllerTest {
+
+  @Autowired private MockMvcTester mockMvcTester;
+
+  @MockitoBean private ReservationService reservationService;
+
+  @MockitoBean private ConfirmationLookupService confirmationLookupService;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private final LocalDateTime startTime = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  @Test
+  void givenValidReservationRequest_whenBook_thenReturnCorrectStatusAndReservation()
+      throws Exception {
+    UUID confirmationCode = UUID.fromString("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10");
+    when(reservationService.book("Castelli", startTime, 4, null))
+        .thenReturn(
+            new Reservation(
+                1L,
+                "Castelli",
+                startTime,
+                startTime.plusMinutes(4),
+                4,
+                1,
+                5,
+                confirmationCode,
+                ReservationStatus.PAID,
+                null,
+                null));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new ReservationRequest("Castelli", startTime, 4, null))))
+        .hasStatus(HttpStatus.CREATED)
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .isLenientlyEqualTo(
+            """
+              {
+                "reservationId": 1,
+                "name": "Castelli",
+                "startTime": "2025-06-14T10:00:00",
+                "endTime": "2025-06-14T10:04:00",
+                "people": 4,
+                "confirmationCode": "3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10",
+                "shortCode": "KC3DX-JWPGG",
+                "status": "PAID",
+                "note": null
+              }
+            """);
+  }
+
+  @Test
+  void givenInvalidReservationRequest_whenBook_thenReturnCorrectStatusContentType()
+      throws Exception {
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new ReservationRequest(" ", startTime, 0, null))))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON);
+    verifyNoInteractions(reservationService);
+  }
+
+  @Test
+  void givenOverlappingReservation_whenBook_thenReturnConflictWithAlternativeStartTime()
+      throws Exception {
+    when(reservationService.book(anyString(), any(LocalDateTime.class), anyInt(), isNull()))
+        .thenThrow(
+            new ReservationConflictException(
+                new ErrorDetail[] {RequestErrors.OverlappingReservation()},
+                startTime.plusMinutes(8)));
+
+    var result =
+        assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new ReservationRequest("Castelli", startTime, 4, null))));
+
+    result
+        .hasFailed()
+        .hasStatus(HttpStatus.CONFLICT)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON);
+    result
+        .bodyJson()
+        .extractingPath("$.alternativeStartTime")
+        .asString()
+        .isEqualTo("2025-06-14T10:08:00");
+    result
+        .bodyJson()
+        .extractingPath("$.errors['Reservation.Overlapping']")
+        .asArray()
+        .containsExactly("The reservation overlaps another reservation.");
+  }
+
+  @Test
+  void givenContention_whenBook_thenReturnServiceUnavailableWithRetryAfter() throws Exception {
+    when(reservationService.book(anyString(), any(LocalDateTime.class), anyInt(), isNull()))
+        .thenThrow(new BookingContentionException(Duration.ofSeconds(1)));
+
+    assertThat(
+            mockMvcTester
+                .post()
+                .uri("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new ReservationRequest("Castelli", startTime, 4, null))))
+        .hasFailed()
+        .hasStatus(HttpStatus.SERVICE_UNAVAILABLE)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .hasHeader(HttpHeaders.RETRY_AFTER, "1");
+  }
+
+  @Test
+  void givenExistingConfirmationCode_whenFindByCode_thenReturnReservation() {
+    UUID confirmationCode = UUID.fromString("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10");
+    when(confirmationLookupService.find(confirmationCode.toString()))
+        .thenReturn(
+            new Reservation(
+                1L,
+                "Castelli",
+                startTime,
+                startTime.plusMinutes(4),
+                4,
+                1,
+                5,
+                confirmationCode,
+                ReservationStatus.PAID,
+                "Birthday",
+                null));
+
+    assertThat(mockMvcTester.get().uri("/api/reservations/{code}", confirmationCode))
+        .hasStatusOk()
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .isLenientlyEqualTo(
+            """
+              {
+                "reservationId": 1,
+                "name": "Castelli",
+                "startTime": "2025-06-14T10:00:00",
+                "endTime": "2025-06-14T10:04:00",
+                "people": 4,
+                "confirmationCode": "3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10",
+                "status": "PAID",
+                "shortCode": "KC3DX-JWPGG",
+                "note": "Birthday"
+              }
+            """);
+  }
+
+  @Test
+  void givenUnknownConfirmationCode_whenFindByCode_thenReturnNotFound() {
+    UUID confirmationCode = UUID.fromString("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a11");
+    when(confirmationLookupService.find(confirmationCode.toString()))
+        .thenThrow(new ReservationNotFoundException(confirmationCode));
+
+    assertThat(mockMvcTester.get().uri("/api/reservations/{code}", confirmationCode))
+        .hasFailed()
+        .hasStatus(HttpStatus.NOT_FOUND)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON);
+  }
+
+  @Test
+  void givenMalformedCode_whenFindByCode_thenReturnBadRequest() {
+    when(confirmationLookupService.find("not-a-code"))
+        .thenThrow(
+            new InvalidReservationException(
+                new ErrorDetail[] {RequestErrors.InvalidConfirmationCode()}));
+
+    assertThat(mockMvcTester.get().uri("/api/reservations/{code}", "not-a-code"))
+        .hasFailed()
+        .hasStatus(HttpStatus.BAD_REQUEST)
+        .hasContentType(MediaType.APPLICATION_PROBLEM_JSON);
+  }
+}
@@ -0,0 +1,102 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.json.JacksonTester;
+
+@NullUnmarked
+class ReservationDtoTest {
+
+  private JacksonTester<ReservationDto> jacksonTester;
+
+  private final LocalDateTime startTime = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  private final UUID confirmationCode = UUID.fromString("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10");
+
+  @BeforeEach
+  void init() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    JacksonTester.initFields(this, objectMapper);
+  }
+
+  @Test
+  void whenConstructingReservationDto_thenCorrectReservationDtoProperties() {
+    ReservationDto reservationDto =
+        new ReservationDto(
+            1L,
+            "Castelli",
+            startTime,
+            startTime.plusMinutes(4),
+            4,
+            confirmationCode,
+            "KC3DX-JWPGG",
+            ReservationStatus.PAID,
+            "Birthday");
+
+    assertThat(reservationDto)
+        .isNotNull()
+        .hasNoNullFieldsOrProperties()
+        .hasOnlyFields(
+            "reservationId",
+            "name",
+            "startTime",
+            "endTime",
+            "people",
+            "confirmationCode",
+            "shortCode",
+            "status",
+            "note")
+        .returns(1L, from(ReservationDto::reservationId))
+        .returns("Castelli", from(ReservationDto::name))
+        .returns(startTime, from(ReservationDto::startTime))
+        .returns(startTime.plusMinutes(4), from(ReservationDto::endTime))
+        .returns(4, from(ReservationDto::people))
+        .returns(confirmationCode, from(ReservationDto::confirmationCode))
+        .returns("KC3DX-JWPGG", from(ReservationDto::shortCode))
+        .returns(ReservationStatus.PAID, from(ReservationDto::status))
+        .returns("Birthday", from(ReservationDto::note));
+  }
+
+  @Test
+  void givenReservationDto_whenSerialized_thenReturnCorrectJson() throws Exception {
+    ReservationDto reservationDto =
+        new ReservationDto(
+            1L,
+            "Castelli",
+            startTime,
+            startTime.plusMinutes(4),
+            4,
+            confirmationCode,
+            "KC3DX-JWPGG",
+            ReservationStatus.PAID,
+            null);
+    String expected =
+        """
+              {
+                "reservationId": 1,
+                "name": "Castelli",
+                "startTime": "2025-06-14T10:00:00",
+                "endTime": "2025-06-14T10:04:00",
+                "people": 4,
+                "confirmationCode": "3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10",
+                "shortCode": "KC3DX-JWPGG",
+                "status": "PAID",
+                "note": null
+              }
+            """;
+
+    assertThat(jacksonTester.write(reservationDto)).isNotNull().isEqualToJson(expected);
+  }
+}
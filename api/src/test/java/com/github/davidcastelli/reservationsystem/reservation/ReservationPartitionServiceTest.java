@@ -0,0 +1,103 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ReservationPartitionServiceTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private ReservationPartitionDao reservationPartitionDao;
+
+  private ReservationPartitionService reservationPartitionService;
+
+  private final YearMonth current = YearMonth.of(2026, 10);
+
+  @BeforeEach
+  void init() {
+    reservationPartitionService =
+        new ReservationPartitionService(reservationPartitionDao, 7, 6, CLOCK);
+  }
+
+  private static ReservationPartition partition(YearMonth month) {
+    return new ReservationPartition(
+        "reservation_y%dm%02d".formatted(month.getYear(), month.getMonthValue()), month, false);
+  }
+
+  @Test
+  void whenMaintain_thenCreatePartitionsFromCurrentMonthUntilMonthsAhead() {
+    reservationPartitionService.maintain(current);
+
+    for (int i = 0; i <= 7; i++) {
+      verify(reservationPartitionDao).create(current.plusMonths(i));
+    }
+    verify(reservationPartitionDao, times(8)).create(any(YearMonth.class));
+  }
+
+  @Test
+  void whenMaintainScheduled_thenCreatePartitionsFromMonthOfClock() {
+    reservationPartitionService.maintain();
+
+    verify(reservationPartitionDao).create(YearMonth.of(2025, 6));
+    verify(reservationPartitionDao).create(YearMonth.of(2026, 1));
+  }
+
+  @Test
+  void givenPartitionsBeforeRetention_whenMaintain_thenDetachOnlyThosePartitions() {
+    ReservationPartition expired = partition(YearMonth.of(2026, 3));
+    ReservationPartition retained = partition(YearMonth.of(2026, 4));
+    when(reservationPartitionDao.findAll())
+        .thenReturn(List.of(expired, retained, partition(current)));
+
+    reservationPartitionService.maintain(current);
+
+    verify(reservationPartitionDao).detach(expired);
+    verify(reservationPartitionDao, never()).detach(retained);
+    verify(reservationPartitionDao, times(1)).detach(any());
+  }
+
+  @Test
+  void givenFailedDetach_whenMaintain_thenDetachRemainingPartitions() {
+    ReservationPartition first = partition(YearMonth.of(2026, 1));
+    ReservationPartition second = partition(YearMonth.of(2026, 2));
+    when(reservationPartitionDao.findAll()).thenReturn(List.of(first, second));
+    doThrow(new InvalidDataAccessResourceUsageException("not a partition"))
+        .when(reservationPartitionDao)
+        .detach(first);
+
+    reservationPartitionService.maintain(current);
+
+    verify(reservationPartitionDao).detach(second);
+  }
+
+  @Test
+  void givenMonthsAheadShorterThanBookingHorizon_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ReservationPartitionService(reservationPartitionDao, 5, 6, CLOCK))
+        .withMessage("The partitions must be created for at least the booking horizon");
+  }
+
+  @Test
+  void givenRetentionShorterThanBookingHorizon_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ReservationPartitionService(reservationPartitionDao, 7, 5, CLOCK))
+        .withMessage("The partitions must be retained for at least the booking horizon");
+  }
+}
@@ -0,0 +1,84 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.LocalDateTime;
+import java.util.Set;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ReservationRequestTest {
+
+  private static ValidatorFactory validatorFactory;
+  private static Validator validator;
+
+  private final LocalDateTime startTime = LocalDateTime.of(2025, 6, 14, 10, 0);
+
+  @BeforeAll
+  static void initAll() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+  }
+
+  @Test
+  void givenValidReservationRequest_whenValidate_thenNoViolations() {
+    ReservationRequest reservationRequest =
+        new ReservationRequest("Castelli", startTime, 4, "Birthday");
+
+    Set<ConstraintViolation<ReservationRequest>> violations =
+        validator.validate(reservationRequest);
+
+    assertThat(violations).isEmpty();
+  }
+
+  @Test
+  void givenBlankName_whenValidate_thenReturnCorrectViolation() {
+    ReservationRequest reservationRequest = new ReservationRequest(" ", startTime, 4, null);
+
+    Set<ConstraintViolation<ReservationRequest>> violations =
+        validator.validate(reservationRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactly("The name must not be blank");
+  }
+
+  @Test
+  void givenTooLongName_whenValidate_thenReturnCorrectViolation() {
+    ReservationRequest reservationRequest =
+        new ReservationRequest("a".repeat(21), startTime, 4, null);
+
+    Set<ConstraintViolation<ReservationRequest>> violations =
+        validator.validate(reservationRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactly("The name must not be longer than 20 characters");
+  }
+
+  @Test
+  void givenNonPositivePeopleAndNullStartTime_whenValidate_thenReturnCorrectViolations() {
+    @SuppressWarnings("DataFlowIssue") // Creating invalid object for testing
+    ReservationRequest reservationRequest = new ReservationRequest("Castelli", null, 0, null);
+
+    Set<ConstraintViolation<ReservationRequest>> violations =
+        validator.validate(reservationRequest);
+
+    assertThat(violations)
+        .extracting(ConstraintViolation::getMessage)
+        .containsExactlyInAnyOrder(
+            "The start time must not be null", "The number of people must be greater than 0");
+  }
+
+  @AfterAll
+  static void tearDownAll() {
+    validatorFactory.close();
+  }
+}
@@ -0,0 +1,343 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.dao.SharedGroupDao;
+import com.github.davidcastelli.reservationsystem.common.event.ReservationBookedEvent;
+import com.github.davidcastelli.reservationsystem.common.exception.BookingContentionException;
+import com.github.davidcastelli.reservationsystem.common.exception.InvalidReservationException;
+import com.github.davidcastelli.reservationsystem.common.exception.ReservationConflictException;
+import com.github.davidcastelli.reservationsystem.common.model.Group;
+import com.github.davidcastelli.reservationsystem.common.model.Reservation;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+  @Mock private ReservationDao reservationDao;
+
+  @Mock private SharedGroupDao sharedGroupDao;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private HoldWheel holdWheel;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private BookingMetrics metrics;
+
+  private ReservationService reservationService;
+
+  private final Group group = new Group(1L, 1, 5, new BigDecimal("13.99"), 4);
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  private final LocalDateTime tomorrowAtTen = LocalDate.now(CLOCK).plusDays(1).atTime(10, 0);
+
+  @BeforeEach
+  void init() {
+    metrics = new BookingMetrics();
+    reservationService =
+        new ReservationService(
+            reservationDao,
+            sharedGroupDao,
+            new BookingExecutor(metrics, 3, Duration.ofMillis(1), Duration.ofSeconds(1)),
+            eventPublisher,
+            holdWheel,
+            new TimeOrderedUuidGenerator(),
+            new TransactionTemplate(transactionManager),
+            LocalTime.of(8, 0),
+            LocalTime.of(20, 0),
+            CLOCK);
+  }
+
+  @Test
+  void givenFreeStartTime_whenBook_thenCreateReservationOfGroupAndPublishEvent() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(reservationDao.create(any(Reservation.class), any(LocalDateTime.class)))
+        .thenReturn(OptionalLong.of(7L));
+
+    Reservation reservation = reservationService.book("Castelli", tomorrowAtTen, 4, "Birthday");
+
+    ArgumentCaptor<Reservation> created = ArgumentCaptor.forClass(Reservation.class);
+    InOrder inOrder = inOrder(reservationDao, transactionManager);
+    inOrder.verify(reservationDao).lockDay(tomorrowAtTen.toLocalDate());
+    inOrder.verify(reservationDao).create(created.capture(), any(LocalDateTime.class));
+    inOrder.verify(transactionManager).commit(any());
+    assertThat(created.getValue())
+        .returns(tomorrowAtTen.plusMinutes(4), from(Reservation::endTime))
+        .returns(1, from(Reservation::minPeople))
+        .returns(5, from(Reservation::maxPeople))
+        .returns(ReservationStatus.PAID, from(Reservation::status));
+    assertThat(reservation)
+        .returns(7L, from(Reservation::reservationId))
+        .returns("Castelli", from(Reservation::name))
+        .returns(created.getValue().confirmationCode(), from(Reservation::confirmationCode))
+        .returns("Birthday", from(Reservation::note));
+    verify(eventPublisher)
+        .publishEvent(
+            new ReservationBookedEvent(
+                tomorrowAtTen,
+                tomorrowAtTen.plusMinutes(4),
+                created.getValue().confirmationCode()));
+  }
+
+  @Test
+  void givenNoGroupForPeople_whenBook_thenThrowInvalidReservationException() {
+    when(sharedGroupDao.findByPeople(40)).thenReturn(Optional.empty());
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", tomorrowAtTen, 40, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(InvalidReservationException.class)
+        .extracting(e -> ((InvalidReservationException) e).getErrors())
+        .satisfies(errors -> assertThat(errors).containsOnlyKeys("Reservation.People"));
+    verifyNoInteractions(reservationDao, eventPublisher);
+  }
+
+  @Test
+  void givenStartTimeOutsideOpeningHours_whenBook_thenThrowInvalidReservationException() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+
+    Throwable thrown =
+        catchThrowable(
+            () ->
+                reservationService.book(
+                    "Castelli", tomorrowAtTen.withHour(19).withMinute(58), 4, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(InvalidReservationException.class)
+        .extracting(e -> ((InvalidReservationException) e).getErrors().get("Reservation.StartTime"))
+        .satisfies(
+            errors ->
+                assertThat(errors)
+                    .containsExactly(
+                        "The reservation must start and end between 08:00 and 20:00."));
+    verifyNoInteractions(reservationDao, eventPublisher);
+  }
+
+  @Test
+  void givenStartTimeBeyondBookingHorizon_whenBook_thenThrowInvalidReservationException() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    LocalDateTime startTime =
+        LocalDate.now(CLOCK)
+            .plusMonths(ReservationService.BOOKING_HORIZON_MONTHS)
+            .plusDays(1)
+            .atTime(10, 0);
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", startTime, 4, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(InvalidReservationException.class)
+        .extracting(e -> ((InvalidReservationException) e).getErrors().get("Reservation.StartTime"))
+        .satisfies(
+            errors ->
+                assertThat(errors)
+                    .containsExactly(
+                        "The reservation must start after now and end within 6 months."));
+    verifyNoInteractions(reservationDao, eventPublisher);
+  }
+
+  @Test
+  void givenOverlappingReservation_whenBook_thenThrowConflictWithNearestFreeStartTime() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(reservationDao.create(any(Reservation.class), any(LocalDateTime.class)))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "Overlapping", new SQLException("conflicting key value", "23P01")));
+    when(reservationDao.findNearestFreeStart(
+            tomorrowAtTen.toLocalDate().atTime(8, 0),
+            tomorrowAtTen.toLocalDate().atTime(19, 56),
+            4,
+            tomorrowAtTen,
+            LocalDateTime.now(CLOCK)))
+        .thenReturn(Optional.of(tomorrowAtTen.plusMinutes(8)));
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", tomorrowAtTen, 4, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(ReservationConflictException.class)
+        .extracting(e -> ((ReservationConflictException) e).getAlternativeStartTime())
+        .isEqualTo(tomorrowAtTen.plusMinutes(8));
+    assertThat(metrics.conflicts()).isEqualTo(1L);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenOverlappingReservationAndFullDay_whenBook_thenThrowConflictWithoutAlternative() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(reservationDao.create(any(Reservation.class), any(LocalDateTime.class)))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "Overlapping", new SQLException("conflicting key value", "23P01")));
+    when(reservationDao.findNearestFreeStart(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            anyInt(),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class)))
+        .thenReturn(Optional.empty());
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", tomorrowAtTen, 4, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(ReservationConflictException.class)
+        .extracting(e -> ((ReservationConflictException) e).getAlternativeStartTime())
+        .isNull();
+  }
+
+  @Test
+  void givenOnlyDeadlocks_whenBook_thenThrowBookingContentionException() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(reservationDao.create(any(Reservation.class), any(LocalDateTime.class)))
+        .thenThrow(
+            new CannotAcquireLockException(
+                "Deadlock", new SQLException("deadlock detected", "40P01")));
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", tomorrowAtTen, 4, null));
+
+    assertThat(thrown).isNotNull().isInstanceOf(BookingContentionException.class);
+    verify(reservationDao, times(3)).create(any(Reservation.class), any(LocalDateTime.class));
+    verify(reservationDao, never())
+        .findNearestFreeStart(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            anyInt(),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void givenDeadlockThenFreeStartTime_whenBook_thenRecordFlightRecorderEvents() throws Exception {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(reservationDao.create(any(Reservation.class), any(LocalDateTime.class)))
+        .thenThrow(
+            new CannotAcquireLockException(
+                "Deadlock", new SQLException("deadlock detected", "40P01")))
+        .thenReturn(OptionalLong.of(7L));
+    List<RecordedEvent> events;
+    Path file = Files.createTempFile("reservation-service-test", ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable(GroupResolutionEvent.class);
+      recording.enable(AvailabilityCheckEvent.class);
+      recording.enable(BookingAttemptEvent.class);
+      recording.start();
+
+      reservationService.book("Castelli", tomorrowAtTen, 4, null);
+
+      recording.stop();
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    assertThat(events)
+        .extracting(
+            e -> e.getEventType().getName(),
+            e -> e.getInt("people"),
+            e -> e.getString("slotStart"),
+            e -> e.getString("outcome"))
+        .containsExactly(
+            tuple("reservationsystem.GroupResolution", 4, tomorrowAtTen.toString(), "FOUND"),
+            tuple("reservationsystem.AvailabilityCheck", 4, tomorrowAtTen.toString(), "FREE"),
+            tuple("reservationsystem.BookingAttempt", 4, tomorrowAtTen.toString(), "TRANSIENT"),
+            tuple("reservationsystem.BookingAttempt", 4, tomorrowAtTen.toString(), "COMPLETED"));
+    assertThat(events.get(0).getLong("groupId")).isEqualTo(1L);
+    assertThat(events.subList(2, 4)).extracting(e -> e.getInt("attempt")).containsExactly(1, 2);
+  }
+
+  @Test
+  void givenHoldKnownToNode_whenBook_thenThrowConflictWithoutInserting() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(holdWheel.isHeld(
+            eq(tomorrowAtTen), eq(tomorrowAtTen.plusMinutes(4)), any(LocalDateTime.class)))
+        .thenReturn(true);
+    when(reservationDao.findNearestFreeStart(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            anyInt(),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class)))
+        .thenReturn(Optional.of(tomorrowAtTen.plusMinutes(8)));
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", tomorrowAtTen, 4, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(ReservationConflictException.class)
+        .extracting(e -> ((ReservationConflictException) e).getErrors())
+        .satisfies(errors -> assertThat(errors).containsOnlyKeys("Reservation.Held"));
+    verify(reservationDao, never()).create(any(Reservation.class), any(LocalDateTime.class));
+  }
+
+  @Test
+  void givenHoldOfOtherNode_whenBook_thenThrowConflict() {
+    when(sharedGroupDao.findByPeople(4)).thenReturn(Optional.of(group));
+    when(reservationDao.create(any(Reservation.class), any(LocalDateTime.class)))
+        .thenReturn(OptionalLong.empty());
+    when(reservationDao.findNearestFreeStart(
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            anyInt(),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class)))
+        .thenReturn(Optional.empty());
+
+    Throwable thrown =
+        catchThrowable(() -> reservationService.book("Castelli", tomorrowAtTen, 4, null));
+
+    assertThat(thrown)
+        .isNotNull()
+        .isInstanceOf(ReservationConflictException.class)
+        .extracting(e -> ((ReservationConflictException) e).getErrors())
+        .satisfies(errors -> assertThat(errors).containsOnlyKeys("Reservation.Held"));
+    verifyNoInteractions(eventPublisher);
+  }
+}
@@ -0,0 +1,50 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.UUID;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ShortCodeTest {
+
+  private final UUID confirmationCode = UUID.fromString("3f1c2a9e-8f4b-4a55-9d0e-6c1b7b2e5a10");
+
+  @Test
+  void givenConfirmationCode_whenOf_thenReturnLastFiftyBitsInBase32() {
+    assertThat(ShortCode.of(confirmationCode)).isEqualTo("KC3DXJWPGG");
+    assertThat(ShortCode.of(UUID.fromString("00000000-0000-7000-8003-ffffffffffff")))
+        .isEqualTo("ZZZZZZZZZZ");
+    assertThat(ShortCode.of(UUID.fromString("00000000-0000-7000-8000-000000000021")))
+        .isEqualTo("0000000011");
+  }
+
+  @Test
+  void givenConfirmationCode_whenFormat_thenReturnTwoGroupsOfFive() {
+    assertThat(ShortCode.format(confirmationCode)).isEqualTo("KC3DX-JWPGG");
+  }
+
+  @Test
+  void givenShortCodeAsTyped_whenParse_thenReturnNormalizedShortCode() {
+    assertThat(ShortCode.parse("KC3DX-JWPGG")).contains("KC3DXJWPGG");
+    assertThat(ShortCode.parse("kc3dxjwpgg")).contains("KC3DXJWPGG");
+    assertThat(ShortCode.parse("oOiIl-L1234")).contains("0011111234");
+  }
+
+  @Test
+  void givenInvalidText_whenParse_thenReturnEmptyOptional() {
+    assertThat(ShortCode.parse("KC3DX-JWPG")).isEmpty();
+    assertThat(ShortCode.parse("KC3DX-JWPGGG")).isEmpty();
+    assertThat(ShortCode.parse("KC3DX-JWPGU")).isEmpty();
+    assertThat(ShortCode.parse("")).isEmpty();
+  }
+
+  @Test
+  void givenShortCodeOfConfirmationCode_whenKey_thenReturnSameKeyAsConfirmationCode() {
+    UUID key = ShortCode.key(ShortCode.of(confirmationCode));
+
+    assertThat(key).isEqualTo(ShortCode.key(confirmationCode));
+    assertThat(key.getMostSignificantBits()).isZero();
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+@NullUnmarked
+@WebMvcTest(StatusTransitionController.class)
+class StatusTransitionControllerTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T10:00:00Z"), ZoneOffset.UTC);
+
+  @Autowired private MockMvcTester mockMvcTester;
+
+  @MockitoBean private StatusTransitionService statusTransitionService;
+
+  @TestConfiguration
+  static class FixedClockConfig {
+    @Bean
+    Clock clock() {
+      return CLOCK;
+    }
+  }
+
+  @Test
+  void whenTransitionStatuses_thenReturnCorrectStatusAndCountPerTransition() {
+    when(statusTransitionService.run(LocalDateTime.of(2025, 6, 14, 10, 0)))
+        .thenReturn(
+            List.of(new StatusTransition(ReservationStatus.PAID, ReservationStatus.NO_SHOW, 12)));
+
+    assertThat(mockMvcTester.post().uri("/api/admin/reservations:transitionStatuses"))
+        .hasStatus(HttpStatus.OK)
+        .hasContentType(MediaType.APPLICATION_JSON)
+        .bodyJson()
+        .isLenientlyEqualTo(
+            """
+              [
+                {
+                  "from": "PAID",
+                  "to": "NO_SHOW",
+                  "count": 12
+                }
+              ]
+            """);
+  }
+}
@@ -0,0 +1,51 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.json.JacksonTester;
+
+@NullUnmarked
+class StatusTransitionDtoTest {
+
+  private JacksonTester<StatusTransitionDto> jacksonTester;
+
+  @BeforeEach
+  void init() {
+    JacksonTester.initFields(this, new ObjectMapper());
+  }
+
+  @Test
+  void whenConstructingStatusTransitionDto_thenCorrectStatusTransitionDtoProperties() {
+    StatusTransitionDto statusTransitionDto =
+        new StatusTransitionDto(ReservationStatus.PAID, ReservationStatus.NO_SHOW, 12);
+
+    assertThat(statusTransitionDto)
+        .isNotNull()
+        .hasNoNullFieldsOrProperties()
+        .hasOnlyFields("from", "to", "count")
+        .returns(ReservationStatus.PAID, from(StatusTransitionDto::from))
+        .returns(ReservationStatus.NO_SHOW, from(StatusTransitionDto::to))
+        .returns(12L, from(StatusTransitionDto::count));
+  }
+
+  @Test
+  void givenStatusTransitionDto_whenSerialized_thenReturnCorrectJson() throws Exception {
+    StatusTransitionDto statusTransitionDto =
+        new StatusTransitionDto(ReservationStatus.PAID, ReservationStatus.NO_SHOW, 12);
+    String expected =
+        """
+              {
+                "from": "PAID",
+                "to": "NO_SHOW",
+                "count": 12
+              }
+            """;
+
+    assertThat(jacksonTester.write(statusTransitionDto)).isNotNull().isEqualToJson(expected);
+  }
+}
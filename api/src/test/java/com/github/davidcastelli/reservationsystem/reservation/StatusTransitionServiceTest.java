@@ -0,0 +1,103 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.github.davidcastelli.reservationsystem.common.event.ReservationStatusesChangedEvent;
+import com.github.davidcastelli.reservationsystem.common.model.ReservationStatus;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@NullUnmarked
+@ExtendWith(MockitoExtension.class)
+class StatusTransitionServiceTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-06-14T21:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private StatusTransitionDao statusTransitionDao;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private StatusTransitionService statusTransitionService;
+
+  private final LocalDateTime now = LocalDateTime.of(2025, 6, 14, 21, 0);
+
+  @BeforeEach
+  void init() {
+    statusTransitionService =
+        new StatusTransitionService(
+            statusTransitionDao, eventPublisher, Duration.ofMinutes(30), 2, CLOCK);
+  }
+
+  @Test
+  void whenRun_thenTransitionPaidReservationsEndedBeforeGracePeriodToNoShow() {
+    when(statusTransitionDao.transition(
+            ReservationStatus.PAID, ReservationStatus.NO_SHOW, now.minusMinutes(30), 2))
+        .thenReturn(1);
+
+    List<StatusTransition> transitions = statusTransitionService.run(now);
+
+    assertThat(transitions)
+        .containsExactly(
+            new StatusTransition(ReservationStatus.PAID, ReservationStatus.NO_SHOW, 1));
+  }
+
+  @Test
+  void givenFullBatches_whenRun_thenTransitionUntilBatchIsNotFull() {
+    when(statusTransitionDao.transition(any(), any(), any(), eq(2))).thenReturn(2, 2, 0);
+
+    List<StatusTransition> transitions = statusTransitionService.run(now);
+
+    assertThat(transitions).extracting(StatusTransition::count).containsExactly(4L);
+    verify(statusTransitionDao, times(3)).transition(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void givenTransitionedReservations_whenRun_thenPublishReservationStatusesChangedEvent() {
+    when(statusTransitionDao.transition(any(), any(), any(), eq(2))).thenReturn(1);
+
+    statusTransitionService.run(now);
+
+    verify(eventPublisher).publishEvent(new ReservationStatusesChangedEvent());
+  }
+
+  @Test
+  void givenNoTransitionedReservations_whenRun_thenPublishNoEvent() {
+    when(statusTransitionDao.transition(any(), any(), any(), eq(2))).thenReturn(0);
+
+    statusTransitionService.run(now);
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void whenRunScheduled_thenTransitionReservationsEndedBeforeGracePeriodOfClock() {
+    statusTransitionService.runScheduled();
+
+    verify(statusTransitionDao)
+        .transition(ReservationStatus.PAID, ReservationStatus.NO_SHOW, now.minusMinutes(30), 2);
+  }
+
+  @Test
+  void givenNonPositiveBatchSize_whenCreate_thenThrowIllegalArgumentException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new StatusTransitionService(
+                    statusTransitionDao, eventPublisher, Duration.ofMinutes(30), 0, CLOCK))
+        .withMessage("The batch size must be positive");
+  }
+}
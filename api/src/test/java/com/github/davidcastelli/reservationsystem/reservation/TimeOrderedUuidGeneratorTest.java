@@ -0,0 +1,112 @@
+package com.github.davidcastelli.reservationsystem.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class TimeOrderedUuidGeneratorTest {
+
+  private final AtomicLong millis = new AtomicLong(1_750_000_000_000L);
+
+  private final TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(millis::get);
+
+  private static long timestamp(UUID uuid) {
+    return uuid.getMostSignificantBits() >>> 16;
+  }
+
+  @Test
+  void whenNext_thenReturnVersionSevenUuidWithTimestamp() {
+    UUID uuid = generator.next();
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(timestamp(uuid)).isEqualTo(1_750_000_000_000L);
+  }
+
+  @Test
+  void givenSameMillisecond_whenNext_thenReturnIncreasingUuids() {
+    UUID first = generator.next();
+    UUID second = generator.next();
+
+    assertThat(timestamp(second)).isEqualTo(timestamp(first));
+    assertThat(second).isGreaterThan(first);
+    assertThat(second.toString()).isGreaterThan(first.toString());
+  }
+
+  @Test
+  void givenClockSteppedBack_whenNext_thenReturnIncreasingUuids() {
+    UUID first = generator.next();
+    millis.addAndGet(-1_000);
+
+    UUID second = generator.next();
+
+    assertThat(timestamp(second)).isEqualTo(timestamp(first));
+    assertThat(second).isGreaterThan(first);
+  }
+
+  @Test
+  void givenCounterOverflow_whenNext_thenCarryIntoTimestamp() {
+    UUID first = generator.next();
+    UUID last = first;
+    for (int i = 0; i < 4096; i++) {
+      last = generator.next();
+    }
+
+    assertThat(timestamp(last)).isEqualTo(timestamp(first) + 1);
+    assertThat(last.version()).isEqualTo(7);
+  }
+
+  @Test
+  void givenConcurrentThreads_whenNext_thenReturnUniqueIncreasingUuidsPerThread() throws Exception {
+    TimeOrderedUuidGenerator systemClockGenerator = new TimeOrderedUuidGenerator();
+    Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+    List<Future<Boolean>> increasing = new ArrayList<>();
+    try (var executor = Executors.newFixedThreadPool(8)) {
+      for (int t = 0; t < 8; t++) {
+        increasing.add(
+            executor.submit(
+                () -> {
+                  UUID previous = null;
+                  for (int i = 0; i < 10_000; i++) {
+                    UUID uuid = systemClockGenerator.next();
+                    uuids.add(uuid);
+                    if (previous != null && uuid.compareTo(previous) <= 0) {
+                      return false;
+                    }
+                    previous = uuid;
+                  }
+                  return true;
+                }));
+      }
+    }
+
+    assertThat(uuids).hasSize(80_000);
+    for (Future<Boolean> future : increasing) {
+      assertThat(future.get()).isTrue();
+    }
+  }
+
+  @Test
+  void givenVersionSevenUuid_whenTimestamp_thenReturnTimeOfGeneration() {
+    UUID uuid = generator.next();
+
+    assertThat(TimeOrderedUuidGenerator.timestamp(uuid))
+        .contains(Instant.ofEpochMilli(1_750_000_000_000L));
+  }
+
+  @Test
+  void givenRandomUuid_whenTimestamp_thenReturnEmptyOptional() {
+    assertThat(TimeOrderedUuidGenerator.timestamp(UUID.randomUUID())).isEmpty();
+  }
+}
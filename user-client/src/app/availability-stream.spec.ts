@@ -0,0 +1,84 @@
+import { provideZonelessChangeDetection } from '@angular/core';
+import { TestBed } from '@angular/core/testing';
+import { AvailabilityEvent, AvailabilityStream } from './availability-stream';
+
+class FakeEventSource {
+  static last: FakeEventSource;
+  readonly listeners = new Map<string, (event: MessageEvent) => void>();
+  onopen: (() => void) | null = null;
+  closed = false;
+
+  constructor(readonly url: string) {
+    FakeEventSource.last = this;
+  }
+
+  addEventListener(type: string, listener: (event: MessageEvent) => void) {
+    this.listeners.set(type, listener);
+  }
+
+  emit(type: string, data: string) {
+    this.listeners.get(type)?.(new MessageEvent(type, { data }));
+  }
+
+  close() {
+    this.closed = true;
+  }
+}
+
+describe('AvailabilityStream', () => {
+  let stream: AvailabilityStream;
+  let original: typeof EventSource;
+
+  beforeEach(() => {
+    original = window.EventSource;
+    window.EventSource = FakeEventSource as unknown as typeof EventSource;
+    TestBed.configureTestingModule({
+      providers: [provideZonelessChangeDetection()],
+    });
+    stream = TestBed.inject(AvailabilityStream);
+  });
+
+  afterEach(() => {
+    window.EventSource = original;
+  });
+
+  it('should connect to the stream of the date', () => {
+    const subscription = stream.changes('2025-06-14').subscribe();
+
+    expect(FakeEventSource.last.url).toBe(
+      '/api/availability/stream?date=2025-06-14',
+    );
+    subscription.unsubscribe();
+    expect(FakeEventSource.last.closed).toBeTrue();
+  });
+
+  it('should emit changes and resyncs', () => {
+    const events: AvailabilityEvent[] = [];
+    const subscription = stream.changes().subscribe((e) => events.push(e));
+    const change = {
+      type: 'TAKEN',
+      startTime: '2025-06-14T10:00:00',
+      endTime: '2025-06-14T10:04:00',
+    };
+
+    FakeEventSource.last.emit('slots', JSON.stringify({ changes: [change] }));
+    FakeEventSource.last.emit('resync', '');
+
+    expect(events).toEqual([
+      { kind: 'changes', changes: [change] },
+      { kind: 'resync' },
+    ] as AvailabilityEvent[]);
+    subscription.unsubscribe();
+  });
+
+  it('should emit a resync when reconnected', () => {
+    const events: AvailabilityEvent[] = [];
+    const subscription = stream.changes().subscribe((e) => events.push(e));
+
+    FakeEventSource.last.onopen?.();
+    FakeEventSource.last.onopen?.();
+
+    expect(events).toEqual([{ kind: 'resync' }]);
+    subscription.unsubscribe();
+  });
+});
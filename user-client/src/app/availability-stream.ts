@@ -0,0 +1,61 @@
+import { Injectable } from '@angular/core';
+import { Observable } from 'rxjs';
+
+/** A time range which was taken or released by a reservation. */
+export interface SlotChange {
+  type: 'TAKEN' | 'RELEASED';
+  startTime: string;
+  endTime: string;
+}
+
+/**
+ * An event of the availability stream. A `changes` event holds the changes of
+ * a short window, a `resync` event means changes were dropped because the
+ * client fell behind, so the free start times have to be read again.
+ */
+export type AvailabilityEvent =
+  | { kind: 'changes'; changes: SlotChange[] }
+  | { kind: 'resync' };
+
+/**
+ * Streams the changes of the availability from the server with server-sent
+ * events, instead of polling for the free start times. The browser reconnects
+ * on its own when the connection drops, and every reconnect is announced as a
+ * resync since changes may have been missed in between.
+ */
+@Injectable({ providedIn: 'root' })
+export class AvailabilityStream {
+  /**
+   * Connects to the availability stream. The connection is opened on
+   * subscription and closed once the last subscriber unsubscribes.
+   *
+   * @param date The day whose changes are streamed, as yyyy-MM-dd, or every
+   *     day if not given.
+   */
+  changes(date?: string): Observable<AvailabilityEvent> {
+    const url =
+      '/api/availability/stream' +
+      (date ? `?date=${encodeURIComponent(date)}` : '');
+
+    return new Observable<AvailabilityEvent>((subscriber) => {
+      const source = new EventSource(url);
+      let opened = false;
+
+      source.addEventListener('slots', (event) => {
+        const { changes } = JSON.parse((event as MessageEvent<string>).data);
+        subscriber.next({ kind: 'changes', changes });
+      });
+      source.addEventListener('resync', () =>
+        subscriber.next({ kind: 'resync' }),
+      );
+      source.onopen = () => {
+        if (opened) {
+          subscriber.next({ kind: 'resync' });
+        }
+        opened = true;
+      };
+
+      return () => source.close();
+    });
+  }
+}